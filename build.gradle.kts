@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.7"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.redis"
@@ -31,6 +32,8 @@ dependencies {
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    jmh("org.openjdk.jol:jol-core:0.17")
 }
 
 dependencyManagement {
@@ -39,6 +42,12 @@ dependencyManagement {
     }
 }
 
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
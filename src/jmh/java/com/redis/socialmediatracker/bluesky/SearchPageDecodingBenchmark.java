@@ -0,0 +1,90 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous Map-based decoding of a searchPosts page
+ * ({@code Map.class} + {@link Post#fromMap}) with the streaming {@link SearchPageDecoder}.
+ * <p>
+ * Run with {@code ./gradlew jmh}; add {@code -Pjmh.profilers=gc} to compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SearchPageDecodingBenchmark {
+
+    @Param({"25", "100"})
+    public int postsPerPage;
+
+    private ObjectMapper objectMapper;
+    private SearchPageDecoder decoder;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        decoder = new SearchPageDecoder(objectMapper);
+        body = samplePage(postsPerPage).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Post> mapPath() throws IOException {
+        Map<String, Object> page = objectMapper.readValue(body, Map.class);
+        List<Map<String, Object>> postsData =
+                (List<Map<String, Object>>) page.getOrDefault("posts", Collections.emptyList());
+        List<Post> posts = new ArrayList<>(postsData.size());
+        for (Map<String, Object> data : postsData) {
+            posts.add(Post.fromMap(data));
+        }
+        return posts;
+    }
+
+    @Benchmark
+    public SearchPage streamingPath() throws IOException {
+        return decoder.decode(body);
+    }
+
+    /**
+     * Builds a response shaped like a real searchPosts page, including the
+     * embeds, facets, labels and viewer state the decoder is expected to skip.
+     */
+    static String samplePage(int posts) {
+        StringBuilder sb = new StringBuilder("{\"posts\":[");
+        for (int i = 0; i < posts; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("""
+                    {"uri":"at://did:plc:abcd%1$d/app.bsky.feed.post/3k4tuwz45j%1$d",
+                     "cid":"bafyreib2rxk3rybk3aobmv5msrxk3rybk3aobmv5msr%1$d",
+                     "author":{"did":"did:plc:abcd%1$d","handle":"user%1$d.bsky.social",
+                       "displayName":"User %1$d","avatar":"https://cdn.bsky.app/img/avatar/plain/did:plc:abcd%1$d/abc@jpeg",
+                       "viewer":{"muted":false,"blockedBy":false},"labels":[],"createdAt":"2024-01-01T00:00:00.000Z"},
+                     "record":{"$type":"app.bsky.feed.post","createdAt":"2025-10-0%2$dT12:34:56.789Z","langs":["en"],
+                       "text":"Trying out Redis vector search for semantic caching, latency dropped a lot #redis %1$d",
+                       "facets":[{"index":{"byteStart":80,"byteEnd":86},"features":[{"$type":"app.bsky.richtext.facet#tag","tag":"redis"}]}],
+                       "embed":{"$type":"app.bsky.embed.external","external":{"uri":"https://redis.io/blog/post-%1$d",
+                         "title":"Semantic caching with Redis","description":"A walkthrough of semantic caching and vector search",
+                         "thumb":{"$type":"blob","ref":{"$link":"bafkreih%1$d"},"mimeType":"image/jpeg","size":123456}}}},
+                     "embed":{"$type":"app.bsky.embed.external#view","external":{"uri":"https://redis.io/blog/post-%1$d",
+                       "title":"Semantic caching with Redis","description":"A walkthrough of semantic caching and vector search",
+                       "thumb":"https://cdn.bsky.app/img/feed_thumbnail/plain/did:plc:abcd%1$d/bafkreih%1$d@jpeg"}},
+                     "replyCount":%1$d,"repostCount":%3$d,"likeCount":%4$d,"quoteCount":0,
+                     "indexedAt":"2025-10-0%2$dT12:34:57.000Z","viewer":{"threadMuted":false,"embeddingDisabled":false},
+                     "labels":[]}
+                    """.formatted(i, 1 + i % 9, i * 2, i * 7));
+        }
+        sb.append("],\"cursor\":\"").append(posts).append("\",\"hitsTotal\":").append(posts * 10).append('}');
+        return sb.toString();
+    }
+}
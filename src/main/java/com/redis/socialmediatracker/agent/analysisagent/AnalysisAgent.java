@@ -18,18 +18,25 @@ public class AnalysisAgent {
     private static final Logger log = LoggerFactory.getLogger(AnalysisAgent.class);
 
     private final ChatClient analysisChatClient;
+    private final TopicMetricsService topicMetricsService;
 
-    public AnalysisAgent(ChatClient analysisChatClient) {
+    public AnalysisAgent(ChatClient analysisChatClient, TopicMetricsService topicMetricsService) {
         this.analysisChatClient = analysisChatClient;
+        this.topicMetricsService = topicMetricsService;
     }
 
+    /**
+     * Asks the agent to group the posts into topics, then computes the metrics of
+     * each topic from the posts instead of leaving the arithmetic to the agent.
+     */
     public ResponseEntity<ChatResponse, AnalysisResult> sendMessage(CrawlerResult crawlerResult, String contextId) {
-        return analysisChatClient
+        ResponseEntity<ChatResponse, TopicClusters> clusters = analysisChatClient
                 .prompt()
-                .user(crawlerResult.getFinalResponse().toString())
+                .user(topicMetricsService.describePosts(crawlerResult))
                 .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, contextId))
                 .call()
-                .responseEntity(AnalysisResult.class);
+                .responseEntity(TopicClusters.class);
+        return new ResponseEntity<>(clusters.response(), topicMetricsService.merge(clusters.entity(), crawlerResult));
     }
 
     /**
@@ -69,6 +76,10 @@ public class AnalysisAgent {
 
         log.info("📊 Analysis Agent starting (non-interactive mode)");
         ResponseEntity<ChatResponse, AnalysisResult> result = sendMessage(crawlerResult, conversationId);
+        if (result.entity() == null) {
+            log.error("❌ Analysis Agent returned no topics");
+            return result;
+        }
 
         switch (result.entity().getFinishReason()) {
             case COMPLETED -> log.info("✅ Analysis Agent completed its task");
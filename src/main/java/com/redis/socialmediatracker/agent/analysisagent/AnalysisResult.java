@@ -87,6 +87,7 @@ public class AnalysisResult {
     // Nested classes
     public static class TopicResult {
         private String topic;
+        private String description;
         private boolean trending;
         private Metrics metrics;
         private List<Source> sources;
@@ -108,6 +109,14 @@ public class AnalysisResult {
             this.topic = topic;
         }
 
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
         public boolean isTrending() {
             return trending;
         }
@@ -136,6 +145,7 @@ public class AnalysisResult {
         public String toString() {
             return "TopicResult{" +
                     "topic='" + topic + '\'' +
+                    ", description='" + description + '\'' +
                     ", trending=" + trending +
                     ", metrics=" + metrics +
                     ", sources=" + sources +
@@ -0,0 +1,81 @@
+package com.redis.socialmediatracker.agent.analysisagent;
+
+import com.redis.socialmediatracker.agent.pipeline.Artifact;
+import com.redis.socialmediatracker.agent.pipeline.PipelineStage;
+import com.redis.socialmediatracker.agent.pipeline.StageContext;
+import com.redis.socialmediatracker.agent.pipeline.StageException;
+import com.redis.socialmediatracker.agent.pipeline.StageOutcome;
+import com.redis.socialmediatracker.agent.pipeline.StagePolicy;
+import com.redis.socialmediatracker.agent.pipeline.TokenUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pipeline stage analyzing the topics and trends of the crawled posts.
+ */
+@Component
+public class AnalysisStage implements PipelineStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisStage.class);
+
+    private final AnalysisAgent analysisAgent;
+    private final StagePolicy policy;
+
+    public AnalysisStage(
+            AnalysisAgent analysisAgent,
+            @Value("${app.pipeline.stages.analysis.timeout:PT3M}") Duration timeout,
+            @Value("${app.pipeline.stages.analysis.max-attempts:2}") int maxAttempts,
+            @Value("${app.pipeline.stages.analysis.backoff:PT2S}") Duration backoff) {
+        this.analysisAgent = analysisAgent;
+        this.policy = new StagePolicy(timeout, maxAttempts, backoff);
+    }
+
+    @Override
+    public String name() {
+        return "analysis";
+    }
+
+    @Override
+    public Set<Artifact<?>> inputs() {
+        return Set.of(Artifact.CRAWL);
+    }
+
+    @Override
+    public Set<Artifact<?>> outputs() {
+        return Set.of(Artifact.ANALYSIS);
+    }
+
+    @Override
+    public StagePolicy policy() {
+        return policy;
+    }
+
+    @Override
+    public StageOutcome run(StageContext context) {
+        // Step 2: Analysis Agent - Analyze topics
+        context.reply("📊 Analysis Agent is analyzing topics and trends...");
+        var analysisResult = analysisAgent.runNonInteractive(context.input(Artifact.CRAWL));
+
+        if (analysisResult == null || analysisResult.entity() == null) {
+            throw new StageException("Failed to analyze data. Please try again.");
+        }
+
+        logger.info("✅ Analysis completed");
+
+        // Track token usage in the result object
+        Long analysisTokens = TokenUsage.total(analysisResult.response());
+        analysisResult.entity().setTokens(analysisTokens);
+        logger.info("📊 Analysis used {} tokens", analysisTokens);
+
+        context.reply("📊 Analysis Agent completed its task. Sending results to the Insights Agent. (Tokens: "
+                + analysisTokens + ")");
+
+        context.output(Artifact.ANALYSIS, analysisResult.entity());
+        return StageOutcome.COMPLETED;
+    }
+}
@@ -0,0 +1,88 @@
+package com.redis.socialmediatracker.agent.analysisagent;
+
+import java.util.List;
+
+/**
+ * What the analysis agent returns: the crawled posts grouped into named and
+ * described topics, without any numbers. The {@link TopicMetricsService} computes
+ * the metrics of each topic from its posts and turns this into an {@link AnalysisResult}.
+ */
+public class TopicClusters {
+
+    private AnalysisResult.FinishReason finishReason;
+    private String timeframe;
+    private List<Cluster> clusters;
+
+    public TopicClusters() {}
+
+    public TopicClusters(AnalysisResult.FinishReason finishReason, String timeframe, List<Cluster> clusters) {
+        this.finishReason = finishReason;
+        this.timeframe = timeframe;
+        this.clusters = clusters;
+    }
+
+    public AnalysisResult.FinishReason getFinishReason() {
+        return finishReason;
+    }
+
+    public void setFinishReason(AnalysisResult.FinishReason finishReason) {
+        this.finishReason = finishReason;
+    }
+
+    public String getTimeframe() {
+        return timeframe;
+    }
+
+    public void setTimeframe(String timeframe) {
+        this.timeframe = timeframe;
+    }
+
+    public List<Cluster> getClusters() {
+        return clusters;
+    }
+
+    public void setClusters(List<Cluster> clusters) {
+        this.clusters = clusters;
+    }
+
+    @Override
+    public String toString() {
+        return "TopicClusters{" +
+                "finishReason=" + finishReason +
+                ", timeframe='" + timeframe + '\'' +
+                ", clusters=" + clusters +
+                '}';
+    }
+
+    public static class Cluster {
+        private String topic;
+        private String description;
+        private List<String> postIds;
+
+        public Cluster() {}
+
+        public Cluster(String topic, String description, List<String> postIds) {
+            this.topic = topic;
+            this.description = description;
+            this.postIds = postIds;
+        }
+
+        public String getTopic() { return topic; }
+        public void setTopic(String topic) { this.topic = topic; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public List<String> getPostIds() { return postIds; }
+        public void setPostIds(List<String> postIds) { this.postIds = postIds; }
+
+        @Override
+        public String toString() {
+            return "Cluster{" +
+                    "topic='" + topic + '\'' +
+                    ", description='" + description + '\'' +
+                    ", postIds=" + postIds +
+                    '}';
+        }
+    }
+}
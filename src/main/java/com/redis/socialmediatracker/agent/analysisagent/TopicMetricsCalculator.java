@@ -0,0 +1,135 @@
+package com.redis.socialmediatracker.agent.analysisagent;
+
+import com.redis.socialmediatracker.agent.collectoragent.FetchedPost;
+import com.redis.socialmediatracker.agent.sentiment.Sentiment;
+import com.redis.socialmediatracker.bluesky.dedup.MinHash;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the {@link AnalysisResult.Metrics} of a topic exactly from its posts:
+ * post count, total and average engagement, sentiment counts and the keywords
+ * found in most of its posts.
+ */
+public class TopicMetricsCalculator {
+
+    private static final int MIN_KEYWORD_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "but", "not", "you", "your", "all", "any", "can", "had", "has", "have",
+            "her", "his", "its", "was", "were", "one", "our", "out", "who", "why", "how", "what", "when", "where",
+            "which", "this", "that", "these", "those", "they", "them", "their", "there", "then", "than", "with",
+            "from", "into", "onto", "over", "about", "just", "like", "also", "been", "being", "more", "most",
+            "some", "such", "only", "very", "will", "would", "should", "could", "does", "did", "doing", "done",
+            "get", "got", "let", "lets", "now", "new", "via", "off", "too", "yet", "may", "might", "must",
+            "here", "she", "him", "own", "same", "each", "both", "few", "other", "again", "once", "because",
+            "while", "after", "before", "under", "above", "below", "between", "through", "during", "without",
+            "dont", "doesnt", "didnt", "cant", "wont", "isnt", "arent", "wasnt", "im", "ive", "thats",
+            "really", "much", "many", "even", "still", "well", "back", "make", "made", "see", "way", "use",
+            "using", "used", "know", "think", "want", "need", "going", "today", "amp", "https", "http", "www");
+
+    private final int topKeywords;
+
+    /**
+     * @param topKeywords Keywords to report per topic
+     */
+    public TopicMetricsCalculator(int topKeywords) {
+        this.topKeywords = topKeywords;
+    }
+
+    /**
+     * The distinct keywords of a post: its normalized words without stop words,
+     * numbers and words shorter than three characters, in order of appearance.
+     */
+    public Set<String> keywords(String text) {
+        Set<String> keywords = new LinkedHashSet<>();
+        for (String word : MinHash.words(text)) {
+            if (word.length() >= MIN_KEYWORD_LENGTH && !STOP_WORDS.contains(word) && !isNumber(word)) {
+                keywords.add(word);
+            }
+        }
+        return keywords;
+    }
+
+    public AnalysisResult.Metrics compute(List<FetchedPost> posts) {
+        return compute(posts, posts.stream().map(post -> keywords(post.getContent())).toList());
+    }
+
+    /**
+     * Computes the metrics of a topic.
+     *
+     * @param posts    The distinct posts of the topic
+     * @param keywords The {@link #keywords} of each post, in the same order
+     */
+    public AnalysisResult.Metrics compute(List<FetchedPost> posts, List<Set<String>> keywords) {
+        long totalEngagement = 0;
+        Map<String, Integer> sentimentBreakdown = new LinkedHashMap<>();
+        for (Sentiment sentiment : Sentiment.values()) {
+            sentimentBreakdown.put(sentiment.label(), 0);
+        }
+        // Number of posts each keyword appears in, in order of first appearance
+        Map<String, Integer> postsPerKeyword = new LinkedHashMap<>();
+
+        for (int i = 0; i < posts.size(); i++) {
+            FetchedPost post = posts.get(i);
+            totalEngagement += Math.max(0, post.getEngagement());
+            if (post.getSentiment() != null) {
+                sentimentBreakdown.computeIfPresent(post.getSentiment().trim().toLowerCase(Locale.ROOT),
+                        (label, count) -> count + 1);
+            }
+            for (String keyword : keywords.get(i)) {
+                postsPerKeyword.merge(keyword, 1, Integer::sum);
+            }
+        }
+
+        int postCount = posts.size();
+        double averageEngagement = postCount > 0 ? Math.round(100.0 * totalEngagement / postCount) / 100.0 : 0;
+        return new AnalysisResult.Metrics(postCount, (int) Math.min(totalEngagement, Integer.MAX_VALUE),
+                averageEngagement, sentimentBreakdown, top(postsPerKeyword));
+    }
+
+    /**
+     * Marks the topics that stand out: at least {@code factor} times the mean total
+     * engagement or post count of all topics. A single topic never stands out.
+     *
+     * @return Whether each topic is trending, in the same order
+     */
+    public static List<Boolean> trending(List<AnalysisResult.Metrics> topics, double factor) {
+        List<Boolean> trending = new ArrayList<>(topics.size());
+        if (topics.size() < 2) {
+            topics.forEach(topic -> trending.add(false));
+            return trending;
+        }
+        double meanEngagement = topics.stream().mapToLong(AnalysisResult.Metrics::getTotalEngagement).average().orElse(0);
+        double meanPosts = topics.stream().mapToInt(AnalysisResult.Metrics::getPostCount).average().orElse(0);
+        for (AnalysisResult.Metrics topic : topics) {
+            trending.add((meanEngagement > 0 && topic.getTotalEngagement() >= factor * meanEngagement)
+                    || (meanPosts > 0 && topic.getPostCount() >= factor * meanPosts));
+        }
+        return trending;
+    }
+
+    /**
+     * The keywords in most posts; ties keep their order of first appearance.
+     */
+    private List<String> top(Map<String, Integer> postsPerKeyword) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(postsPerKeyword.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return entries.stream().limit(topKeywords).map(Map.Entry::getKey).toList();
+    }
+
+    private static boolean isNumber(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
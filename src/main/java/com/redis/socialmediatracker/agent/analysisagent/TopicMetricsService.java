@@ -0,0 +1,185 @@
+package com.redis.socialmediatracker.agent.analysisagent;
+
+import com.redis.socialmediatracker.agent.collectoragent.CrawlerResult;
+import com.redis.socialmediatracker.agent.collectoragent.FetchedPost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Splits topic analysis between the analysis agent and the JVM: the agent only
+ * groups the crawled posts into named and described topics, and the numbers of
+ * each topic are computed here, exactly, from its posts.
+ * <p>
+ * The agent sees the posts as short IDs and text only ({@link #describePosts}).
+ * {@link #merge} resolves the IDs it answered with and computes the metrics and
+ * trending flags of every topic, in parallel once the crawl has at least
+ * {@code app.analysis.parallel-threshold} posts. Merging is timed as
+ * {@code agent.analysis.metrics.duration}; IDs the agent made up are dropped and
+ * counted as {@code agent.analysis.sources.unknown}, and topics left without posts
+ * are dropped so they do not pull down the mean trending topics are measured against.
+ */
+@Service
+public class TopicMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicMetricsService.class);
+
+    private final TopicMetricsCalculator calculator;
+    private final double trendingFactor;
+    private final int parallelThreshold;
+    private final Timer mergeTimer;
+    private final Counter unknownSources;
+
+    public TopicMetricsService(
+            MeterRegistry meterRegistry,
+            @Value("${app.analysis.top-keywords:5}") int topKeywords,
+            @Value("${app.analysis.trending-factor:1.5}") double trendingFactor,
+            @Value("${app.analysis.parallel-threshold:200}") int parallelThreshold) {
+        this.calculator = new TopicMetricsCalculator(topKeywords);
+        this.trendingFactor = trendingFactor;
+        this.parallelThreshold = parallelThreshold;
+        this.mergeTimer = Timer.builder("agent.analysis.metrics.duration")
+                .description("Time to compute the metrics of all topics of an analysis")
+                .register(meterRegistry);
+        this.unknownSources = Counter.builder("agent.analysis.sources.unknown")
+                .description("Post IDs the analysis agent cited that are not in the crawl")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The crawl as the analysis agent sees it: the search parameters, then one
+     * {@code id|text} line per post, where the ID is {@code p1}, {@code p2}, ... in crawl order.
+     */
+    public String describePosts(CrawlerResult crawl) {
+        List<FetchedPost> posts = posts(crawl);
+        StringBuilder description = new StringBuilder(64 + posts.size() * 160);
+        if (crawl != null && crawl.getFinalResponse() != null && crawl.getFinalResponse().getSearchParameters() != null) {
+            description.append("searchParameters: ").append(crawl.getFinalResponse().getSearchParameters()).append('\n');
+        }
+        description.append("posts (id|text):\n");
+        for (int i = 0; i < posts.size(); i++) {
+            String text = posts.get(i).getContent();
+            description.append(shortId(i)).append('|')
+                    .append(text != null ? text.replaceAll("\\s+", " ").replace('|', '/').trim() : "")
+                    .append('\n');
+        }
+        return description.toString();
+    }
+
+    /**
+     * Turns the agent's topics into an analysis result with computed metrics.
+     *
+     * @param clusters The topics the agent found, null if it gave none
+     * @param crawl    The crawl the agent was given
+     * @return The analysis, or null if the agent gave no topics
+     */
+    public AnalysisResult merge(TopicClusters clusters, CrawlerResult crawl) {
+        if (clusters == null) {
+            return null;
+        }
+        return mergeTimer.record(() -> {
+            List<FetchedPost> posts = posts(crawl);
+            boolean parallel = posts.size() >= parallelThreshold;
+
+            Map<String, Integer> indexById = new HashMap<>();
+            for (int i = 0; i < posts.size(); i++) {
+                indexById.put(shortId(i), i);
+                if (posts.get(i).getPostId() != null) {
+                    indexById.putIfAbsent(posts.get(i).getPostId(), i);
+                }
+            }
+            List<TopicClusters.Cluster> given = new ArrayList<>();
+            List<List<Integer>> members = new ArrayList<>();
+            List<TopicClusters.Cluster> all = clusters.getClusters() != null ? clusters.getClusters() : List.of();
+            for (TopicClusters.Cluster cluster : all) {
+                List<Integer> resolved = resolve(cluster, indexById);
+                if (resolved.isEmpty()) {
+                    logger.warn("⚠️ Dropping topic {}: none of its post IDs are in the crawl", cluster.getTopic());
+                    continue;
+                }
+                given.add(cluster);
+                members.add(resolved);
+            }
+
+            List<Set<String>> keywords = new ArrayList<>(Collections.nCopies(posts.size(), null));
+            indices(posts.size(), parallel).forEach(i -> keywords.set(i, calculator.keywords(posts.get(i).getContent())));
+
+            AnalysisResult.Metrics[] metrics = new AnalysisResult.Metrics[given.size()];
+            indices(given.size(), parallel).forEach(c -> metrics[c] = calculator.compute(
+                    members.get(c).stream().map(posts::get).toList(),
+                    members.get(c).stream().map(keywords::get).toList()));
+            List<Boolean> trending = TopicMetricsCalculator.trending(Arrays.asList(metrics), trendingFactor);
+
+            List<AnalysisResult.TopicResult> topics = new ArrayList<>(given.size());
+            for (int c = 0; c < given.size(); c++) {
+                List<AnalysisResult.Source> sources = members.get(c).stream()
+                        .map(posts::get)
+                        .map(post -> new AnalysisResult.Source(post.getPlatform(), post.getPostId(), post.getUrl()))
+                        .toList();
+                AnalysisResult.TopicResult topic = new AnalysisResult.TopicResult(given.get(c).getTopic(),
+                        trending.get(c), metrics[c], sources);
+                topic.setDescription(given.get(c).getDescription());
+                topics.add(topic);
+            }
+
+            long covered = members.stream().flatMap(List::stream).distinct().count();
+            logger.info("📐 Computed metrics of {} topics covering {} of {} posts", topics.size(), covered, posts.size());
+
+            AnalysisResult result = AnalysisResult.completed(clusters.getTimeframe(), topics);
+            if (clusters.getFinishReason() != null) {
+                result.setFinishReason(clusters.getFinishReason());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * The distinct posts of a topic, as indexes into the crawl. Unknown IDs are dropped.
+     */
+    private List<Integer> resolve(TopicClusters.Cluster cluster, Map<String, Integer> indexById) {
+        if (cluster.getPostIds() == null) {
+            return List.of();
+        }
+        Set<Integer> members = new LinkedHashSet<>();
+        for (String id : cluster.getPostIds()) {
+            Integer index = id != null ? indexById.get(id.trim()) : null;
+            if (index != null) {
+                members.add(index);
+            } else {
+                unknownSources.increment();
+                logger.debug("Dropping unknown post ID {} from topic {}", id, cluster.getTopic());
+            }
+        }
+        return List.copyOf(members);
+    }
+
+    private static IntStream indices(int count, boolean parallel) {
+        IntStream indices = IntStream.range(0, count);
+        return parallel ? indices.parallel() : indices;
+    }
+
+    private static List<FetchedPost> posts(CrawlerResult crawl) {
+        if (crawl == null || crawl.getFinalResponse() == null || crawl.getFinalResponse().getFetchedData() == null) {
+            return List.of();
+        }
+        return crawl.getFinalResponse().getFetchedData();
+    }
+
+    private static String shortId(int index) {
+        return "p" + (index + 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.redis.socialmediatracker.agent.collectoragent;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * What a crawl request asks for, as read by the {@link CrawlRequestParser}.
+ *
+ * @param tags       Tags or keywords to search for
+ * @param since      Start of the requested time frame
+ * @param ambiguity  Why the request could not be read without the crawler agent, or null if it could
+ */
+public record CrawlRequest(List<String> tags, OffsetDateTime since, String ambiguity) {
+
+    public static CrawlRequest ambiguous(String reason) {
+        return new CrawlRequest(List.of(), null, reason);
+    }
+
+    public boolean isAmbiguous() {
+        return ambiguity != null;
+    }
+}
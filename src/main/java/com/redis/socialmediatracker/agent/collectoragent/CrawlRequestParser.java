@@ -0,0 +1,279 @@
+package com.redis.socialmediatracker.agent.collectoragent;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based reader for the common "what are people saying about X this week"
+ * requests, so they can be crawled without a tool-calling round trip through the
+ * crawler agent.
+ * <p>
+ * Topics are hashtags, quoted phrases, or the words after "about", "on", "for"
+ * and similar up to the end of the clause, split on commas, "and" and "or". Time frames are relative
+ * ("today", "this week", "last 3 days", "past month", "48h") or absolute
+ * ("since 2025-06-01"). A request is ambiguous, and left to the agent, when it
+ * has no topic or no time frame, names conflicting time frames, or asks for more
+ * than a search (comparisons, trends, other platforms).
+ * <p>
+ * Instances are stateless and safe to share between threads.
+ */
+public final class CrawlRequestParser {
+
+    public static final String NO_TOPIC = "no_topic";
+    public static final String UNCLEAR_TOPIC = "unclear_topic";
+    public static final String NO_TIMEFRAME = "no_timeframe";
+    public static final String CONFLICTING_TIMEFRAMES = "conflicting_timeframes";
+    public static final String UNSUPPORTED_REQUEST = "unsupported_request";
+
+    static final int MAX_TAGS = 10;
+    private static final int MAX_TAG_WORDS = 4;
+
+    // Slack markup: user and channel mentions, links
+    private static final Pattern SLACK_MARKUP = Pattern.compile("<[@#!][^>]*>|<https?://[^>]*>");
+
+    private static final Pattern UNSUPPORTED = Pattern.compile(
+            "\\b(compare|comparison|compared|versus|vs|trends?|trending|momentum|growth|growing|twitter|reddit"
+                    + "|linkedin|mastodon|hacker ?news|youtube)\\b");
+
+    private static final String LEAD = "(?:\\b(?:for|in|over|during|from|within|throughout)\\s+)?(?:\\bthe\\s+)?";
+    private static final Pattern LAST_N = Pattern.compile(LEAD
+            + "\\b(?:last|past|previous)\\s+(\\d+|an?|one|two|three|four|five|six|seven|ten|twelve|fourteen|thirty)?\\s*"
+            + "(hour|day|week|month)s?\\b");
+    private static final Pattern SHORT_DURATION = Pattern.compile(LEAD + "(?:\\b(?:last|past)\\s+)?\\b(\\d+)\\s?(h|d|w)\\b");
+    private static final Pattern SINCE_DATE = Pattern.compile("\\bsince\\s+(\\d{4}-\\d{2}-\\d{2})\\b");
+    private static final Pattern NAMED = Pattern.compile(LEAD
+            + "\\b(?:since\\s+)?(today|yesterday|this\\s+week|this\\s+month|last\\s+night|this\\s+morning)\\b");
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_&])#([\\p{L}\\p{N}_][\\p{L}\\p{N}_.-]*)");
+    private static final Pattern QUOTED = Pattern.compile("[\"“”]([^\"“”]{1,60})[\"“”]");
+    // "about X" reads X up to the end of the clause; weak anchors only count without a strong one
+    private static final Pattern STRONG_ANCHOR = Pattern.compile(
+            "\\b(?:about|regarding|mentioning|mentions\\s+of|re)\\s+");
+    private static final Pattern WEAK_ANCHOR = Pattern.compile("\\b(?:on|for|of|around|with)\\s+");
+    private static final Pattern TOPIC_END = Pattern.compile("[?!.;:\\n]");
+    private static final Pattern SEPARATORS = Pattern.compile("\\s*(?:,|/|&|\\band\\b|\\bor\\b|\\bplus\\b)\\s*");
+
+    private static final Set<String> LEADING_FILLERS = Set.of("the", "a", "an", "our", "my", "new", "latest");
+    private static final Set<String> NOT_TOPICS = Set.of(
+            "it", "this", "that", "them", "these", "those", "us", "me", "you", "people", "everyone", "posts", "post",
+            "things", "stuff", "anything", "something", "bluesky", "social media", "what", "which", "our product",
+            "our company", "my company", "the product");
+
+    // Words that mean the text after an anchor is a clause rather than a topic
+    private static final Set<String> CLAUSE_WORDS = Set.of(
+            "what", "how", "why", "who", "when", "where", "they", "we", "i", "do", "does", "did", "is", "are", "was",
+            "think", "feel", "say", "saying", "said", "tell", "give", "show", "find", "please", "can", "could");
+
+    private static final Map<String, Integer> NUMBER_WORDS = Map.of(
+            "a", 1, "an", 1, "one", 1, "two", 2, "three", 3, "four", 4, "five", 5, "six", 6, "seven", 7,
+            "ten", 10);
+    private static final Map<String, Integer> MORE_NUMBER_WORDS = Map.of("twelve", 12, "fourteen", 14, "thirty", 30);
+
+    /**
+     * Reads a request.
+     *
+     * @param text Request text as sent from Slack or the CLI
+     * @param now  Current time, in the zone relative time frames are counted in
+     */
+    public CrawlRequest parse(String text, ZonedDateTime now) {
+        if (text == null || text.isBlank()) {
+            return CrawlRequest.ambiguous(NO_TOPIC);
+        }
+        String cleaned = SLACK_MARKUP.matcher(text).replaceAll(" ").trim();
+        String lower = cleaned.toLowerCase(Locale.ROOT);
+        if (UNSUPPORTED.matcher(lower).find()) {
+            return CrawlRequest.ambiguous(UNSUPPORTED_REQUEST);
+        }
+
+        // Time frames, blanking them out so their words are not read as topics
+        StringBuilder rest = new StringBuilder(lower);
+        Set<OffsetDateTime> starts = new HashSet<>();
+        collectTimeframes(rest, now, starts);
+        if (starts.isEmpty()) {
+            return CrawlRequest.ambiguous(NO_TIMEFRAME);
+        }
+        if (starts.size() > 1) {
+            return CrawlRequest.ambiguous(CONFLICTING_TIMEFRAMES);
+        }
+
+        List<String> tags;
+        try {
+            tags = topics(cleaned, rest.toString());
+        } catch (IllegalArgumentException e) {
+            return CrawlRequest.ambiguous(UNCLEAR_TOPIC);
+        }
+        if (tags.isEmpty()) {
+            return CrawlRequest.ambiguous(NO_TOPIC);
+        }
+        if (tags.size() > MAX_TAGS) {
+            return CrawlRequest.ambiguous(UNCLEAR_TOPIC);
+        }
+        return new CrawlRequest(tags, starts.iterator().next(), null);
+    }
+
+    private void collectTimeframes(StringBuilder text, ZonedDateTime now, Set<OffsetDateTime> starts) {
+        Matcher matcher = LAST_N.matcher(text);
+        while (matcher.find()) {
+            int amount = amount(matcher.group(1));
+            starts.add(now.minus(unitDuration(matcher.group(2), amount)).toOffsetDateTime());
+            blank(text, matcher.start(), matcher.end());
+        }
+        matcher = SHORT_DURATION.matcher(text);
+        while (matcher.find()) {
+            int amount = Integer.parseInt(matcher.group(1));
+            String unit = switch (matcher.group(2)) {
+                case "h" -> "hour";
+                case "d" -> "day";
+                default -> "week";
+            };
+            starts.add(now.minus(unitDuration(unit, amount)).toOffsetDateTime());
+            blank(text, matcher.start(), matcher.end());
+        }
+        matcher = SINCE_DATE.matcher(text);
+        while (matcher.find()) {
+            try {
+                starts.add(LocalDate.parse(matcher.group(1)).atStartOfDay(now.getZone()).toOffsetDateTime());
+                blank(text, matcher.start(), matcher.end());
+            } catch (DateTimeParseException e) {
+                // Not a date after all; it stays in the text and makes the topic unclear
+            }
+        }
+        matcher = NAMED.matcher(text);
+        while (matcher.find()) {
+            ZonedDateTime today = now.truncatedTo(ChronoUnit.DAYS);
+            ZonedDateTime start = switch (matcher.group(1).replaceAll("\\s+", " ")) {
+                case "today", "this morning" -> today;
+                case "yesterday", "last night" -> today.minusDays(1);
+                case "this week" -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                default -> today.withDayOfMonth(1);
+            };
+            starts.add(start.toOffsetDateTime());
+            blank(text, matcher.start(), matcher.end());
+        }
+    }
+
+    private static int amount(String value) {
+        if (value == null) {
+            return 1;
+        }
+        if (Character.isDigit(value.charAt(0))) {
+            return Integer.parseInt(value);
+        }
+        Integer amount = NUMBER_WORDS.get(value);
+        return amount != null ? amount : MORE_NUMBER_WORDS.getOrDefault(value, 1);
+    }
+
+    private static Duration unitDuration(String unit, int amount) {
+        return switch (unit) {
+            case "hour" -> Duration.ofHours(amount);
+            case "day" -> Duration.ofDays(amount);
+            case "week" -> Duration.ofDays(7L * amount);
+            default -> Duration.ofDays(30L * amount);
+        };
+    }
+
+    private static void blank(StringBuilder text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            text.setCharAt(i, ' ');
+        }
+    }
+
+    /**
+     * Hashtags and quoted phrases if there are any, otherwise the words after the first strong
+     * topic anchor ("about"), or else the one topic found after a weak one ("on", "for"). Words
+     * after a weak anchor that are not a topic ("summary of posts on redis") are skipped.
+     *
+     * @throws IllegalArgumentException if a candidate topic is too long or not a topic at all, or
+     *                                  if topics follow more than one weak anchor ("on redis for java")
+     */
+    private List<String> topics(String original, String lowerWithoutTimeframes) {
+        LinkedHashSet<String> tags = new LinkedHashSet<>();
+        Matcher hashtags = HASHTAG.matcher(original);
+        while (hashtags.find()) {
+            tags.add("#" + trimTrailing(hashtags.group(1)).toLowerCase(Locale.ROOT));
+        }
+        Matcher quoted = QUOTED.matcher(original);
+        while (quoted.find()) {
+            addTopics(tags, quoted.group(1).toLowerCase(Locale.ROOT));
+        }
+        if (!tags.isEmpty()) {
+            return new ArrayList<>(tags);
+        }
+
+        Matcher anchor = STRONG_ANCHOR.matcher(lowerWithoutTimeframes);
+        if (anchor.find()) {
+            addTopics(tags, clause(lowerWithoutTimeframes.substring(anchor.end())));
+            return new ArrayList<>(tags);
+        }
+
+        // Each weak anchor opens a candidate that runs up to the next one
+        List<Integer> bounds = new ArrayList<>();
+        anchor = WEAK_ANCHOR.matcher(lowerWithoutTimeframes);
+        while (anchor.find()) {
+            bounds.add(anchor.start());
+            bounds.add(anchor.end());
+        }
+        bounds.add(lowerWithoutTimeframes.length());
+        IllegalArgumentException notATopic = null;
+        for (int i = 1; i < bounds.size(); i += 2) {
+            String candidate = clause(lowerWithoutTimeframes.substring(bounds.get(i), bounds.get(i + 1)));
+            Set<String> found = new LinkedHashSet<>();
+            try {
+                addTopics(found, candidate);
+            } catch (IllegalArgumentException e) {
+                notATopic = e;
+                continue;
+            }
+            if (!found.isEmpty() && !tags.isEmpty()) {
+                throw new IllegalArgumentException("More than one topic candidate: " + tags + ", " + found);
+            }
+            tags.addAll(found);
+        }
+        if (tags.isEmpty() && notATopic != null) {
+            throw notATopic;
+        }
+        return new ArrayList<>(tags);
+    }
+
+    private static String clause(String candidate) {
+        Matcher end = TOPIC_END.matcher(candidate);
+        return end.find() ? candidate.substring(0, end.start()) : candidate;
+    }
+
+    private static void addTopics(Set<String> tags, String candidate) {
+        for (String part : SEPARATORS.split(candidate)) {
+            String topic = trimTrailing(part.trim().replaceAll("\\s+", " "));
+            while (true) {
+                int space = topic.indexOf(' ');
+                if (space < 0 || !LEADING_FILLERS.contains(topic.substring(0, space))) break;
+                topic = topic.substring(space + 1);
+            }
+            if (topic.isEmpty()) {
+                continue;
+            }
+            String[] words = topic.split(" ");
+            if (NOT_TOPICS.contains(topic) || LEADING_FILLERS.contains(topic) || words.length > MAX_TAG_WORDS
+                    || Arrays.stream(words).anyMatch(CLAUSE_WORDS::contains)) {
+                throw new IllegalArgumentException("Not a topic: " + topic);
+            }
+            tags.add(topic);
+        }
+    }
+
+    private static String trimTrailing(String value) {
+        int end = value.length();
+        while (end > 0 && ",.;:!?)'\"-".indexOf(value.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+}
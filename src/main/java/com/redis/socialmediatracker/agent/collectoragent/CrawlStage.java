@@ -0,0 +1,127 @@
+package com.redis.socialmediatracker.agent.collectoragent;
+
+import com.redis.socialmediatracker.agent.pipeline.Artifact;
+import com.redis.socialmediatracker.agent.pipeline.PipelineStage;
+import com.redis.socialmediatracker.agent.pipeline.StageContext;
+import com.redis.socialmediatracker.agent.pipeline.StageException;
+import com.redis.socialmediatracker.agent.pipeline.StageOutcome;
+import com.redis.socialmediatracker.agent.pipeline.StagePolicy;
+import com.redis.socialmediatracker.agent.pipeline.TokenUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ResponseEntity;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Pipeline stage fetching the posts a request is about, directly for plain requests
+ * and through the crawler agent otherwise. Waits for the user when the agent asks
+ * a question.
+ */
+@Component
+public class CrawlStage implements PipelineStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlStage.class);
+
+    private final CrawlerAgent crawlerAgent;
+    private final DirectCrawlService directCrawlService;
+    private final StagePolicy policy;
+
+    public CrawlStage(
+            CrawlerAgent crawlerAgent,
+            DirectCrawlService directCrawlService,
+            @Value("${app.pipeline.stages.crawl.timeout:PT5M}") Duration timeout,
+            @Value("${app.pipeline.stages.crawl.max-attempts:1}") int maxAttempts,
+            @Value("${app.pipeline.stages.crawl.backoff:PT2S}") Duration backoff) {
+        this.crawlerAgent = crawlerAgent;
+        this.directCrawlService = directCrawlService;
+        this.policy = new StagePolicy(timeout, maxAttempts, backoff);
+    }
+
+    @Override
+    public String name() {
+        return "crawl";
+    }
+
+    @Override
+    public Set<Artifact<?>> inputs() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Artifact<?>> outputs() {
+        return Set.of(Artifact.CRAWL);
+    }
+
+    @Override
+    public StagePolicy policy() {
+        return policy;
+    }
+
+    @Override
+    public StageOutcome run(StageContext context) {
+        String userMessage = context.userMessage();
+        if (userMessage == null) {
+            throw new StageException("Cannot fetch posts without your request. Please ask again.");
+        }
+
+        // Step 1: Crawler Agent - Fetch data
+        context.reply("🔍 Crawling Agent is working...");
+
+        // A crawl waiting for the user saved the agent's conversation ID with its result
+        CrawlerResult previous = context.input(Artifact.CRAWL);
+        String agentConversationId = previous != null ? previous.getConversationId() : null;
+
+        ResponseEntity<ChatResponse, CrawlerResult> crawlerResult;
+        try {
+            if (agentConversationId != null) {
+                crawlerResult = directCrawlService.timeAgentCrawl(
+                        () -> crawlerAgent.continueConversation(userMessage, agentConversationId));
+            } else {
+                // Plain "posts about X this week" requests do not need the agent's tool loop
+                Optional<CrawlerResult> direct = directCrawlService.crawl(userMessage);
+                crawlerResult = direct.isPresent()
+                        ? new ResponseEntity<>(null, direct.get())
+                        : directCrawlService.timeAgentCrawl(() -> crawlerAgent.runNonInteractive(userMessage));
+            }
+        } catch (Exception e) {
+            throw new StageException("Failed to connect to AI service. Please check the logs and try again.\n\n" +
+                    "Error: " + e.getMessage(), e);
+        }
+
+        if (crawlerResult == null || crawlerResult.entity() == null) {
+            throw new StageException("Failed to fetch data. Please try again.");
+        }
+
+        // Check if crawler needs more input
+        if (crawlerResult.entity().getFinishReason() == CrawlerResult.FinishReason.NEEDS_MORE_INPUT) {
+            logger.info("🔁 Crawler needs more input, asking user in Slack");
+            context.reply("❓ " + crawlerResult.entity().getNextPrompt());
+
+            // Store the conversation ID with the result so we can continue
+            if (crawlerResult.entity().getConversationId() == null) {
+                crawlerResult.entity().setConversationId(agentConversationId);
+            }
+            context.output(Artifact.CRAWL, crawlerResult.entity());
+            return StageOutcome.WAITING;
+        }
+
+        logger.info("✅ Crawler completed");
+
+        // Track token usage in the result object; a direct crawl uses none
+        Long crawlerTokens = crawlerResult.response() != null ? TokenUsage.total(crawlerResult.response()) : 0L;
+        crawlerResult.entity().setTokens(crawlerTokens);
+        logger.info("📊 Crawler used {} tokens", crawlerTokens);
+
+        context.reply("🔍 Crawling Agent found " + crawlerResult.entity().getFinalResponse().getFetchedData().size() +
+                " posts. Sending them to the Analysis Agent. (Tokens: " + crawlerTokens + ")");
+
+        context.output(Artifact.CRAWL, crawlerResult.entity());
+        return StageOutcome.COMPLETED;
+    }
+}
@@ -1,5 +1,9 @@
 package com.redis.socialmediatracker.agent.collectoragent;
 
+import com.redis.socialmediatracker.agent.sentiment.SentimentClassifier;
+import com.redis.socialmediatracker.agent.sentiment.SentimentScore;
+import com.redis.socialmediatracker.agent.tools.PostReferences;
+import com.redis.socialmediatracker.bluesky.model.Post;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
@@ -8,6 +12,11 @@ import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Scanner;
 import java.util.UUID;
 
@@ -17,9 +26,14 @@ public class CrawlerAgent {
     private static final Logger log = LoggerFactory.getLogger(CrawlerAgent.class);
 
     private final ChatClient crawlerChatClient;
+    private final PostReferences postReferences;
+    private final SentimentClassifier sentimentClassifier;
 
-    public CrawlerAgent(ChatClient crawlerChatClient) {
+    public CrawlerAgent(ChatClient crawlerChatClient, PostReferences postReferences,
+                        SentimentClassifier sentimentClassifier) {
         this.crawlerChatClient = crawlerChatClient;
+        this.postReferences = postReferences;
+        this.sentimentClassifier = sentimentClassifier;
     }
 
     private ResponseEntity<ChatResponse, CrawlerResult> sendMessage(String message, String contextId) {
@@ -32,10 +46,12 @@ public class CrawlerAgent {
                     .prompt()
                     .user(message)
                     .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, contextId))
+                    .toolContext(Map.of(PostReferences.CONVERSATION_ID, contextId))
                     .call()
                     .responseEntity(CrawlerResult.class);
 
             log.info("✅ Received response from Vertex AI");
+            resolvePostIds(response.entity(), contextId);
             return response;
         } catch (Exception e) {
             log.error("❌ Failed to call Vertex AI Gemini", e);
@@ -51,6 +67,69 @@ public class CrawlerAgent {
         }
     }
 
+    /**
+     * Replaces the short post IDs the agent saw in tool results with the full posts:
+     * AT URI as postId, web URL, text, engagement counts and the number of near-duplicate
+     * copies from the crawl. Sentiment comes from the lexicon where it is confident,
+     * otherwise from the agent.
+     */
+    private void resolvePostIds(CrawlerResult result, String contextId) {
+        if (result == null || result.getFinalResponse() == null || result.getFinalResponse().getFetchedData() == null) {
+            return;
+        }
+        List<FetchedPost> fetchedData = result.getFinalResponse().getFetchedData();
+        List<Optional<Post>> posts = new ArrayList<>(fetchedData.size());
+        List<String> texts = new ArrayList<>(fetchedData.size());
+        int unresolved = 0;
+        for (FetchedPost fetched : fetchedData) {
+            Optional<Post> post = fetched.getPostId() != null
+                    ? postReferences.resolve(contextId, fetched.getPostId())
+                    : Optional.empty();
+            if (post.isEmpty()) {
+                unresolved++;
+            }
+            posts.add(post);
+            texts.add(post.map(Post::getText).orElse(fetched.getContent()));
+        }
+        List<SentimentScore> sentiments = sentimentClassifier.scoreAll(texts);
+
+        List<FetchedPost> resolved = new ArrayList<>(fetchedData.size());
+        for (int i = 0; i < fetchedData.size(); i++) {
+            FetchedPost fetched = fetchedData.get(i);
+            String sentiment = sentimentClassifier.assign(sentiments.get(i), fetched.getSentiment());
+            resolved.add(posts.get(i)
+                    .map(post -> resolve(fetched, post, sentiment,
+                            postReferences.copies(contextId, fetched.getPostId())))
+                    .orElseGet(() -> new FetchedPost(fetched.getPlatform(), fetched.getPostId(), fetched.getUrl(),
+                            fetched.getContent(), fetched.getEngagement(), sentiment, fetched.getMetadata())));
+        }
+        result.getFinalResponse().setFetchedData(resolved);
+        if (unresolved > 0) {
+            log.warn("⚠️ {} of {} fetched posts did not reference a known post ID", unresolved, resolved.size());
+        }
+    }
+
+    private FetchedPost resolve(FetchedPost fetched, Post post, String sentiment, int copies) {
+        FetchedPost crawled = FetchedPost.of(post, sentiment, copies);
+        Map<String, Object> metadata = new HashMap<>();
+        if (fetched.getMetadata() != null) {
+            metadata.putAll(fetched.getMetadata());
+        }
+        metadata.putAll(crawled.getMetadata());
+
+        String content = fetched.getContent() != null && !fetched.getContent().isBlank()
+                ? fetched.getContent()
+                : crawled.getContent();
+        return new FetchedPost(
+                fetched.getPlatform() != null ? fetched.getPlatform() : crawled.getPlatform(),
+                crawled.getPostId(),
+                crawled.getUrl(),
+                content,
+                crawled.getEngagement(),
+                sentiment,
+                metadata);
+    }
+
     /**
      * Run the crawler agent in CLI mode (interactive).
      * This method prompts for user input when needed.
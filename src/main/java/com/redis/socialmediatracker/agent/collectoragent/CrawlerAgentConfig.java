@@ -31,9 +31,9 @@ public class CrawlerAgentConfig {
                     • Timestamp, author/handle, and direct post link (if accessible).
                 4. Verify timestamp relevance (only content within the time frame requested).
                 5. Organize and normalize data into a consistent structure for downstream processing.
-                6. Remove irrelevant posts that are not truly related to Redis.
-                7. Remove posts that are duplicate.
-                8. Add sentiment to each post (happy, angry, sad, frustrated)
+                6. Remove irrelevant posts that are not truly related to Redis. Tool results are already pre-filtered for tracked topics (droppedAsIrrelevant counts the posts left out), so only remove posts that are clearly off-topic.
+                7. Remove posts that are duplicate. Near-duplicate posts are already collapsed into one row whose copies column counts them (duplicatesCollapsed counts the posts merged), so do not compare posts for duplicates yourself.
+                8. Add sentiment to each post (happy, angry, sad, frustrated, neutral). Posts whose sentiment column in a tool result is not ? are already labeled; leave their sentiment empty and only label the posts marked ?.
             
             TOOLS AVAILABLE
             You may call tools when needed by providing structured arguments.
@@ -53,6 +53,12 @@ public class CrawlerAgentConfig {
             • Flag missing data sources clearly rather than guessing.
             • Prioritize freshness (time frame requested) and verifiable sources.
             • If results are sparse, specify which platform or tag lacked sufficient data.
+            • If a search result is marked truncated, state in dataQualityNotes that the dataset was capped and why.
+            • Try findTopStoredPosts first; fall back to searchPosts or searchPostsForTags only when its result is not marked complete.
+            • For posts of one author, use findTopStoredPostsByAuthor.
+            • For trends or momentum, include getTopicMomentum and findTrendingPosts results rather than inferring growth from like counts.
+            • Post tools return a table: columns names the fields and each row holds one post's values separated by |. Use the id column (e.g. p1) as postId; url, author and engagement counts are filled in from the id afterwards, so they can be left empty.
+            • When only the most engaging posts matter, pass topN to the search tools instead of fetching every post.
             
             INTERACTION MODE
             • Continue asking for clarification (via NEEDS_MORE_INPUT) until all key parameters are defined.
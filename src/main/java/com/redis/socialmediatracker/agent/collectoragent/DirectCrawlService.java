@@ -0,0 +1,201 @@
+package com.redis.socialmediatracker.agent.collectoragent;
+
+import com.redis.socialmediatracker.agent.sentiment.SentimentClassifier;
+import com.redis.socialmediatracker.agent.sentiment.SentimentScore;
+import com.redis.socialmediatracker.bluesky.BlueskyBatchSearchService;
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.dedup.PostCluster;
+import com.redis.socialmediatracker.bluesky.dedup.PostDeduplicator;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import com.redis.socialmediatracker.bluesky.relevance.RelevanceFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Answers plain crawl requests without the crawler agent: the request is read by
+ * the {@link CrawlRequestParser} and the search runs directly, followed by the
+ * same relevance filter, near-duplicate collapsing and sentiment scoring the
+ * agent's tools apply. Ambiguous requests are left to the agent.
+ * <p>
+ * Requests are counted as {@code agent.crawler.requests}, tagged with the path
+ * taken ({@code direct} or {@code agent}) and, for the agent, why. Both paths are
+ * timed as {@code agent.crawler.duration}; every direct crawl records the
+ * difference to the mean agent crawl as {@code agent.crawler.latency.saved}.
+ */
+@Service
+public class DirectCrawlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectCrawlService.class);
+
+    public static final String PATH_DIRECT = "direct";
+    public static final String PATH_AGENT = "agent";
+
+    private static final Comparator<PostCluster> BY_ENGAGEMENT = Comparator.comparingInt((PostCluster cluster) -> {
+        Post post = cluster.representative();
+        return post.getLikeCount() + post.getRepostCount() + post.getReplyCount();
+    }).reversed();
+
+    private final CrawlRequestParser parser = new CrawlRequestParser();
+    private final BlueskyBatchSearchService batchSearchService;
+    private final SearchBudget searchBudget;
+    private final RelevanceFilter relevanceFilter;
+    private final PostDeduplicator deduplicator;
+    private final SentimentClassifier sentimentClassifier;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxPosts;
+    private final ZoneId zone;
+    private final Timer directTimer;
+    private final Timer agentTimer;
+    private final DistributionSummary latencySaved;
+
+    public DirectCrawlService(
+            BlueskyBatchSearchService batchSearchService,
+            SearchBudget searchBudget,
+            RelevanceFilter relevanceFilter,
+            PostDeduplicator deduplicator,
+            SentimentClassifier sentimentClassifier,
+            MeterRegistry meterRegistry,
+            @Value("${app.direct-crawl.enabled:true}") boolean enabled,
+            @Value("${app.direct-crawl.max-posts:100}") int maxPosts,
+            @Value("${app.direct-crawl.zone:UTC}") ZoneId zone) {
+        this.batchSearchService = batchSearchService;
+        this.searchBudget = searchBudget;
+        this.relevanceFilter = relevanceFilter;
+        this.deduplicator = deduplicator;
+        this.sentimentClassifier = sentimentClassifier;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxPosts = maxPosts;
+        this.zone = zone;
+        this.directTimer = durationTimer(PATH_DIRECT);
+        this.agentTimer = durationTimer(PATH_AGENT);
+        this.latencySaved = DistributionSummary.builder("agent.crawler.latency.saved")
+                .description("Mean agent crawl time minus the time of a direct crawl")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crawls a request without the agent, if it can be read unambiguously.
+     *
+     * @param message The user's request
+     * @return The crawl result, or empty if the agent has to handle the request
+     */
+    public Optional<CrawlerResult> crawl(String message) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CrawlRequest request = parser.parse(message, ZonedDateTime.now(zone));
+        if (request.isAmbiguous()) {
+            logger.info("🧭 Request needs the crawler agent ({})", request.ambiguity());
+            requests(PATH_AGENT, request.ambiguity()).increment();
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        SearchResult result;
+        try {
+            result = batchSearchService.searchPosts(request.tags(), request.since(), 100, searchBudget);
+        } catch (Exception e) {
+            logger.warn("⚠️ Direct crawl of {} failed, falling back to the crawler agent: {}", request.tags(),
+                    e.getMessage());
+            requests(PATH_AGENT, "search_failed").increment();
+            return Optional.empty();
+        }
+        CrawlerResult crawlerResult = toCrawlerResult(request, result);
+        long elapsed = System.nanoTime() - start;
+
+        directTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        requests(PATH_DIRECT, "parsed").increment();
+        if (agentTimer.count() > 0) {
+            double saved = agentTimer.mean(TimeUnit.MILLISECONDS) - TimeUnit.NANOSECONDS.toMillis(elapsed);
+            latencySaved.record(Math.max(0, saved));
+            logger.info("⚡ Crawled {} since {} directly in {} ms, ~{} ms faster than the crawler agent",
+                    request.tags(), request.since(), TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(saved));
+        } else {
+            logger.info("⚡ Crawled {} since {} directly in {} ms", request.tags(), request.since(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return Optional.of(crawlerResult);
+    }
+
+    /**
+     * Runs and times a crawl by the agent, the baseline for {@code agent.crawler.latency.saved}.
+     */
+    public <T> T timeAgentCrawl(Supplier<T> crawl) {
+        return agentTimer.record(crawl);
+    }
+
+    private CrawlerResult toCrawlerResult(CrawlRequest request, SearchResult result) {
+        List<Post> relevant = relevanceFilter.filter(request.tags(), result.getPosts());
+        List<PostCluster> clusters = new ArrayList<>(deduplicator.collapse(relevant));
+        clusters.sort(BY_ENGAGEMENT);
+        if (clusters.size() > maxPosts) {
+            clusters = clusters.subList(0, maxPosts);
+        }
+
+        List<SentimentScore> sentiments = sentimentClassifier.scoreAll(
+                clusters.stream().map(cluster -> cluster.representative().getText()).toList());
+        List<FetchedPost> fetched = new ArrayList<>(clusters.size());
+        for (int i = 0; i < clusters.size(); i++) {
+            PostCluster cluster = clusters.get(i);
+            fetched.add(FetchedPost.of(cluster.representative(),
+                    sentimentClassifier.assign(sentiments.get(i), null), cluster.size()));
+        }
+
+        Map<String, Object> searchParameters = new LinkedHashMap<>();
+        searchParameters.put("platforms", List.of("Bluesky"));
+        searchParameters.put("tags", request.tags());
+        searchParameters.put("since", request.since().toString());
+        searchParameters.put("parsedBy", "rules");
+
+        List<String> notes = new ArrayList<>();
+        if (result.isTruncated()) {
+            notes.add("The search was capped (" + result.getTruncationReason() + "), more matching posts exist.");
+        }
+        if (relevant.size() < result.getPosts().size()) {
+            notes.add((result.getPosts().size() - relevant.size()) + " off-topic posts were dropped.");
+        }
+        if (clusters.size() < relevant.size()) {
+            notes.add("Near-duplicate posts were collapsed; metadata.copies counts them.");
+        }
+        if (fetched.isEmpty()) {
+            notes.add("No posts found for " + request.tags() + " since " + request.since() + ".");
+        } else if (result.getPostsPerTag() != null) {
+            result.getPostsPerTag().forEach((tag, count) -> {
+                if (count == 0) notes.add("No posts found for " + tag + ".");
+            });
+        }
+        return CrawlerResult.completed(new FetchedDataResponse(searchParameters, fetched,
+                notes.isEmpty() ? "" : String.join(" ", notes), ""));
+    }
+
+    private Timer durationTimer(String path) {
+        return Timer.builder("agent.crawler.duration")
+                .description("Time to crawl the posts for a request")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    private Counter requests(String path, String reason) {
+        return Counter.builder("agent.crawler.requests")
+                .description("Crawl requests, by the path that answered them")
+                .tag("path", path)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
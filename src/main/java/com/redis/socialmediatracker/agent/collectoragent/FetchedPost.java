@@ -1,5 +1,8 @@
 package com.redis.socialmediatracker.agent.collectoragent;
 
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -23,6 +26,23 @@ public class FetchedPost {
         this.metadata = metadata;
     }
 
+    /**
+     * A fetched Bluesky post with the crawl's URI, URL, text and engagement counts.
+     *
+     * @param copies Number of near-duplicate posts it stands for, itself included
+     */
+    public static FetchedPost of(Post post, String sentiment, int copies) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("author", post.getAuthor());
+        metadata.put("createdAt", post.getCreatedAt() != null ? post.getCreatedAt().toString() : null);
+        metadata.put("likes", post.getLikeCount());
+        metadata.put("reposts", post.getRepostCount());
+        metadata.put("replies", post.getReplyCount());
+        metadata.put("copies", copies);
+        return new FetchedPost("Bluesky", post.getUri(), post.getUrl(), post.getText(),
+                post.getLikeCount() + post.getRepostCount() + post.getReplyCount(), sentiment, metadata);
+    }
+
     public String getPlatform() { return platform; }
     public String getPostId() { return postId; }
     public String getUrl() { return url; }
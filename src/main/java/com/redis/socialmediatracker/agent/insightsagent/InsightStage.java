@@ -0,0 +1,82 @@
+package com.redis.socialmediatracker.agent.insightsagent;
+
+import com.redis.socialmediatracker.agent.pipeline.Artifact;
+import com.redis.socialmediatracker.agent.pipeline.PipelineStage;
+import com.redis.socialmediatracker.agent.pipeline.StageContext;
+import com.redis.socialmediatracker.agent.pipeline.StageException;
+import com.redis.socialmediatracker.agent.pipeline.StageOutcome;
+import com.redis.socialmediatracker.agent.pipeline.StagePolicy;
+import com.redis.socialmediatracker.agent.pipeline.TokenUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pipeline stage turning the crawled posts and their analysis into insights.
+ */
+@Component
+public class InsightStage implements PipelineStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsightStage.class);
+
+    private final InsightAgent insightAgent;
+    private final StagePolicy policy;
+
+    public InsightStage(
+            InsightAgent insightAgent,
+            @Value("${app.pipeline.stages.insight.timeout:PT3M}") Duration timeout,
+            @Value("${app.pipeline.stages.insight.max-attempts:2}") int maxAttempts,
+            @Value("${app.pipeline.stages.insight.backoff:PT2S}") Duration backoff) {
+        this.insightAgent = insightAgent;
+        this.policy = new StagePolicy(timeout, maxAttempts, backoff);
+    }
+
+    @Override
+    public String name() {
+        return "insight";
+    }
+
+    @Override
+    public Set<Artifact<?>> inputs() {
+        return Set.of(Artifact.CRAWL, Artifact.ANALYSIS);
+    }
+
+    @Override
+    public Set<Artifact<?>> outputs() {
+        return Set.of(Artifact.INSIGHT);
+    }
+
+    @Override
+    public StagePolicy policy() {
+        return policy;
+    }
+
+    @Override
+    public StageOutcome run(StageContext context) {
+        // Step 3: Insight Agent - Generate insights
+        context.reply("💡 Insights Agent is generating insights...");
+        var insightResult = insightAgent.runNonInteractive(context.input(Artifact.CRAWL),
+                context.input(Artifact.ANALYSIS));
+
+        if (insightResult == null || insightResult.entity() == null) {
+            throw new StageException("Failed to generate insights. Please try again.");
+        }
+
+        logger.info("✅ Insights completed");
+
+        // Track token usage in the result object
+        Long insightTokens = TokenUsage.total(insightResult.response());
+        insightResult.entity().setTokens(insightTokens);
+        logger.info("📊 Insight used {} tokens", insightTokens);
+
+        context.reply("💡 Insights Agent completed its task. Sending results to the Report Agent. (Tokens: "
+                + insightTokens + ")");
+
+        context.output(Artifact.INSIGHT, insightResult.entity());
+        return StageOutcome.COMPLETED;
+    }
+}
@@ -16,6 +16,10 @@ import org.springframework.data.annotation.Id;
 @Document(value = "conversation-state", indexName = "conversationStateIdx", timeToLive = 1800)
 public class ConversationState {
 
+    /**
+     * COMPLETED once the whole pipeline ran; which stages are done in between is
+     * told by their stored results, see {@code Artifact}.
+     */
     public enum Stage {
         CRAWLER,
         ANALYSIS,
@@ -60,6 +64,11 @@ public class ConversationState {
     @Indexed
     private com.redis.socialmediatracker.agent.reportagent.ReportResult reportResultJson;
 
+    /**
+     * Whether the report was sent to Slack; set only after it was, so a restart in between sends it again
+     */
+    private boolean reportDelivered;
+
     public ConversationState() {
         this.currentStage = Stage.CRAWLER;
         this.lastActivityTimestamp = System.currentTimeMillis();
@@ -181,6 +190,14 @@ public class ConversationState {
         this.reportResultJson = reportResultJson;
     }
 
+    public boolean isReportDelivered() {
+        return reportDelivered;
+    }
+
+    public void setReportDelivered(boolean reportDelivered) {
+        this.reportDelivered = reportDelivered;
+    }
+
     /**
      * Calculate total tokens consumed across all agent stages.
      * Reads token counts from nested result objects.
@@ -0,0 +1,86 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import com.redis.socialmediatracker.agent.analysisagent.AnalysisResult;
+import com.redis.socialmediatracker.agent.collectoragent.CrawlerResult;
+import com.redis.socialmediatracker.agent.insightsagent.InsightResult;
+import com.redis.socialmediatracker.agent.memory.ConversationState;
+import com.redis.socialmediatracker.agent.reportagent.ReportResult;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A result that pipeline stages produce and consume, stored in the
+ * {@link ConversationState} so it survives restarts.
+ * <p>
+ * Stages declare artifacts as inputs and outputs; the {@link PipelineEngine} derives
+ * the order of stages from them. An artifact that is complete in the state is not
+ * produced again, which is how interrupted pipelines resume.
+ */
+public final class Artifact<T> {
+
+    /**
+     * Posts fetched by the crawler; complete only once the crawler needs no more input.
+     */
+    public static final Artifact<CrawlerResult> CRAWL = new Artifact<>("crawl",
+            ConversationState::getCrawlerResult, ConversationState::setCrawlerResult,
+            result -> result.getFinishReason() == CrawlerResult.FinishReason.COMPLETED);
+
+    public static final Artifact<AnalysisResult> ANALYSIS = new Artifact<>("analysis",
+            ConversationState::getAnalysisResult, ConversationState::setAnalysisResult);
+
+    public static final Artifact<InsightResult> INSIGHT = new Artifact<>("insight",
+            ConversationState::getInsightResult, ConversationState::setInsightResult);
+
+    public static final Artifact<ReportResult> REPORT = new Artifact<>("report",
+            ConversationState::getReportResult, ConversationState::setReportResult);
+
+    /**
+     * Set once the report was sent; see {@link StageContext#afterCheckpoint}.
+     */
+    public static final Artifact<Boolean> DELIVERY = new Artifact<>("delivery",
+            ConversationState::isReportDelivered, ConversationState::setReportDelivered, Boolean::booleanValue);
+
+    private final String name;
+    private final Function<ConversationState, T> getter;
+    private final BiConsumer<ConversationState, T> setter;
+    private final Predicate<T> complete;
+
+    public Artifact(String name, Function<ConversationState, T> getter, BiConsumer<ConversationState, T> setter) {
+        this(name, getter, setter, value -> true);
+    }
+
+    /**
+     * @param complete Whether a stored value is final, rather than an intermediate result
+     */
+    public Artifact(String name, Function<ConversationState, T> getter, BiConsumer<ConversationState, T> setter,
+                    Predicate<T> complete) {
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+        this.complete = complete;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public T get(ConversationState state) {
+        return getter.apply(state);
+    }
+
+    void set(ConversationState state, T value) {
+        setter.accept(state, value);
+    }
+
+    public boolean isComplete(ConversationState state) {
+        T value = get(state);
+        return value != null && complete.test(value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
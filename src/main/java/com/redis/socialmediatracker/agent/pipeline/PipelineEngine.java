@@ -0,0 +1,251 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import com.redis.socialmediatracker.agent.memory.ConversationState;
+import com.redis.socialmediatracker.agent.memory.ConversationStateManager;
+import com.redis.socialmediatracker.slack.SlackService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the {@link PipelineStage} beans for a conversation as a graph: each stage
+ * starts once the stages producing its inputs completed, so independent stages run
+ * concurrently, each on its own virtual thread.
+ * <p>
+ * Every attempt of a stage is bounded by the timeout of its {@link StagePolicy} and
+ * retried with backoff until its attempts are used up. The outputs of a completed
+ * stage are saved to the conversation state right away; stages whose outputs are
+ * already complete are skipped, so a run after a failure or restart picks up
+ * where the last one stopped. Side effects a stage registers with
+ * {@link StageContext#afterCheckpoint} run once, after its outputs are saved, and
+ * are marked done in the state afterwards; a run after a restart in between runs
+ * the stage again so it can deliver what it saved.
+ * <p>
+ * Stage attempts are timed as {@code agent.pipeline.stage.duration}, tagged with the
+ * stage and outcome; retries are counted as {@code agent.pipeline.stage.retries}.
+ */
+@Component
+public class PipelineEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineEngine.class);
+
+    private final StageGraph graph;
+    private final ConversationStateManager conversationStateManager;
+    private final SlackService slackService;
+    private final MeterRegistry meterRegistry;
+    // Not shut down with the context: virtual threads do not keep the JVM alive, and
+    // running stages are interrupted through the run when the PipelineExecutor stops
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PipelineEngine(
+            List<PipelineStage> stages,
+            ConversationStateManager conversationStateManager,
+            SlackService slackService,
+            MeterRegistry meterRegistry) {
+        this.graph = new StageGraph(stages);
+        this.conversationStateManager = conversationStateManager;
+        this.slackService = slackService;
+        this.meterRegistry = meterRegistry;
+        logger.info("🧩 Pipeline stages: {}", graph.order().stream().map(PipelineStage::name).toList());
+    }
+
+    /**
+     * Runs every stage whose outputs are not complete yet, and waits for all of them.
+     *
+     * @param state       Conversation to run the pipeline for; completed outputs are saved to it
+     * @param userMessage The user's message, null when resuming
+     * @return How the run ended
+     * @throws InterruptedException If interrupted while waiting; running stages are interrupted too
+     */
+    public PipelineResult run(ConversationState state, String userMessage) throws InterruptedException {
+        Run run = new Run(state, userMessage);
+        Map<PipelineStage, CompletableFuture<StageOutcome>> outcomes = new HashMap<>();
+        for (PipelineStage stage : graph.order()) {
+            List<CompletableFuture<StageOutcome>> upstream = graph.dependencies(stage).stream()
+                    .map(outcomes::get)
+                    .toList();
+            CompletableFuture<StageOutcome> outcome = CompletableFuture
+                    .allOf(upstream.toArray(CompletableFuture[]::new))
+                    .thenApplyAsync(ignored -> upstream.stream().allMatch(f -> f.join() == StageOutcome.COMPLETED)
+                            ? execute(stage, run)
+                            : StageOutcome.SKIPPED, executor);
+            outcomes.put(stage, outcome);
+        }
+
+        try {
+            CompletableFuture.allOf(outcomes.values().toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            run.cancel();
+            throw e;
+        } catch (ExecutionException e) {
+            // execute() reports failures as outcomes, so this is a bug in the engine
+            throw new IllegalStateException("Pipeline run failed unexpectedly", e.getCause());
+        }
+
+        PipelineResult waiting = null;
+        for (PipelineStage stage : graph.order()) {
+            StageOutcome outcome = outcomes.get(stage).join();
+            if (outcome == StageOutcome.FAILED) {
+                return new PipelineResult(StageOutcome.FAILED, stage.name(), run.failures.get(stage.name()));
+            }
+            if (outcome == StageOutcome.WAITING && waiting == null) {
+                waiting = new PipelineResult(StageOutcome.WAITING, stage.name(), null);
+            }
+        }
+        return waiting != null ? waiting : PipelineResult.completed();
+    }
+
+    /**
+     * Runs one stage to its outcome, retrying as its policy allows. Never throws.
+     */
+    private StageOutcome execute(PipelineStage stage, Run run) {
+        if (stage.outputs().stream().allMatch(output -> output.isComplete(run.state))) {
+            logger.debug("Stage {} already completed for conversation {}", stage.name(),
+                    run.state.getConversationId());
+            return StageOutcome.COMPLETED;
+        }
+
+        StagePolicy policy = stage.policy();
+        Throwable error = null;
+        for (int attempt = 1; attempt <= policy.maxAttempts() && !run.cancelled; attempt++) {
+            if (attempt > 1) {
+                Counter.builder("agent.pipeline.stage.retries")
+                        .description("Stage attempts retried after a failure or timeout")
+                        .tag("stage", stage.name())
+                        .register(meterRegistry)
+                        .increment();
+                Duration backoff = policy.backoffBefore(attempt);
+                logger.warn("🔁 Retrying stage {} in {} (attempt {} of {}): {}", stage.name(), backoff, attempt,
+                        policy.maxAttempts(), error.getMessage());
+                if (!sleep(backoff)) {
+                    break;
+                }
+            }
+
+            StageContext context = new StageContext(run.state, run.userMessage, stage.outputs(), run::reply);
+            long start = System.nanoTime();
+            Future<StageOutcome> attemptFuture = executor.submit(() -> stage.run(context));
+            run.attempts.add(attemptFuture);
+            try {
+                StageOutcome outcome = attemptFuture.get(policy.timeout().toMillis(), TimeUnit.MILLISECONDS);
+                checkpoint(run.state, context);
+                record(stage, outcome, start);
+                deliver(stage, run.state, context);
+                return outcome;
+            } catch (TimeoutException e) {
+                attemptFuture.cancel(true);
+                error = new StageException("The " + stage.name() + " step took longer than "
+                        + policy.timeout().toSeconds() + " seconds.", e);
+            } catch (ExecutionException e) {
+                error = e.getCause();
+            } catch (InterruptedException | CancellationException e) {
+                attemptFuture.cancel(true);
+                error = e;
+                break;
+            } finally {
+                run.attempts.remove(attemptFuture);
+            }
+            record(stage, StageOutcome.FAILED, start);
+            logger.warn("⚠️ Stage {} attempt {} failed: {}", stage.name(), attempt, error.getMessage());
+        }
+
+        logger.error("❌ Stage {} failed for conversation {}", stage.name(), run.state.getConversationId(), error);
+        run.failures.put(stage.name(), error != null ? error : new CancellationException("Pipeline was cancelled"));
+        return StageOutcome.FAILED;
+    }
+
+    /**
+     * Saves the outputs of an attempt. Concurrent stages share the state, so saves are serialized on it.
+     */
+    private void checkpoint(ConversationState state, StageContext context) {
+        synchronized (state) {
+            context.applyOutputs();
+            conversationStateManager.updateConversation(state);
+        }
+    }
+
+    /**
+     * Runs the side effects of a saved attempt, then saves that they ran. The outputs are saved,
+     * so a failure here does not fail the stage; retrying could repeat the side effects that did
+     * happen. They stay unmarked instead, so a resumed run delivers them again.
+     */
+    private void deliver(PipelineStage stage, ConversationState state, StageContext context) {
+        if (!context.hasDeliveries()) {
+            return;
+        }
+        try {
+            context.deliver();
+        } catch (Exception e) {
+            logger.error("❌ Stage {} completed for conversation {} but its delivery failed: {}", stage.name(),
+                    state.getConversationId(), e.getMessage(), e);
+            return;
+        }
+        synchronized (state) {
+            context.markDelivered();
+            conversationStateManager.updateConversation(state);
+        }
+    }
+
+    private void record(PipelineStage stage, StageOutcome outcome, long startNanos) {
+        Timer.builder("agent.pipeline.stage.duration")
+                .description("Time one attempt of a pipeline stage took")
+                .tag("stage", stage.name())
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * One pipeline run for a conversation.
+     */
+    private final class Run {
+
+        private final ConversationState state;
+        private final String userMessage;
+        private final Set<Future<?>> attempts = ConcurrentHashMap.newKeySet();
+        private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        private volatile boolean cancelled;
+
+        private Run(ConversationState state, String userMessage) {
+            this.state = state;
+            this.userMessage = userMessage;
+        }
+
+        private void reply(String message) {
+            slackService.sendMessage(state.getTeamId(), state.getChannel(), message, state.getThreadTs());
+        }
+
+        private void cancel() {
+            cancelled = true;
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+}
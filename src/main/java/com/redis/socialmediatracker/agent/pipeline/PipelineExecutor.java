@@ -0,0 +1,199 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs agent pipelines in the background, so Slack events can be acknowledged
+ * within Slack's 3 second timeout instead of waiting for every LLM call.
+ * <p>
+ * Pipelines wait in a queue of at most {@code app.pipeline.queue-capacity} and run
+ * on {@code app.pipeline.concurrency} virtual-thread workers. When the queue is full
+ * a pipeline is rejected rather than piling up; the caller tells the user to try later.
+ * Queue depth, active pipelines, queue wait and run time are recorded as
+ * {@code agent.pipeline.*} metrics.
+ */
+@Component
+public class PipelineExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineExecutor.class);
+
+    private static final long POLL_MILLIS = 500;
+
+    private final BlockingQueue<Task> queue;
+    private final List<Thread> workers;
+    private final Duration shutdownGrace;
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Timer queueWait;
+    private final Timer duration;
+
+    private volatile boolean stopped;
+
+    public PipelineExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.pipeline.concurrency:4}") int concurrency,
+            @Value("${app.pipeline.queue-capacity:50}") int queueCapacity,
+            @Value("${app.pipeline.shutdown-grace:PT30S}") Duration shutdownGrace) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.shutdownGrace = shutdownGrace;
+        this.accepted = Counter.builder("agent.pipeline.submitted")
+                .description("Pipelines submitted, by whether they were queued")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("agent.pipeline.submitted")
+                .description("Pipelines submitted, by whether they were queued")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("agent.pipeline.queue.wait")
+                .description("Time a pipeline waited in the queue before a worker picked it up")
+                .register(meterRegistry);
+        this.duration = Timer.builder("agent.pipeline.duration")
+                .description("Time a pipeline ran on a worker")
+                .register(meterRegistry);
+        Gauge.builder("agent.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Pipelines waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("agent.pipeline.active", active, AtomicInteger::get)
+                .description("Pipelines running on a worker")
+                .register(meterRegistry);
+
+        int workerCount = Math.max(1, concurrency);
+        this.workers = new ArrayList<>(workerCount);
+        Thread.Builder builder = Thread.ofVirtual().name("pipeline-", 0);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(builder.start(this::work));
+        }
+        logger.info("🧵 Pipeline executor started: {} workers, queue of {}", workerCount, queue.remainingCapacity());
+    }
+
+    /**
+     * Queues a pipeline to run in the background. If the executor shuts down before
+     * a worker picks it up, the pipeline is dropped without notice; use this for
+     * pipelines startup recovery picks up again.
+     *
+     * @param name     Short description for logs, e.g. the conversation it belongs to
+     * @param pipeline The pipeline; exceptions it throws are logged
+     * @return false if the queue is full or the executor is shutting down
+     */
+    public boolean submit(String name, Runnable pipeline) {
+        return submit(name, pipeline, () -> { });
+    }
+
+    /**
+     * Queues a pipeline to run in the background.
+     *
+     * @param name      Short description for logs, e.g. the conversation it belongs to
+     * @param pipeline  The pipeline; exceptions it throws are logged
+     * @param onDropped Runs instead of the pipeline if the executor shuts down while it is
+     *                  still queued, e.g. to ask the user to send the request again
+     * @return false if the queue is full or the executor is shutting down
+     */
+    public boolean submit(String name, Runnable pipeline, Runnable onDropped) {
+        if (stopped || !queue.offer(new Task(name, pipeline, onDropped, System.nanoTime()))) {
+            rejected.increment();
+            logger.warn("🚦 Pipeline queue full ({} waiting, {} running), rejected {}", queue.size(), active.get(), name);
+            return false;
+        }
+        accepted.increment();
+        logger.debug("Queued pipeline {} ({} waiting)", name, queue.size());
+        return true;
+    }
+
+    /**
+     * Pipelines waiting for a worker.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Pipelines running on a worker.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Stops taking pipelines and gives running ones {@code app.pipeline.shutdown-grace}
+     * to finish. Pipelines still running after that are interrupted; their conversations
+     * stay marked as running, so startup recovery resumes them. Queued pipelines never
+     * started, so nothing resumes them; their drop callbacks run instead.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        List<Task> dropped = new ArrayList<>();
+        queue.drainTo(dropped);
+        if (!dropped.isEmpty()) {
+            logger.warn("⚠️ Dropping {} queued pipelines on shutdown", dropped.size());
+        }
+        for (Task task : dropped) {
+            try {
+                task.onDropped().run();
+            } catch (Exception e) {
+                logger.error("❌ Failed to notify dropped pipeline {}: {}", task.name(), e.getMessage(), e);
+            }
+        }
+
+        long deadline = System.nanoTime() + shutdownGrace.toNanos();
+        for (Thread worker : workers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                    worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.forEach(Thread::interrupt);
+                break;
+            }
+        }
+        logger.info("🧵 Pipeline executor stopped");
+    }
+
+    private void work() {
+        while (!stopped) {
+            Task task;
+            try {
+                task = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            queueWait.record(start - task.queuedAt(), TimeUnit.NANOSECONDS);
+            active.incrementAndGet();
+            try {
+                task.pipeline().run();
+            } catch (Exception e) {
+                logger.error("❌ Pipeline {} failed: {}", task.name(), e.getMessage(), e);
+            } finally {
+                active.decrementAndGet();
+                duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private record Task(String name, Runnable pipeline, Runnable onDropped, long queuedAt) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+/**
+ * How a pipeline run ended.
+ *
+ * @param outcome {@link StageOutcome#COMPLETED} if every stage completed, {@link StageOutcome#WAITING}
+ *                if a stage waits for user input, {@link StageOutcome#FAILED} if a stage failed
+ * @param stage   The stage that failed or waits, null if completed
+ * @param error   Why the stage failed, null unless failed
+ */
+public record PipelineResult(StageOutcome outcome, String stage, Throwable error) {
+
+    public static PipelineResult completed() {
+        return new PipelineResult(StageOutcome.COMPLETED, null, null);
+    }
+}
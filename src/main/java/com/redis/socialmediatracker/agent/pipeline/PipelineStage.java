@@ -0,0 +1,37 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import java.util.Set;
+
+/**
+ * One step of the agent pipeline. Stages are Spring beans; the {@link PipelineEngine}
+ * picks up every one of them and wires them by the artifacts they declare, so a new
+ * stage needs no change to the orchestration.
+ */
+public interface PipelineStage {
+
+    /**
+     * Short name for logs and metrics, e.g. {@code analysis}
+     */
+    String name();
+
+    /**
+     * Artifacts that must be complete before the stage runs
+     */
+    Set<Artifact<?>> inputs();
+
+    /**
+     * Artifacts the stage produces; each artifact has exactly one producing stage
+     */
+    Set<Artifact<?>> outputs();
+
+    StagePolicy policy();
+
+    /**
+     * Runs one attempt of the stage. Outputs are written through the context and
+     * saved only if the attempt returns.
+     *
+     * @return {@link StageOutcome#COMPLETED} or {@link StageOutcome#WAITING}
+     * @throws Exception If the attempt failed; it is retried as the policy allows
+     */
+    StageOutcome run(StageContext context) throws Exception;
+}
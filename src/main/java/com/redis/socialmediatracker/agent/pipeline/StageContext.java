@@ -0,0 +1,112 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import com.redis.socialmediatracker.agent.memory.ConversationState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * What one attempt of a stage sees: its inputs, the user's message and a way to
+ * reply in the conversation. Outputs are buffered until the attempt returns, so a
+ * failed or timed-out attempt leaves the conversation state untouched. Side effects
+ * that must happen once, like sending the final report, are buffered the same way
+ * and run after the outputs are saved; a flag saved after them tells whether they did.
+ */
+public final class StageContext {
+
+    private final ConversationState state;
+    private final String userMessage;
+    private final Set<Artifact<?>> declaredOutputs;
+    private final Consumer<String> reply;
+    private final List<Runnable> writes = new ArrayList<>();
+    private final List<Runnable> deliveries = new ArrayList<>();
+    private final List<Artifact<Boolean>> delivered = new ArrayList<>();
+
+    StageContext(ConversationState state, String userMessage, Set<Artifact<?>> declaredOutputs,
+                 Consumer<String> reply) {
+        this.state = state;
+        this.userMessage = userMessage;
+        this.declaredOutputs = declaredOutputs;
+        this.reply = reply;
+    }
+
+    /**
+     * The conversation the pipeline runs for. Read artifacts through {@link #input}
+     * and write them through {@link #output}.
+     */
+    public ConversationState state() {
+        return state;
+    }
+
+    /**
+     * The user's message that started this run, or null when resuming after a restart
+     */
+    public String userMessage() {
+        return userMessage;
+    }
+
+    public <T> T input(Artifact<T> artifact) {
+        return artifact.get(state);
+    }
+
+    public <T> void output(Artifact<T> artifact, T value) {
+        if (!declaredOutputs.contains(artifact)) {
+            throw new IllegalArgumentException("Stage did not declare output " + artifact);
+        }
+        synchronized (writes) {
+            writes.add(() -> artifact.set(state, value));
+        }
+    }
+
+    /**
+     * Sends a message to the user's thread right away, so a retried attempt sends it again.
+     */
+    public void reply(String message) {
+        reply.accept(message);
+    }
+
+    /**
+     * Runs a side effect once the attempt returned and its outputs are saved, then sets
+     * {@code done} and saves it too. It is not repeated by retries. If the process stops
+     * before {@code done} is saved, the stage is not complete and runs again on resume,
+     * where it can tell from its saved outputs that only the side effect is left.
+     *
+     * @param done     A declared output, set to true once the side effect ran
+     * @param delivery The side effect
+     */
+    public void afterCheckpoint(Artifact<Boolean> done, Runnable delivery) {
+        if (!declaredOutputs.contains(done)) {
+            throw new IllegalArgumentException("Stage did not declare output " + done);
+        }
+        synchronized (deliveries) {
+            deliveries.add(delivery);
+            delivered.add(done);
+        }
+    }
+
+    void applyOutputs() {
+        synchronized (writes) {
+            writes.forEach(Runnable::run);
+        }
+    }
+
+    boolean hasDeliveries() {
+        synchronized (deliveries) {
+            return !deliveries.isEmpty();
+        }
+    }
+
+    void deliver() {
+        synchronized (deliveries) {
+            deliveries.forEach(Runnable::run);
+        }
+    }
+
+    void markDelivered() {
+        synchronized (deliveries) {
+            delivered.forEach(done -> done.set(state, true));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+/**
+ * Thrown by a stage that could not produce its outputs. The message is shown to the
+ * user as is, so it should say what failed in their terms.
+ */
+public class StageException extends RuntimeException {
+
+    public StageException(String message) {
+        super(message);
+    }
+
+    public StageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
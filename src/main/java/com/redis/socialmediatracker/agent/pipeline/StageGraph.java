@@ -0,0 +1,99 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The stages of the pipeline ordered by the artifacts they exchange: a stage
+ * depends on the stages producing its inputs. Built once at startup, it fails fast
+ * if an input has no producer, an artifact has two, or stages depend on each other
+ * in a cycle.
+ */
+public final class StageGraph {
+
+    private final List<PipelineStage> order;
+    private final Map<PipelineStage, List<PipelineStage>> dependencies;
+
+    public StageGraph(List<PipelineStage> stages) {
+        Map<Artifact<?>, PipelineStage> producers = new HashMap<>();
+        for (PipelineStage stage : stages) {
+            for (Artifact<?> output : stage.outputs()) {
+                PipelineStage other = producers.putIfAbsent(output, stage);
+                if (other != null) {
+                    throw new IllegalStateException("Artifact " + output + " is produced by both stage "
+                            + other.name() + " and stage " + stage.name());
+                }
+            }
+        }
+
+        Map<PipelineStage, List<PipelineStage>> dependencies = new LinkedHashMap<>();
+        for (PipelineStage stage : stages) {
+            Set<PipelineStage> upstream = new LinkedHashSet<>();
+            for (Artifact<?> input : stage.inputs()) {
+                PipelineStage producer = producers.get(input);
+                if (producer == null) {
+                    throw new IllegalStateException("Stage " + stage.name() + " needs artifact " + input
+                            + " that no stage produces");
+                }
+                upstream.add(producer);
+            }
+            dependencies.put(stage, List.copyOf(upstream));
+        }
+        this.dependencies = dependencies;
+        this.order = sort(stages, dependencies);
+    }
+
+    /**
+     * All stages, each after the stages it depends on; independent stages keep their given order.
+     */
+    public List<PipelineStage> order() {
+        return order;
+    }
+
+    /**
+     * The stages producing the inputs of a stage.
+     */
+    public List<PipelineStage> dependencies(PipelineStage stage) {
+        return dependencies.getOrDefault(stage, List.of());
+    }
+
+    private static List<PipelineStage> sort(List<PipelineStage> stages,
+                                            Map<PipelineStage, List<PipelineStage>> dependencies) {
+        Map<PipelineStage, Integer> pending = new HashMap<>();
+        Map<PipelineStage, List<PipelineStage>> dependents = new HashMap<>();
+        Deque<PipelineStage> ready = new ArrayDeque<>();
+        for (PipelineStage stage : stages) {
+            List<PipelineStage> upstream = dependencies.get(stage);
+            pending.put(stage, upstream.size());
+            upstream.forEach(producer -> dependents.computeIfAbsent(producer, s -> new ArrayList<>()).add(stage));
+            if (upstream.isEmpty()) {
+                ready.add(stage);
+            }
+        }
+
+        List<PipelineStage> sorted = new ArrayList<>(stages.size());
+        while (!ready.isEmpty()) {
+            PipelineStage stage = ready.poll();
+            sorted.add(stage);
+            for (PipelineStage dependent : dependents.getOrDefault(stage, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (sorted.size() < stages.size()) {
+            List<String> cyclic = stages.stream().filter(stage -> !sorted.contains(stage))
+                    .map(PipelineStage::name).toList();
+            throw new IllegalStateException("Pipeline stages depend on each other in a cycle: " + cyclic);
+        }
+        return List.copyOf(sorted);
+    }
+}
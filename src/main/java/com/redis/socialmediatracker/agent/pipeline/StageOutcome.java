@@ -0,0 +1,20 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+public enum StageOutcome {
+    /**
+     * All outputs were produced
+     */
+    COMPLETED,
+    /**
+     * The stage needs more input from the user; the pipeline pauses until the next message
+     */
+    WAITING,
+    /**
+     * Every attempt failed or timed out
+     */
+    FAILED,
+    /**
+     * Not run, because a stage it depends on did not complete
+     */
+    SKIPPED
+}
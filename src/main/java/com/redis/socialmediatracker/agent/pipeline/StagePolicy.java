@@ -0,0 +1,24 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import java.time.Duration;
+
+/**
+ * How long one attempt of a stage may take and how often it is tried.
+ *
+ * @param timeout     Time one attempt may take before it is interrupted
+ * @param maxAttempts Attempts before the stage fails, at least 1
+ * @param backoff     Wait before the first retry, doubled for every further retry
+ */
+public record StagePolicy(Duration timeout, int maxAttempts, Duration backoff) {
+
+    public StagePolicy {
+        maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Wait before the given attempt, counting from 1.
+     */
+    public Duration backoffBefore(int attempt) {
+        return attempt <= 1 ? Duration.ZERO : backoff.multipliedBy(1L << Math.min(attempt - 2, 16));
+    }
+}
@@ -0,0 +1,35 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatResponse;
+
+public final class TokenUsage {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenUsage.class);
+
+    private TokenUsage() {
+    }
+
+    /**
+     * Extract total token usage from a ChatResponse.
+     * Returns the total tokens (prompt + completion) or 0 if not available.
+     */
+    public static Long total(ChatResponse chatResponse) {
+        if (chatResponse == null) {
+            logger.warn("⚠️ ChatResponse is null, cannot extract token usage");
+            return 0L;
+        }
+
+        try {
+            var usage = chatResponse.getMetadata().getUsage();
+            if (usage != null && usage.getTotalTokens() != null) {
+                return usage.getTotalTokens().longValue();
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to extract token usage: {}", e.getMessage());
+        }
+
+        return 0L;
+    }
+}
@@ -0,0 +1,166 @@
+package com.redis.socialmediatracker.agent.reportagent;
+
+import com.redis.socialmediatracker.agent.memory.ConversationState;
+import com.redis.socialmediatracker.agent.pipeline.Artifact;
+import com.redis.socialmediatracker.agent.pipeline.PipelineStage;
+import com.redis.socialmediatracker.agent.pipeline.StageContext;
+import com.redis.socialmediatracker.agent.pipeline.StageException;
+import com.redis.socialmediatracker.agent.pipeline.StageOutcome;
+import com.redis.socialmediatracker.agent.pipeline.StagePolicy;
+import com.redis.socialmediatracker.agent.pipeline.TokenUsage;
+import com.redis.socialmediatracker.slack.SlackReportFormatter;
+import com.redis.socialmediatracker.slack.SlackService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pipeline stage writing the final report and sending it to Slack, followed by a
+ * summary of the tokens every stage used. Both are sent once the report is saved,
+ * so a retried attempt does not send the report twice. If the process stopped
+ * before the report was marked as sent, the resumed stage sends the saved report
+ * instead of writing a new one.
+ */
+@Component
+public class ReportStage implements PipelineStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportStage.class);
+
+    private final ReportAgent reportAgent;
+    private final SlackService slackService;
+    private final StagePolicy policy;
+
+    public ReportStage(
+            ReportAgent reportAgent,
+            SlackService slackService,
+            @Value("${app.pipeline.stages.report.timeout:PT3M}") Duration timeout,
+            @Value("${app.pipeline.stages.report.max-attempts:2}") int maxAttempts,
+            @Value("${app.pipeline.stages.report.backoff:PT2S}") Duration backoff) {
+        this.reportAgent = reportAgent;
+        this.slackService = slackService;
+        this.policy = new StagePolicy(timeout, maxAttempts, backoff);
+    }
+
+    @Override
+    public String name() {
+        return "report";
+    }
+
+    @Override
+    public Set<Artifact<?>> inputs() {
+        return Set.of(Artifact.CRAWL, Artifact.ANALYSIS, Artifact.INSIGHT);
+    }
+
+    @Override
+    public Set<Artifact<?>> outputs() {
+        return Set.of(Artifact.REPORT, Artifact.DELIVERY);
+    }
+
+    @Override
+    public StagePolicy policy() {
+        return policy;
+    }
+
+    @Override
+    public StageOutcome run(StageContext context) {
+        ConversationState state = context.state();
+
+        ReportResult report = context.input(Artifact.REPORT);
+        if (report != null) {
+            logger.info("📨 Sending the report saved before the restart");
+        } else {
+            report = createReport(context);
+        }
+        long reportTokens = tokens(report.getTokens());
+
+        // Step 5: Send final report to Slack
+        String slackFormattedReport = SlackReportFormatter.toSlackFormat(report);
+
+        // Send token usage summary
+        long crawlerTokens = tokens(context.input(Artifact.CRAWL).getTokens());
+        long analysisTokens = tokens(context.input(Artifact.ANALYSIS).getTokens());
+        long insightTokens = tokens(context.input(Artifact.INSIGHT).getTokens());
+
+        String tokenSummary = String.format(
+            "\n\n📊 *Token Usage Summary*\n" +
+            "• Crawler: %,d tokens\n" +
+            "• Analysis: %,d tokens\n" +
+            "• Insights: %,d tokens\n" +
+            "• Report: %,d tokens\n" +
+            "• *Total: %,d tokens*",
+            crawlerTokens,
+            analysisTokens,
+            insightTokens,
+            reportTokens,
+            crawlerTokens + analysisTokens + insightTokens + reportTokens
+        );
+        context.afterCheckpoint(Artifact.DELIVERY, () -> {
+            // Split into chunks if too long (Slack has a 4000 char limit per message)
+            sendLongMessage(state.getTeamId(), state.getChannel(), state.getThreadTs(), slackFormattedReport);
+            context.reply(tokenSummary);
+        });
+        return StageOutcome.COMPLETED;
+    }
+
+    private ReportResult createReport(StageContext context) {
+        // Step 4: Report Agent - Create final report
+        context.reply("📝 Report Agent is creating report...");
+        var reportResult = reportAgent.runNonInteractive(
+                context.input(Artifact.CRAWL),
+                context.input(Artifact.ANALYSIS),
+                context.input(Artifact.INSIGHT)
+        );
+
+        if (reportResult == null || reportResult.entity() == null) {
+            throw new StageException("Failed to generate report. Please try again.");
+        }
+
+        logger.info("✅ Report completed");
+
+        // Track token usage in the result object
+        Long reportTokens = TokenUsage.total(reportResult.response());
+        reportResult.entity().setTokens(reportTokens);
+        logger.info("📊 Report used {} tokens", reportTokens);
+
+        context.reply("📝 Report Agent finalized the report. Formatting and sending... (Tokens: " + reportTokens + ")");
+
+        context.output(Artifact.REPORT, reportResult.entity());
+        return reportResult.entity();
+    }
+
+    private static long tokens(Long tokens) {
+        return tokens != null ? tokens : 0;
+    }
+
+    /**
+     * Send a long message by splitting it into chunks if necessary.
+     */
+    private void sendLongMessage(String teamId, String channel, String threadTs, String message) {
+        final int MAX_LENGTH = 3900; // Leave some buffer under 4000
+
+        if (message.length() <= MAX_LENGTH) {
+            slackService.sendMarkdownMessage(teamId, channel, message, threadTs);
+            return;
+        }
+
+        // Split by sections or paragraphs
+        String[] parts = message.split("\n\n");
+        StringBuilder currentChunk = new StringBuilder();
+
+        for (String part : parts) {
+            if (currentChunk.length() + part.length() + 2 > MAX_LENGTH) {
+                slackService.sendMarkdownMessage(teamId, channel, currentChunk.toString(), threadTs);
+                currentChunk = new StringBuilder();
+            }
+            currentChunk.append(part).append("\n\n");
+        }
+
+        if (!currentChunk.isEmpty()) {
+            slackService.sendMarkdownMessage(teamId, channel, currentChunk.toString(), threadTs);
+        }
+    }
+}
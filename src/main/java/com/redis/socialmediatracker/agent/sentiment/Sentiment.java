@@ -0,0 +1,21 @@
+package com.redis.socialmediatracker.agent.sentiment;
+
+import java.util.Locale;
+
+/**
+ * Sentiment labels assigned to fetched posts.
+ */
+public enum Sentiment {
+    HAPPY,
+    ANGRY,
+    SAD,
+    FRUSTRATED,
+    NEUTRAL;
+
+    /**
+     * The label as it appears in agent results, e.g. {@code happy}.
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,105 @@
+package com.redis.socialmediatracker.agent.sentiment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns sentiment to posts in the JVM with a {@link SentimentScorer}, so the
+ * crawler agent only has to label the posts the lexicon is unsure about.
+ * <p>
+ * Scores at or above {@code app.sentiment.min-confidence} are used as is; below
+ * it the agent's label wins, and the lexicon's guess is only a fallback when the
+ * agent gave none. Large batches are scored in parallel. Assigned labels are
+ * counted as {@code agent.sentiment.assigned}, tagged with where they came from.
+ */
+@Service
+public class SentimentClassifier {
+
+    public static final String SOURCE_LEXICON = "lexicon";
+    public static final String SOURCE_AGENT = "agent";
+    public static final String SOURCE_FALLBACK = "fallback";
+
+    private final SentimentScorer scorer = new SentimentScorer();
+    private final MeterRegistry meterRegistry;
+    private final double minConfidence;
+    private final int parallelThreshold;
+    private final Timer scoringTimer;
+
+    public SentimentClassifier(
+            MeterRegistry meterRegistry,
+            @Value("${app.sentiment.min-confidence:0.6}") double minConfidence,
+            @Value("${app.sentiment.parallel-threshold:200}") int parallelThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.minConfidence = minConfidence;
+        this.parallelThreshold = parallelThreshold;
+        this.scoringTimer = Timer.builder("agent.sentiment.scoring")
+                .description("Time to score a batch of posts with the sentiment lexicon")
+                .register(meterRegistry);
+    }
+
+    public SentimentScore score(String text) {
+        return scorer.score(text);
+    }
+
+    /**
+     * Scores a batch of texts, in parallel once the batch is large enough to pay off.
+     *
+     * @return One score per text, in the same order
+     */
+    public List<SentimentScore> scoreAll(List<String> texts) {
+        return scoringTimer.record(() -> {
+            SentimentScore[] scores = new SentimentScore[texts.size()];
+            IntStream indices = IntStream.range(0, scores.length);
+            if (scores.length >= parallelThreshold) {
+                indices = indices.parallel();
+            }
+            indices.forEach(i -> scores[i] = scorer.score(texts.get(i)));
+            return Arrays.asList(scores);
+        });
+    }
+
+    /**
+     * True if the score is clear enough to use without asking the agent.
+     */
+    public boolean isConfident(SentimentScore score) {
+        return score.confidence() >= minConfidence;
+    }
+
+    /**
+     * Picks the final label of a post and counts where it came from.
+     *
+     * @param lexicon    The lexicon's score of the post
+     * @param agentLabel The label the agent gave, or null
+     * @return The label to store
+     */
+    public String assign(SentimentScore lexicon, String agentLabel) {
+        String source;
+        String label;
+        if (isConfident(lexicon)) {
+            source = SOURCE_LEXICON;
+            label = lexicon.sentiment().label();
+        } else if (agentLabel != null && !agentLabel.isBlank()) {
+            source = SOURCE_AGENT;
+            label = agentLabel;
+        } else {
+            source = SOURCE_FALLBACK;
+            label = lexicon.sentiment().label();
+        }
+        assigned(source).increment();
+        return label;
+    }
+
+    private Counter assigned(String source) {
+        return Counter.builder("agent.sentiment.assigned")
+                .description("Sentiment labels assigned to fetched posts")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
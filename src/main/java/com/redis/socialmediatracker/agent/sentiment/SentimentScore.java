@@ -0,0 +1,10 @@
+package com.redis.socialmediatracker.agent.sentiment;
+
+/**
+ * Result of scoring one text.
+ *
+ * @param sentiment  The most likely sentiment
+ * @param confidence How clearly the text expresses it, from 0 (no idea) to 1
+ */
+public record SentimentScore(Sentiment sentiment, double confidence) {
+}
@@ -0,0 +1,177 @@
+package com.redis.socialmediatracker.agent.sentiment;
+
+import java.util.*;
+
+/**
+ * Lexicon-based sentiment scorer for short social media posts.
+ * <p>
+ * Words, emoji and emoticons add weight to a {@link Sentiment}. An intensifier
+ * ("very", "so") strengthens the next word; a negation ("not", "don't") within
+ * the three preceding words turns a positive word into frustration and weakens a
+ * negative word into mild happiness ("not bad"). Punctuation ending a clause ends
+ * the negation.
+ * <p>
+ * Confidence grows with the total weight found and with the margin between the
+ * two strongest sentiments. A text without any sentiment-bearing token is
+ * {@link Sentiment#NEUTRAL} with zero confidence: the lexicon has no evidence
+ * either way, so the decision is left to the agent.
+ * <p>
+ * Instances are stateless and safe to share between threads.
+ */
+public final class SentimentScorer {
+
+    private static final int NEGATION_SCOPE = 3;
+    private static final double INTENSIFIER = 1.5;
+    private static final double NEGATED_POSITIVE = 0.8;
+    private static final double NEGATED_NEGATIVE = 0.5;
+
+    private static final Map<String, Sentiment> SENTIMENTS = new HashMap<>();
+    private static final Map<String, Double> WEIGHTS = new HashMap<>();
+    private static final Set<String> NEGATIONS = Set.of(
+            "not", "no", "never", "nothing", "nobody", "none", "neither", "nor", "without", "hardly", "barely",
+            "cannot", "dont", "cant", "wont", "isnt", "arent", "wasnt", "werent", "doesnt", "didnt", "hasnt",
+            "havent", "couldnt", "shouldnt", "wouldnt", "aint");
+    private static final Set<String> INTENSIFIERS = Set.of(
+            "very", "really", "so", "super", "extremely", "totally", "absolutely", "incredibly", "truly", "too",
+            "insanely", "seriously");
+
+    static {
+        add(Sentiment.HAPPY, 2.0, "love", "loving", "loved", "awesome", "amazing", "excellent", "fantastic",
+                "brilliant", "incredible", "wonderful", "outstanding", "thrilled", "excited", "exciting", "stoked",
+                "delighted", "superb", "perfect", "impressive", "impressed", "lovely");
+        add(Sentiment.HAPPY, 1.0, "great", "good", "nice", "cool", "happy", "glad", "fun",
+                "enjoy", "enjoying", "enjoyed", "thanks", "thank", "congrats", "congratulations", "fast", "faster",
+                "blazing", "solid", "neat", "useful", "helpful", "easy", "smooth", "win", "wins", "winning",
+                "recommend", "best", "better", "favorite", "favourite", "beautiful", "elegant", "kudos", "yay",
+                "wow", "lol", "haha", "worked", "fixed", "finally", "clean", "powerful", "reliable");
+        add(Sentiment.ANGRY, 2.0, "hate", "hated", "hating", "furious", "outraged", "outrageous", "disgusting",
+                "unacceptable", "scam", "garbage", "trash", "wtf", "pissed", "livid", "infuriating", "betrayal",
+                "betrayed", "shameful", "ripoff");
+        add(Sentiment.ANGRY, 1.0, "angry", "mad", "awful", "terrible", "horrible", "worst", "stupid", "ridiculous",
+                "greedy", "greed", "rugpull", "boycott", "shame", "lies", "lying", "evil", "toxic");
+        add(Sentiment.SAD, 2.0, "heartbroken", "devastated", "miserable", "depressing", "depressed", "grief",
+                "mourn", "mourning");
+        add(Sentiment.SAD, 1.0, "sad", "sadly", "unfortunately", "miss", "missed", "missing", "sorry", "lonely",
+                "disappointed", "disappointing", "disappointment", "regret", "loss", "lost", "goodbye", "farewell",
+                "unhappy", "bummer", "shutting", "cry", "crying", "tears");
+        add(Sentiment.FRUSTRATED, 2.0, "frustrated", "frustrating", "frustration", "annoying", "annoyed",
+                "infuriated", "ugh", "argh", "aaargh", "nightmare", "painful");
+        add(Sentiment.FRUSTRATED, 1.0, "bad", "worse", "broken", "broke", "bug", "bugs", "buggy", "crash", "crashes", "crashed",
+                "crashing", "slow", "slower", "stuck", "fail", "fails", "failed", "failing", "failure", "error",
+                "errors", "confusing", "confused", "struggle", "struggling", "issue", "issues", "problem", "problems",
+                "timeout", "timeouts", "leak", "outage", "bloated", "pain", "headache", "wasted", "tired",
+                "sigh");
+
+        add(Sentiment.HAPPY, 2.0, "😍", "🥰", "❤", "💖", "💕", "🎉", "🥳", "🤩", "😻", "💯", "🙌");
+        add(Sentiment.HAPPY, 1.0, "😀", "😃", "😄", "😁", "😆", "😊", "🙂", "😎", "😂", "🤣", "👍", "👏", "🚀",
+                "🔥", "✨", "💪", "✅", "⭐", "🌟", "♥", "💙", "💚", "💜", "🧡", "💛", "🤗", "😉",
+                ":)", ":-)", ":D", ":-D", "(:", ";)", ";-)", "<3");
+        add(Sentiment.ANGRY, 2.0, "😡", "🤬", "😠", "🖕", "💢");
+        add(Sentiment.ANGRY, 1.0, "👎", "😾", ">:(");
+        add(Sentiment.SAD, 2.0, "😭", "💔", "😿");
+        add(Sentiment.SAD, 1.0, "😢", "😞", "😔", "🙁", "☹", "😥", "😪", "🥺", ":(", ":-(", ":'(", "):");
+        add(Sentiment.FRUSTRATED, 2.0, "😤", "🤦", "😩", "😫");
+        add(Sentiment.FRUSTRATED, 1.0, "🙄", "😒", "😑", "😖", "😣", "🤯", "😓", ":/", ":-/", "-_-");
+    }
+
+    private static void add(Sentiment sentiment, double weight, String... tokens) {
+        for (String token : tokens) {
+            SENTIMENTS.put(token, sentiment);
+            WEIGHTS.put(token, weight);
+        }
+    }
+
+    /**
+     * Scores a text.
+     *
+     * @param text Post text; null or blank is neutral with zero confidence
+     */
+    public SentimentScore score(String text) {
+        double[] scores = new double[Sentiment.values().length];
+        int negatedFor = 0;
+        double intensity = 1.0;
+
+        if (text != null) {
+            for (String chunk : text.split("\\s+")) {
+                if (chunk.isEmpty()) continue;
+                Sentiment emoticon = SENTIMENTS.get(chunk);
+                if (emoticon != null && !Character.isLetter(chunk.codePointAt(0))) {
+                    scores[emoticon.ordinal()] += WEIGHTS.get(chunk);
+                    continue;
+                }
+
+                StringBuilder word = new StringBuilder();
+                boolean endsClause = false;
+                for (int i = 0; i < chunk.length(); ) {
+                    int cp = chunk.codePointAt(i);
+                    i += Character.charCount(cp);
+                    if (Character.isLetterOrDigit(cp)) {
+                        word.appendCodePoint(Character.toLowerCase(cp));
+                    } else if (cp == '\'' || cp == '’') {
+                        // "don't" -> "dont"
+                    } else {
+                        String symbol = new String(Character.toChars(cp));
+                        Sentiment sentiment = SENTIMENTS.get(symbol);
+                        if (sentiment != null) {
+                            scores[sentiment.ordinal()] += WEIGHTS.get(symbol);
+                        } else if (cp == '.' || cp == ',' || cp == '!' || cp == '?' || cp == ';' || cp == ':') {
+                            endsClause = true;
+                        }
+                    }
+                }
+
+                if (!word.isEmpty()) {
+                    String token = word.toString();
+                    Sentiment sentiment = SENTIMENTS.get(token);
+                    if (NEGATIONS.contains(token)) {
+                        negatedFor = NEGATION_SCOPE + 1;
+                    } else if (INTENSIFIERS.contains(token)) {
+                        intensity = INTENSIFIER;
+                        negatedFor = negatedFor > 0 ? negatedFor + 1 : 0;
+                    } else if (sentiment != null) {
+                        double weight = WEIGHTS.get(token) * intensity;
+                        if (negatedFor > 0) {
+                            if (sentiment == Sentiment.HAPPY) {
+                                scores[Sentiment.FRUSTRATED.ordinal()] += weight * NEGATED_POSITIVE;
+                            } else {
+                                scores[Sentiment.HAPPY.ordinal()] += weight * NEGATED_NEGATIVE;
+                            }
+                        } else {
+                            scores[sentiment.ordinal()] += weight;
+                        }
+                    }
+                    if (!INTENSIFIERS.contains(token)) {
+                        intensity = 1.0;
+                    }
+                }
+                if (negatedFor > 0) negatedFor--;
+                if (endsClause) {
+                    negatedFor = 0;
+                    intensity = 1.0;
+                }
+            }
+        }
+        return toScore(scores);
+    }
+
+    private static SentimentScore toScore(double[] scores) {
+        double total = 0;
+        int best = -1;
+        int second = -1;
+        for (int i = 0; i < scores.length; i++) {
+            total += scores[i];
+            if (best < 0 || scores[i] > scores[best]) {
+                second = best;
+                best = i;
+            } else if (second < 0 || scores[i] > scores[second]) {
+                second = i;
+            }
+        }
+        if (total == 0) {
+            return new SentimentScore(Sentiment.NEUTRAL, 0.0);
+        }
+        double margin = (scores[best] - scores[second]) / scores[best];
+        double evidence = total / (total + 1.0);
+        return new SentimentScore(Sentiment.values()[best], margin * evidence);
+    }
+}
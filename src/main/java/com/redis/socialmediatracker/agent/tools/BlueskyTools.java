@@ -1,7 +1,19 @@
 package com.redis.socialmediatracker.agent.tools;
 
-import com.redis.socialmediatracker.bluesky.BlueskyService;
+import com.redis.socialmediatracker.bluesky.BlueskyBatchSearchService;
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.cache.BlueskySearchCache;
+import com.redis.socialmediatracker.bluesky.dedup.PostCluster;
+import com.redis.socialmediatracker.bluesky.dedup.PostDeduplicator;
+import com.redis.socialmediatracker.bluesky.history.StoredPostQueryService;
+import com.redis.socialmediatracker.bluesky.history.StoredPostsResult;
 import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import com.redis.socialmediatracker.bluesky.relevance.RelevanceFilter;
+import com.redis.socialmediatracker.bluesky.trend.Momentum;
+import com.redis.socialmediatracker.bluesky.trend.TrendQueryService;
+import com.redis.socialmediatracker.bluesky.trend.TrendingPost;
+import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
@@ -12,23 +24,166 @@ import java.util.List;
 @Component
 public class BlueskyTools {
 
-    private BlueskyService blueskyService;
+    private BlueskySearchCache searchCache;
+    private BlueskyBatchSearchService batchSearchService;
+    private SearchBudget searchBudget;
+    private StoredPostQueryService storedPostQueryService;
+    private TrendQueryService trendQueryService;
+    private ToolResultProjector projector;
+    private RelevanceFilter relevanceFilter;
+    private PostDeduplicator deduplicator;
 
-    public BlueskyTools(BlueskyService blueskyService) {
-        this.blueskyService = blueskyService;
+    public BlueskyTools(
+            BlueskySearchCache searchCache,
+            BlueskyBatchSearchService batchSearchService,
+            SearchBudget searchBudget,
+            StoredPostQueryService storedPostQueryService,
+            TrendQueryService trendQueryService,
+            ToolResultProjector projector,
+            RelevanceFilter relevanceFilter,
+            PostDeduplicator deduplicator) {
+        this.searchCache = searchCache;
+        this.batchSearchService = batchSearchService;
+        this.searchBudget = searchBudget;
+        this.storedPostQueryService = storedPostQueryService;
+        this.trendQueryService = trendQueryService;
+        this.projector = projector;
+        this.relevanceFilter = relevanceFilter;
+        this.deduplicator = deduplicator;
     }
 
-    @Tool
-    public List<Post> searchPosts(
+    @Tool(description = "Search Bluesky for posts matching a tag or keyword. Posts are returned as rows of the columns listed in columns, separated by |; use the id column as postId. If the result is marked truncated, more matching posts exist than were returned.")
+    public PostTable searchPosts(
             String tag,
 
             @ToolParam(description = "A date-time with an offset from UTC/Greenwich in the ISO-8601 calendar system, such as 2007-12-03T10:15:30+01:00.")
-            OffsetDateTime since
+            OffsetDateTime since,
+
+            @ToolParam(description = "Return only this many posts, the most engaging first. Omit to return all posts.", required = false)
+            Integer topN,
+
+            ToolContext toolContext
     ) {
-        return blueskyService.searchPosts(
+        SearchResult result = searchCache.searchPosts(
                 tag,
                 since,
-                100
+                100,
+                searchBudget
+        );
+        return project("searchPosts", List.of(tag), result, topN, toolContext);
+    }
+
+    @Tool(description = "Search Bluesky for several tags or keywords at once. Prefer this over calling searchPosts once per tag. Posts are returned as rows of the columns listed in columns, separated by |; use the id column as postId. Posts matching more than one tag are returned only once; postsPerTag tells how many found posts mention each tag. If the result is marked truncated, more matching posts exist than were returned.")
+    public PostTable searchPostsForTags(
+            @ToolParam(description = "All tags or keywords to search for, e.g. [\"redis\", \"valkey\", \"redis stack\"].")
+            List<String> tags,
+
+            @ToolParam(description = "A date-time with an offset from UTC/Greenwich in the ISO-8601 calendar system, such as 2007-12-03T10:15:30+01:00.")
+            OffsetDateTime since,
+
+            @ToolParam(description = "Return only this many posts, the most engaging first. Omit to return all posts.", required = false)
+            Integer topN,
+
+            ToolContext toolContext
+    ) {
+        SearchResult result = batchSearchService.searchPosts(
+                tags,
+                since,
+                100,
+                searchBudget
         );
+        return project("searchPostsForTags", tags, result, topN, toolContext);
+    }
+
+    @Tool(description = "Get the most engaging Bluesky posts about a tag or keyword since a date from the local post store, sorted by engagement. Posts are returned as rows of the columns listed in columns, separated by |; use the id column as postId. Answers in milliseconds without calling Bluesky. If the result is not marked complete, the store may be missing posts for that window; use searchPosts instead.")
+    public PostTable findTopStoredPosts(
+            String tag,
+
+            @ToolParam(description = "A date-time with an offset from UTC/Greenwich in the ISO-8601 calendar system, such as 2007-12-03T10:15:30+01:00.")
+            OffsetDateTime since,
+
+            @ToolParam(description = "Maximum number of posts to return, e.g. 50.")
+            int limit,
+
+            ToolContext toolContext
+    ) {
+        StoredPostsResult result = storedPostQueryService.findTopPostsByTag(tag, since, Math.max(1, Math.min(limit, 500)));
+        PostTable table = tabulate(List.of(tag), result.getPosts(), null, toolContext);
+        table.setComplete(result.isComplete());
+        projector.reportReduction("findTopStoredPosts", result, table);
+        return table;
+    }
+
+    @Tool(description = "Get the most engaging Bluesky posts of one author since a date from the local post store, sorted by engagement. Posts are returned as rows of the columns listed in columns, separated by |; use the id column as postId. Only posts stored while crawling or ingesting tracked topics are included, so an author's other posts are missing.")
+    public PostTable findTopStoredPostsByAuthor(
+            @ToolParam(description = "The author's handle, e.g. johndoe.bsky.social, or DID, e.g. did:plc:abcd1234.")
+            String author,
+
+            @ToolParam(description = "A date-time with an offset from UTC/Greenwich in the ISO-8601 calendar system, such as 2007-12-03T10:15:30+01:00.")
+            OffsetDateTime since,
+
+            @ToolParam(description = "Maximum number of posts to return, e.g. 50.")
+            int limit,
+
+            ToolContext toolContext
+    ) {
+        StoredPostsResult result = storedPostQueryService.findTopPostsByAuthor(author, since, Math.max(1, Math.min(limit, 500)));
+        PostTable table = tabulate(List.of(), result.getPosts(), null, toolContext);
+        projector.reportReduction("findTopStoredPostsByAuthor", result, table);
+        return table;
+    }
+
+    @Tool(description = "Get how fast total engagement on a tracked tag is growing, measured from stored engagement history. velocity is engagement gained per hour, acceleration the change in velocity per hour; gainingMomentum is true when both are positive. Zero samples means the tag has no history yet.")
+    public Momentum getTopicMomentum(
+            String tag,
+
+            @ToolParam(description = "A date-time with an offset from UTC/Greenwich in the ISO-8601 calendar system, such as 2007-12-03T10:15:30+01:00.")
+            OffsetDateTime since
+    ) {
+        return trendQueryService.topicMomentum(tag, since);
+    }
+
+    @Tool(description = "Find the stored Bluesky posts about a tracked tag whose engagement is growing fastest, measured from stored engagement history. Posts gaining momentum come first. Use this for trend questions instead of comparing like counts. Posts are returned as rows of the columns listed in columns, separated by |; use the id column as postId. momentum holds the velocity, acceleration and gainingMomentum of the row at the same position.")
+    public PostTable findTrendingPosts(
+            String tag,
+
+            @ToolParam(description = "A date-time with an offset from UTC/Greenwich in the ISO-8601 calendar system, such as 2007-12-03T10:15:30+01:00.")
+            OffsetDateTime since,
+
+            @ToolParam(description = "Maximum number of posts to return, e.g. 20.")
+            int limit,
+
+            ToolContext toolContext
+    ) {
+        List<TrendingPost> trending = trendQueryService.findTrendingPosts(tag, since, Math.max(1, Math.min(limit, 100)));
+        PostTable table = projector.projectTrending(PostReferences.conversationId(toolContext), trending);
+        projector.reportReduction("findTrendingPosts", trending, table);
+        return table;
+    }
+
+    private PostTable project(String tool, List<String> tags, SearchResult result, Integer topN,
+                              ToolContext toolContext) {
+        PostTable table = tabulate(tags, result.getPosts(), topN, toolContext);
+        table.setTruncated(result.isTruncated());
+        table.setTruncationReason(result.getTruncationReason());
+        table.setPostsPerTag(result.getPostsPerTag());
+        projector.reportReduction(tool, result, table);
+        return table;
+    }
+
+    /**
+     * Drops off-topic posts, collapses near duplicates and projects the rest.
+     */
+    private PostTable tabulate(List<String> tags, List<Post> found, Integer topN, ToolContext toolContext) {
+        List<Post> relevant = relevanceFilter.filter(tags, found);
+        List<PostCluster> clusters = deduplicator.collapse(relevant);
+        PostTable table = projector.projectClusters(PostReferences.conversationId(toolContext), clusters, topN);
+        if (relevant.size() < found.size()) {
+            table.setDroppedAsIrrelevant(found.size() - relevant.size());
+        }
+        if (clusters.size() < relevant.size()) {
+            table.setDuplicatesCollapsed(relevant.size() - clusters.size());
+        }
+        return table;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.redis.socialmediatracker.agent.tools;
+
+import com.redis.om.spring.annotations.Document;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.springframework.data.annotation.Id;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The short post IDs of one agent conversation, stored next to its chat history so
+ * the IDs still resolve after a restart. Lives as long as a conversation state.
+ */
+@Document(value = "post-references", indexName = "postReferencesIdx", timeToLive = 1800)
+public class PostReferenceSet {
+
+    /**
+     * Agent conversation ID, as passed in the tool context
+     */
+    @Id
+    private String conversationId;
+
+    /**
+     * Referenced posts; the post at index {@code i} has the short ID {@code p<i + 1>} (base 36)
+     */
+    private List<Reference> posts = new ArrayList<>();
+
+    public PostReferenceSet() {
+    }
+
+    public PostReferenceSet(String conversationId, List<Reference> posts) {
+        this.conversationId = conversationId;
+        this.posts = posts;
+    }
+
+    public String getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(String conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public List<Reference> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<Reference> posts) {
+        this.posts = posts;
+    }
+
+    /**
+     * One referenced post and the number of near-duplicate posts it stands for.
+     */
+    public static class Reference {
+
+        private String uri;
+        private String cid;
+        private String author;
+        private String text;
+        private long createdAt;
+        private int replyCount;
+        private int repostCount;
+        private int likeCount;
+        private int copies;
+
+        public Reference() {
+        }
+
+        public static Reference of(Post post, int copies) {
+            Reference reference = new Reference();
+            reference.uri = post.getUri();
+            reference.cid = post.getCid();
+            reference.author = post.getAuthor();
+            reference.text = post.getText();
+            reference.createdAt = post.getCreatedAtMillis();
+            reference.replyCount = post.getReplyCount();
+            reference.repostCount = post.getRepostCount();
+            reference.likeCount = post.getLikeCount();
+            reference.copies = copies;
+            return reference;
+        }
+
+        public Post toPost() {
+            return new Post(uri, cid, author, text, createdAt, replyCount, repostCount, likeCount);
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public String getCid() {
+            return cid;
+        }
+
+        public void setCid(String cid) {
+            this.cid = cid;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public int getReplyCount() {
+            return replyCount;
+        }
+
+        public void setReplyCount(int replyCount) {
+            this.replyCount = replyCount;
+        }
+
+        public int getRepostCount() {
+            return repostCount;
+        }
+
+        public void setRepostCount(int repostCount) {
+            this.repostCount = repostCount;
+        }
+
+        public int getLikeCount() {
+            return likeCount;
+        }
+
+        public void setLikeCount(int likeCount) {
+            this.likeCount = likeCount;
+        }
+
+        public int getCopies() {
+            return copies;
+        }
+
+        public void setCopies(int copies) {
+            this.copies = copies;
+        }
+    }
+}
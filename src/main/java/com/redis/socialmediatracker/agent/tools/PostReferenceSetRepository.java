@@ -0,0 +1,8 @@
+package com.redis.socialmediatracker.agent.tools;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostReferenceSetRepository extends RedisDocumentRepository<PostReferenceSet, String> {
+}
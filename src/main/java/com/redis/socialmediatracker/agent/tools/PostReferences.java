@@ -0,0 +1,214 @@
+package com.redis.socialmediatracker.agent.tools;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short post IDs handed to the agent in tool results, mapped back to the full
+ * posts on the server.
+ * <p>
+ * IDs ({@code p1}, {@code p2}, ...) are scoped to one agent conversation, so they
+ * stay short yet unique across every tool call in it, and the same post keeps its ID.
+ * Each conversation's IDs are saved as a {@link PostReferenceSet} after every tool
+ * result, and loaded back on first use after a restart. Tool calls made outside a
+ * conversation get IDs of their own that nothing else can resolve. Conversations
+ * unused for {@code app.tools.post-ref-ttl} are dropped from memory.
+ */
+@Component
+public class PostReferences {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostReferences.class);
+
+    /**
+     * Tool context key holding the agent conversation ID
+     */
+    public static final String CONVERSATION_ID = "conversationId";
+
+    private final Map<String, Conversation> conversations = new ConcurrentHashMap<>();
+    private final PostReferenceSetRepository repository;
+    private final Duration ttl;
+
+    public PostReferences(
+            PostReferenceSetRepository repository,
+            @Value("${app.tools.post-ref-ttl:PT1H}") Duration ttl) {
+        this.repository = repository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Reads the conversation ID a tool was called in. Without one, returns a new ID,
+     * so posts of unrelated calls never share a scope.
+     */
+    public static String conversationId(ToolContext toolContext) {
+        if (toolContext == null || !(toolContext.getContext().get(CONVERSATION_ID) instanceof String id) || id.isBlank()) {
+            logger.debug("Tool called without a conversation ID; its post IDs cannot be resolved later");
+            return "unscoped-" + UUID.randomUUID();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the short ID of a post in a conversation, assigning one if it has none yet.
+     */
+    public String register(String conversationId, Post post) {
+        return register(conversationId, post, 1);
+    }
+
+    /**
+     * Returns the short ID of a post in a conversation, assigning one if it has none yet.
+     * Call {@link #save} once a tool result is complete.
+     *
+     * @param copies Number of near-duplicate posts the post stands for, itself included
+     */
+    public String register(String conversationId, Post post, int copies) {
+        return conversation(conversationId).idFor(post, copies);
+    }
+
+    /**
+     * Stores the IDs of a conversation. Failures are logged; the IDs stay usable until a restart.
+     */
+    public void save(String conversationId) {
+        Conversation conversation = conversations.get(conversationId);
+        if (conversation == null) {
+            return;
+        }
+        try {
+            repository.save(conversation.toReferenceSet(conversationId));
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to store post IDs of conversation {}: {}", conversationId, e.getMessage());
+        }
+    }
+
+    public Optional<Post> resolve(String conversationId, String shortId) {
+        return Optional.ofNullable(conversation(conversationId).get(shortId));
+    }
+
+    /**
+     * Number of near-duplicate posts a short ID stands for, 1 if unknown.
+     */
+    public int copies(String conversationId, String shortId) {
+        return conversation(conversationId).copies(shortId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tools.post-ref-ttl:PT1H}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        int before = conversations.size();
+        conversations.values().removeIf(conversation -> conversation.lastUsed < cutoff);
+        int evicted = before - conversations.size();
+        if (evicted > 0) {
+            logger.debug("Forgot post IDs of {} idle conversations", evicted);
+        }
+    }
+
+    private Conversation conversation(String conversationId) {
+        Conversation conversation = conversations.get(conversationId);
+        if (conversation != null) {
+            return conversation;
+        }
+        Conversation loaded = load(conversationId);
+        Conversation raced = conversations.putIfAbsent(conversationId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private Conversation load(String conversationId) {
+        try {
+            return repository.findById(conversationId)
+                    .map(Conversation::from)
+                    .orElseGet(Conversation::new);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to load post IDs of conversation {}: {}", conversationId, e.getMessage());
+            return new Conversation();
+        }
+    }
+
+    private static final class Conversation {
+
+        private final Map<String, Integer> indexByUri = new HashMap<>();
+        private final List<Post> posts = new ArrayList<>();
+        private final List<Integer> copies = new ArrayList<>();
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        static Conversation from(PostReferenceSet stored) {
+            Conversation conversation = new Conversation();
+            if (stored.getPosts() != null) {
+                for (PostReferenceSet.Reference reference : stored.getPosts()) {
+                    conversation.add(reference.toPost(), reference.getCopies());
+                }
+            }
+            return conversation;
+        }
+
+        synchronized String idFor(Post post, int copies) {
+            lastUsed = System.currentTimeMillis();
+            Integer index = indexByUri.get(key(post));
+            if (index == null) {
+                return shortId(add(post, copies));
+            }
+            // Keep the latest copy, its counts may be fresher
+            posts.set(index, post);
+            this.copies.set(index, Math.max(this.copies.get(index), copies));
+            return shortId(index);
+        }
+
+        synchronized Post get(String shortId) {
+            lastUsed = System.currentTimeMillis();
+            int index = indexOf(shortId);
+            return index >= 0 ? posts.get(index) : null;
+        }
+
+        synchronized int copies(String shortId) {
+            int index = indexOf(shortId);
+            return index >= 0 ? copies.get(index) : 1;
+        }
+
+        synchronized PostReferenceSet toReferenceSet(String conversationId) {
+            List<PostReferenceSet.Reference> references = new ArrayList<>(posts.size());
+            for (int i = 0; i < posts.size(); i++) {
+                references.add(PostReferenceSet.Reference.of(posts.get(i), copies.get(i)));
+            }
+            return new PostReferenceSet(conversationId, references);
+        }
+
+        private int add(Post post, int copies) {
+            indexByUri.put(key(post), posts.size());
+            posts.add(post);
+            this.copies.add(Math.max(1, copies));
+            return posts.size() - 1;
+        }
+
+        private int indexOf(String shortId) {
+            if (shortId == null || shortId.length() < 2 || shortId.charAt(0) != 'p') {
+                return -1;
+            }
+            try {
+                int index = Integer.parseInt(shortId.substring(1), 36) - 1;
+                return index >= 0 && index < posts.size() ? index : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private static String key(Post post) {
+            return post.getUri() != null ? post.getUri() : post.getCid();
+        }
+
+        private static String shortId(int index) {
+            return "p" + Integer.toString(index + 1, 36);
+        }
+    }
+}
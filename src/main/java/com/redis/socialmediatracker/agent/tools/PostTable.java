@@ -0,0 +1,130 @@
+package com.redis.socialmediatracker.agent.tools;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-efficient form of a list of posts for tool results: one header line naming
+ * the columns and one {@code |}-separated row per post, instead of a JSON object
+ * per post repeating every field name, CID and full AT URI.
+ * <p>
+ * The {@code id} column holds a short ID that {@link PostReferences} maps back to
+ * the full post. The {@code sentiment} column holds the label the sentiment lexicon
+ * is confident about, or {@code ?} where the agent has to decide. The {@code copies}
+ * column counts the near-duplicate posts a row stands for. Trending posts also carry
+ * their momentum, one {@value #MOMENTUM_COLUMNS} line per row. Fields that do not
+ * apply to a tool are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostTable {
+
+    public static final String COLUMNS = "id|author|createdAt|likes|reposts|replies|sentiment|copies|text";
+
+    public static final String MOMENTUM_COLUMNS = "velocity|acceleration|gainingMomentum";
+
+    private final String columns = COLUMNS;
+    private final List<String> rows;
+    private final int totalPosts;
+    private Boolean truncated;
+    private SearchResult.TruncationReason truncationReason;
+    private Map<String, Integer> postsPerTag;
+    private Boolean complete;
+    private Integer droppedAsIrrelevant;
+    private Integer duplicatesCollapsed;
+    private String momentumColumns;
+    private List<String> momentum;
+
+    public PostTable(List<String> rows, int totalPosts) {
+        this.rows = rows;
+        this.totalPosts = totalPosts;
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+
+    public List<String> getRows() {
+        return rows;
+    }
+
+    /**
+     * Number of distinct posts found, before any top-N limit was applied.
+     */
+    public int getTotalPosts() {
+        return totalPosts;
+    }
+
+    public Boolean getTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public SearchResult.TruncationReason getTruncationReason() {
+        return truncationReason;
+    }
+
+    public void setTruncationReason(SearchResult.TruncationReason truncationReason) {
+        this.truncationReason = truncationReason;
+    }
+
+    public Map<String, Integer> getPostsPerTag() {
+        return postsPerTag;
+    }
+
+    public void setPostsPerTag(Map<String, Integer> postsPerTag) {
+        this.postsPerTag = postsPerTag;
+    }
+
+    public Boolean getComplete() {
+        return complete;
+    }
+
+    public void setComplete(Boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * Number of found posts left out because they were not about the topic, or null if none were.
+     */
+    public Integer getDroppedAsIrrelevant() {
+        return droppedAsIrrelevant;
+    }
+
+    public void setDroppedAsIrrelevant(Integer droppedAsIrrelevant) {
+        this.droppedAsIrrelevant = droppedAsIrrelevant;
+    }
+
+    /**
+     * Number of found posts merged into another row as near duplicates, or null if none were.
+     */
+    public Integer getDuplicatesCollapsed() {
+        return duplicatesCollapsed;
+    }
+
+    public void setDuplicatesCollapsed(Integer duplicatesCollapsed) {
+        this.duplicatesCollapsed = duplicatesCollapsed;
+    }
+
+    public String getMomentumColumns() {
+        return momentumColumns;
+    }
+
+    /**
+     * Momentum of the post in the same position of {@link #getRows()}, or null for tools
+     * that do not measure it.
+     */
+    public List<String> getMomentum() {
+        return momentum;
+    }
+
+    public void setMomentum(List<String> momentum) {
+        this.momentum = momentum;
+        this.momentumColumns = momentum != null ? MOMENTUM_COLUMNS : null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.redis.socialmediatracker.agent.tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.agent.sentiment.SentimentClassifier;
+import com.redis.socialmediatracker.agent.sentiment.SentimentScore;
+import com.redis.socialmediatracker.bluesky.dedup.PostCluster;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.trend.TrendingPost;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns the posts of a tool result into a {@link PostTable}: only the fields the
+ * agent reasons about, short IDs instead of URIs and CIDs, and optionally only the
+ * top N posts by engagement.
+ * <p>
+ * Each call logs and records (as {@code agent.tools.result.tokens}) the estimated
+ * size of the result in tokens before and after projection.
+ */
+@Component
+public class ToolResultProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolResultProjector.class);
+
+    // Rough average for English text and JSON with Gemini-style tokenizers
+    private static final double CHARS_PER_TOKEN = 4.0;
+
+    private static final DateTimeFormatter MINUTES = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private static final Comparator<PostCluster> BY_ENGAGEMENT = Comparator.comparingInt((PostCluster cluster) -> {
+        Post post = cluster.representative();
+        return post.getLikeCount() + post.getRepostCount() + post.getReplyCount();
+    }).reversed();
+
+    private final PostReferences postReferences;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final SentimentClassifier sentimentClassifier;
+
+    public ToolResultProjector(PostReferences postReferences, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               SentimentClassifier sentimentClassifier) {
+        this.postReferences = postReferences;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.sentimentClassifier = sentimentClassifier;
+    }
+
+    /**
+     * Projects posts into a table, registering their short IDs in the conversation.
+     *
+     * @param conversationId Agent conversation the IDs belong to
+     * @param posts          Posts to project
+     * @param topN           Keep only this many posts, by engagement; null or non-positive keeps all
+     * @return The table, without tool-specific fields set
+     */
+    public PostTable project(String conversationId, List<Post> posts, Integer topN) {
+        return projectClusters(conversationId, posts.stream().map(post -> new PostCluster(post, 1)).toList(), topN);
+    }
+
+    /**
+     * Projects clusters of near-duplicate posts into a table, one row per cluster.
+     *
+     * @param conversationId Agent conversation the IDs belong to
+     * @param clusters       Clusters to project
+     * @param topN           Keep only this many clusters, by engagement of their post; null or non-positive keeps all
+     * @return The table, without tool-specific fields set
+     */
+    public PostTable projectClusters(String conversationId, List<PostCluster> clusters, Integer topN) {
+        List<PostCluster> selected = clusters;
+        if (topN != null && topN > 0 && topN < clusters.size()) {
+            selected = new ArrayList<>(clusters);
+            selected.sort(BY_ENGAGEMENT);
+            selected = selected.subList(0, topN);
+        }
+
+        List<SentimentScore> sentiments = sentimentClassifier.scoreAll(
+                selected.stream().map(cluster -> cluster.representative().getText()).toList());
+        List<String> rows = new ArrayList<>(selected.size());
+        StringBuilder row = new StringBuilder(256);
+        for (int i = 0; i < selected.size(); i++) {
+            Post post = selected.get(i).representative();
+            int copies = selected.get(i).size();
+            SentimentScore sentiment = sentiments.get(i);
+            row.setLength(0);
+            row.append(postReferences.register(conversationId, post, copies)).append('|')
+                    .append(post.getAuthor() != null ? post.getAuthor() : "").append('|')
+                    .append(post.hasCreatedAt() ? MINUTES.format(Instant.ofEpochMilli(post.getCreatedAtMillis())) : "")
+                    .append('|').append(post.getLikeCount())
+                    .append('|').append(post.getRepostCount())
+                    .append('|').append(post.getReplyCount())
+                    .append('|').append(sentimentClassifier.isConfident(sentiment) ? sentiment.sentiment().label() : "?")
+                    .append('|').append(copies)
+                    .append('|');
+            appendText(row, post.getText());
+            rows.add(row.toString());
+        }
+        postReferences.save(conversationId);
+        return new PostTable(rows, clusters.size());
+    }
+
+    /**
+     * Projects trending posts into a table in their given order, with the momentum of
+     * each row in {@link PostTable#getMomentum()}.
+     *
+     * @param conversationId Agent conversation the IDs belong to
+     * @param trending       Trending posts, fastest growing first
+     * @return The table, without tool-specific fields set
+     */
+    public PostTable projectTrending(String conversationId, List<TrendingPost> trending) {
+        PostTable table = project(conversationId, trending.stream().map(TrendingPost::getPost).toList(), null);
+        table.setMomentum(trending.stream()
+                .map(TrendingPost::getMomentum)
+                .map(momentum -> String.format(Locale.ROOT, "%.1f|%.1f|%s", momentum.getVelocity(),
+                        momentum.getAcceleration(), momentum.isGainingMomentum()))
+                .toList());
+        return table;
+    }
+
+    /**
+     * Logs and records how many tokens the projection saved for one tool call.
+     *
+     * @param tool      Tool name
+     * @param original  The result as it would have been returned before projection
+     * @param projected The projected result
+     */
+    public void reportReduction(String tool, Object original, PostTable projected) {
+        long before = estimateTokens(original);
+        long after = estimateTokens(projected);
+        summary(tool, "full").record(before);
+        summary(tool, "projected").record(after);
+        logger.info("🗜️ {}: {} of {} posts, ~{} → ~{} tokens ({}% smaller)", tool, projected.getRows().size(),
+                projected.getTotalPosts(), before, after, before > 0 ? Math.round(100.0 * (before - after) / before) : 0);
+    }
+
+    private DistributionSummary summary(String tool, String form) {
+        return DistributionSummary.builder("agent.tools.result.tokens")
+                .description("Estimated tokens of a tool result, before and after projection")
+                .tag("tool", tool)
+                .tag("form", form)
+                .register(meterRegistry);
+    }
+
+    private long estimateTokens(Object value) {
+        try {
+            return Math.round(objectMapper.writeValueAsString(value).length() / CHARS_PER_TOKEN);
+        } catch (JsonProcessingException e) {
+            logger.debug("Could not size tool result: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Appends post text on one line, so it cannot break the row or column structure.
+     */
+    private static void appendText(StringBuilder row, String text) {
+        if (text == null) {
+            return;
+        }
+        boolean lastWasSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    row.append(' ');
+                    lastWasSpace = true;
+                }
+            } else {
+                row.append(c == '|' ? '/' : c);
+                lastWasSpace = false;
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.redis.socialmediatracker.bluesky;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.bluesky.model.BlueskySession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,6 +11,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,23 +23,37 @@ public class AuthenticationService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
 
+    /**
+     * Used when the access token carries no readable "exp" claim.
+     * Bluesky access tokens are currently short-lived (minutes), so stay conservative.
+     */
+    private static final Duration FALLBACK_ACCESS_TTL = Duration.ofMinutes(5);
+
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
     private final String apiUrl;
     private final String username;
     private final String password;
 
     public AuthenticationService(
             RestTemplate restTemplate,
+            ObjectMapper objectMapper,
             @Value("${bluesky.api.url}") String apiUrl,
             @Value("${bluesky.auth.username}") String username,
             @Value("${bluesky.auth.password}") String password) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
         this.apiUrl = apiUrl;
         this.username = username;
         this.password = password;
     }
 
-    public String getAccessToken() {
+    /**
+     * Performs a full login using the configured credentials.
+     *
+     * @return The new session, or null if the login failed
+     */
+    public BlueskySession createSession() {
         String url = String.format("%s/com.atproto.server.createSession", apiUrl);
 
         HttpHeaders headers = new HttpHeaders();
@@ -50,20 +71,84 @@ public class AuthenticationService {
             );
 
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> result = response.getBody();
-                String did = (String) result.get("did");
-                String accessJwt = (String) result.get("accessJwt");
-
-                logger.info("✅ Login successful. DID: {}", did);
-                return accessJwt != null ? accessJwt : "";
+                BlueskySession session = toSession(response.getBody());
+                logger.info("✅ Login successful. DID: {}", session.getDid());
+                return session;
             } else {
                 logger.warn("⚠️ Authentication failed: {} - {}", response.getStatusCode(), response.getBody());
-                return "";
+                return null;
             }
 
         } catch (RestClientException e) {
             logger.error("❌ Request error: {}", e.getMessage());
-            return "";
+            return null;
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new session without sending the password again.
+     *
+     * @param refreshJwt The refresh token of the current session
+     * @return The refreshed session, or null if the refresh token was rejected
+     */
+    public BlueskySession refreshSession(String refreshJwt) {
+        String url = String.format("%s/com.atproto.server.refreshSession", apiUrl);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(refreshJwt);
+
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    url, HttpMethod.POST, request, Map.class
+            );
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                BlueskySession session = toSession(response.getBody());
+                logger.debug("🔄 Session refreshed. DID: {}", session.getDid());
+                return session;
+            } else {
+                logger.warn("⚠️ Session refresh failed: {} - {}", response.getStatusCode(), response.getBody());
+                return null;
+            }
+
+        } catch (RestClientException e) {
+            logger.warn("⚠️ Session refresh error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private BlueskySession toSession(Map<String, Object> result) {
+        String did = (String) result.get("did");
+        String accessJwt = (String) result.get("accessJwt");
+        String refreshJwt = (String) result.get("refreshJwt");
+        return new BlueskySession(did, accessJwt, refreshJwt, readExpiry(accessJwt));
+    }
+
+    /**
+     * Reads the "exp" claim from the JWT payload. The signature is not verified,
+     * the value is only used to decide when to refresh.
+     */
+    private Instant readExpiry(String jwt) {
+        Instant fallback = Instant.now().plus(FALLBACK_ACCESS_TTL);
+        if (jwt == null) {
+            return fallback;
+        }
+
+        String[] parts = jwt.split("\\.");
+        if (parts.length < 2) {
+            return fallback;
+        }
+
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode claims = objectMapper.readTree(new String(payload, StandardCharsets.UTF_8));
+            JsonNode exp = claims.get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : fallback;
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not read access token expiry: {}", e.getMessage());
+            return fallback;
         }
     }
-}
\ No newline at end of file
+}
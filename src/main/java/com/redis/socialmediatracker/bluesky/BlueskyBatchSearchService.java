@@ -0,0 +1,139 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.cache.BlueskySearchCache;
+import com.redis.socialmediatracker.bluesky.match.KeywordMatcher;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs searches for several tags in parallel and merges them into one result set.
+ * Each tag is crawled on its own virtual thread; a semaphore caps how many
+ * tags hit the Bluesky API at the same time.
+ */
+@Service
+public class BlueskyBatchSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlueskyBatchSearchService.class);
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator.comparing(
+            Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final BlueskySearchCache searchCache;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public BlueskyBatchSearchService(
+            BlueskySearchCache searchCache,
+            @Qualifier("blueskySearchExecutor") ExecutorService executor,
+            @Value("${bluesky.search.max-concurrency:4}") int maxConcurrency) {
+        this.searchCache = searchCache;
+        this.executor = executor;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    /**
+     * Searches all tags concurrently and returns the union of their posts.
+     * Posts matched by several tags are returned once (deduplicated by CID).
+     * A tag that fails is logged and skipped so the other tags still return data.
+     * All tags draw from the same budget.
+     *
+     * @param tags   Search tags; blanks and case-insensitive duplicates are ignored
+     * @param since  Starting date for filtering posts
+     * @param limit  Number of posts per API page
+     * @param budget Limits on posts, pages and time spent for the whole batch
+     * @return Merged posts, newest first, marked as truncated if the budget ran out first
+     */
+    public SearchResult searchPosts(Collection<String> tags, OffsetDateTime since, int limit, SearchBudget budget) {
+        Objects.requireNonNull(tags, "Tags cannot be null");
+        Objects.requireNonNull(since, "Since date cannot be null");
+
+        SearchBudget.Tracker tracker = budget.start();
+        List<String> distinctTags = normalize(tags);
+        logger.info("🔍 Searching {} tags in parallel since {}: {}", distinctTags.size(), since, distinctTags);
+
+        Map<String, Future<List<Post>>> futures = new LinkedHashMap<>();
+        for (String tag : distinctTags) {
+            futures.put(tag, executor.submit(() -> searchWithPermit(tag, since, limit, tracker)));
+        }
+
+        Map<String, Post> postsByCid = new LinkedHashMap<>();
+        int duplicates = 0;
+        for (Map.Entry<String, Future<List<Post>>> entry : futures.entrySet()) {
+            for (Post post : await(entry.getKey(), entry.getValue())) {
+                String key = post.getCid() != null ? post.getCid() : post.getUri();
+                if (postsByCid.putIfAbsent(key, post) != null) {
+                    duplicates++;
+                }
+            }
+        }
+
+        List<Post> merged = new ArrayList<>(postsByCid.values());
+        merged.sort(NEWEST_FIRST);
+
+        logger.info("🎉 Batch search completed. {} unique posts across {} tags ({} duplicates removed)",
+                merged.size(), distinctTags.size(), duplicates);
+        SearchResult result = tracker.toResult(merged);
+        return result.withPostsPerTag(countPerTag(distinctTags, result.getPosts()));
+    }
+
+    /**
+     * Counts, in one pass per post, how many of the returned posts mention each tag.
+     */
+    private Map<String, Integer> countPerTag(List<String> tags, List<Post> posts) {
+        KeywordMatcher matcher = KeywordMatcher.compile(tags);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String tag : tags) {
+            counts.put(KeywordMatcher.normalize(tag), 0);
+        }
+        for (Post post : posts) {
+            for (String tag : matcher.match(post.getText())) {
+                counts.merge(tag, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private List<Post> searchWithPermit(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return searchCache.searchPosts(tag, since, limit, tracker);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private List<Post> await(String tag, Future<List<Post>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ Interrupted while waiting for tag '{}'", tag);
+        } catch (ExecutionException e) {
+            logger.error("❌ Search for tag '{}' failed: {}", tag, e.getCause().getMessage());
+        }
+        return List.of();
+    }
+
+    private List<String> normalize(Collection<String> tags) {
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) continue;
+            String trimmed = tag.trim();
+            distinct.putIfAbsent(trimmed.toLowerCase(Locale.ROOT), trimmed);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+}
@@ -0,0 +1,187 @@
+package com.redis.socialmediatracker.bluesky;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side token bucket shared by every Bluesky API call.
+ * <p>
+ * The bucket starts from the configured limit and is corrected by the
+ * {@code RateLimit-*} headers of each response: the server's remaining quota
+ * caps the local tokens, {@code RateLimit-Policy} ({@code "3000;w=300"}) sets
+ * capacity and refill rate, and an exhausted quota or a 429 pauses all callers
+ * until the window resets.
+ */
+@Component
+public class BlueskyRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlueskyRateLimiter.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double capacity;
+    private double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+    private Instant pausedUntil = Instant.MIN;
+
+    private volatile long serverRemaining = -1;
+
+    public BlueskyRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.api.rate-limit.limit:3000}") int limit,
+            @Value("${bluesky.api.rate-limit.window:PT5M}") Duration window) {
+        this.capacity = limit;
+        this.refillPerNano = (double) limit / window.toNanos();
+        this.tokens = limit;
+        this.lastRefillNanos = System.nanoTime();
+
+        Gauge.builder("bluesky.ratelimit.remaining", this, BlueskyRateLimiter::getRemaining)
+                .description("Remaining Bluesky API quota in the current window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token, waiting for the bucket to refill or a pause to end if needed.
+     *
+     * @param deadline Give up instead of waiting past this instant, or null to wait as long as it takes
+     * @return true if a token was taken, false if it could not be taken before the deadline
+     */
+    public boolean acquire(Instant deadline) throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            lock.lock();
+            try {
+                refill();
+                Instant now = Instant.now();
+                if (now.isBefore(pausedUntil)) {
+                    waitNanos = Duration.between(now, pausedUntil).toNanos();
+                } else if (tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                } else {
+                    waitNanos = (long) Math.ceil((1 - tokens) / refillPerNano);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (deadline != null && Instant.now().plusNanos(waitNanos).isAfter(deadline)) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Corrects the bucket from the rate-limit headers of a response. Missing headers are ignored.
+     */
+    public void update(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        long remaining = parseLong(headers.getFirst("RateLimit-Remaining"));
+        long reset = parseLong(headers.getFirst("RateLimit-Reset"));
+        String policy = headers.getFirst("RateLimit-Policy");
+
+        lock.lock();
+        try {
+            if (policy != null) {
+                applyPolicy(policy);
+            }
+            if (remaining >= 0) {
+                serverRemaining = remaining;
+                refill();
+                tokens = Math.min(tokens, remaining);
+                if (remaining == 0 && reset > 0) {
+                    pause(Instant.ofEpochSecond(reset));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops all callers until the given instant, e.g. after a 429.
+     */
+    public void pauseUntil(Instant until) {
+        lock.lock();
+        try {
+            pause(until);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The server's last reported remaining quota, or the local token count before the first response.
+     */
+    public double getRemaining() {
+        long remaining = serverRemaining;
+        if (remaining >= 0) {
+            return remaining;
+        }
+        lock.lock();
+        try {
+            refill();
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pause(Instant until) {
+        if (until.isAfter(pausedUntil)) {
+            pausedUntil = until;
+            tokens = 0;
+            logger.warn("⏳ Bluesky rate limit reached, pausing requests until {}", until);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Parses a policy such as {@code "3000;w=300"} into capacity and refill rate.
+     */
+    private void applyPolicy(String policy) {
+        String[] parts = policy.split(";");
+        long limit = parseLong(parts[0]);
+        long windowSeconds = -1;
+        for (int i = 1; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (part.startsWith("w=")) {
+                windowSeconds = parseLong(part.substring(2));
+            }
+        }
+        if (limit > 0 && windowSeconds > 0) {
+            capacity = limit;
+            refillPerNano = (double) limit / TimeUnit.SECONDS.toNanos(windowSeconds);
+        }
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package com.redis.socialmediatracker.bluesky;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.time.LocalDateTime;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Service responsible for querying the Bluesky API for posts.
@@ -25,96 +41,339 @@ public class BlueskyService {
 
     private static final Logger logger = LoggerFactory.getLogger(BlueskyService.class);
 
-    private final AuthenticationService authenticationService;
+    /**
+     * Maximum number of URIs app.bsky.feed.getPosts accepts per request
+     */
+    public static final int MAX_GET_POSTS = 25;
+
+    private final BlueskySessionManager sessionManager;
     private final RestTemplate restTemplate;
+    private final SearchPageDecoder decoder;
+    private final ObjectMapper objectMapper;
+    private final BlueskyRateLimiter rateLimiter;
     private final String apiUrl;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
 
-    private String token;
-    private LocalDateTime lastTokenUpdate;
+    private final Counter rateLimitedRetries;
+    private final Counter serverErrorRetries;
+    private final Counter ioErrorRetries;
 
     public BlueskyService(
-            AuthenticationService authenticationService, RestTemplate restTemplate,
-            @Value("${bluesky.api.url}") String apiUrl
+            BlueskySessionManager sessionManager, RestTemplate restTemplate, SearchPageDecoder decoder,
+            ObjectMapper objectMapper, BlueskyRateLimiter rateLimiter, MeterRegistry meterRegistry,
+            @Value("${bluesky.api.url}") String apiUrl,
+            @Value("${bluesky.api.retry.max-attempts:5}") int maxAttempts,
+            @Value("${bluesky.api.retry.initial-backoff:PT0.5S}") Duration initialBackoff,
+            @Value("${bluesky.api.retry.max-backoff:PT30S}") Duration maxBackoff
     ) {
-        this.authenticationService = authenticationService;
+        this.sessionManager = sessionManager;
         this.restTemplate = restTemplate;
+        this.decoder = decoder;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
         this.apiUrl = apiUrl;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.rateLimitedRetries = retryCounter(meterRegistry, "rate_limited");
+        this.serverErrorRetries = retryCounter(meterRegistry, "server_error");
+        this.ioErrorRetries = retryCounter(meterRegistry, "io_error");
+    }
+
+    private static Counter retryCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bluesky.api.retries")
+                .description("Bluesky API requests retried after a transient failure")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
     /**
      * Searches for posts containing the given tag since the specified date.
      *
-     * @param tag   Search tag
-     * @param since Starting date for filtering posts
-     * @param limit Number of posts per API page
-     * @return List of fetched posts
+     * @param tag    Search tag
+     * @param since  Starting date for filtering posts
+     * @param limit  Number of posts per API page
+     * @param budget Limits on posts, pages and time spent for this call
+     * @return Fetched posts, marked as truncated if the budget ran out first
      */
-    public List<Post> searchPosts(String tag, OffsetDateTime since, int limit) {
-        Objects.requireNonNull(tag, "Tag cannot be null");
-        Objects.requireNonNull(since, "Since date cannot be null");
-
-        List<Post> allPosts = new ArrayList<>();
-        String cursor = null;
+    public SearchResult searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget budget) {
+        SearchBudget.Tracker tracker = budget.start();
+        return tracker.toResult(searchPosts(tag, since, null, limit, tracker));
+    }
 
-        logger.info("🔍 Searching posts with tag '{}' since {}", tag, since);
+    /**
+     * Searches for posts containing the given tag within [since, until), drawing from a shared budget.
+     * Paging stops early once a page reaches posts older than {@code since}.
+     *
+     * @param tag     Search tag
+     * @param since   Starting date for filtering posts
+     * @param until   Exclusive end date, or null for "up to now"
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return List of fetched posts
+     */
+    public List<Post> searchPosts(String tag, OffsetDateTime since, OffsetDateTime until, int limit,
+                                  SearchBudget.Tracker tracker) {
+        logger.info("🔍 Searching posts with tag '{}' since {}{}", tag, since, until != null ? " until " + until : "");
 
-        while (true) {
-            ResponseEntity<Map> response = makeRequest(cursor, limit, since, tag);
+        List<Post> allPosts = searchPostsStream(tag, since, until, limit, tracker).toList();
 
-            if (response == null || response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                logger.warn("⚠️ Failed to fetch posts. Status: {}", 
-                        response != null ? response.getStatusCode() : "NO RESPONSE");
-                break;
-            }
+        logger.info("🎉 Completed fetching posts for tag '{}'. Total retrieved: {}", tag, allPosts.size());
+        return allPosts;
+    }
 
-            Map<String, Object> body = response.getBody();
-            List<Map<String, Object>> postsData = 
-                    (List<Map<String, Object>>) body.getOrDefault("posts", Collections.emptyList());
+    /**
+     * Lazily pages through the posts containing the given tag within [since, until).
+     * The next page is only requested once the consumer has used up the current one,
+     * so short-circuiting operations such as {@code limit} or {@code findFirst} save requests.
+     *
+     * @param tag     Search tag
+     * @param since   Starting date for filtering posts
+     * @param until   Exclusive end date, or null for "up to now"
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return Sequential stream of posts, newest first
+     */
+    public Stream<Post> searchPostsStream(String tag, OffsetDateTime since, OffsetDateTime until, int limit,
+                                          SearchBudget.Tracker tracker) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        Objects.requireNonNull(since, "Since date cannot be null");
 
-            for (Map<String, Object> data : postsData) {
-                allPosts.add(Post.fromMap(data));
-            }
+        return StreamSupport.stream(
+                new PagedPostSpliterator(this, tag, since, until, limit, tracker), false);
+    }
 
-            logger.info("✅ Retrieved {} posts. Total so far: {}", postsData.size(), allPosts.size());
+    /**
+     * Fetches a single page of search results.
+     * Rate-limited (429), server (5xx) and I/O failures are retried with the same cursor,
+     * so a crawl resumes where it was instead of stopping.
+     *
+     * @param tag      Search tag
+     * @param since    Starting date for filtering posts
+     * @param until    Exclusive end date, or null for "up to now"
+     * @param cursor   Cursor returned by the previous page, or null for the first page
+     * @param limit    Number of posts per API page
+     * @param deadline Stop waiting for quota or retries after this instant, or null for no limit
+     * @return The page, or null if the request failed
+     */
+    public SearchPage fetchPage(String tag, OffsetDateTime since, OffsetDateTime until, String cursor, int limit,
+                                Instant deadline) {
+        SearchPage page = makeRequest(cursor, limit, since, until, tag, deadline);
 
-            cursor = (String) body.get("cursor");
-            if (cursor == null || cursor.isBlank()) {
-                break;
-            }
+        if (page == null) {
+            logger.warn("⚠️ Failed to fetch posts for tag '{}'", tag);
         }
-
-        logger.info("🎉 Completed fetching posts for tag '{}'. Total retrieved: {}", tag, allPosts.size());
-        return Collections.unmodifiableList(allPosts);
+        return page;
     }
 
     /**
      * Builds and executes the HTTP GET request for Bluesky API.
+     * The response body is decoded straight from the stream into posts.
      */
-    private ResponseEntity<Map> makeRequest(String cursor, int limit, OffsetDateTime since, String tag) {
-        if (token == null || lastTokenUpdate == null || lastTokenUpdate.isBefore(LocalDateTime.now().minusMinutes(15))) {
-            token = authenticationService.getAccessToken();
-        }
-
+    private SearchPage makeRequest(String cursor, int limit, OffsetDateTime since, OffsetDateTime until, String tag,
+                                   Instant deadline) {
         String endpoint = apiUrl + "/app.bsky.feed.searchPosts";
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(token);
-
         Map<String, String> params = new LinkedHashMap<>();
         params.put("q", tag);
         params.put("sort", "latest");
         params.put("limit", String.valueOf(limit));
         params.put("since", since.withOffsetSameInstant(ZoneOffset.UTC).toString());
+        if (until != null) params.put("until", until.withOffsetSameInstant(ZoneOffset.UTC).toString());
         if (cursor != null) params.put("cursor", cursor);
 
+        URI uri;
+        try {
+            uri = new URI(endpoint + buildQuery(params));
+        } catch (URISyntaxException e) {
+            logger.error("❌ Request error: {}", e.getMessage());
+            return null;
+        }
+        return execute(uri, "tag '" + tag + "'", deadline, decoder::decode);
+    }
+
+    /**
+     * Fetches the current view of up to {@value #MAX_GET_POSTS} posts by AT URI with
+     * app.bsky.feed.getPosts, retried like {@link #fetchPage}. Posts that were deleted or
+     * are not visible are missing from the result.
+     *
+     * @param uris     AT URIs of the posts
+     * @param deadline Stop waiting for quota or retries after this instant, or null for no limit
+     * @return The posts with their current engagement counts, or null if the request failed
+     */
+    public List<Post> getPosts(List<String> uris, Instant deadline) {
+        if (uris.size() > MAX_GET_POSTS) {
+            throw new IllegalArgumentException("getPosts accepts at most " + MAX_GET_POSTS + " URIs, got " + uris.size());
+        }
+        if (uris.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder query = new StringBuilder(apiUrl).append("/app.bsky.feed.getPosts?");
+        for (String uri : uris) {
+            query.append("uris=").append(URLEncoder.encode(uri, StandardCharsets.UTF_8)).append('&');
+        }
+        query.setLength(query.length() - 1);
+
+        SearchPage page;
+        try {
+            page = execute(new URI(query.toString()), uris.size() + " posts", deadline, decoder::decode);
+        } catch (URISyntaxException e) {
+            logger.error("❌ Request error: {}", e.getMessage());
+            return null;
+        }
+        if (page == null) {
+            logger.warn("⚠️ Failed to fetch {} posts", uris.size());
+            return null;
+        }
+        return page.getPosts();
+    }
+
+    /**
+     * Resolves a handle to the DID of its account with com.atproto.identity.resolveHandle,
+     * retried like {@link #fetchPage}.
+     *
+     * @param handle Handle without a leading {@code @}, e.g. {@code johndoe.bsky.social}
+     * @return The DID, or null if the handle is unknown or the request failed
+     */
+    public String resolveHandle(String handle) {
+        URI uri;
         try {
-            URI uri = new URI(endpoint + buildQuery(params));
-            HttpEntity<Void> request = new HttpEntity<>(headers);
-            return restTemplate.exchange(uri, HttpMethod.GET, request, Map.class);
-        } catch (URISyntaxException | RestClientException e) {
+            uri = new URI(apiUrl + "/com.atproto.identity.resolveHandle" + buildQuery(Map.of("handle", handle)));
+        } catch (URISyntaxException e) {
             logger.error("❌ Request error: {}", e.getMessage());
             return null;
         }
+        return execute(uri, "handle '" + handle + "'", null,
+                body -> objectMapper.readTree(body).path("did").asText(null));
+    }
+
+    /**
+     * Executes an authenticated GET against the Bluesky API under the shared rate limiter.
+     * Rate-limited (429), server (5xx) and I/O failures are retried with jittered backoff,
+     * and an expired token is renewed once.
+     *
+     * @param uri      Full request URI
+     * @param what     What is being fetched, for log messages
+     * @param deadline Stop waiting for quota or retries after this instant, or null for no limit
+     * @param reader   Decodes the response body
+     * @return The decoded response, or null if the request failed
+     */
+    private <T> T execute(URI uri, String what, Instant deadline, BodyReader<T> reader) {
+        boolean tokenRenewed = false;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                if (!rateLimiter.acquire(deadline)) {
+                    logger.warn("⏳ No Bluesky quota left before the deadline for {}", what);
+                    return null;
+                }
+
+                String token = sessionManager.getAccessToken();
+                Instant retryNotBefore = null;
+                try {
+                    return restTemplate.execute(uri, HttpMethod.GET,
+                            request -> request.getHeaders().setBearerAuth(token),
+                            response -> {
+                                rateLimiter.update(response.getHeaders());
+                                return reader.read(response.getBody());
+                            });
+                } catch (HttpClientErrorException e) {
+                    rateLimiter.update(e.getResponseHeaders());
+                    if (!tokenRenewed && isRejectedToken(e)) {
+                        // Token was revoked or expired early; renew once and retry
+                        sessionManager.invalidate(token);
+                        tokenRenewed = true;
+                        attempt--;
+                        continue;
+                    }
+                    if (e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) {
+                        logger.error("❌ Request error: {}", e.getMessage());
+                        return null;
+                    }
+                    rateLimitedRetries.increment();
+                    retryNotBefore = retryAfter(e.getResponseHeaders());
+                    if (retryNotBefore != null) {
+                        rateLimiter.pauseUntil(retryNotBefore);
+                    }
+                } catch (HttpServerErrorException e) {
+                    rateLimiter.update(e.getResponseHeaders());
+                    serverErrorRetries.increment();
+                } catch (ResourceAccessException e) {
+                    ioErrorRetries.increment();
+                } catch (RestClientException e) {
+                    logger.error("❌ Request error: {}", e.getMessage());
+                    return null;
+                }
+
+                if (attempt >= maxAttempts) {
+                    logger.error("❌ Giving up on {} after {} attempts", what, attempt);
+                    return null;
+                }
+                Duration backoff = backoff(attempt, retryNotBefore);
+                if (deadline != null && Instant.now().plus(backoff).isAfter(deadline)) {
+                    logger.warn("⏳ Not retrying {}: backoff of {} would pass the deadline", what, backoff);
+                    return null;
+                }
+                logger.warn("🔁 Retrying {} (attempt {}/{}) in {} ms", what, attempt + 1, maxAttempts,
+                        backoff.toMillis());
+                Thread.sleep(backoff.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ Interrupted while fetching {}", what);
+            return null;
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter, never shorter than what the server asked for.
+     */
+    private Duration backoff(int attempt, Instant retryNotBefore) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        Duration jittered = Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        if (retryNotBefore != null) {
+            Duration requested = Duration.between(Instant.now(), retryNotBefore);
+            if (requested.compareTo(jittered) > 0) {
+                return requested;
+            }
+        }
+        return jittered;
+    }
+
+    /**
+     * Reads when a 429 may be retried, from {@code Retry-After} (seconds) or {@code RateLimit-Reset} (epoch seconds).
+     */
+    private Instant retryAfter(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        try {
+            String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null) {
+                return Instant.now().plusSeconds(Long.parseLong(retryAfter.trim()));
+            }
+            String reset = headers.getFirst("RateLimit-Reset");
+            if (reset != null) {
+                return Instant.ofEpochSecond(Long.parseLong(reset.trim()));
+            }
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring unparseable rate-limit header: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Bluesky answers 401 for invalid tokens and 400 "ExpiredToken" for expired ones.
+     */
+    private boolean isRejectedToken(HttpClientErrorException e) {
+        return e.getStatusCode() == HttpStatus.UNAUTHORIZED
+                || e.getResponseBodyAsString().contains("ExpiredToken");
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
     }
 
     /**
@@ -126,7 +385,7 @@ public class BlueskyService {
         for (Map.Entry<String, String> entry : params.entrySet()) {
             sb.append(entry.getKey())
               .append("=")
-              .append(entry.getValue())
+              .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
               .append("&");
         }
         sb.setLength(sb.length() - 1); // remove trailing '&'
@@ -0,0 +1,153 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.BlueskySession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe holder for the Bluesky session shared by all API calls.
+ * <p>
+ * The access token is reused until shortly before it expires, then renewed with
+ * {@code refreshSession} (falling back to a full {@code createSession} login if the
+ * refresh token is rejected). Only one renewal runs at a time: concurrent callers
+ * block on the lock and pick up the session the first caller obtained.
+ * <p>
+ * A failed login is not retried on every call: callers get no token until the backoff
+ * has passed, and the backoff doubles with each failure in a row, up to a maximum.
+ */
+@Service
+public class BlueskySessionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlueskySessionManager.class);
+
+    private final AuthenticationService authenticationService;
+    private final Duration refreshMargin;
+    private final Duration loginBackoff;
+    private final Duration maxLoginBackoff;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Timer createTimer;
+    private final Timer refreshTimer;
+    private final Counter failureCounter;
+
+    private volatile BlueskySession session;
+
+    // Guarded by refreshLock
+    private int failedLogins;
+    private Instant nextLoginAt = Instant.EPOCH;
+
+    public BlueskySessionManager(
+            AuthenticationService authenticationService,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.auth.refresh-margin:PT60S}") Duration refreshMargin,
+            @Value("${bluesky.auth.login-backoff:PT5S}") Duration loginBackoff,
+            @Value("${bluesky.auth.max-login-backoff:PT5M}") Duration maxLoginBackoff) {
+        this.authenticationService = authenticationService;
+        this.refreshMargin = refreshMargin;
+        this.loginBackoff = loginBackoff;
+        this.maxLoginBackoff = maxLoginBackoff;
+        this.createTimer = Timer.builder("bluesky.session.renewals")
+                .description("Bluesky session renewals and their latency")
+                .tag("type", "create")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("bluesky.session.renewals")
+                .description("Bluesky session renewals and their latency")
+                .tag("type", "refresh")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("bluesky.session.failures")
+                .description("Bluesky session renewals that returned no usable token")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a valid access token, renewing the session first if needed.
+     *
+     * @return The access token, or an empty string if authentication failed or is backing off
+     */
+    public String getAccessToken() {
+        BlueskySession current = session;
+        if (current != null && current.isAccessValid(Instant.now(), refreshMargin)) {
+            return current.getAccessJwt();
+        }
+
+        refreshLock.lock();
+        try {
+            // Another caller may have renewed the session while we were waiting
+            current = session;
+            if (current != null && current.isAccessValid(Instant.now(), refreshMargin)) {
+                return current.getAccessJwt();
+            }
+
+            BlueskySession renewed = renew(current);
+            session = renewed;
+            return renewed != null ? renewed.getAccessJwt() : "";
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Discards the session if it still holds the given token.
+     * Called when the server rejects a token we considered valid.
+     *
+     * @param rejectedToken The access token the server rejected
+     */
+    public void invalidate(String rejectedToken) {
+        refreshLock.lock();
+        try {
+            BlueskySession current = session;
+            if (current != null && rejectedToken != null && rejectedToken.equals(current.getAccessJwt())) {
+                logger.info("🔑 Access token rejected by server, forcing session renewal");
+                session = new BlueskySession(current.getDid(), null, current.getRefreshJwt(), Instant.EPOCH);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private BlueskySession renew(BlueskySession current) {
+        if (current != null && current.hasRefreshToken()) {
+            BlueskySession refreshed = refreshTimer.record(
+                    () -> authenticationService.refreshSession(current.getRefreshJwt()));
+            if (refreshed != null) {
+                logger.debug("🔄 Bluesky session refreshed, valid until {}", refreshed.getAccessExpiresAt());
+                return refreshed;
+            }
+            logger.info("🔑 Refresh token rejected, logging in again");
+        }
+
+        Instant now = Instant.now();
+        if (now.isBefore(nextLoginAt)) {
+            logger.debug("🔑 Skipping Bluesky login until {}", nextLoginAt);
+            return null;
+        }
+
+        BlueskySession created = createTimer.record(authenticationService::createSession);
+        if (created == null) {
+            failureCounter.increment();
+            failedLogins++;
+            Duration backoff = loginBackoff.multipliedBy(1L << Math.min(failedLogins - 1, 16));
+            if (backoff.compareTo(maxLoginBackoff) > 0) {
+                backoff = maxLoginBackoff;
+            }
+            nextLoginAt = now.plus(backoff);
+            logger.warn("⚠️ Could not obtain a Bluesky session ({} failures in a row), next login attempt in {}",
+                    failedLogins, backoff);
+            return null;
+        }
+
+        failedLogins = 0;
+        nextLoginAt = Instant.EPOCH;
+        logger.info("🔑 New Bluesky session, valid until {}", created.getAccessExpiresAt());
+        return created;
+    }
+}
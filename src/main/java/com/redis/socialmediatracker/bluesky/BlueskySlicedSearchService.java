@@ -0,0 +1,255 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.CrawledPosts;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Crawls wide search windows by splitting them into time slices that are fetched in parallel.
+ * <p>
+ * The window is first cut into a fixed number of slices. Each slice fetches one page;
+ * if that page is full, the part of the slice it did not cover is split in half again,
+ * so dense periods end up with many narrow slices and quiet periods with a single request.
+ * Once a slice is narrower than the configured minimum it is paged sequentially with the cursor.
+ * <p>
+ * Slices are bounded by post timestamps, so a post may show up in two adjacent slices;
+ * duplicates are removed by CID when the slices are merged.
+ * <p>
+ * When the budget runs out, slices stop at different points. {@link #crawl} reports the
+ * part of the window covered without a gap from its end, so callers can store a
+ * cut-short crawl for what it did cover and fetch only the rest later. A half of a split
+ * slice that fails is handled the same way: the posts of the other half are kept, and the
+ * slice covers only down to the gap.
+ */
+@Service
+public class BlueskySlicedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlueskySlicedSearchService.class);
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator.comparing(
+            Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final BlueskyService blueskyService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration threshold;
+    private final int initialSlices;
+    private final Duration minSliceDuration;
+
+    public BlueskySlicedSearchService(
+            BlueskyService blueskyService,
+            @Qualifier("blueskySearchExecutor") ExecutorService executor,
+            @Value("${bluesky.search.slices.max-concurrency:8}") int maxConcurrency,
+            @Value("${bluesky.search.slices.threshold:P2D}") Duration threshold,
+            @Value("${bluesky.search.slices.initial-count:4}") int initialSlices,
+            @Value("${bluesky.search.slices.min-duration:PT30M}") Duration minSliceDuration) {
+        this.blueskyService = blueskyService;
+        this.executor = executor;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+        this.threshold = threshold;
+        this.initialSlices = Math.max(1, initialSlices);
+        this.minSliceDuration = minSliceDuration;
+    }
+
+    /**
+     * Searches for posts containing the given tag since the specified date.
+     *
+     * @param tag    Search tag
+     * @param since  Starting date for filtering posts
+     * @param limit  Number of posts per API page
+     * @param budget Limits on posts, pages and time spent for this call
+     * @return Merged posts, newest first, marked as truncated if the budget ran out first
+     */
+    public SearchResult searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget budget) {
+        SearchBudget.Tracker tracker = budget.start();
+        return tracker.toResult(searchPosts(tag, since, limit, tracker));
+    }
+
+    /**
+     * Searches for posts containing the given tag since the specified date, drawing from a shared budget.
+     * Windows shorter than the configured threshold are crawled with a single cursor loop.
+     *
+     * @param tag     Search tag
+     * @param since   Starting date for filtering posts
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return Merged posts, newest first
+     */
+    public List<Post> searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker) {
+        return crawl(tag, since, null, limit, tracker).posts();
+    }
+
+    /**
+     * Crawls the posts containing the given tag within [since, until), drawing from a shared budget,
+     * and reports how much of the window they cover if the budget ran out first.
+     *
+     * @param tag     Search tag
+     * @param since   Starting date for filtering posts
+     * @param until   Exclusive end date, or null for "up to now"
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return Merged posts, newest first, and the part of the window they cover
+     */
+    public CrawledPosts crawl(String tag, OffsetDateTime since, OffsetDateTime until, int limit,
+                              SearchBudget.Tracker tracker) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        Objects.requireNonNull(since, "Since date cannot be null");
+
+        OffsetDateTime end = until != null ? until : OffsetDateTime.now(ZoneOffset.UTC);
+        Duration window = Duration.between(since, end);
+        if (window.compareTo(threshold) < 0) {
+            List<Post> posts = blueskyService.searchPosts(tag, since, until, limit, tracker);
+            // The cursor loop pages newest first, so a cut-short crawl covers its oldest post onwards
+            return new CrawledPosts(posts, tracker.isExhausted()
+                    ? CrawledPosts.coveredSince(posts, end.toInstant())
+                    : since.toInstant());
+        }
+
+        logger.info("🔍 Searching posts with tag '{}' since {} in {} parallel slices", tag, since, initialSlices);
+
+        AtomicInteger splits = new AtomicInteger();
+        Duration step = window.dividedBy(initialSlices);
+        List<Future<CrawledPosts>> futures = new ArrayList<>(initialSlices);
+        List<OffsetDateTime> ends = new ArrayList<>(initialSlices);
+        for (int i = 0; i < initialSlices; i++) {
+            OffsetDateTime start = since.plus(step.multipliedBy(i));
+            OffsetDateTime sliceEnd = i == initialSlices - 1 ? end : start.plus(step);
+            futures.add(executor.submit(() -> crawlSlice(tag, start, sliceEnd, limit, tracker, splits)));
+            ends.add(sliceEnd);
+        }
+
+        // Walk the slices from the newest: the covered part of the window ends at the first one cut short
+        Map<String, Post> postsByCid = new LinkedHashMap<>();
+        Instant coveredSince = end.toInstant();
+        boolean contiguous = true;
+        for (int i = futures.size() - 1; i >= 0; i--) {
+            CrawledPosts slice = await(tag, futures.get(i), ends.get(i).toInstant(), tracker);
+            for (Post post : slice.posts()) {
+                postsByCid.putIfAbsent(post.getCid() != null ? post.getCid() : post.getUri(), post);
+            }
+            if (contiguous) {
+                coveredSince = slice.coveredSince();
+                contiguous = slice.covers(since.plus(step.multipliedBy(i)).toInstant());
+            }
+        }
+
+        List<Post> merged = new ArrayList<>(postsByCid.values());
+        merged.sort(NEWEST_FIRST);
+
+        logger.info("🎉 Completed sliced search for tag '{}'. Total retrieved: {} ({} adaptive splits)",
+                tag, merged.size(), splits.get());
+        return new CrawledPosts(Collections.unmodifiableList(merged), coveredSince);
+    }
+
+    private CrawledPosts crawlSlice(String tag, OffsetDateTime start, OffsetDateTime end, int limit,
+                                    SearchBudget.Tracker tracker, AtomicInteger splits) throws Exception {
+        SearchPage first = fetchWithPermit(tag, start, end, null, limit, tracker);
+        if (first == null) {
+            return new CrawledPosts(List.of(), end.toInstant());
+        }
+
+        List<Post> posts = new ArrayList<>(first.getPosts());
+        if (!first.hasMore()) {
+            return new CrawledPosts(posts, start.toInstant());
+        }
+
+        // The first page (newest first) covered [oldest, end). If what is left is still wide,
+        // split it instead of walking the cursor through it.
+        OffsetDateTime oldest = oldestCreatedAt(first.getPosts());
+        if (!tracker.isExhausted() && oldest != null && oldest.isAfter(start) && oldest.isBefore(end)
+                && Duration.between(start, oldest).compareTo(minSliceDuration.multipliedBy(2)) >= 0) {
+            splits.incrementAndGet();
+            OffsetDateTime upperEnd = oldest.plusNanos(1_000_000);
+            OffsetDateTime mid = start.plus(Duration.between(start, oldest).dividedBy(2));
+            Future<CrawledPosts> upper = executor.submit(() -> crawlSlice(tag, mid, upperEnd, limit, tracker, splits));
+            Future<CrawledPosts> lower = executor.submit(() -> crawlSlice(tag, start, mid, limit, tracker, splits));
+            CrawledPosts upperPosts = await(tag, upper, upperEnd.toInstant(), tracker);
+            CrawledPosts lowerPosts = await(tag, lower, mid.toInstant(), tracker);
+            posts.addAll(upperPosts.posts());
+            posts.addAll(lowerPosts.posts());
+            return new CrawledPosts(posts, upperPosts.covers(mid.toInstant())
+                    ? lowerPosts.coveredSince()
+                    : upperPosts.coveredSince());
+        }
+
+        String cursor = first.getCursor();
+        while (cursor != null) {
+            SearchPage page = fetchWithPermit(tag, start, end, cursor, limit, tracker);
+            if (page == null) {
+                return new CrawledPosts(posts, CrawledPosts.coveredSince(posts, end.toInstant()));
+            }
+            posts.addAll(page.getPosts());
+            cursor = page.hasMore() ? page.getCursor() : null;
+        }
+        return new CrawledPosts(posts, start.toInstant());
+    }
+
+    /**
+     * Fetches one page if the budget allows it.
+     *
+     * @return The page, or null if the request failed or the budget is exhausted
+     */
+    private SearchPage fetchWithPermit(String tag, OffsetDateTime start, OffsetDateTime end, String cursor, int limit,
+                                       SearchBudget.Tracker tracker) throws InterruptedException {
+        if (!tracker.tryStartPage()) {
+            return null;
+        }
+        permits.acquire();
+        try {
+            SearchPage page = blueskyService.fetchPage(tag, start, end, cursor, limit, tracker.getDeadline());
+            if (page != null) {
+                tracker.recordPosts(page.getPosts().size());
+            } else {
+                tracker.markFailed();
+            }
+            return page;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private OffsetDateTime oldestCreatedAt(List<Post> posts) {
+        Post oldest = null;
+        for (Post post : posts) {
+            if (post.hasCreatedAt() && (oldest == null || post.getCreatedAtMillis() < oldest.getCreatedAtMillis())) {
+                oldest = post;
+            }
+        }
+        return oldest != null ? oldest.getCreatedAt() : null;
+    }
+
+    /**
+     * The result of a slice ending at {@code end}. A slice that failed covers nothing and
+     * marks the search as failed, so its posts are not taken to be missing on Bluesky.
+     */
+    private CrawledPosts await(String tag, Future<CrawledPosts> future, Instant end, SearchBudget.Tracker tracker) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            logger.warn("⚠️ Interrupted while waiting for a slice of tag '{}'", tag);
+        } catch (ExecutionException e) {
+            logger.error("❌ Slice search for tag '{}' failed: {}", tag, e.getCause().getMessage());
+        }
+        tracker.markFailed();
+        return new CrawledPosts(List.of(), end);
+    }
+}
@@ -0,0 +1,106 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over searchPosts results that requests the next page only
+ * once the consumer has used up the current one.
+ * <p>
+ * Iteration ends when the cursor runs out, a page reaches posts older than
+ * {@code since}, a request fails for good (which marks the tracker as failed),
+ * or the budget tracker refuses another page.
+ */
+class PagedPostSpliterator implements Spliterator<Post> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PagedPostSpliterator.class);
+
+    private final BlueskyService blueskyService;
+    private final String tag;
+    private final OffsetDateTime since;
+    private final long sinceMillis;
+    private final OffsetDateTime until;
+    private final int limit;
+    private final SearchBudget.Tracker tracker;
+
+    private Iterator<Post> current = Collections.emptyIterator();
+    private String cursor;
+    private boolean lastPage;
+    private int emitted;
+
+    PagedPostSpliterator(BlueskyService blueskyService, String tag, OffsetDateTime since, OffsetDateTime until,
+                         int limit, SearchBudget.Tracker tracker) {
+        this.blueskyService = blueskyService;
+        this.tag = tag;
+        this.since = since;
+        this.sinceMillis = since.toInstant().toEpochMilli();
+        this.until = until;
+        this.limit = limit;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Post> action) {
+        while (true) {
+            while (current.hasNext()) {
+                Post post = current.next();
+                if (post.hasCreatedAt() && post.getCreatedAtMillis() < sinceMillis) {
+                    // Results are sorted newest first, so everything after this is out of range too
+                    lastPage = true;
+                    current = Collections.emptyIterator();
+                    break;
+                }
+                emitted++;
+                tracker.recordPosts(1);
+                action.accept(post);
+                return true;
+            }
+
+            if (lastPage || !tracker.tryStartPage()) {
+                if (tracker.isExhausted()) {
+                    logger.info("✂️ Stopped paging tag '{}' early: {}", tag, tracker.getTruncationReason());
+                }
+                return false;
+            }
+
+            SearchPage page = blueskyService.fetchPage(tag, since, until, cursor, limit, tracker.getDeadline());
+            if (page == null) {
+                // Retries are exhausted; report the data as incomplete rather than stopping silently
+                tracker.markFailed();
+                lastPage = true;
+                return false;
+            }
+
+            logger.info("✅ Retrieved {} posts for tag '{}'. Total so far: {}", page.getPosts().size(), tag,
+                    emitted + page.getPosts().size());
+
+            current = page.getPosts().iterator();
+            cursor = page.getCursor();
+            lastPage = !page.hasMore();
+        }
+    }
+
+    @Override
+    public Spliterator<Post> trySplit() {
+        // Pages depend on the previous cursor, so the sequence cannot be split
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,161 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import com.redis.socialmediatracker.bluesky.model.SearchResult.TruncationReason;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upper bounds for a single search call: how many posts and pages it may collect
+ * and how long it may keep paging. A budget is immutable; each call starts its own
+ * {@link Tracker}, which may be shared by all threads working on that call.
+ */
+public class SearchBudget {
+
+    public static final SearchBudget UNLIMITED =
+            new SearchBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ofDays(365));
+
+    private final int maxPosts;
+    private final int maxPages;
+    private final Duration maxDuration;
+
+    public SearchBudget(int maxPosts, int maxPages, Duration maxDuration) {
+        if (maxPosts <= 0 || maxPages <= 0 || maxDuration == null || maxDuration.isNegative()) {
+            throw new IllegalArgumentException("Search budget limits must be positive");
+        }
+        this.maxPosts = maxPosts;
+        this.maxPages = maxPages;
+        this.maxDuration = maxDuration;
+    }
+
+    public int getMaxPosts() {
+        return maxPosts;
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Starts tracking a new search call against this budget. The deadline starts now.
+     */
+    public Tracker start() {
+        return new Tracker(this);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget{" +
+                "maxPosts=" + maxPosts +
+                ", maxPages=" + maxPages +
+                ", maxDuration=" + maxDuration +
+                '}';
+    }
+
+    /**
+     * Thread-safe usage counter for one search call.
+     * Once any limit is hit, the tracker stays exhausted and remembers which limit it was.
+     */
+    public static final class Tracker {
+
+        private final SearchBudget budget;
+        private final Instant deadline;
+        private final AtomicInteger pages = new AtomicInteger();
+        private final AtomicInteger posts = new AtomicInteger();
+        private volatile TruncationReason truncationReason;
+
+        private Tracker(SearchBudget budget) {
+            this.budget = budget;
+            this.deadline = Instant.now().plus(budget.maxDuration);
+        }
+
+        /**
+         * Reserves one page request. Only call this when there is more data to fetch,
+         * since a refusal marks the search as truncated.
+         *
+         * @return true if the page may be fetched, false if the budget is exhausted
+         */
+        public boolean tryStartPage() {
+            if (truncationReason != null) {
+                return false;
+            }
+            if (posts.get() >= budget.maxPosts) {
+                return exhaust(TruncationReason.MAX_POSTS);
+            }
+            if (Instant.now().isAfter(deadline)) {
+                return exhaust(TruncationReason.DEADLINE);
+            }
+            if (pages.incrementAndGet() > budget.maxPages) {
+                pages.decrementAndGet();
+                return exhaust(TruncationReason.MAX_PAGES);
+            }
+            return true;
+        }
+
+        public void recordPosts(int count) {
+            posts.addAndGet(count);
+        }
+
+        /**
+         * Builds the result of the call, cutting the posts down to {@code maxPosts}.
+         * Pages are fetched whole, so the collected posts can overshoot the limit slightly.
+         *
+         * @param posts Collected posts, newest first
+         */
+        public SearchResult toResult(List<Post> posts) {
+            List<Post> capped = Collections.unmodifiableList(posts);
+            if (posts.size() > budget.maxPosts) {
+                capped = List.copyOf(posts.subList(0, budget.maxPosts));
+                exhaust(TruncationReason.MAX_POSTS);
+            }
+            return new SearchResult(capped, truncationReason, pages.get());
+        }
+
+        /**
+         * Marks the call as truncated because more posts were available than it may return,
+         * e.g. in the stored history.
+         */
+        public void markPostLimitReached() {
+            exhaust(TruncationReason.MAX_POSTS);
+        }
+
+        /**
+         * Marks the call as truncated because a page could not be fetched even after retries.
+         */
+        public void markFailed() {
+            exhaust(TruncationReason.FETCH_FAILED);
+        }
+
+        public int getMaxPosts() {
+            return budget.maxPosts;
+        }
+
+        public Instant getDeadline() {
+            return deadline;
+        }
+
+        public boolean isExhausted() {
+            return truncationReason != null;
+        }
+
+        public TruncationReason getTruncationReason() {
+            return truncationReason;
+        }
+
+        private synchronized boolean exhaust(TruncationReason reason) {
+            if (truncationReason == null) {
+                truncationReason = reason;
+            }
+            return false;
+        }
+    }
+}
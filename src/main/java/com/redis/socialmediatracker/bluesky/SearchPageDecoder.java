@@ -0,0 +1,163 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes app.bsky.feed.searchPosts responses token by token.
+ * <p>
+ * Builds {@link Post} instances directly from the stream instead of materializing
+ * the whole response as nested maps first. Only the fields a Post needs are read;
+ * everything else (embeds, labels, viewer state, facets, ...) is skipped without
+ * being allocated.
+ */
+@Component
+public class SearchPageDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public SearchPageDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Reads one searchPosts response body.
+     *
+     * @param body The raw JSON response body
+     * @return The decoded page
+     * @throws IOException If the body is not valid JSON
+     */
+    public SearchPage decode(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    /**
+     * Reads one searchPosts response body from a byte array.
+     */
+    public SearchPage decode(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    private SearchPage decode(JsonParser parser) throws IOException {
+        List<Post> posts = new ArrayList<>();
+        String cursor = null;
+
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "cursor" -> cursor = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "posts" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            posts.add(readPost(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new SearchPage(posts, cursor);
+    }
+
+    private Post readPost(JsonParser parser) throws IOException {
+        String uri = null;
+        String cid = null;
+        String author = null;
+        String text = null;
+        String createdAt = null;
+        int replyCount = 0;
+        int repostCount = 0;
+        int likeCount = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "uri" -> uri = textOrNull(parser, value);
+                case "cid" -> cid = textOrNull(parser, value);
+                case "replyCount" -> replyCount = intOrZero(parser, value);
+                case "repostCount" -> repostCount = intOrZero(parser, value);
+                case "likeCount" -> likeCount = intOrZero(parser, value);
+                case "author" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String authorField = parser.currentName();
+                            JsonToken authorValue = parser.nextToken();
+                            if ("handle".equals(authorField)) {
+                                author = textOrNull(parser, authorValue);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "record" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String recordField = parser.currentName();
+                            JsonToken recordValue = parser.nextToken();
+                            if ("text".equals(recordField)) {
+                                text = textOrNull(parser, recordValue);
+                            } else if ("createdAt".equals(recordField)) {
+                                createdAt = textOrNull(parser, recordValue);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new Post(uri, cid, author, text,
+                createdAt != null ? OffsetDateTime.parse(createdAt).toInstant().toEpochMilli() : Post.NO_CREATED_AT,
+                replyCount, repostCount, likeCount);
+    }
+
+    private String textOrNull(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private int intOrZero(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return 0;
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected searchPosts response: expected " + expected + " but got " + actual);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import com.redis.om.spring.annotations.Document;
+import com.redis.om.spring.annotations.Indexed;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Import progress of one CAR file, so an interrupted backfill resumes where it stopped.
+ * The checkpoint is only trusted while the file's size and modification time are unchanged.
+ */
+@Document(value = "backfill-checkpoint", indexName = "backfillCheckpointIdx")
+public class BackfillCheckpoint {
+
+    /**
+     * Absolute path of the CAR file
+     */
+    @Id
+    private String path;
+
+    private long fileSize;
+
+    private long lastModified;
+
+    /**
+     * Byte offset of the first block not yet imported
+     */
+    private long offset;
+
+    private long postsImported;
+
+    @Indexed
+    private boolean completed;
+
+    /**
+     * When the checkpoint was last saved (epoch milliseconds)
+     */
+    private long updatedAt;
+
+    public BackfillCheckpoint() {
+    }
+
+    public BackfillCheckpoint(String path, long fileSize, long lastModified) {
+        this.path = path;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+    }
+
+    public boolean matches(long fileSize, long lastModified) {
+        return this.fileSize == fileSize && this.lastModified == lastModified;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public long getPostsImported() {
+        return postsImported;
+    }
+
+    public void setPostsImported(long postsImported) {
+        this.postsImported = postsImported;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
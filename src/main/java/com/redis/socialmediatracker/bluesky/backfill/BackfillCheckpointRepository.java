@@ -0,0 +1,8 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BackfillCheckpointRepository extends RedisDocumentRepository<BackfillCheckpoint, String> {
+}
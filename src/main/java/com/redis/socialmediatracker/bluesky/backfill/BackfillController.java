@@ -0,0 +1,54 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts offline imports of CAR repository exports and reports their progress.
+ */
+@RestController
+@RequestMapping("/api/backfill")
+public class BackfillController {
+
+    private final BackfillService backfillService;
+
+    public BackfillController(BackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    /**
+     * Imports a CAR file, or every {@code .car} file in a directory, in the background.
+     * The path is relative to {@code bluesky.backfill.import-root}; paths leading outside
+     * it are rejected. Without topics, posts are kept if they match any enabled tracked topic.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> start(
+            @RequestParam String path,
+            @RequestParam(required = false) List<String> topics) {
+        Path source;
+        try {
+            source = backfillService.resolveSource(path);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        try {
+            int files = backfillService.importAll(source, topics == null ? List.of() : topics).size();
+            return ResponseEntity.accepted().body(Map.of("path", path, "files", files));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public List<BackfillCheckpoint> progress() {
+        return backfillService.getCheckpoints();
+    }
+}
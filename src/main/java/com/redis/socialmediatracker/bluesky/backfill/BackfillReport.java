@@ -0,0 +1,82 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+/**
+ * Outcome of importing one CAR file.
+ */
+public class BackfillReport {
+
+    private final String path;
+    private final String did;
+    private final long blocksRead;
+    private final long postsSeen;
+    private final long postsImported;
+    private final long resumedFromOffset;
+    private final long durationMillis;
+    private final String error;
+
+    public BackfillReport(String path, String did, long blocksRead, long postsSeen, long postsImported,
+                          long resumedFromOffset, long durationMillis, String error) {
+        this.path = path;
+        this.did = did;
+        this.blocksRead = blocksRead;
+        this.postsSeen = postsSeen;
+        this.postsImported = postsImported;
+        this.resumedFromOffset = resumedFromOffset;
+        this.durationMillis = durationMillis;
+        this.error = error;
+    }
+
+    public static BackfillReport skipped(String path) {
+        return new BackfillReport(path, null, 0, 0, 0, 0, 0, null);
+    }
+
+    public static BackfillReport failed(String path, String error) {
+        return new BackfillReport(path, null, 0, 0, 0, 0, 0, error);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getDid() {
+        return did;
+    }
+
+    public long getBlocksRead() {
+        return blocksRead;
+    }
+
+    public long getPostsSeen() {
+        return postsSeen;
+    }
+
+    public long getPostsImported() {
+        return postsImported;
+    }
+
+    public long getResumedFromOffset() {
+        return resumedFromOffset;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BackfillReport{" +
+                "path='" + path + '\'' +
+                ", did='" + did + '\'' +
+                ", blocksRead=" + blocksRead +
+                ", postsSeen=" + postsSeen +
+                ", postsImported=" + postsImported +
+                ", resumedFromOffset=" + resumedFromOffset +
+                ", durationMillis=" + durationMillis +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,290 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import com.redis.socialmediatracker.bluesky.history.TrackedPostWriter;
+import com.redis.socialmediatracker.bluesky.match.KeywordMatcher;
+import com.redis.socialmediatracker.bluesky.match.TopicMatcherService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Imports posts from AT Protocol repository exports ({@code .car} files on local disk)
+ * into the local post store, to build history for a topic without paging the search API.
+ * <p>
+ * Each file is read twice as a stream of blocks. The first pass collects the repository
+ * DID and the MST entries that map post record keys to CIDs; the second decodes the post
+ * records, keeps those matching a topic and writes them in pipelined batches. A checkpoint
+ * is saved after every batch, so an interrupted import resumes at the last written block.
+ * Files are imported in parallel, up to {@code bluesky.backfill.workers} at a time.
+ * <p>
+ * Only files under {@code bluesky.backfill.import-root} can be imported; imports are
+ * disabled while it is not set.
+ */
+@Service
+public class BackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackfillService.class);
+
+    private static final String POST_KEY_PREFIX = RepoRecords.POST_COLLECTION + "/";
+
+    private final TrackedPostWriter postWriter;
+    private final TopicMatcherService topicMatcher;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final ExecutorService executor;
+    private final Semaphore workers;
+    private final int batchSize;
+    private final Path importRoot;
+
+    private final Counter blocksRead;
+    private final Counter postsImported;
+
+    public BackfillService(
+            TrackedPostWriter postWriter,
+            TopicMatcherService topicMatcher,
+            BackfillCheckpointRepository checkpointRepository,
+            @Qualifier("blueskySearchExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.backfill.workers:4}") int workers,
+            @Value("${bluesky.backfill.batch-size:500}") int batchSize,
+            @Value("${bluesky.backfill.import-root:}") String importRoot) {
+        this.postWriter = postWriter;
+        this.topicMatcher = topicMatcher;
+        this.checkpointRepository = checkpointRepository;
+        this.executor = executor;
+        this.workers = new Semaphore(Math.max(1, workers));
+        this.batchSize = Math.max(1, batchSize);
+        this.importRoot = importRoot == null || importRoot.isBlank() ? null : Path.of(importRoot.trim());
+        this.blocksRead = Counter.builder("bluesky.backfill.blocks")
+                .description("CAR blocks read by the backfill importer")
+                .register(meterRegistry);
+        this.postsImported = Counter.builder("bluesky.backfill.posts")
+                .description("Posts imported from CAR files")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports every {@code .car} file in a directory (or a single file) in parallel.
+     *
+     * @param source CAR file or directory of CAR files
+     * @param topics Topics to keep posts for; empty to use the enabled tracked topics
+     * @return One future report per file
+     */
+    public List<Future<BackfillReport>> importAll(Path source, Collection<String> topics) throws IOException {
+        List<Path> files = listCarFiles(source);
+        KeywordMatcher matcher = topics == null || topics.isEmpty()
+                ? topicMatcher.current()
+                : KeywordMatcher.compile(topics);
+        logger.info("📦 Backfilling {} CAR file(s) from {} for {} topics", files.size(), source, matcher.size());
+
+        List<Future<BackfillReport>> reports = new ArrayList<>(files.size());
+        for (Path file : files) {
+            reports.add(executor.submit(() -> importWithPermit(file, matcher)));
+        }
+        return reports;
+    }
+
+    /**
+     * Resolves a path relative to the import root, following links.
+     *
+     * @param path CAR file or directory, relative to {@code bluesky.backfill.import-root}
+     * @return The real path of the file or directory
+     * @throws IllegalStateException    If no import root is configured
+     * @throws IllegalArgumentException If the path does not exist or lies outside the import root
+     */
+    public Path resolveSource(String path) {
+        if (importRoot == null) {
+            throw new IllegalStateException("Backfill is disabled: bluesky.backfill.import-root is not set");
+        }
+        try {
+            Path root = importRoot.toRealPath();
+            Path source = root.resolve(path).normalize();
+            if (source.startsWith(root) && Files.exists(source)) {
+                source = source.toRealPath();
+            }
+            if (!source.startsWith(root)) {
+                logger.warn("🚫 Rejected backfill of {}: outside the import root {}", path, root);
+                throw new IllegalArgumentException("Path is outside the import root: " + path);
+            }
+            if (!Files.exists(source)) {
+                throw new IllegalArgumentException("No such file or directory: " + path);
+            }
+            return source;
+        } catch (InvalidPathException | IOException e) {
+            throw new IllegalArgumentException("Cannot resolve " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    public List<BackfillCheckpoint> getCheckpoints() {
+        List<BackfillCheckpoint> checkpoints = new ArrayList<>();
+        checkpointRepository.findAll().forEach(checkpoints::add);
+        return checkpoints;
+    }
+
+    private BackfillReport importWithPermit(Path file, KeywordMatcher matcher) throws InterruptedException {
+        workers.acquire();
+        try {
+            return importFile(file, matcher);
+        } catch (Exception e) {
+            logger.error("❌ Backfill of {} failed: {}", file, e.getMessage(), e);
+            return BackfillReport.failed(file.toString(), e.getMessage());
+        } finally {
+            workers.release();
+        }
+    }
+
+    /**
+     * Imports one CAR file, resuming from its checkpoint if the file is unchanged.
+     */
+    BackfillReport importFile(Path file, KeywordMatcher matcher) throws IOException {
+        long started = System.currentTimeMillis();
+        String path = file.toAbsolutePath().toString();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(path)
+                .filter(cp -> cp.matches(size, lastModified))
+                .orElseGet(() -> new BackfillCheckpoint(path, size, lastModified));
+        if (checkpoint.isCompleted()) {
+            logger.info("📦 Skipping {}: already imported ({} posts)", file, checkpoint.getPostsImported());
+            return BackfillReport.skipped(path);
+        }
+
+        // Pass 1: repository DID and post record keys by CID
+        String did = null;
+        Map<Cid, String> postKeys = new HashMap<>();
+        try (CarReader reader = open(file)) {
+            reader.readHeader();
+            CarReader.Block block;
+            while ((block = reader.next()) != null) {
+                Object decoded = decodeQuietly(block);
+                if (did == null) {
+                    did = RepoRecords.commitDid(decoded);
+                }
+                RepoRecords.forEachMstEntry(decoded, (key, cid) -> {
+                    if (key.startsWith(POST_KEY_PREFIX)) {
+                        postKeys.put(cid, key.substring(POST_KEY_PREFIX.length()));
+                    }
+                });
+            }
+        }
+        if (did == null) {
+            throw new IOException("No repository commit found in " + file);
+        }
+
+        // Pass 2: decode, match and write posts in batches
+        long resumedFrom = checkpoint.getOffset();
+        long blocks = 0;
+        long seen = 0;
+        long previouslyImported = checkpoint.getPostsImported();
+        long imported = previouslyImported;
+        List<Post> batch = new ArrayList<>(batchSize);
+        Map<Post, List<String>> tags = new IdentityHashMap<>();
+
+        try (CarReader reader = open(file)) {
+            reader.readHeader();
+            if (resumedFrom > reader.getHeaderEnd()) {
+                logger.info("📦 Resuming {} at offset {} ({} posts already imported)", file, resumedFrom, imported);
+                reader.skipTo(resumedFrom);
+            }
+            CarReader.Block block;
+            long lastOffset = Math.max(resumedFrom, reader.getHeaderEnd());
+            while ((block = reader.next()) != null) {
+                blocks++;
+                blocksRead.increment();
+                lastOffset = block.endOffset();
+
+                String rkey = postKeys.get(block.cid());
+                if (rkey == null) {
+                    continue;
+                }
+                Map<String, Object> record = RepoRecords.asPostRecord(decodeQuietly(block));
+                if (record == null) {
+                    continue;
+                }
+                seen++;
+                Post post = RepoRecords.toPost(did, rkey, block.cid(), record);
+                List<String> matched = matcher.match(post.getText(), RepoRecords.facetTags(record));
+                if (matched.isEmpty()) {
+                    continue;
+                }
+                batch.add(post);
+                tags.put(post, matched);
+
+                if (batch.size() >= batchSize) {
+                    imported += flush(batch, tags);
+                    saveCheckpoint(checkpoint, lastOffset, imported, false);
+                }
+            }
+            imported += flush(batch, tags);
+            saveCheckpoint(checkpoint, lastOffset, imported, true);
+        }
+
+        long duration = System.currentTimeMillis() - started;
+        logger.info("✅ Backfilled {}: {} of {} posts matched, {} blocks in {} ms",
+                file, imported - previouslyImported, seen, blocks, duration);
+        return new BackfillReport(path, did, blocks, seen, imported, resumedFrom, duration, null);
+    }
+
+    private int flush(List<Post> batch, Map<Post, List<String>> tags) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        if (!postWriter.save(batch, tags::get)) {
+            throw new IOException("Failed to write a batch of " + batch.size() + " posts");
+        }
+        int written = batch.size();
+        postsImported.increment(written);
+        batch.clear();
+        tags.clear();
+        return written;
+    }
+
+    private void saveCheckpoint(BackfillCheckpoint checkpoint, long offset, long imported, boolean completed) {
+        checkpoint.setOffset(offset);
+        checkpoint.setPostsImported(imported);
+        checkpoint.setCompleted(completed);
+        checkpoint.setUpdatedAt(Instant.now().toEpochMilli());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private Object decodeQuietly(CarReader.Block block) {
+        try {
+            return DagCborDecoder.decode(block.data());
+        } catch (IllegalArgumentException e) {
+            logger.debug("Skipping undecodable block {}: {}", block.cid(), e.getMessage());
+            return null;
+        }
+    }
+
+    private CarReader open(Path file) throws IOException {
+        return new CarReader(Files.newInputStream(file));
+    }
+
+    private List<Path> listCarFiles(Path source) throws IOException {
+        if (Files.isRegularFile(source)) {
+            return List.of(source);
+        }
+        try (Stream<Path> files = Files.list(source)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".car"))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import java.io.*;
+import java.util.Map;
+
+/**
+ * Streaming reader for CAR v1 files (Content Addressable aRchives).
+ * <p>
+ * A CAR file is a varint-prefixed DAG-CBOR header followed by blocks, each a
+ * varint length, a binary CID and the block data. Blocks are read one at a time,
+ * so memory use is bounded by the largest block rather than the file size.
+ */
+class CarReader implements Closeable {
+
+    /**
+     * One block of the archive.
+     *
+     * @param cid       Content identifier of the block
+     * @param data      Raw block data (DAG-CBOR for repository records and MST nodes)
+     * @param endOffset Byte offset just after this block, usable to resume reading
+     */
+    record Block(Cid cid, byte[] data, long endOffset) {
+    }
+
+    private static final int MAX_BLOCK_SIZE = 8 * 1024 * 1024;
+
+    private final InputStream in;
+    private long offset;
+    private long headerEnd;
+
+    CarReader(InputStream in) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 64 * 1024);
+    }
+
+    /**
+     * Reads the header. Must be called once before {@link #next()}.
+     *
+     * @return The decoded header ({@code version}, {@code roots})
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> readHeader() throws IOException {
+        long length = readVarint();
+        if (length <= 0 || length > MAX_BLOCK_SIZE) {
+            throw new IOException("Invalid CAR header length " + length);
+        }
+        Object header = DagCborDecoder.decode(readFully((int) length));
+        if (!(header instanceof Map) || !Long.valueOf(1).equals(((Map<String, Object>) header).get("version"))) {
+            throw new IOException("Unsupported CAR header: " + header);
+        }
+        headerEnd = offset;
+        return (Map<String, Object>) header;
+    }
+
+    /**
+     * Offset of the first block, valid after {@link #readHeader()}.
+     */
+    long getHeaderEnd() {
+        return headerEnd;
+    }
+
+    /**
+     * Skips forward to a block boundary previously returned as {@link Block#endOffset()}.
+     */
+    void skipTo(long target) throws IOException {
+        if (target < offset) {
+            throw new IOException("Cannot skip backwards from " + offset + " to " + target);
+        }
+        while (offset < target) {
+            long skipped = in.skip(target - offset);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("CAR file ended before offset " + target);
+                }
+                skipped = 1;
+            }
+            offset += skipped;
+        }
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return The block, or null at the end of the file
+     */
+    Block next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        offset++;
+        long length = readVarint(first);
+        if (length <= 0 || length > MAX_BLOCK_SIZE) {
+            throw new IOException("Invalid CAR block length " + length + " at offset " + offset);
+        }
+        byte[] section = readFully((int) length);
+        int cidLength = cidLength(section);
+        byte[] cid = new byte[cidLength];
+        System.arraycopy(section, 0, cid, 0, cidLength);
+        byte[] data = new byte[section.length - cidLength];
+        System.arraycopy(section, cidLength, data, 0, data.length);
+        return new Block(new Cid(cid), data, offset);
+    }
+
+    /**
+     * Length of the binary CID at the start of a block section.
+     * CIDv0 is a bare sha2-256 multihash; CIDv1 is version, codec, then a multihash.
+     */
+    private static int cidLength(byte[] section) throws IOException {
+        if (section.length >= 34 && (section[0] & 0xFF) == 0x12 && (section[1] & 0xFF) == 0x20) {
+            return 34;
+        }
+        int[] position = {0};
+        long version = varintAt(section, position);
+        if (version != 1) {
+            throw new IOException("Unsupported CID version " + version);
+        }
+        varintAt(section, position); // codec
+        varintAt(section, position); // multihash code
+        long digestLength = varintAt(section, position);
+        long end = position[0] + digestLength;
+        if (end > section.length) {
+            throw new IOException("Truncated CID");
+        }
+        return (int) end;
+    }
+
+    private static long varintAt(byte[] bytes, int[] position) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IOException("Truncated varint");
+            }
+            int b = bytes[position[0]++] & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long");
+    }
+
+    private long readVarint() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            throw new EOFException("Unexpected end of CAR file");
+        }
+        offset++;
+        return readVarint(first);
+    }
+
+    private long readVarint(int first) throws IOException {
+        long value = first & 0x7F;
+        int b = first;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            if (shift >= 64) {
+                throw new IOException("Varint too long");
+            }
+            b = in.read();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of CAR file");
+            }
+            offset++;
+            value |= (long) (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    private byte[] readFully(int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of CAR file");
+        }
+        offset += length;
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,56 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import java.util.Arrays;
+
+/**
+ * Binary content identifier as stored in CAR files and DAG-CBOR links.
+ * Compared by its raw bytes; {@link #toString()} gives the usual base32 form ("bafy...").
+ */
+public final class Cid {
+
+    private static final char[] BASE32 = "abcdefghijklmnopqrstuvwxyz234567".toCharArray();
+
+    private final byte[] bytes;
+    private final int hash;
+
+    public Cid(byte[] bytes) {
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Cid other && Arrays.equals(bytes, other.bytes));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Multibase base32 (lower case, no padding) with the {@code b} prefix.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(1 + (bytes.length * 8 + 4) / 5).append('b');
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : bytes) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                sb.append(BASE32[(buffer >>> (bits - 5)) & 0x1F]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            sb.append(BASE32[(buffer << (5 - bits)) & 0x1F]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder for the DAG-CBOR subset used by AT Protocol repositories.
+ * <p>
+ * Produces plain Java values: {@link Long}, {@link Double}, {@link Boolean}, {@code null},
+ * {@link String}, {@code byte[]}, {@link List}, {@link Map} (string keys) and {@link Cid}
+ * for links (CBOR tag 42). Indefinite-length items are rejected, as DAG-CBOR forbids them.
+ */
+final class DagCborDecoder {
+
+    private static final int CID_TAG = 42;
+
+    private final byte[] data;
+    private int position;
+
+    private DagCborDecoder(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Decodes a single DAG-CBOR value.
+     *
+     * @throws IllegalArgumentException if the data is not valid DAG-CBOR
+     */
+    static Object decode(byte[] data) {
+        DagCborDecoder decoder = new DagCborDecoder(data);
+        return decoder.read();
+    }
+
+    private Object read() {
+        int initial = nextByte();
+        int major = initial >>> 5;
+        int info = initial & 0x1F;
+
+        return switch (major) {
+            case 0 -> readArgument(info);
+            case 1 -> -1 - readArgument(info);
+            case 2 -> readBytes(length(info));
+            case 3 -> new String(readBytes(length(info)), StandardCharsets.UTF_8);
+            case 4 -> {
+                int size = length(info);
+                List<Object> list = new ArrayList<>(Math.min(size, 1024));
+                for (int i = 0; i < size; i++) {
+                    list.add(read());
+                }
+                yield list;
+            }
+            case 5 -> {
+                int size = length(info);
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    Object key = read();
+                    if (!(key instanceof String)) {
+                        throw new IllegalArgumentException("DAG-CBOR map keys must be strings");
+                    }
+                    map.put((String) key, read());
+                }
+                yield map;
+            }
+            case 6 -> {
+                long tag = readArgument(info);
+                Object value = read();
+                if (tag == CID_TAG && value instanceof byte[] bytes && bytes.length > 1 && bytes[0] == 0) {
+                    // Links carry a leading 0x00 (identity multibase) before the binary CID
+                    byte[] cid = new byte[bytes.length - 1];
+                    System.arraycopy(bytes, 1, cid, 0, cid.length);
+                    yield new Cid(cid);
+                }
+                yield value;
+            }
+            default -> readSimple(info);
+        };
+    }
+
+    private Object readSimple(int info) {
+        return switch (info) {
+            case 20 -> Boolean.FALSE;
+            case 21 -> Boolean.TRUE;
+            case 22, 23 -> null;
+            case 25 -> (double) Float.float16ToFloat((short) readUnsigned(2));
+            case 26 -> (double) Float.intBitsToFloat((int) readUnsigned(4));
+            case 27 -> Double.longBitsToDouble(readUnsigned(8));
+            default -> throw new IllegalArgumentException("Unsupported CBOR simple value " + info);
+        };
+    }
+
+    private long readArgument(int info) {
+        if (info < 24) return info;
+        return switch (info) {
+            case 24 -> readUnsigned(1);
+            case 25 -> readUnsigned(2);
+            case 26 -> readUnsigned(4);
+            case 27 -> readUnsigned(8);
+            default -> throw new IllegalArgumentException("Indefinite or reserved CBOR length " + info);
+        };
+    }
+
+    private int length(int info) {
+        long length = readArgument(info);
+        if (length < 0 || length > data.length - position) {
+            throw new IllegalArgumentException("CBOR length out of range: " + length);
+        }
+        return (int) length;
+    }
+
+    private long readUnsigned(int bytes) {
+        if (position + bytes > data.length) {
+            throw new IllegalArgumentException("Truncated CBOR data");
+        }
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private byte[] readBytes(int length) {
+        if (position + length > data.length) {
+            throw new IllegalArgumentException("Truncated CBOR data");
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    private int nextByte() {
+        if (position >= data.length) {
+            throw new IllegalArgumentException("Truncated CBOR data");
+        }
+        return data[position++] & 0xFF;
+    }
+}
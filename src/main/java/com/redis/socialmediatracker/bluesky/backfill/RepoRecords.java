@@ -0,0 +1,105 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Interprets decoded blocks of an AT Protocol repository: the signed commit,
+ * Merkle Search Tree (MST) nodes and {@code app.bsky.feed.post} records.
+ */
+final class RepoRecords {
+
+    static final String POST_COLLECTION = "app.bsky.feed.post";
+
+    private static final String TAG_FACET = "app.bsky.richtext.facet#tag";
+
+    private RepoRecords() {
+    }
+
+    /**
+     * Returns the repository DID if the block is the signed commit, otherwise null.
+     */
+    static String commitDid(Object block) {
+        if (block instanceof Map<?, ?> map && map.get("did") instanceof String did
+                && map.containsKey("data") && map.containsKey("rev")) {
+            return did;
+        }
+        return null;
+    }
+
+    /**
+     * Reports every entry of an MST node as (full key, record CID). Does nothing for other blocks.
+     * <p>
+     * Node entries store keys prefix-compressed against the previous entry:
+     * {@code p} is the shared prefix length and {@code k} the remaining bytes.
+     */
+    static void forEachMstEntry(Object block, BiConsumer<String, Cid> consumer) {
+        if (!(block instanceof Map<?, ?> node) || !node.containsKey("l") || !(node.get("e") instanceof List<?> entries)) {
+            return;
+        }
+        byte[] previous = new byte[0];
+        for (Object item : entries) {
+            if (!(item instanceof Map<?, ?> entry)
+                    || !(entry.get("k") instanceof byte[] suffix)
+                    || !(entry.get("v") instanceof Cid value)) {
+                continue;
+            }
+            int prefix = entry.get("p") instanceof Long p ? (int) Math.min(p, previous.length) : 0;
+            byte[] key = new byte[prefix + suffix.length];
+            System.arraycopy(previous, 0, key, 0, prefix);
+            System.arraycopy(suffix, 0, key, prefix, suffix.length);
+            previous = key;
+            consumer.accept(new String(key, StandardCharsets.UTF_8), value);
+        }
+    }
+
+    /**
+     * Returns the block as a post record map, or null if it is something else.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> asPostRecord(Object block) {
+        if (block instanceof Map<?, ?> map && POST_COLLECTION.equals(map.get("$type"))) {
+            return (Map<String, Object>) map;
+        }
+        return null;
+    }
+
+    static Post toPost(String did, String rkey, Cid cid, Map<String, Object> record) {
+        String text = record.get("text") instanceof String t ? t : "";
+        OffsetDateTime createdAt = null;
+        if (record.get("createdAt") instanceof String value) {
+            try {
+                createdAt = OffsetDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                // Leave it unset; the post is still worth keeping
+            }
+        }
+        String uri = "at://" + did + "/" + POST_COLLECTION + "/" + rkey;
+        return new Post(uri, cid.toString(), did, text, createdAt, 0, 0, 0);
+    }
+
+    static List<String> facetTags(Map<String, Object> record) {
+        if (!(record.get("facets") instanceof List<?> facets)) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>();
+        for (Object facet : facets) {
+            if (facet instanceof Map<?, ?> f && f.get("features") instanceof List<?> features) {
+                for (Object feature : features) {
+                    if (feature instanceof Map<?, ?> m && TAG_FACET.equals(m.get("$type"))
+                            && m.get("tag") instanceof String tag) {
+                        tags.add(tag);
+                    }
+                }
+            }
+        }
+        return tags;
+    }
+}
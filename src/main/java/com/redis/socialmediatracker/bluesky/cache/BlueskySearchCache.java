@@ -0,0 +1,222 @@
+package com.redis.socialmediatracker.bluesky.cache;
+
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.history.IncrementalCrawlService;
+import com.redis.socialmediatracker.bluesky.model.CrawledPosts;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Redis-backed cache in front of the Bluesky search.
+ * <p>
+ * Entries are keyed by normalized tag and the time bucket {@code since} falls into.
+ * A miss crawls from {@code since} only, so the caller's budget is spent on the posts
+ * it asked for, and the entry records the range it covers. A later query in the same
+ * bucket that reaches further back extends that range by crawling only the part before
+ * it. A hit that is older than the freshness window only fetches the tail of posts
+ * newer than the entry and appends it.
+ * <p>
+ * A crawl cut short by its budget is cached for the range it did cover, from its
+ * oldest post to the end, so busy tags are cached too. Misses, tails and extensions
+ * go through the {@link IncrementalCrawlService}, which serves older posts from the
+ * stored history.
+ */
+@Service
+public class BlueskySearchCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlueskySearchCache.class);
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator.comparingLong(
+            Post::getCreatedAtMillis).reversed();
+
+    private final IncrementalCrawlService crawlService;
+    private final SearchCacheEntryRepository repository;
+    private final boolean enabled;
+    private final Duration bucketSize;
+    private final Duration freshness;
+    private final Duration tailOverlap;
+
+    private final Counter hits;
+    private final Counter partialHits;
+    private final Counter misses;
+
+    public BlueskySearchCache(
+            IncrementalCrawlService crawlService,
+            SearchCacheEntryRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.search.cache.enabled:true}") boolean enabled,
+            @Value("${bluesky.search.cache.bucket:PT1H}") Duration bucketSize,
+            @Value("${bluesky.search.cache.freshness:PT1M}") Duration freshness,
+            @Value("${bluesky.search.cache.tail-overlap:PT2M}") Duration tailOverlap) {
+        this.crawlService = crawlService;
+        this.repository = repository;
+        this.enabled = enabled;
+        this.bucketSize = bucketSize;
+        this.freshness = freshness;
+        this.tailOverlap = tailOverlap;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.partialHits = lookupCounter(meterRegistry, "partial");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("bluesky.search.cache.lookups")
+                .description("Search cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Searches for posts containing the given tag since the specified date, serving from cache when possible.
+     *
+     * @param tag    Search tag
+     * @param since  Starting date for filtering posts
+     * @param limit  Number of posts per API page
+     * @param budget Limits on posts, pages and time spent for this call
+     * @return Posts since {@code since}, newest first, marked as truncated if the budget ran out first
+     */
+    public SearchResult searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget budget) {
+        SearchBudget.Tracker tracker = budget.start();
+        return tracker.toResult(searchPosts(tag, since, limit, tracker));
+    }
+
+    /**
+     * Searches for posts containing the given tag since the specified date, serving from cache when possible.
+     *
+     * @param tag     Search tag
+     * @param since   Starting date for filtering posts
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return Posts since {@code since}, newest first
+     */
+    public List<Post> searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker) {
+        if (!enabled) {
+            return crawlService.searchPosts(tag, since, limit, tracker);
+        }
+
+        String normalizedTag = normalize(tag);
+        Instant bucketStart = bucketOf(since.toInstant());
+        String key = normalizedTag + ":" + bucketStart.toEpochMilli();
+        Instant now = Instant.now();
+
+        Optional<SearchCacheEntry> cached = find(key);
+        if (cached.isEmpty()) {
+            misses.increment();
+            logger.info("🗄️ Search cache miss for '{}' (bucket {})", normalizedTag, bucketStart);
+
+            CrawledPosts crawled = crawlService.crawl(tag, since, limit, tracker);
+            if (crawled.coveredSince().isBefore(now)) {
+                store(new SearchCacheEntry(key, normalizedTag, bucketStart.toEpochMilli(), now.toEpochMilli(),
+                        crawled.coveredSince().toEpochMilli(), toCached(crawled.posts())));
+            }
+            return filterSince(crawled.posts(), since);
+        }
+
+        SearchCacheEntry entry = cached.get();
+        List<Post> posts = entry.getPosts() != null
+                ? entry.getPosts().stream().map(CachedPost::toPost).toList()
+                : List.of();
+        int cachedCount = posts.size();
+
+        Instant fetchedUntil = Instant.ofEpochMilli(entry.getFetchedUntil());
+        Instant coveredSince = Instant.ofEpochMilli(Math.max(entry.getBucketStart(), entry.getCoveredSince()));
+        boolean fresh = fetchedUntil.plus(freshness).isAfter(now);
+        boolean covered = !since.toInstant().isBefore(coveredSince);
+        if (fresh && covered) {
+            hits.increment();
+            logger.info("🗄️ Search cache hit for '{}' ({} posts)", normalizedTag, cachedCount);
+            return filterSince(posts, since);
+        }
+
+        partialHits.increment();
+        boolean contiguous = true;
+        if (!fresh) {
+            OffsetDateTime tailSince = OffsetDateTime.ofInstant(fetchedUntil.minus(tailOverlap), ZoneOffset.UTC);
+            CrawledPosts tail = crawlService.crawl(tag, tailSince, limit, tracker);
+            posts = merge(tail.posts(), posts);
+            // A cut-short tail leaves a gap before the cached posts, so the entry cannot take it
+            contiguous = tail.covers(tailSince.toInstant());
+            if (contiguous) {
+                entry.setFetchedUntil(now.toEpochMilli());
+            }
+        }
+        if (!covered && contiguous) {
+            CrawledPosts older = crawlService.crawlRange(
+                    tag, since, OffsetDateTime.ofInstant(coveredSince, ZoneOffset.UTC), limit, tracker);
+            posts = merge(posts, older.posts());
+            coveredSince = older.coveredSince();
+        }
+        logger.info("🗄️ Search cache partial hit for '{}': {} cached + {} new posts",
+                normalizedTag, cachedCount, posts.size() - cachedCount);
+
+        if (contiguous) {
+            entry.setCoveredSince(coveredSince.toEpochMilli());
+            entry.setPosts(toCached(posts));
+            store(entry);
+        }
+        return filterSince(posts, since);
+    }
+
+    private Optional<SearchCacheEntry> find(String key) {
+        try {
+            return repository.findById(key);
+        } catch (Exception e) {
+            logger.warn("⚠️ Search cache lookup failed for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void store(SearchCacheEntry entry) {
+        try {
+            repository.save(entry);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to store search cache entry {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    private Instant bucketOf(Instant since) {
+        long bucketMillis = bucketSize.toMillis();
+        long epochMillis = since.toEpochMilli();
+        return Instant.ofEpochMilli(epochMillis - Math.floorMod(epochMillis, bucketMillis));
+    }
+
+    private List<Post> merge(List<Post> newer, List<Post> older) {
+        Map<String, Post> byCid = new LinkedHashMap<>();
+        for (Post post : newer) {
+            byCid.putIfAbsent(post.getCid() != null ? post.getCid() : post.getUri(), post);
+        }
+        for (Post post : older) {
+            byCid.putIfAbsent(post.getCid() != null ? post.getCid() : post.getUri(), post);
+        }
+        List<Post> merged = new ArrayList<>(byCid.values());
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    private List<Post> filterSince(List<Post> posts, OffsetDateTime since) {
+        long sinceMillis = since.toInstant().toEpochMilli();
+        return posts.stream()
+                .filter(post -> !post.hasCreatedAt() || post.getCreatedAtMillis() >= sinceMillis)
+                .toList();
+    }
+
+    private List<CachedPost> toCached(List<Post> posts) {
+        return posts.stream().map(CachedPost::from).toList();
+    }
+
+    static String normalize(String tag) {
+        return IncrementalCrawlService.normalize(tag);
+    }
+}
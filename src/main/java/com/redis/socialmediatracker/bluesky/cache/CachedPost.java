@@ -0,0 +1,104 @@
+package com.redis.socialmediatracker.bluesky.cache;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+/**
+ * Flat, serializer-friendly copy of a {@link Post} stored inside a cache entry.
+ * Timestamps are kept as epoch milliseconds so no java.time adapters are needed.
+ */
+public class CachedPost {
+
+    private String uri;
+    private String cid;
+    private String author;
+    private String text;
+    private Long createdAt;
+    private int replyCount;
+    private int repostCount;
+    private int likeCount;
+
+    public CachedPost() {
+    }
+
+    public static CachedPost from(Post post) {
+        CachedPost cached = new CachedPost();
+        cached.uri = post.getUri();
+        cached.cid = post.getCid();
+        cached.author = post.getAuthor();
+        cached.text = post.getText();
+        cached.createdAt = post.hasCreatedAt() ? post.getCreatedAtMillis() : null;
+        cached.replyCount = post.getReplyCount();
+        cached.repostCount = post.getRepostCount();
+        cached.likeCount = post.getLikeCount();
+        return cached;
+    }
+
+    public Post toPost() {
+        return new Post(uri, cid, author, text, createdAt != null ? createdAt : Post.NO_CREATED_AT,
+                replyCount, repostCount, likeCount);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getCid() {
+        return cid;
+    }
+
+    public void setCid(String cid) {
+        this.cid = cid;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public int getRepostCount() {
+        return repostCount;
+    }
+
+    public void setRepostCount(int repostCount) {
+        this.repostCount = repostCount;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+}
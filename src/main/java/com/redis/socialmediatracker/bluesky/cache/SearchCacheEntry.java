@@ -0,0 +1,112 @@
+package com.redis.socialmediatracker.bluesky.cache;
+
+import com.redis.om.spring.annotations.Document;
+import com.redis.om.spring.annotations.Indexed;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+/**
+ * Cached search results for one (normalized tag, time bucket) pair.
+ * <p>
+ * The entry holds every post for the tag from {@code coveredSince} up to {@code fetchedUntil},
+ * so it can answer any query whose {@code since} falls inside that range. The range starts at
+ * the {@code since} of the query that created the entry, or later if that crawl was cut short
+ * by its budget; older posts in the bucket are added by extending the range back. Newer posts
+ * are appended by fetching only the tail after {@code fetchedUntil}.
+ * <p>
+ * TTL is set to 30 minutes (1800 seconds) - long enough to absorb repeated questions
+ * about the same topic, short enough that engagement counts do not go too stale.
+ */
+@Document(value = "search-cache", indexName = "searchCacheIdx", timeToLive = 1800)
+public class SearchCacheEntry {
+
+    /**
+     * Composite key: normalized tag + ":" + bucket start (epoch milliseconds)
+     */
+    @Id
+    private String id;
+
+    @Indexed
+    private String tag;
+
+    /**
+     * Start of the time bucket the entry is keyed by (epoch milliseconds)
+     */
+    @Indexed
+    private long bucketStart;
+
+    /**
+     * Time the newest part of the window was last fetched (epoch milliseconds)
+     */
+    @Indexed
+    private long fetchedUntil;
+
+    /**
+     * Start of the range the posts fully cover, at or after {@code bucketStart} (epoch milliseconds)
+     */
+    private long coveredSince;
+
+    private List<CachedPost> posts;
+
+    public SearchCacheEntry() {
+    }
+
+    public SearchCacheEntry(String id, String tag, long bucketStart, long fetchedUntil, long coveredSince,
+                            List<CachedPost> posts) {
+        this.id = id;
+        this.tag = tag;
+        this.bucketStart = bucketStart;
+        this.fetchedUntil = fetchedUntil;
+        this.coveredSince = coveredSince;
+        this.posts = posts;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public long getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(long bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getFetchedUntil() {
+        return fetchedUntil;
+    }
+
+    public void setFetchedUntil(long fetchedUntil) {
+        this.fetchedUntil = fetchedUntil;
+    }
+
+    public long getCoveredSince() {
+        return coveredSince;
+    }
+
+    public void setCoveredSince(long coveredSince) {
+        this.coveredSince = coveredSince;
+    }
+
+    public List<CachedPost> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<CachedPost> posts) {
+        this.posts = posts;
+    }
+}
@@ -0,0 +1,8 @@
+package com.redis.socialmediatracker.bluesky.cache;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SearchCacheEntryRepository extends RedisDocumentRepository<SearchCacheEntry, String> {
+}
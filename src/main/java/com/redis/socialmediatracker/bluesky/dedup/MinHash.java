@@ -0,0 +1,133 @@
+package com.redis.socialmediatracker.bluesky.dedup;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * MinHash signatures of post text, whose agreement estimates the Jaccard
+ * similarity of the texts' word sets.
+ * <p>
+ * Text is normalized first: lower-cased, links and @mentions removed, and
+ * punctuation dropped, so a cross-post with another link or mention has the same
+ * words. Short posts change little when one word is edited, which is why words
+ * rather than shingles are the features.
+ */
+public final class MinHash {
+
+    /**
+     * Number of hash functions, i.e. values per signature
+     */
+    public static final int SIZE = 32;
+
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIZE; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Computes the signature of a set of normalized words.
+     *
+     * @return The signature, or null if there are no words
+     */
+    public static long[] signature(Set<String> words) {
+        if (words.isEmpty()) {
+            return null;
+        }
+        long[] signature = new long[SIZE];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String word : words) {
+            long hash = fnv(word);
+            for (int i = 0; i < SIZE; i++) {
+                // One multiply-xorshift per seed is enough on top of the mixed word hash
+                long value = (hash ^ SEEDS[i]) * 0x9E3779B97F4A7C15L;
+                value ^= value >>> 29;
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the word sets behind two signatures.
+     */
+    public static double similarity(long[] a, long[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / SIZE;
+    }
+
+    /**
+     * The distinct normalized words of a text, in order of first appearance.
+     */
+    public static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && Character.isWhitespace(text.charAt(start))) start++;
+            int end = start;
+            while (end < length && !Character.isWhitespace(text.charAt(end))) end++;
+            if (end > start && !isLinkOrMention(text, start, end)) {
+                word.setLength(0);
+                for (int i = start; i < end; ) {
+                    int cp = text.codePointAt(i);
+                    i += Character.charCount(cp);
+                    if (Character.isLetterOrDigit(cp)) {
+                        word.appendCodePoint(Character.toLowerCase(cp));
+                    }
+                }
+                if (!word.isEmpty()) {
+                    words.add(word.toString());
+                }
+            }
+            start = end;
+        }
+        return words;
+    }
+
+    private static boolean isLinkOrMention(String text, int start, int end) {
+        if (text.charAt(start) == '@' || text.startsWith("www.", start)) {
+            return true;
+        }
+        int scheme = text.indexOf("://", start);
+        return scheme >= 0 && scheme < end;
+    }
+
+    static long fnv(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 finalizer
+     */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
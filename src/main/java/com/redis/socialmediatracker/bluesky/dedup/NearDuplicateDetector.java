@@ -0,0 +1,144 @@
+package com.redis.socialmediatracker.bluesky.dedup;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Groups posts whose text is nearly identical, such as cross-posts and bot reposts.
+ * <p>
+ * Posts are near duplicates when the Jaccard similarity of their word sets,
+ * estimated from {@link MinHash} signatures, is at least {@code minSimilarity}.
+ * Instead of comparing every pair, signatures are split into {@value #BANDS} bands
+ * of {@value #ROWS} values (LSH banding): similar posts very likely agree on a whole
+ * band, so only posts sharing a band are compared. Each post is compared with at
+ * most {@link #MAX_BUCKET_COMPARISONS} earlier posts of a band, which keeps the
+ * work linear in the number of posts even when many texts collide.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class NearDuplicateDetector {
+
+    static final int BANDS = 8;
+    static final int ROWS = MinHash.SIZE / BANDS;
+    static final int MAX_BUCKET_COMPARISONS = 32;
+    private static final int PARALLEL_THRESHOLD = 1000;
+
+    private final double minSimilarity;
+
+    /**
+     * @param minSimilarity Smallest estimated Jaccard similarity of near duplicates, above 0 and at most 1
+     */
+    public NearDuplicateDetector(double minSimilarity) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("minSimilarity must be above 0 and at most 1: " + minSimilarity);
+        }
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Collapses near-duplicate posts.
+     *
+     * @param posts Posts to collapse
+     * @return One cluster per group of near duplicates, ordered by the position of its first post
+     */
+    public List<PostCluster> collapse(List<Post> posts) {
+        int n = posts.size();
+        String[] normalized = new String[n];
+        long[][] signatures = new long[n][];
+        IntStream indices = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            Set<String> words = MinHash.words(posts.get(i).getText());
+            normalized[i] = String.join(" ", words);
+            signatures[i] = MinHash.signature(words);
+        });
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+
+        // Identical words first, so the band buckets only hold distinct texts
+        Map<String, Integer> firstByText = new HashMap<>(n * 2);
+        List<Integer> distinct = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (signatures[i] == null) continue;
+            Integer first = firstByText.putIfAbsent(normalized[i], i);
+            if (first == null) {
+                distinct.add(i);
+            } else {
+                union(parent, first, i);
+            }
+        }
+
+        if (minSimilarity < 1) {
+            Map<Long, List<Integer>> buckets = new HashMap<>(distinct.size() * 2);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.clear();
+                for (int i : distinct) {
+                    List<Integer> bucket = buckets.computeIfAbsent(bandKey(signatures[i], band), k -> new ArrayList<>(2));
+                    for (int j = Math.max(0, bucket.size() - MAX_BUCKET_COMPARISONS); j < bucket.size(); j++) {
+                        int other = bucket.get(j);
+                        if (find(parent, other) != find(parent, i)
+                                && MinHash.similarity(signatures[i], signatures[other]) >= minSimilarity) {
+                            union(parent, other, i);
+                        }
+                    }
+                    bucket.add(i);
+                }
+            }
+        }
+
+        // Group by root; the root is the group's first post, so groups keep the order of their first posts
+        Map<Integer, int[]> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            int[] cluster = clusters.computeIfAbsent(find(parent, i), root -> new int[]{root, 0});
+            cluster[1]++;
+            if (engagement(posts.get(i)) > engagement(posts.get(cluster[0]))) {
+                cluster[0] = i;
+            }
+        }
+        List<PostCluster> result = new ArrayList<>(clusters.size());
+        for (int[] cluster : clusters.values()) {
+            result.add(new PostCluster(posts.get(cluster[0]), cluster[1]));
+        }
+        return result;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = MinHash.mix(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    private static int engagement(Post post) {
+        return post.getLikeCount() + post.getRepostCount() + post.getReplyCount();
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            // The smaller index stays root, so clusters keep their first position
+            if (rootA < rootB) {
+                parent[rootB] = rootA;
+            } else {
+                parent[rootA] = rootB;
+            }
+        }
+    }
+}
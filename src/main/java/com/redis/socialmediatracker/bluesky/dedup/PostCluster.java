@@ -0,0 +1,12 @@
+package com.redis.socialmediatracker.bluesky.dedup;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+/**
+ * Posts with (nearly) the same text, represented by the most engaging one.
+ *
+ * @param representative The post with the highest engagement in the cluster
+ * @param size           Number of posts in the cluster, 1 for a post without duplicates
+ */
+public record PostCluster(Post representative, int size) {
+}
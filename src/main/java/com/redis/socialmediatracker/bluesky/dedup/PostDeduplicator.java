@@ -0,0 +1,72 @@
+package com.redis.socialmediatracker.bluesky.dedup;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Collapses near-duplicate posts before they are handed to the agent, keeping the
+ * most engaging post of each cluster and the cluster size.
+ * <p>
+ * Collapsed posts are counted as {@code bluesky.dedup.collapsed}, and the size of
+ * each cluster with duplicates is recorded in {@code bluesky.dedup.cluster.size}.
+ */
+@Service
+public class PostDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostDeduplicator.class);
+
+    private final NearDuplicateDetector detector;
+    private final boolean enabled;
+    private final Counter collapsed;
+    private final DistributionSummary clusterSize;
+    private final Timer timer;
+
+    public PostDeduplicator(
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.dedup.enabled:true}") boolean enabled,
+            @Value("${bluesky.dedup.min-similarity:0.8}") double minSimilarity) {
+        this.detector = new NearDuplicateDetector(minSimilarity);
+        this.enabled = enabled;
+        this.collapsed = Counter.builder("bluesky.dedup.collapsed")
+                .description("Near-duplicate posts collapsed into another post")
+                .register(meterRegistry);
+        this.clusterSize = DistributionSummary.builder("bluesky.dedup.cluster.size")
+                .description("Posts per cluster of near duplicates")
+                .register(meterRegistry);
+        this.timer = Timer.builder("bluesky.dedup.duration")
+                .description("Time to collapse near-duplicate posts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Collapses near-duplicate posts.
+     *
+     * @return One cluster per group of near duplicates, in the order of the posts
+     */
+    public List<PostCluster> collapse(List<Post> posts) {
+        if (!enabled || posts.size() < 2) {
+            return posts.stream().map(post -> new PostCluster(post, 1)).toList();
+        }
+        List<PostCluster> clusters = timer.record(() -> detector.collapse(posts));
+        for (PostCluster cluster : clusters) {
+            if (cluster.size() > 1) {
+                clusterSize.record(cluster.size());
+            }
+        }
+        int removed = posts.size() - clusters.size();
+        if (removed > 0) {
+            collapsed.increment(removed);
+            logger.info("🧬 Collapsed {} near-duplicate posts into {} of {}", removed, clusters.size(), posts.size());
+        }
+        return clusters;
+    }
+}
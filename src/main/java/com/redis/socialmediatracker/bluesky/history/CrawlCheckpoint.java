@@ -0,0 +1,105 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.om.spring.annotations.Document;
+import com.redis.om.spring.annotations.Indexed;
+import org.springframework.data.annotation.Id;
+
+/**
+ * High-water mark of the crawls for one tag.
+ * <p>
+ * The stored history for the tag is complete from {@code coveredSince} up to
+ * {@code newestCreatedAt}, so later crawls only need to fetch what is newer.
+ * Expires together with the posts it describes.
+ */
+@Document(value = "crawl-checkpoint", indexName = "crawlCheckpointIdx", timeToLive = TrackedPost.RETENTION_SECONDS)
+public class CrawlCheckpoint {
+
+    /**
+     * The normalized tag
+     */
+    @Id
+    private String tag;
+
+    /**
+     * Start of the window the stored history fully covers (epoch milliseconds)
+     */
+    private long coveredSince;
+
+    /**
+     * Creation time of the newest post seen (epoch milliseconds)
+     */
+    private long newestCreatedAt;
+
+    /**
+     * CID of the newest post seen
+     */
+    private String newestCid;
+
+    /**
+     * When the checkpoint was last advanced (epoch milliseconds)
+     */
+    @Indexed
+    private long updatedAt;
+
+    public CrawlCheckpoint() {
+    }
+
+    public CrawlCheckpoint(String tag, long coveredSince, long newestCreatedAt, String newestCid, long updatedAt) {
+        this.tag = tag;
+        this.coveredSince = coveredSince;
+        this.newestCreatedAt = newestCreatedAt;
+        this.newestCid = newestCid;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public long getCoveredSince() {
+        return coveredSince;
+    }
+
+    public void setCoveredSince(long coveredSince) {
+        this.coveredSince = coveredSince;
+    }
+
+    public long getNewestCreatedAt() {
+        return newestCreatedAt;
+    }
+
+    public void setNewestCreatedAt(long newestCreatedAt) {
+        this.newestCreatedAt = newestCreatedAt;
+    }
+
+    public String getNewestCid() {
+        return newestCid;
+    }
+
+    public void setNewestCid(String newestCid) {
+        this.newestCid = newestCid;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CrawlCheckpoint{" +
+                "tag='" + tag + '\'' +
+                ", coveredSince=" + coveredSince +
+                ", newestCreatedAt=" + newestCreatedAt +
+                ", newestCid='" + newestCid + '\'' +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,8 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CrawlCheckpointRepository extends RedisDocumentRepository<CrawlCheckpoint, String> {
+}
@@ -0,0 +1,214 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.BlueskyService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.trend.EngagementTimeSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.json.Path2;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Brings the like, repost and reply counts of stored posts up to date.
+ * <p>
+ * Counts are frozen at the time a post was crawled, and re-running the search
+ * to refresh them costs a full crawl. Instead, stored URIs are looked up with
+ * app.bsky.feed.getPosts, {@value BlueskyService#MAX_GET_POSTS} at a time, with
+ * several batches in flight under the shared rate limiter. Unlike
+ * {@link TrackedPostWriter}, counts are overwritten as returned, so they can go down.
+ * <p>
+ * Only the count fields (and a newly learned handle) are written, with one JSON.SET
+ * per field in a single pipeline per batch. The rest of the document is never read
+ * back and saved, so tags a concurrent {@link TrackedPostWriter} adds are not lost.
+ * <p>
+ * Every refresh is also an engagement sample: the new counts of each post, and the
+ * engagement the posts of a refreshed tag gained since they were last stored, are
+ * recorded in {@link EngagementTimeSeries}.
+ */
+@Service
+public class EngagementRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementRefresher.class);
+
+    private static final Path2 REPLY_COUNT = Path2.of("$.replyCount");
+    private static final Path2 REPOST_COUNT = Path2.of("$.repostCount");
+    private static final Path2 LIKE_COUNT = Path2.of("$.likeCount");
+    private static final Path2 ENGAGEMENT = Path2.of("$.engagement");
+    private static final Path2 HANDLE = Path2.of("$.handle");
+
+    private final BlueskyService blueskyService;
+    private final TrackedPostRepository repository;
+    private final JedisPooled jedis;
+    private final EngagementTimeSeries timeSeries;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    private final Counter refreshed;
+    private final Counter failedBatches;
+
+    public EngagementRefresher(
+            BlueskyService blueskyService,
+            TrackedPostRepository repository,
+            JedisPooled jedis,
+            EngagementTimeSeries timeSeries,
+            @Qualifier("blueskySearchExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.engagement.max-concurrency:4}") int maxConcurrency) {
+        this.blueskyService = blueskyService;
+        this.repository = repository;
+        this.jedis = jedis;
+        this.timeSeries = timeSeries;
+        this.executor = executor;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+        this.refreshed = Counter.builder("bluesky.engagement.refreshed")
+                .description("Stored posts whose engagement counts were refreshed")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("bluesky.engagement.failures")
+                .description("getPosts batches that could not be fetched or stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refreshes the stored posts of a tag created since the given time.
+     *
+     * @param tag      Tracked tag
+     * @param since    Only refresh posts created at or after this time
+     * @param deadline Stop waiting for quota or retries after this instant, or null for no limit
+     * @return Number of posts updated
+     */
+    public int refreshTag(String tag, OffsetDateTime since, Instant deadline) {
+        String normalizedTag = IncrementalCrawlService.normalize(tag);
+        Map<String, Integer> engagementByUri = new HashMap<>();
+        for (TrackedPost stored : repository.findByTagsAndCreatedAtGreaterThanEqual(
+                Set.of(normalizedTag), since.toInstant().toEpochMilli())) {
+            engagementByUri.put(stored.getUri(), stored.getEngagement());
+        }
+
+        // Sum of per-post changes rather than the window's total, which would move
+        // whenever a post enters or leaves the window
+        List<TrackedPost> updated = refreshAll(engagementByUri.keySet(), deadline);
+        long gained = 0;
+        for (TrackedPost post : updated) {
+            gained += post.getEngagement() - engagementByUri.getOrDefault(post.getUri(), post.getEngagement());
+        }
+        timeSeries.recordTopicGain(normalizedTag, gained, Instant.now());
+
+        logger.info("📈 Refreshed engagement of {}/{} stored posts for '{}' ({} gained)",
+                updated.size(), engagementByUri.size(), tag, gained);
+        return updated.size();
+    }
+
+    /**
+     * Refreshes the given stored posts. URIs that are not stored are ignored.
+     *
+     * @param uris     AT URIs of stored posts
+     * @param deadline Stop waiting for quota or retries after this instant, or null for no limit
+     * @return Number of posts updated
+     */
+    public int refresh(Collection<String> uris, Instant deadline) {
+        return refreshAll(uris, deadline).size();
+    }
+
+    private List<TrackedPost> refreshAll(Collection<String> uris, Instant deadline) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(uris));
+        List<Future<List<TrackedPost>>> futures = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += BlueskyService.MAX_GET_POSTS) {
+            List<String> batch = distinct.subList(from, Math.min(from + BlueskyService.MAX_GET_POSTS, distinct.size()));
+            futures.add(executor.submit(() -> refreshWithPermit(batch, deadline)));
+        }
+
+        List<TrackedPost> updated = new ArrayList<>();
+        for (Future<List<TrackedPost>> future : futures) {
+            try {
+                updated.addAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("⚠️ Interrupted while refreshing engagement");
+                break;
+            } catch (ExecutionException e) {
+                failedBatches.increment();
+                logger.error("❌ Engagement refresh batch failed: {}", e.getCause().getMessage());
+            }
+        }
+        return updated;
+    }
+
+    private List<TrackedPost> refreshWithPermit(List<String> uris, Instant deadline) throws InterruptedException {
+        permits.acquire();
+        try {
+            return refreshBatch(uris, deadline);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private List<TrackedPost> refreshBatch(List<String> uris, Instant deadline) {
+        List<Post> current = blueskyService.getPosts(uris, deadline);
+        if (current == null) {
+            failedBatches.increment();
+            return List.of();
+        }
+        // Posts missing from the response were deleted or hidden since they were crawled;
+        // they keep their last known counts
+        List<TrackedPost> updated = updateCounts(current);
+        refreshed.increment(updated.size());
+        timeSeries.recordPosts(updated, Instant.now());
+        return updated;
+    }
+
+    /**
+     * Overwrites the count fields of the stored posts with the fetched ones.
+     *
+     * @return The posts that were updated; posts no longer stored are skipped,
+     *         since JSON.SET cannot create a field of a missing document
+     */
+    private List<TrackedPost> updateCounts(List<Post> posts) {
+        Map<TrackedPost, List<Response<String>>> responses = new LinkedHashMap<>();
+        try (Pipeline pipeline = jedis.pipelined()) {
+            for (Post post : posts) {
+                if (post.getUri() == null) {
+                    continue;
+                }
+                TrackedPost fetched = TrackedPost.from(post);
+                String key = TrackedPost.key(post.getUri());
+                List<Response<String>> sets = new ArrayList<>(5);
+                sets.add(pipeline.jsonSet(key, REPLY_COUNT, fetched.getReplyCount()));
+                sets.add(pipeline.jsonSet(key, REPOST_COUNT, fetched.getRepostCount()));
+                sets.add(pipeline.jsonSet(key, LIKE_COUNT, fetched.getLikeCount()));
+                sets.add(pipeline.jsonSet(key, ENGAGEMENT, fetched.getEngagement()));
+                if (fetched.getHandle() != null) {
+                    sets.add(pipeline.jsonSetWithEscape(key, HANDLE, fetched.getHandle()));
+                }
+                responses.put(fetched, sets);
+            }
+            pipeline.sync();
+        }
+
+        List<TrackedPost> updated = new ArrayList<>(responses.size());
+        responses.forEach((fetched, sets) -> {
+            try {
+                sets.forEach(Response::get);
+                updated.add(fetched);
+            } catch (JedisDataException e) {
+                logger.debug("Skipping engagement of {}: no longer stored ({})", fetched.getUri(), e.getMessage());
+            }
+        });
+        return updated;
+    }
+}
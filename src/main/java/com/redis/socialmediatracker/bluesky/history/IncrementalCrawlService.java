@@ -0,0 +1,415 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.BlueskySlicedSearchService;
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.model.CrawledPosts;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Crawls tags incrementally against a per-tag checkpoint.
+ * <p>
+ * Every crawled post is kept in Redis as a {@link TrackedPost}, and each tag has a
+ * {@link CrawlCheckpoint} recording the window its stored history fully covers.
+ * When a request falls inside that window, only posts newer than the checkpoint are
+ * fetched from Bluesky and merged with the stored history. When the stored history does
+ * not reach back far enough, the rest of the window is backfilled after the newer posts,
+ * with whatever budget is left. A tag without a checkpoint is crawled in full.
+ * <p>
+ * If the checkpoint was advanced within the freshness window (typically by the
+ * background ingester), the stored history is returned without calling Bluesky at all.
+ * <p>
+ * Crawls page newest first, so one cut short by its budget still covers everything from
+ * its oldest post on: the checkpoint then starts there, and later runs backfill the rest.
+ * A crawl with a gap (a failed slice) leaves the checkpoint as it was, so the stored
+ * history never claims to cover posts it never saw. Stored history is read newest first
+ * and capped at the budget's post limit, like a crawl; reading it spends no search budget.
+ * <p>
+ * Background ingestion ({@link #refresh}) only fetches and stores the posts newer than
+ * the checkpoint, plus any backfill, and never reads the stored history back.
+ */
+@Service
+public class IncrementalCrawlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalCrawlService.class);
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator.comparingLong(
+            Post::getCreatedAtMillis).reversed();
+
+    private static final Sort BY_CREATED_AT_DESC = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private static final Duration RETENTION = Duration.ofSeconds(TrackedPost.RETENTION_SECONDS);
+
+    private final BlueskySlicedSearchService slicedSearchService;
+    private final CrawlCheckpointRepository checkpointRepository;
+    private final TrackedPostRepository postRepository;
+    private final TrackedPostWriter postWriter;
+    private final boolean enabled;
+    private final Duration overlap;
+    private final Duration freshness;
+
+    private final Counter storedReads;
+    private final Counter incrementalCrawls;
+    private final Counter fullCrawls;
+    private final Counter backfills;
+
+    public IncrementalCrawlService(
+            BlueskySlicedSearchService slicedSearchService,
+            CrawlCheckpointRepository checkpointRepository,
+            TrackedPostRepository postRepository,
+            TrackedPostWriter postWriter,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.search.history.enabled:true}") boolean enabled,
+            @Value("${bluesky.search.history.overlap:PT5M}") Duration overlap,
+            @Value("${bluesky.search.history.freshness:PT5M}") Duration freshness) {
+        this.slicedSearchService = slicedSearchService;
+        this.checkpointRepository = checkpointRepository;
+        this.postRepository = postRepository;
+        this.postWriter = postWriter;
+        this.enabled = enabled;
+        this.overlap = overlap;
+        this.freshness = freshness;
+        this.storedReads = crawlCounter(meterRegistry, "stored");
+        this.incrementalCrawls = crawlCounter(meterRegistry, "incremental");
+        this.fullCrawls = crawlCounter(meterRegistry, "full");
+        this.backfills = crawlCounter(meterRegistry, "backfill");
+    }
+
+    private static Counter crawlCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("bluesky.search.history.crawls")
+                .description("Tag crawls by mode")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Searches for posts containing the given tag since the specified date,
+     * fetching only what is newer than the tag's checkpoint when possible.
+     *
+     * @param tag     Search tag
+     * @param since   Starting date for filtering posts
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return Posts since {@code since}, newest first
+     */
+    public List<Post> searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker) {
+        return searchPosts(tag, since, limit, tracker, true);
+    }
+
+    /**
+     * Fetches and stores the posts newer than the tag's checkpoint, even if it was advanced recently,
+     * and backfills the window if the stored history does not reach back to {@code since}. Used by
+     * background ingestion.
+     *
+     * @param tag     Search tag
+     * @param since   Start of the window the stored history should cover
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the ingestion
+     * @return The posts fetched by this call, newest first; not the stored history
+     */
+    public List<Post> refresh(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker) {
+        if (!enabled) {
+            return slicedSearchService.crawl(tag, since, null, limit, tracker).posts();
+        }
+
+        String normalizedTag = normalize(tag);
+        Instant now = Instant.now();
+        Optional<CrawlCheckpoint> checkpoint = findCheckpoint(normalizedTag);
+        if (checkpoint.isEmpty()) {
+            return crawlFull(tag, normalizedTag, since, limit, tracker, now).posts();
+        }
+
+        Delta delta = crawlDelta(tag, normalizedTag, checkpoint.get(), since, limit, tracker, now);
+        logger.info("📚 Refreshed '{}': {} new posts, checkpoint at {}", normalizedTag, delta.posts().size(),
+                Instant.ofEpochMilli(checkpoint.get().getNewestCreatedAt()));
+        return delta.posts();
+    }
+
+    /**
+     * Like {@link #searchPosts(String, OffsetDateTime, int, SearchBudget.Tracker)}, but also reports
+     * how much of the window the posts cover when the budget ran out first.
+     */
+    public CrawledPosts crawl(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker) {
+        return crawl(tag, since, limit, tracker, true);
+    }
+
+    /**
+     * Crawls the posts containing the given tag within [since, until) and stores them, without
+     * touching the tag's checkpoint. Served from the stored history if the checkpoint covers the range.
+     *
+     * @param tag     Search tag
+     * @param since   Start of the range
+     * @param until   Exclusive end of the range
+     * @param limit   Number of posts per API page
+     * @param tracker Budget tracker for the enclosing search call
+     * @return Posts in the range, newest first, and the part of the range they cover
+     */
+    public CrawledPosts crawlRange(String tag, OffsetDateTime since, OffsetDateTime until, int limit,
+                                   SearchBudget.Tracker tracker) {
+        if (!enabled) {
+            return slicedSearchService.crawl(tag, since, until, limit, tracker);
+        }
+
+        String normalizedTag = normalize(tag);
+        Instant now = Instant.now();
+        boolean stored = findCheckpoint(normalizedTag)
+                .filter(cp -> covers(cp, since.toInstant(), now))
+                .filter(cp -> cp.getUpdatedAt() >= until.toInstant().toEpochMilli())
+                .isPresent();
+        if (stored) {
+            storedReads.increment();
+            return loadHistory(normalizedTag, since.toInstant(), until.toInstant(), tracker);
+        }
+
+        CrawledPosts crawled = slicedSearchService.crawl(tag, since, until, limit, tracker);
+        postWriter.save(crawled.posts(), Set.of(normalizedTag));
+        return crawled;
+    }
+
+    private List<Post> searchPosts(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker,
+                                   boolean allowStored) {
+        return crawl(tag, since, limit, tracker, allowStored).posts();
+    }
+
+    private CrawledPosts crawl(String tag, OffsetDateTime since, int limit, SearchBudget.Tracker tracker,
+                               boolean allowStored) {
+        if (!enabled) {
+            return slicedSearchService.crawl(tag, since, null, limit, tracker);
+        }
+
+        String normalizedTag = normalize(tag);
+        Instant now = Instant.now();
+        Optional<CrawlCheckpoint> checkpoint = findCheckpoint(normalizedTag);
+        if (checkpoint.isEmpty()) {
+            return crawlFull(tag, normalizedTag, since, limit, tracker, now);
+        }
+
+        CrawlCheckpoint cp = checkpoint.get();
+        boolean complete = covers(cp, since.toInstant(), now);
+        if (allowStored && complete && Instant.ofEpochMilli(cp.getUpdatedAt()).plus(freshness).isAfter(now)) {
+            storedReads.increment();
+            CrawledPosts stored = loadHistory(normalizedTag, since.toInstant(), now, tracker);
+            logger.info("📚 Serving {} stored posts for '{}' (checkpoint updated {})",
+                    stored.posts().size(), normalizedTag, Instant.ofEpochMilli(cp.getUpdatedAt()));
+            return stored;
+        }
+
+        Delta delta = crawlDelta(tag, normalizedTag, cp, since, limit, tracker, now);
+        CrawledPosts history = loadHistory(normalizedTag, since.toInstant(), now, tracker);
+        List<Post> merged = merge(delta.posts(), history.posts());
+        logger.info("📚 Incremental crawl for '{}': {} stored + {} new posts since checkpoint {}",
+                normalizedTag, history.posts().size(), merged.size() - history.posts().size(),
+                Instant.ofEpochMilli(cp.getNewestCreatedAt()));
+
+        Instant coveredSince = !delta.complete() ? delta.coveredSince()
+                : delta.coveredSince().isAfter(history.coveredSince()) ? delta.coveredSince() : history.coveredSince();
+        return new CrawledPosts(merged, coveredSince);
+    }
+
+    /**
+     * Crawls the whole window of a tag without a checkpoint, stores the posts and creates its checkpoint.
+     */
+    private CrawledPosts crawlFull(String tag, String normalizedTag, OffsetDateTime since, int limit,
+                                   SearchBudget.Tracker tracker, Instant now) {
+        fullCrawls.increment();
+        logger.info("📚 No checkpoint for '{}', crawling the full window since {}", normalizedTag, since);
+
+        CrawledPosts crawled = slicedSearchService.crawl(tag, since, null, limit, tracker);
+        postWriter.save(crawled.posts(), Set.of(normalizedTag));
+        // A cut-short crawl still covers its newest part; later runs continue from its oldest post
+        if (crawled.coveredSince().isBefore(now)) {
+            saveCheckpoint(newCheckpoint(normalizedTag, crawled.coveredSince(), crawled.posts(), now));
+        }
+        return crawled;
+    }
+
+    /**
+     * Fetches and stores the posts newer than the checkpoint, then backfills the window if the
+     * stored history does not reach back to {@code since}, and saves the advanced checkpoint.
+     */
+    private Delta crawlDelta(String tag, String normalizedTag, CrawlCheckpoint cp, OffsetDateTime since,
+                             int limit, SearchBudget.Tracker tracker, Instant now) {
+        incrementalCrawls.increment();
+        boolean complete = covers(cp, since.toInstant(), now);
+        Instant deltaSince = Instant.ofEpochMilli(cp.getNewestCreatedAt()).minus(overlap);
+        if (deltaSince.isBefore(since.toInstant())) {
+            deltaSince = since.toInstant();
+        }
+
+        CrawledPosts delta = slicedSearchService.crawl(
+                tag, OffsetDateTime.ofInstant(deltaSince, ZoneOffset.UTC), null, limit, tracker);
+        postWriter.save(delta.posts(), Set.of(normalizedTag));
+
+        // A delta with a gap (cut short, or a failed slice) must not move the checkpoint past it
+        if (!delta.covers(deltaSince)) {
+            return new Delta(delta.posts(), delta.coveredSince(), false);
+        }
+
+        advance(cp, delta.posts(), now);
+        List<Post> posts = delta.posts();
+        Instant storedSince = complete ? since.toInstant() : coveredSince(cp, now);
+        if (!complete && !deltaSince.isAfter(since.toInstant())) {
+            // The delta reached back to the start of the window by itself
+            cp.setCoveredSince(since.toInstant().toEpochMilli());
+            storedSince = since.toInstant();
+        } else if (!complete && !tracker.isExhausted()) {
+            CrawledPosts older = backfill(tag, normalizedTag, cp, storedSince, since, limit, tracker);
+            posts = merge(posts, older.posts());
+            storedSince = older.coveredSince();
+        }
+        saveCheckpoint(cp);
+        return new Delta(posts, storedSince, true);
+    }
+
+    /**
+     * Extends the stored history of a checkpoint back towards {@code since}, with what is left
+     * of the budget after the delta. The crawl pages newest first, so it stays contiguous with
+     * the history even if it is cut short; the next run continues from its oldest post.
+     *
+     * @return The posts fetched, and the start of the stored history after the backfill
+     */
+    private CrawledPosts backfill(String tag, String normalizedTag, CrawlCheckpoint cp, Instant coveredSince,
+                                  OffsetDateTime since, int limit, SearchBudget.Tracker tracker) {
+        backfills.increment();
+        logger.info("📚 Backfilling '{}' from {} back to {}", normalizedTag, coveredSince, since);
+
+        CrawledPosts older = slicedSearchService.crawl(
+                tag, since, OffsetDateTime.ofInstant(coveredSince, ZoneOffset.UTC), limit, tracker);
+        postWriter.save(older.posts(), Set.of(normalizedTag));
+        cp.setCoveredSince(older.coveredSince().toEpochMilli());
+        return older;
+    }
+
+    /**
+     * Whether the stored history for the tag is complete from {@code since} onwards.
+     *
+     * @param tag   Search tag
+     * @param since Start of the window
+     * @return true if a checkpoint covers the window
+     */
+    public boolean hasCompleteHistory(String tag, OffsetDateTime since) {
+        Instant now = Instant.now();
+        return findCheckpoint(normalize(tag))
+                .map(cp -> covers(cp, since.toInstant(), now))
+                .orElse(false);
+    }
+
+    /**
+     * A checkpoint can answer a request if its stored history starts at or before
+     * {@code since} and none of the posts in that range can have expired yet.
+     */
+    private boolean covers(CrawlCheckpoint checkpoint, Instant since, Instant now) {
+        return !coveredSince(checkpoint, now).isAfter(since);
+    }
+
+    /**
+     * Start of the stored history of a checkpoint that has not expired yet.
+     */
+    private Instant coveredSince(CrawlCheckpoint checkpoint, Instant now) {
+        return Instant.ofEpochMilli(Math.max(checkpoint.getCoveredSince(), now.minus(RETENTION).toEpochMilli()));
+    }
+
+    private CrawlCheckpoint newCheckpoint(String normalizedTag, Instant coveredSince, List<Post> posts, Instant now) {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(normalizedTag, coveredSince.toEpochMilli(),
+                coveredSince.toEpochMilli(), null, now.toEpochMilli());
+        advance(checkpoint, posts, now);
+        return checkpoint;
+    }
+
+    private void advance(CrawlCheckpoint checkpoint, List<Post> posts, Instant now) {
+        for (Post post : posts) {
+            if (!post.hasCreatedAt()) continue;
+            long createdAt = post.getCreatedAtMillis();
+            if (createdAt > checkpoint.getNewestCreatedAt()) {
+                checkpoint.setNewestCreatedAt(createdAt);
+                checkpoint.setNewestCid(post.getCid());
+            }
+        }
+        checkpoint.setUpdatedAt(now.toEpochMilli());
+    }
+
+    /**
+     * The stored posts for a tag within [since, until), newest first. Loads at most one post more
+     * than the budget allows, so {@link SearchBudget.Tracker#toResult} reports the call as truncated
+     * if there are more; the result then covers only the newest part of the range. Reading does
+     * not exhaust the tracker, since it spends no search requests.
+     */
+    private CrawledPosts loadHistory(String normalizedTag, Instant since, Instant until, SearchBudget.Tracker tracker) {
+        int maxPosts = tracker.getMaxPosts();
+        try {
+            Page<TrackedPost> page = postRepository.findByTagsAndCreatedAtBetween(Set.of(normalizedTag),
+                    since.toEpochMilli(), until.toEpochMilli() - 1,
+                    PageRequest.of(0, maxPosts < Integer.MAX_VALUE ? maxPosts + 1 : maxPosts, BY_CREATED_AT_DESC));
+            List<Post> posts = page.getContent().stream().map(TrackedPost::toPost).toList();
+            if (page.getTotalElements() <= maxPosts) {
+                return new CrawledPosts(posts, since);
+            }
+            logger.info("📚 Stored history for '{}' has {} posts, loaded the newest {}",
+                    normalizedTag, page.getTotalElements(), maxPosts);
+            return new CrawledPosts(posts, CrawledPosts.coveredSince(posts.subList(0, maxPosts), until));
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to load stored history for '{}': {}", normalizedTag, e.getMessage());
+            return new CrawledPosts(List.of(), until);
+        }
+    }
+
+    private Optional<CrawlCheckpoint> findCheckpoint(String normalizedTag) {
+        try {
+            return checkpointRepository.findById(normalizedTag);
+        } catch (Exception e) {
+            logger.warn("⚠️ Checkpoint lookup failed for '{}': {}", normalizedTag, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void saveCheckpoint(CrawlCheckpoint checkpoint) {
+        try {
+            checkpointRepository.save(checkpoint);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to save checkpoint for '{}': {}", checkpoint.getTag(), e.getMessage());
+        }
+    }
+
+    private List<Post> merge(List<Post> newer, List<Post> older) {
+        Map<String, Post> byCid = new LinkedHashMap<>();
+        for (Post post : newer) {
+            byCid.putIfAbsent(post.getCid() != null ? post.getCid() : post.getUri(), post);
+        }
+        for (Post post : older) {
+            byCid.putIfAbsent(post.getCid() != null ? post.getCid() : post.getUri(), post);
+        }
+        List<Post> merged = new ArrayList<>(byCid.values());
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    /**
+     * Posts fetched by an incremental crawl, newest first.
+     *
+     * @param coveredSince Start of the stored history if complete, otherwise of the part the delta covered
+     * @param complete     Whether the delta reached back to the checkpoint, so the checkpoint was advanced
+     */
+    private record Delta(List<Post> posts, Instant coveredSince, boolean complete) {
+    }
+
+    /**
+     * Normalizes a tag for use as a storage key: trimmed, lower-cased, inner whitespace collapsed.
+     */
+    public static String normalize(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,117 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.BlueskyService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Answers queries from the posts already stored in Redis, using the RediSearch
+ * index on {@link TrackedPost} instead of paging through the Bluesky API.
+ */
+@Service
+public class StoredPostQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoredPostQueryService.class);
+
+    private static final Sort BY_ENGAGEMENT = Sort.by(Sort.Direction.DESC, "engagement");
+
+    private final TrackedPostRepository repository;
+    private final IncrementalCrawlService crawlService;
+    private final BlueskyService blueskyService;
+    private final Timer queryTimer;
+
+    public StoredPostQueryService(
+            TrackedPostRepository repository,
+            IncrementalCrawlService crawlService,
+            BlueskyService blueskyService,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.crawlService = crawlService;
+        this.blueskyService = blueskyService;
+        this.queryTimer = Timer.builder("bluesky.store.queries")
+                .description("Time spent answering queries from the local post store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds the most engaging stored posts about a tag since the given time.
+     *
+     * @param tag   Tag or keyword the posts were crawled for
+     * @param since Starting date for filtering posts
+     * @param limit Maximum number of posts to return
+     * @return Posts sorted by engagement (highest first)
+     */
+    public StoredPostsResult findTopPostsByTag(String tag, OffsetDateTime since, int limit) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        Objects.requireNonNull(since, "Since date cannot be null");
+
+        String normalizedTag = IncrementalCrawlService.normalize(tag);
+        Page<TrackedPost> page = queryTimer.record(() -> repository.findByTagsAndCreatedAtGreaterThanEqual(
+                Set.of(normalizedTag), since.toInstant().toEpochMilli(), PageRequest.of(0, limit, BY_ENGAGEMENT)));
+
+        boolean complete = crawlService.hasCompleteHistory(tag, since);
+        logger.info("🔎 Store query for '{}' since {}: {} of {} posts (complete history: {})",
+                normalizedTag, since, page.getNumberOfElements(), page.getTotalElements(), complete);
+        return new StoredPostsResult(toPosts(page), page.getTotalElements(), complete);
+    }
+
+    /**
+     * Finds the most engaging stored posts of an author since the given time.
+     * Posts are stored under the author's DID, so a handle is resolved to it first.
+     *
+     * @param author Author handle (with or without a leading {@code @}) or DID
+     * @param since  Starting date for filtering posts
+     * @param limit  Maximum number of posts to return
+     * @return Posts sorted by engagement (highest first); empty if the handle cannot be resolved
+     */
+    public StoredPostsResult findTopPostsByAuthor(String author, OffsetDateTime since, int limit) {
+        Objects.requireNonNull(author, "Author cannot be null");
+        Objects.requireNonNull(since, "Since date cannot be null");
+
+        String did = resolveDid(author);
+        if (did == null) {
+            logger.info("🔎 Unknown author '{}', no stored posts", author);
+            return new StoredPostsResult(List.of(), 0, false);
+        }
+        Page<TrackedPost> page = queryTimer.record(() -> repository.findByAuthorAndCreatedAtGreaterThanEqual(
+                did, since.toInstant().toEpochMilli(), PageRequest.of(0, limit, BY_ENGAGEMENT)));
+
+        logger.info("🔎 Store query for author '{}' ({}) since {}: {} of {} posts",
+                author, did, since, page.getNumberOfElements(), page.getTotalElements());
+        return new StoredPostsResult(toPosts(page), page.getTotalElements(), false);
+    }
+
+    /**
+     * The DID of an author given as handle or DID. Handles seen in stored posts are
+     * resolved locally; others are looked up on Bluesky.
+     */
+    private String resolveDid(String author) {
+        String id = author.trim();
+        if (id.startsWith("@")) {
+            id = id.substring(1);
+        }
+        if (id.startsWith("did:")) {
+            return id;
+        }
+        String handle = id.toLowerCase(Locale.ROOT);
+        List<TrackedPost> known = repository.findByHandle(handle, PageRequest.of(0, 1)).getContent();
+        return !known.isEmpty() ? known.get(0).getAuthor() : blueskyService.resolveHandle(handle);
+    }
+
+    private List<Post> toPosts(Page<TrackedPost> page) {
+        return page.getContent().stream().map(TrackedPost::toPost).toList();
+    }
+}
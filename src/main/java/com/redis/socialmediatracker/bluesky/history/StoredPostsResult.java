@@ -0,0 +1,50 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+import java.util.List;
+
+/**
+ * Posts answered from the local post store, plus whether the store is known
+ * to hold every matching post for the requested window.
+ */
+public class StoredPostsResult {
+
+    private final List<Post> posts;
+    private final long totalMatches;
+    private final boolean complete;
+
+    public StoredPostsResult(List<Post> posts, long totalMatches, boolean complete) {
+        this.posts = posts;
+        this.totalMatches = totalMatches;
+        this.complete = complete;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    /**
+     * Number of stored posts matching the query, before the limit was applied.
+     */
+    public long getTotalMatches() {
+        return totalMatches;
+    }
+
+    /**
+     * True if the stored history covers the whole requested window.
+     * When false, older posts may only be available from a live search.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredPostsResult{" +
+                "posts=" + posts.size() +
+                ", totalMatches=" + totalMatches +
+                ", complete=" + complete +
+                '}';
+    }
+}
@@ -0,0 +1,191 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.om.spring.annotations.Document;
+import com.redis.om.spring.annotations.Indexed;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.springframework.data.annotation.Id;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Redis document holding a post we have already crawled, together with every
+ * tracked tag it was found under. Used as the stored history that incremental
+ * crawls merge their deltas into, and indexed so it can be queried directly
+ * by tag, author, time and engagement (see {@link StoredPostQueryService}).
+ * <p>
+ * TTL is set to 30 days (2592000 seconds), counted from the last time the post was saved.
+ */
+@Document(value = TrackedPost.KEYSPACE, indexName = "trackedPostIdx", timeToLive = TrackedPost.RETENTION_SECONDS)
+public class TrackedPost {
+
+    public static final int RETENTION_SECONDS = 2592000;
+
+    static final String KEYSPACE = "tracked-post";
+
+    /**
+     * The AT URI of the post (e.g. "at://did:plc:abcd1234/app.bsky.feed.post/3k4tuwz45j72x")
+     */
+    @Id
+    private String uri;
+
+    private String cid;
+
+    /**
+     * DID of the author, taken from the URI, so posts from searches, Jetstream and
+     * backfills are all found under the same author
+     */
+    @Indexed
+    private String author;
+
+    /**
+     * Handle of the author, if the source of the post reported one
+     */
+    @Indexed
+    private String handle;
+
+    private String text;
+
+    /**
+     * Creation time of the post (epoch milliseconds)
+     */
+    @Indexed(sortable = true)
+    private long createdAt;
+
+    private int replyCount;
+
+    private int repostCount;
+
+    private int likeCount;
+
+    /**
+     * Likes + reposts + replies, kept as its own field so queries can sort on it
+     */
+    @Indexed(sortable = true)
+    private int engagement;
+
+    /**
+     * Normalized tags whose crawls returned this post
+     */
+    @Indexed
+    private Set<String> tags = new HashSet<>();
+
+    public TrackedPost() {
+    }
+
+    /**
+     * Redis key of the JSON document of a stored post, for updates the repository cannot express.
+     */
+    static String key(String uri) {
+        return KEYSPACE + ":" + uri;
+    }
+
+    public static TrackedPost from(Post post) {
+        TrackedPost tracked = new TrackedPost();
+        tracked.uri = post.getUri();
+        tracked.cid = post.getCid();
+        String did = Post.didOf(post.getUri());
+        tracked.author = did != null ? did : post.getAuthor();
+        tracked.handle = post.getAuthor() != null && !post.getAuthor().startsWith("did:") ? post.getAuthor() : null;
+        tracked.text = post.getText();
+        tracked.createdAt = post.hasCreatedAt() ? post.getCreatedAtMillis() : 0L;
+        tracked.replyCount = post.getReplyCount();
+        tracked.repostCount = post.getRepostCount();
+        tracked.likeCount = post.getLikeCount();
+        tracked.engagement = post.getLikeCount() + post.getRepostCount() + post.getReplyCount();
+        return tracked;
+    }
+
+    public Post toPost() {
+        return new Post(uri, cid, handle != null ? handle : author, text,
+                createdAt > 0 ? createdAt : Post.NO_CREATED_AT, replyCount, repostCount, likeCount);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getCid() {
+        return cid;
+    }
+
+    public void setCid(String cid) {
+        this.cid = cid;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public int getRepostCount() {
+        return repostCount;
+    }
+
+    public void setRepostCount(int repostCount) {
+        this.repostCount = repostCount;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public int getEngagement() {
+        return engagement;
+    }
+
+    public void setEngagement(int engagement) {
+        this.engagement = engagement;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,62 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface TrackedPostRepository extends RedisDocumentRepository<TrackedPost, String> {
+
+    /**
+     * Find the stored posts for a tag created at or after the given time.
+     *
+     * @param tags      The normalized tag (as a single-element set)
+     * @param createdAt Lower bound for the creation time (epoch milliseconds)
+     * @return Matching posts
+     */
+    List<TrackedPost> findByTagsAndCreatedAtGreaterThanEqual(Set<String> tags, long createdAt);
+
+    /**
+     * Page through the stored posts for a tag created at or after the given time.
+     *
+     * @param tags      The normalized tag (as a single-element set)
+     * @param createdAt Lower bound for the creation time (epoch milliseconds)
+     * @param pageable  Page size and sort order (e.g. by engagement)
+     * @return One page of matching posts
+     */
+    Page<TrackedPost> findByTagsAndCreatedAtGreaterThanEqual(Set<String> tags, long createdAt, Pageable pageable);
+
+    /**
+     * Page through the stored posts for a tag created within the given range.
+     *
+     * @param tags     The normalized tag (as a single-element set)
+     * @param from     Lower bound for the creation time, inclusive (epoch milliseconds)
+     * @param to       Upper bound for the creation time, inclusive (epoch milliseconds)
+     * @param pageable Page size and sort order (e.g. newest first)
+     * @return One page of matching posts
+     */
+    Page<TrackedPost> findByTagsAndCreatedAtBetween(Set<String> tags, long from, long to, Pageable pageable);
+
+    /**
+     * Page through the stored posts of an author created at or after the given time.
+     *
+     * @param author    The author DID
+     * @param createdAt Lower bound for the creation time (epoch milliseconds)
+     * @param pageable  Page size and sort order
+     * @return One page of matching posts
+     */
+    Page<TrackedPost> findByAuthorAndCreatedAtGreaterThanEqual(String author, long createdAt, Pageable pageable);
+
+    /**
+     * Page through the stored posts whose author reported the given handle.
+     *
+     * @param handle   The author handle
+     * @param pageable Page size
+     * @return One page of matching posts
+     */
+    Page<TrackedPost> findByHandle(String handle, Pageable pageable);
+}
@@ -0,0 +1,97 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.match.TopicMatcherService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Writes posts into the local post store, adding the given tags to the ones
+ * each post is already stored under. Shared by the crawlers and the Jetstream consumer.
+ * <p>
+ * Each post is also tagged with every other tracked topic its text mentions, so a post
+ * crawled for one topic is found when querying any topic it is about.
+ */
+@Service
+public class TrackedPostWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackedPostWriter.class);
+
+    private final TrackedPostRepository repository;
+    private final TopicMatcherService topicMatcher;
+
+    public TrackedPostWriter(TrackedPostRepository repository, TopicMatcherService topicMatcher) {
+        this.repository = repository;
+        this.topicMatcher = topicMatcher;
+    }
+
+    /**
+     * Saves the posts under the given normalized tags, keeping the tags they were already stored under.
+     * Failures are logged and swallowed; the store is an optimization, not the source of truth.
+     *
+     * @param posts Posts to save
+     * @param tags  Normalized tags the posts matched
+     * @return true if the posts were written
+     */
+    public boolean save(List<Post> posts, Collection<String> tags) {
+        return save(posts, post -> tags);
+    }
+
+    /**
+     * Saves the posts, each under its own normalized tags, in one pipelined batch.
+     *
+     * @param posts  Posts to save
+     * @param tagsOf Normalized tags each post matched
+     * @return true if the posts were written
+     */
+    public boolean save(List<Post> posts, Function<Post, ? extends Collection<String>> tagsOf) {
+        if (posts.isEmpty()) {
+            return true;
+        }
+        try {
+            Map<String, TrackedPost> existing = new HashMap<>();
+            repository.findAllById(posts.stream().map(Post::getUri).filter(Objects::nonNull).toList())
+                    .forEach(tracked -> existing.put(tracked.getUri(), tracked));
+
+            List<TrackedPost> toSave = new ArrayList<>(posts.size());
+            for (Post post : posts) {
+                if (post.getUri() == null) continue;
+                TrackedPost tracked = TrackedPost.from(post);
+                Set<String> merged = new HashSet<>(tagsOf.apply(post));
+                merged.addAll(topicMatcher.matchTopics(post.getText(), List.of()));
+                TrackedPost previous = existing.get(post.getUri());
+                if (previous != null) {
+                    if (previous.getTags() != null) {
+                        merged.addAll(previous.getTags());
+                    }
+                    keepKnownFields(tracked, previous);
+                }
+                tracked.setTags(merged);
+                toSave.add(tracked);
+            }
+            repository.saveAll(toSave);
+            return true;
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to store {} posts: {}", posts.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Sources such as Jetstream carry no engagement counts and no author handle,
+     * so never let them overwrite what a search already told us.
+     */
+    private void keepKnownFields(TrackedPost tracked, TrackedPost previous) {
+        tracked.setReplyCount(Math.max(tracked.getReplyCount(), previous.getReplyCount()));
+        tracked.setRepostCount(Math.max(tracked.getRepostCount(), previous.getRepostCount()));
+        tracked.setLikeCount(Math.max(tracked.getLikeCount(), previous.getLikeCount()));
+        tracked.setEngagement(tracked.getReplyCount() + tracked.getRepostCount() + tracked.getLikeCount());
+        if (tracked.getHandle() == null) {
+            tracked.setHandle(previous.getHandle());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.redis.socialmediatracker.bluesky.ingest;
+
+import com.redis.socialmediatracker.bluesky.history.EngagementRefresher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Periodically refreshes the engagement counts of recent stored posts for every
+ * enabled {@link TrackedTopic}, so stored-post queries and reports rank by current
+ * engagement without re-crawling.
+ * <p>
+ * Only posts inside {@code bluesky.engagement.window} are refreshed; older posts
+ * rarely gain engagement and are left as they were last seen.
+ */
+@Component
+public class EngagementRefreshScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementRefreshScheduler.class);
+
+    private final TrackedTopicRegistry registry;
+    private final EngagementRefresher refresher;
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration maxDuration;
+
+    public EngagementRefreshScheduler(
+            TrackedTopicRegistry registry,
+            EngagementRefresher refresher,
+            @Value("${bluesky.engagement.enabled:true}") boolean enabled,
+            @Value("${bluesky.engagement.window:P2D}") Duration window,
+            @Value("${bluesky.engagement.max-duration:PT5M}") Duration maxDuration) {
+        this.registry = registry;
+        this.refresher = refresher;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxDuration = maxDuration;
+    }
+
+    @Scheduled(
+            initialDelayString = "${bluesky.engagement.initial-delay:PT2M}",
+            fixedDelayString = "${bluesky.engagement.interval:PT15M}")
+    public void refreshTrackedTopics() {
+        if (!enabled) {
+            return;
+        }
+
+        List<TrackedTopic> topics;
+        try {
+            topics = registry.findEnabled();
+        } catch (Exception e) {
+            logger.error("❌ Failed to load tracked topics: {}", e.getMessage());
+            return;
+        }
+
+        Instant started = Instant.now();
+        Instant deadline = started.plus(maxDuration);
+        OffsetDateTime since = OffsetDateTime.ofInstant(started.minus(window), ZoneOffset.UTC);
+        for (TrackedTopic topic : topics) {
+            if (Instant.now().isAfter(deadline)) {
+                logger.warn("⏳ Engagement refresh ran out of time before '{}'", topic.getId());
+                return;
+            }
+            try {
+                refresher.refreshTag(topic.getTag(), since, deadline);
+            } catch (Exception e) {
+                logger.error("❌ Engagement refresh of '{}' failed: {}", topic.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.redis.socialmediatracker.bluesky.ingest;
+
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.history.IncrementalCrawlService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Periodically ingests every due {@link TrackedTopic} through the
+ * {@link IncrementalCrawlService}, so its checkpoint and stored history stay
+ * fresh and interactive runs can answer from Redis.
+ * <p>
+ * Each tick waits for its topics to finish, so ticks never overlap; a semaphore
+ * caps how many topics are crawled at the same time.
+ */
+@Component
+public class TopicIngestionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicIngestionScheduler.class);
+
+    private final TrackedTopicRegistry registry;
+    private final IncrementalCrawlService crawlService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final SearchBudget budget;
+    private final boolean enabled;
+
+    private final Timer ingestionTimer;
+    private final Counter failures;
+
+    public TopicIngestionScheduler(
+            TrackedTopicRegistry registry,
+            IncrementalCrawlService crawlService,
+            @Qualifier("blueskySearchExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.ingest.enabled:true}") boolean enabled,
+            @Value("${bluesky.ingest.max-concurrency:2}") int maxConcurrency,
+            @Value("${bluesky.ingest.budget.max-posts:5000}") int maxPosts,
+            @Value("${bluesky.ingest.budget.max-pages:200}") int maxPages,
+            @Value("${bluesky.ingest.budget.max-duration:PT5M}") Duration maxDuration) {
+        this.registry = registry;
+        this.crawlService = crawlService;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.permits = new Semaphore(Math.max(1, maxConcurrency));
+        this.budget = new SearchBudget(maxPosts, maxPages, maxDuration);
+        this.ingestionTimer = Timer.builder("bluesky.ingest.duration")
+                .description("Time spent ingesting one tracked topic")
+                .register(meterRegistry);
+        this.failures = Counter.builder("bluesky.ingest.failures")
+                .description("Tracked topic ingestions that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${bluesky.ingest.initial-delay:PT30S}",
+            fixedDelayString = "${bluesky.ingest.poll-interval:PT1M}")
+    public void ingestDueTopics() {
+        if (!enabled) {
+            return;
+        }
+
+        List<TrackedTopic> due;
+        try {
+            due = registry.findDue(Instant.now());
+        } catch (Exception e) {
+            logger.error("❌ Failed to load tracked topics: {}", e.getMessage());
+            return;
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        logger.info("⏰ Ingesting {} due topic(s): {}", due.size(), due.stream().map(TrackedTopic::getId).toList());
+
+        List<Future<?>> futures = new ArrayList<>(due.size());
+        for (TrackedTopic topic : due) {
+            futures.add(executor.submit(() -> ingestWithPermit(topic)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("⚠️ Interrupted while waiting for topic ingestion");
+                return;
+            } catch (ExecutionException e) {
+                logger.error("❌ Topic ingestion failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void ingestWithPermit(TrackedTopic topic) throws InterruptedException {
+        permits.acquire();
+        try {
+            ingest(topic);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void ingest(TrackedTopic topic) {
+        Instant started = Instant.now();
+        OffsetDateTime since = OffsetDateTime.ofInstant(
+                started.minusSeconds(topic.getLookbackSeconds()), ZoneOffset.UTC);
+        SearchBudget.Tracker tracker = budget.start();
+
+        try {
+            List<Post> posts = ingestionTimer.recordCallable(
+                    () -> crawlService.refresh(topic.getTag(), since, 100, tracker));
+            int count = posts != null ? posts.size() : 0;
+
+            if (tracker.isExhausted()) {
+                logger.warn("✂️ Ingestion of '{}' hit its budget ({}); the next run continues from its oldest post",
+                        topic.getId(), tracker.getTruncationReason());
+            } else {
+                logger.info("✅ Ingested '{}': {} new posts", topic.getId(), count);
+            }
+            registry.recordIngestion(topic.getId(), Instant.now(), count);
+        } catch (Exception e) {
+            failures.increment();
+            logger.error("❌ Failed to ingest topic '{}': {}", topic.getId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.redis.socialmediatracker.bluesky.ingest;
+
+import com.redis.om.spring.annotations.Document;
+import com.redis.om.spring.annotations.Indexed;
+import org.springframework.data.annotation.Id;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tag or keyword that is ingested in the background on a fixed interval,
+ * so interactive runs can read its posts from Redis instead of crawling live.
+ */
+@Document(value = "tracked-topic", indexName = "trackedTopicIdx")
+public class TrackedTopic {
+
+    /**
+     * The normalized tag
+     */
+    @Id
+    private String id;
+
+    /**
+     * The tag as it is sent to the Bluesky search
+     */
+    private String tag;
+
+    @Indexed
+    private boolean enabled;
+
+    /**
+     * Time between two ingestions of this topic (seconds)
+     */
+    private long intervalSeconds;
+
+    /**
+     * How far back each ingestion keeps the stored history complete (seconds)
+     */
+    private long lookbackSeconds;
+
+    /**
+     * When the last ingestion finished (epoch milliseconds, 0 if never)
+     */
+    private long lastIngestedAt;
+
+    /**
+     * Number of new posts fetched by the last ingestion
+     */
+    private int lastPostCount;
+
+    /**
+     * Words that mark a post as being about this topic in the intended sense,
+     * e.g. "database" or "cache" for "redis"
+     */
+    private List<String> contextKeywords = new ArrayList<>();
+
+    /**
+     * Words that mark a post as being about an unrelated sense of this topic
+     */
+    private List<String> negativeKeywords = new ArrayList<>();
+
+    /**
+     * Whether posts must mention a context keyword to be considered relevant
+     */
+    private boolean requireContext;
+
+    public TrackedTopic() {
+    }
+
+    public TrackedTopic(String id, String tag, Duration interval, Duration lookback) {
+        this.id = id;
+        this.tag = tag;
+        this.enabled = true;
+        this.intervalSeconds = interval.toSeconds();
+        this.lookbackSeconds = lookback.toSeconds();
+    }
+
+    public boolean isDue(Instant now) {
+        return enabled && lastIngestedAt + intervalSeconds * 1000 <= now.toEpochMilli();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public void setIntervalSeconds(long intervalSeconds) {
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public long getLookbackSeconds() {
+        return lookbackSeconds;
+    }
+
+    public void setLookbackSeconds(long lookbackSeconds) {
+        this.lookbackSeconds = lookbackSeconds;
+    }
+
+    public long getLastIngestedAt() {
+        return lastIngestedAt;
+    }
+
+    public void setLastIngestedAt(long lastIngestedAt) {
+        this.lastIngestedAt = lastIngestedAt;
+    }
+
+    public int getLastPostCount() {
+        return lastPostCount;
+    }
+
+    public void setLastPostCount(int lastPostCount) {
+        this.lastPostCount = lastPostCount;
+    }
+
+    public List<String> getContextKeywords() {
+        return contextKeywords;
+    }
+
+    public void setContextKeywords(List<String> contextKeywords) {
+        this.contextKeywords = contextKeywords;
+    }
+
+    public List<String> getNegativeKeywords() {
+        return negativeKeywords;
+    }
+
+    public void setNegativeKeywords(List<String> negativeKeywords) {
+        this.negativeKeywords = negativeKeywords;
+    }
+
+    public boolean isRequireContext() {
+        return requireContext;
+    }
+
+    public void setRequireContext(boolean requireContext) {
+        this.requireContext = requireContext;
+    }
+
+    @Override
+    public String toString() {
+        return "TrackedTopic{" +
+                "id='" + id + '\'' +
+                ", tag='" + tag + '\'' +
+                ", enabled=" + enabled +
+                ", intervalSeconds=" + intervalSeconds +
+                ", lookbackSeconds=" + lookbackSeconds +
+                ", lastIngestedAt=" + lastIngestedAt +
+                ", lastPostCount=" + lastPostCount +
+                ", contextKeywords=" + contextKeywords +
+                ", negativeKeywords=" + negativeKeywords +
+                ", requireContext=" + requireContext +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.redis.socialmediatracker.bluesky.ingest;
+
+import com.redis.socialmediatracker.bluesky.relevance.RelevanceFilter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Manages the topics ingested in the background.
+ */
+@RestController
+@RequestMapping("/api/topics")
+public class TrackedTopicController {
+
+    private final TrackedTopicRegistry registry;
+    private final RelevanceFilter relevanceFilter;
+
+    public TrackedTopicController(TrackedTopicRegistry registry, RelevanceFilter relevanceFilter) {
+        this.registry = registry;
+        this.relevanceFilter = relevanceFilter;
+    }
+
+    @GetMapping
+    public List<TrackedTopic> list() {
+        return registry.findAll();
+    }
+
+    /**
+     * Starts or updates ingestion of a topic.
+     * Interval and lookback are ISO-8601 durations, e.g. {@code PT10M} and {@code P7D}.
+     */
+    @PutMapping("/{tag}")
+    public ResponseEntity<TrackedTopic> track(
+            @PathVariable String tag,
+            @RequestParam(required = false) Duration interval,
+            @RequestParam(required = false) Duration lookback) {
+        try {
+            return ResponseEntity.ok(registry.track(tag, interval, lookback));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Sets the words used to drop off-topic posts of a tracked topic before they reach the agent.
+     * Lists are comma-separated, e.g. {@code context=database,cache&negative=football}.
+     * Omitted parameters keep their current value; an empty list clears it.
+     */
+    @PutMapping("/{tag}/relevance")
+    public ResponseEntity<TrackedTopic> setRelevance(
+            @PathVariable String tag,
+            @RequestParam(required = false) List<String> context,
+            @RequestParam(required = false) List<String> negative,
+            @RequestParam(required = false) Boolean requireContext) {
+        return registry.setRelevance(tag, context, negative, requireContext)
+                .map(topic -> {
+                    relevanceFilter.reload();
+                    return ResponseEntity.ok(topic);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{tag}")
+    public ResponseEntity<Void> untrack(@PathVariable String tag) {
+        return registry.untrack(tag)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.redis.socialmediatracker.bluesky.ingest;
+
+import com.redis.socialmediatracker.bluesky.history.IncrementalCrawlService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the topics kept fresh by the {@link TopicIngestionScheduler}.
+ * <p>
+ * Topics listed under {@code bluesky.ingest.topics}, as a comma-separated string,
+ * are registered on startup with the default interval and lookback; others can be
+ * added at runtime through {@link TrackedTopicController}.
+ * <p>
+ * Interactive searches only answer from the stored history while the checkpoint is
+ * younger than {@code bluesky.search.history.freshness}, so the default interval
+ * should not be longer than that.
+ */
+@Service
+public class TrackedTopicRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackedTopicRegistry.class);
+
+    private final TrackedTopicRepository repository;
+    private final List<String> configuredTopics;
+    private final Duration defaultInterval;
+    private final Duration defaultLookback;
+
+    public TrackedTopicRegistry(
+            TrackedTopicRepository repository,
+            @Value("${bluesky.ingest.topics:}") String configuredTopics,
+            @Value("${bluesky.ingest.default-interval:PT5M}") Duration defaultInterval,
+            @Value("${bluesky.ingest.default-lookback:P7D}") Duration defaultLookback,
+            @Value("${bluesky.search.history.freshness:PT5M}") Duration historyFreshness) {
+        this.repository = repository;
+        this.configuredTopics = Arrays.stream(configuredTopics.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .toList();
+        this.defaultInterval = defaultInterval;
+        this.defaultLookback = defaultLookback;
+        if (defaultInterval.compareTo(historyFreshness) > 0) {
+            logger.warn("⚠️ Topics are ingested every {} but stored history is only used for {}; "
+                    + "interactive searches will mostly crawl Bluesky", defaultInterval, historyFreshness);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerConfiguredTopics() {
+        for (String tag : configuredTopics) {
+            try {
+                if (repository.findById(IncrementalCrawlService.normalize(tag)).isEmpty()) {
+                    track(tag, null, null);
+                }
+            } catch (Exception e) {
+                logger.error("❌ Failed to register configured topic '{}': {}", tag, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts (or updates) background ingestion of a topic.
+     *
+     * @param tag      Tag or keyword to ingest
+     * @param interval Time between ingestions, or null for the default
+     * @param lookback Window kept complete in the stored history, or null for the default
+     * @return The saved topic
+     */
+    public TrackedTopic track(String tag, Duration interval, Duration lookback) {
+        if (tag == null || tag.isBlank()) {
+            throw new IllegalArgumentException("Tag cannot be empty");
+        }
+        String id = IncrementalCrawlService.normalize(tag);
+        TrackedTopic topic = repository.findById(id)
+                .orElseGet(() -> new TrackedTopic(id, tag.trim(), defaultInterval, defaultLookback));
+        topic.setEnabled(true);
+        if (interval != null) topic.setIntervalSeconds(interval.toSeconds());
+        if (lookback != null) topic.setLookbackSeconds(lookback.toSeconds());
+
+        TrackedTopic saved = repository.save(topic);
+        logger.info("📌 Tracking topic '{}' every {}s (lookback {}s)", id,
+                saved.getIntervalSeconds(), saved.getLookbackSeconds());
+        return saved;
+    }
+
+    /**
+     * Stops background ingestion of a topic. Its stored history is kept until it expires.
+     *
+     * @param tag Tag or keyword
+     * @return true if the topic was tracked
+     */
+    public boolean untrack(String tag) {
+        String id = IncrementalCrawlService.normalize(tag);
+        if (!repository.existsById(id)) {
+            return false;
+        }
+        repository.deleteById(id);
+        logger.info("📌 Stopped tracking topic '{}'", id);
+        return true;
+    }
+
+    /**
+     * Sets the relevance rule used to drop off-topic posts of a tracked topic.
+     *
+     * @param tag              Tag or keyword
+     * @param contextKeywords  Words that mark a post as relevant, or null to keep the current ones
+     * @param negativeKeywords Words that mark a post as irrelevant, or null to keep the current ones
+     * @param requireContext   Whether relevant posts must mention a context keyword, or null to keep the current setting
+     * @return The saved topic, or empty if the topic is not tracked
+     */
+    public Optional<TrackedTopic> setRelevance(String tag, List<String> contextKeywords,
+                                               List<String> negativeKeywords, Boolean requireContext) {
+        return repository.findById(IncrementalCrawlService.normalize(tag)).map(topic -> {
+            if (contextKeywords != null) topic.setContextKeywords(clean(contextKeywords));
+            if (negativeKeywords != null) topic.setNegativeKeywords(clean(negativeKeywords));
+            if (requireContext != null) topic.setRequireContext(requireContext);
+
+            TrackedTopic saved = repository.save(topic);
+            logger.info("📌 Relevance of topic '{}': context {}, negative {}, requireContext {}", saved.getId(),
+                    saved.getContextKeywords(), saved.getNegativeKeywords(), saved.isRequireContext());
+            return saved;
+        });
+    }
+
+    private static List<String> clean(List<String> keywords) {
+        return keywords.stream()
+                .filter(keyword -> keyword != null && !keyword.isBlank())
+                .map(String::trim)
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public Optional<TrackedTopic> find(String tag) {
+        return repository.findById(IncrementalCrawlService.normalize(tag));
+    }
+
+    public List<TrackedTopic> findAll() {
+        List<TrackedTopic> topics = new ArrayList<>();
+        repository.findAll().forEach(topics::add);
+        return topics;
+    }
+
+    public List<TrackedTopic> findEnabled() {
+        return repository.findByEnabled(true);
+    }
+
+    /**
+     * Topics whose interval has passed since their last ingestion.
+     */
+    public List<TrackedTopic> findDue(Instant now) {
+        return findEnabled().stream()
+                .filter(topic -> topic.isDue(now))
+                .toList();
+    }
+
+    /**
+     * Records a finished ingestion. Re-reads the topic first so a concurrent
+     * update or untrack is not overwritten.
+     */
+    public void recordIngestion(String id, Instant finishedAt, int postCount) {
+        repository.findById(id).ifPresent(topic -> {
+            topic.setLastIngestedAt(finishedAt.toEpochMilli());
+            topic.setLastPostCount(postCount);
+            repository.save(topic);
+        });
+    }
+}
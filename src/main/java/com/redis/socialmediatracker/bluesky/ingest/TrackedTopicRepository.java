@@ -0,0 +1,18 @@
+package com.redis.socialmediatracker.bluesky.ingest;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TrackedTopicRepository extends RedisDocumentRepository<TrackedTopic, String> {
+
+    /**
+     * Find all topics that are (or are not) being ingested.
+     *
+     * @param enabled Whether the topic is enabled
+     * @return Matching topics
+     */
+    List<TrackedTopic> findByEnabled(boolean enabled);
+}
@@ -0,0 +1,270 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket connection to a Jetstream endpoint that survives disconnects.
+ * <p>
+ * Every text frame is handed to the {@link FrameListener}, which returns the event's
+ * {@code time_us}. When the connection drops, the client reconnects with jittered
+ * exponential backoff and asks Jetstream to replay from the last processed event
+ * (minus a small rewind, since Jetstream cursors are not exact), so no events are lost.
+ * <p>
+ * Frames are processed in order on one worker thread, off the WebSocket's thread. At most
+ * {@code maxPendingFrames} frames are requested ahead of the worker, which requests the next
+ * one each time it finishes a frame. If the listener fails on a frame, the frames queued
+ * behind it are discarded and the client reconnects from the last processed event, so the
+ * failed frame is replayed instead of skipped by a cursor that moved past it.
+ */
+public class JetstreamClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(JetstreamClient.class);
+
+    /**
+     * Handles one Jetstream frame.
+     */
+    @FunctionalInterface
+    public interface FrameListener {
+
+        /**
+         * @param frame The raw JSON frame
+         * @return The frame's {@code time_us}, or a negative value if it has none
+         */
+        long onFrame(String frame);
+    }
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final FrameListener listener;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final long rewindMicros;
+    private final int maxPendingFrames;
+
+    private final ScheduledExecutorService reconnectScheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("jetstream-reconnect").factory());
+    private final ExecutorService worker;
+    private final AtomicLong lastTimeUs = new AtomicLong(-1);
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    // Bumped when a frame fails, so the work queued behind it is dropped
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private volatile WebSocket webSocket;
+    private volatile boolean running;
+
+    /**
+     * @param httpClient     Client used to open the WebSocket
+     * @param endpoint       Jetstream subscribe URL including its filters, without a cursor
+     * @param initialCursor  {@code time_us} to replay from on the first connect, or a negative value for live
+     * @param listener       Handler for each frame
+     * @param initialBackoff First reconnect delay
+     * @param maxBackoff     Upper bound for the reconnect delay
+     * @param rewind           How far before the last processed event to replay from
+     * @param maxPendingFrames How many frames may wait for the worker
+     */
+    public JetstreamClient(HttpClient httpClient, URI endpoint, long initialCursor, FrameListener listener,
+                           Duration initialBackoff, Duration maxBackoff, Duration rewind, int maxPendingFrames) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+        this.listener = listener;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.rewindMicros = TimeUnit.NANOSECONDS.toMicros(rewind.toNanos());
+        this.maxPendingFrames = Math.max(1, maxPendingFrames);
+        // Room for the frames requested ahead plus the open and close of a connection
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.maxPendingFrames + 2),
+                Thread.ofVirtual().name("jetstream-worker").factory());
+        this.lastTimeUs.set(initialCursor);
+    }
+
+    public void start() {
+        running = true;
+        connect();
+    }
+
+    public void stop() {
+        running = false;
+        reconnectScheduler.shutdownNow();
+        worker.shutdownNow();
+        WebSocket current = webSocket;
+        if (current != null) {
+            current.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+        }
+    }
+
+    /**
+     * {@code time_us} of the last processed event, or a negative value if none was processed yet.
+     */
+    public long getLastTimeUs() {
+        return lastTimeUs.get();
+    }
+
+    /**
+     * Number of connections opened so far, including reconnects.
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        URI uri = withCursor(endpoint, lastTimeUs.get());
+        logger.info("🌊 Connecting to Jetstream: {}", uri);
+
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(uri, new Listener(generation.get()))
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        logger.warn("⚠️ Jetstream connection failed: {}", error.getMessage());
+                        scheduleReconnect();
+                    } else {
+                        webSocket = ws;
+                        connections.incrementAndGet();
+                    }
+                });
+    }
+
+    private void scheduleReconnect() {
+        if (!running) {
+            return;
+        }
+        int attempt = failedAttempts.incrementAndGet();
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        logger.info("🔁 Reconnecting to Jetstream in {} ms (attempt {})", delay, attempt);
+        try {
+            reconnectScheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.debug("Reconnect not scheduled: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs work for a connection on the worker, unless a frame failed since the connection was opened.
+     */
+    private void submit(Listener source, WebSocket ws, Runnable work) {
+        try {
+            worker.execute(() -> {
+                if (source.generation == generation.get()) {
+                    work.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (running) {
+                logger.error("❌ Jetstream worker queue is full, reconnecting from {}", lastTimeUs.get());
+                reconnectFromLastEvent(source, ws);
+            }
+        }
+    }
+
+    /**
+     * Runs on the worker: processes a frame and requests the next one.
+     */
+    private void process(Listener source, WebSocket ws, String frame) {
+        try {
+            long timeUs = listener.onFrame(frame);
+            if (timeUs > lastTimeUs.get()) {
+                lastTimeUs.set(timeUs);
+                failedAttempts.set(0);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Failed to process Jetstream frame, reconnecting from {}: {}",
+                    lastTimeUs.get(), e.getMessage());
+            reconnectFromLastEvent(source, ws);
+            return;
+        }
+        ws.request(1);
+    }
+
+    /**
+     * Drops the connection and everything queued from it, and replays from the last processed event.
+     */
+    private void reconnectFromLastEvent(Listener source, WebSocket ws) {
+        if (generation.compareAndSet(source.generation, source.generation + 1)) {
+            ws.abort();
+            scheduleReconnect();
+        }
+    }
+
+    private URI withCursor(URI base, long timeUs) {
+        if (timeUs < 0) {
+            return base;
+        }
+        long cursor = Math.max(0, timeUs - rewindMicros);
+        String separator = base.getRawQuery() == null ? "?" : "&";
+        return URI.create(base + separator + "cursor=" + cursor);
+    }
+
+    /**
+     * Receives one connection's frames and queues them for the worker. Opening and closing
+     * are queued too, so frames are requested only once the previous connection's frames
+     * are processed, and a reconnect replays from after the last of them.
+     */
+    private final class Listener implements WebSocket.Listener {
+
+        private final int generation;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private Listener(int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public void onOpen(WebSocket ws) {
+            logger.info("✅ Connected to Jetstream");
+            submit(this, ws, () -> ws.request(maxPendingFrames));
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (!last) {
+                ws.request(1);
+                return null;
+            }
+            String frame = buffer.toString();
+            buffer.setLength(0);
+            submit(this, ws, () -> process(this, ws, frame));
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            submit(this, ws, () -> {
+                logger.warn("⚠️ Jetstream connection closed ({} {})", statusCode, reason);
+                scheduleReconnect();
+            });
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            submit(this, ws, () -> {
+                logger.warn("⚠️ Jetstream connection error: {}", error.getMessage());
+                scheduleReconnect();
+            });
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Push-based ingestion: streams new posts from Bluesky Jetstream and stores the
+ * ones matching a tracked topic, instead of polling searchPosts.
+ * <p>
+ * The position in the stream is saved to Redis periodically and on shutdown,
+ * so a restart replays the events that arrived while the consumer was down.
+ * Disabled by default; enable with {@code bluesky.jetstream.enabled=true}.
+ */
+@Component
+public class JetstreamConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JetstreamConsumer.class);
+
+    private static final String CURSOR_ID = "jetstream";
+
+    private final JetstreamMessageHandler handler;
+    private final JetstreamCursorRepository cursorRepository;
+    private final boolean enabled;
+    private final URI endpoint;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration rewind;
+    private final Duration maxReplay;
+    private final int maxPendingFrames;
+
+    private volatile JetstreamClient client;
+    private volatile long savedTimeUs = -1;
+
+    public JetstreamConsumer(
+            JetstreamMessageHandler handler,
+            JetstreamCursorRepository cursorRepository,
+            @Value("${bluesky.jetstream.enabled:false}") boolean enabled,
+            @Value("${bluesky.jetstream.url:wss://jetstream2.us-east.bsky.network/subscribe?wantedCollections=app.bsky.feed.post}") URI endpoint,
+            @Value("${bluesky.jetstream.reconnect.initial-backoff:PT1S}") Duration initialBackoff,
+            @Value("${bluesky.jetstream.reconnect.max-backoff:PT1M}") Duration maxBackoff,
+            @Value("${bluesky.jetstream.rewind:PT5S}") Duration rewind,
+            @Value("${bluesky.jetstream.max-replay:PT24H}") Duration maxReplay,
+            @Value("${bluesky.jetstream.max-pending-frames:500}") int maxPendingFrames) {
+        this.handler = handler;
+        this.cursorRepository = cursorRepository;
+        this.enabled = enabled;
+        this.endpoint = endpoint;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.rewind = rewind;
+        this.maxReplay = maxReplay;
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        long cursor = loadCursor();
+        client = new JetstreamClient(HttpClient.newHttpClient(), endpoint, cursor, handler::handle,
+                initialBackoff, maxBackoff, rewind, maxPendingFrames);
+        client.start();
+        logger.info("🌊 Jetstream consumer started{}", cursor >= 0 ? " (replaying from " + cursor + ")" : "");
+    }
+
+    @Scheduled(fixedDelayString = "${bluesky.jetstream.cursor-save-interval:PT5S}")
+    public void saveCursor() {
+        JetstreamClient current = client;
+        if (current == null) {
+            return;
+        }
+        long timeUs = current.getLastTimeUs();
+        if (timeUs < 0 || timeUs == savedTimeUs) {
+            return;
+        }
+        try {
+            cursorRepository.save(new JetstreamCursor(CURSOR_ID, timeUs, Instant.now().toEpochMilli()));
+            savedTimeUs = timeUs;
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to save Jetstream cursor: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        JetstreamClient current = client;
+        if (current == null) {
+            return;
+        }
+        current.stop();
+        saveCursor();
+        client = null;
+        logger.info("🌊 Jetstream consumer stopped");
+    }
+
+    /**
+     * Loads the saved cursor, ignoring it if it is older than Jetstream keeps events for.
+     */
+    private long loadCursor() {
+        try {
+            return cursorRepository.findById(CURSOR_ID)
+                    .map(JetstreamCursor::getTimeUs)
+                    .filter(timeUs -> Instant.EPOCH.plusNanos(timeUs * 1000).isAfter(Instant.now().minus(maxReplay)))
+                    .orElse(-1L);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to load Jetstream cursor, starting live: {}", e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import com.redis.om.spring.annotations.Document;
+import org.springframework.data.annotation.Id;
+
+/**
+ * Last Jetstream event processed, so a restarted consumer can replay what it missed.
+ */
+@Document(value = "jetstream-cursor", indexName = "jetstreamCursorIdx")
+public class JetstreamCursor {
+
+    @Id
+    private String id;
+
+    /**
+     * Jetstream {@code time_us} of the last processed event (microseconds since the epoch)
+     */
+    private long timeUs;
+
+    /**
+     * When the cursor was saved (epoch milliseconds)
+     */
+    private long updatedAt;
+
+    public JetstreamCursor() {
+    }
+
+    public JetstreamCursor(String id, long timeUs, long updatedAt) {
+        this.id = id;
+        this.timeUs = timeUs;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getTimeUs() {
+        return timeUs;
+    }
+
+    public void setTimeUs(long timeUs) {
+        this.timeUs = timeUs;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
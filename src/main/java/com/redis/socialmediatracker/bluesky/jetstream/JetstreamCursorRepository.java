@@ -0,0 +1,8 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import com.redis.om.spring.repository.RedisDocumentRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JetstreamCursorRepository extends RedisDocumentRepository<JetstreamCursor, String> {
+}
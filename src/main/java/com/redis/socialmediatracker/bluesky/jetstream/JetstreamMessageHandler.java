@@ -0,0 +1,128 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.bluesky.history.TrackedPostWriter;
+import com.redis.socialmediatracker.bluesky.match.TopicMatcherService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns Jetstream frames into stored posts.
+ * <p>
+ * Only {@code create} commits of {@code app.bsky.feed.post} records are considered.
+ * Their text and tag facets are matched against the enabled tracked topics in one
+ * pass, and every match is written to the local post store under the matching topics.
+ * A match that cannot be written fails the frame, so the client replays it rather
+ * than moving its cursor past it.
+ */
+@Component
+public class JetstreamMessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JetstreamMessageHandler.class);
+
+    private static final String POST_COLLECTION = "app.bsky.feed.post";
+    private static final String TAG_FACET = "app.bsky.richtext.facet#tag";
+
+    private final ObjectMapper objectMapper;
+    private final TopicMatcherService topicMatcher;
+    private final TrackedPostWriter postWriter;
+
+    private final Counter frames;
+    private final Counter matches;
+
+    public JetstreamMessageHandler(
+            ObjectMapper objectMapper,
+            TopicMatcherService topicMatcher,
+            TrackedPostWriter postWriter,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.topicMatcher = topicMatcher;
+        this.postWriter = postWriter;
+        this.frames = Counter.builder("bluesky.jetstream.frames")
+                .description("Jetstream frames received")
+                .register(meterRegistry);
+        this.matches = Counter.builder("bluesky.jetstream.matches")
+                .description("Jetstream posts that matched a tracked topic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Processes one Jetstream frame.
+     *
+     * @param frame The raw JSON frame
+     * @return The frame's {@code time_us}, or -1 if it could not be read
+     * @throws IllegalStateException If a matching post could not be stored
+     */
+    public long handle(String frame) {
+        frames.increment();
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(frame);
+        } catch (Exception e) {
+            logger.warn("⚠️ Skipping unreadable Jetstream frame: {}", e.getMessage());
+            return -1;
+        }
+
+        long timeUs = root.path("time_us").asLong(-1);
+        JsonNode commit = root.path("commit");
+        if (!"commit".equals(root.path("kind").asText())
+                || !"create".equals(commit.path("operation").asText())
+                || !POST_COLLECTION.equals(commit.path("collection").asText())) {
+            return timeUs;
+        }
+
+        JsonNode record = commit.path("record");
+        List<String> matched = topicMatcher.matchTopics(record.path("text").asText(""), facetTags(record));
+        if (matched.isEmpty()) {
+            return timeUs;
+        }
+
+        Post post = toPost(root.path("did").asText(), commit);
+        matches.increment();
+        logger.debug("🌊 Jetstream post {} matched {}", post.getUri(), matched);
+        if (!postWriter.save(List.of(post), matched)) {
+            throw new IllegalStateException("Could not store Jetstream post " + post.getUri());
+        }
+        return timeUs;
+    }
+
+    private List<String> facetTags(JsonNode record) {
+        JsonNode facets = record.path("facets");
+        if (!facets.isArray()) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>();
+        for (JsonNode facet : facets) {
+            for (JsonNode feature : facet.path("features")) {
+                if (TAG_FACET.equals(feature.path("$type").asText())) {
+                    tags.add(feature.path("tag").asText());
+                }
+            }
+        }
+        return tags;
+    }
+
+    private Post toPost(String did, JsonNode commit) {
+        JsonNode record = commit.path("record");
+        String uri = "at://" + did + "/" + POST_COLLECTION + "/" + commit.path("rkey").asText();
+        OffsetDateTime createdAt = null;
+        try {
+            createdAt = OffsetDateTime.parse(record.path("createdAt").asText());
+        } catch (DateTimeParseException e) {
+            logger.debug("Unparseable createdAt on {}: {}", uri, e.getMessage());
+        }
+        // Jetstream carries the author's DID only; handles need a separate lookup
+        return new Post(uri, commit.path("cid").asText(null), did, record.path("text").asText(""),
+                createdAt, 0, 0, 0);
+    }
+}
@@ -0,0 +1,274 @@
+package com.redis.socialmediatracker.bluesky.match;
+
+import java.util.*;
+
+/**
+ * Compiled multi-keyword matcher (Aho-Corasick) that finds every topic a text
+ * mentions in a single pass, independent of the number of topics.
+ * <p>
+ * Topics and text are normalized the same way: lower-cased with runs of
+ * whitespace collapsed to one space. Matches must fall on word boundaries, so
+ * "redis" matches "Redis 8" and "#redis" but not "redistribute".
+ * <p>
+ * A topic written with a leading {@code #} is a hashtag topic: it only matches
+ * the hashtag in the text or in the post's tag facets. A plain topic also
+ * matches a facet tag equal to it.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    private static final KeywordMatcher EMPTY = compile(List.of());
+
+    private final String[] topics;
+
+    // Trie nodes; children are stored as sorted parallel arrays per node
+    private final char[][] childKeys;
+    private final int[][] childNodes;
+    private final int[] fail;
+    // Topic indices ending at each node, including those reached through fail links
+    private final int[][] outputs;
+    // Lengths of the topics, in normalized chars
+    private final int[] lengths;
+
+    // Normalized facet tag -> topic indices it satisfies
+    private final Map<String, int[]> byFacetTag;
+
+    private KeywordMatcher(String[] topics, char[][] childKeys, int[][] childNodes, int[] fail, int[][] outputs,
+                           int[] lengths, Map<String, int[]> byFacetTag) {
+        this.topics = topics;
+        this.childKeys = childKeys;
+        this.childNodes = childNodes;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.lengths = lengths;
+        this.byFacetTag = byFacetTag;
+    }
+
+    public static KeywordMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles a matcher for the given topics. Blank and duplicate topics are ignored.
+     */
+    public static KeywordMatcher compile(Collection<String> rawTopics) {
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String topic : rawTopics) {
+            if (topic == null) continue;
+            String normalized = normalize(topic);
+            if (!normalized.isEmpty() && !normalized.equals("#")) {
+                distinct.add(normalized);
+            }
+        }
+        String[] topics = distinct.toArray(new String[0]);
+
+        // Build the trie with maps, then freeze it into arrays
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+        int[] lengths = new int[topics.length];
+        Map<String, List<Integer>> facetTopics = new HashMap<>();
+
+        for (int t = 0; t < topics.length; t++) {
+            String topic = topics[t];
+            lengths[t] = topic.length();
+            int node = 0;
+            for (int i = 0; i < topic.length(); i++) {
+                Integer next = children.get(node).get(topic.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                    children.get(node).put(topic.charAt(i), next);
+                }
+                node = next;
+            }
+            ends.get(node).add(t);
+
+            String facetKey = topic.startsWith("#") ? topic.substring(1) : topic;
+            facetTopics.computeIfAbsent(facetKey, k -> new ArrayList<>()).add(t);
+        }
+
+        int size = children.size();
+        char[][] childKeys = new char[size][];
+        int[][] childNodes = new int[size][];
+        for (int n = 0; n < size; n++) {
+            List<Map.Entry<Character, Integer>> entries = new ArrayList<>(children.get(n).entrySet());
+            entries.sort(Map.Entry.comparingByKey());
+            childKeys[n] = new char[entries.size()];
+            childNodes[n] = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                childKeys[n][i] = entries.get(i).getKey();
+                childNodes[n][i] = entries.get(i).getValue();
+            }
+        }
+
+        // Breadth-first construction of fail links; outputs inherit from their fail node
+        int[] fail = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[0] = toArray(ends.get(0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : childNodes[0]) {
+            fail[child] = 0;
+            outputs[child] = toArray(ends.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < childKeys[node].length; i++) {
+                char c = childKeys[node][i];
+                int child = childNodes[node][i];
+                int f = fail[node];
+                while (f != 0 && step(childKeys, childNodes, f, c) < 0) {
+                    f = fail[f];
+                }
+                int target = step(childKeys, childNodes, f, c);
+                fail[child] = target >= 0 && target != child ? target : 0;
+                outputs[child] = concat(toArray(ends.get(child)), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+
+        Map<String, int[]> byFacetTag = new HashMap<>();
+        facetTopics.forEach((tag, indices) -> byFacetTag.put(tag, toArray(indices)));
+
+        return new KeywordMatcher(topics, childKeys, childNodes, fail, outputs, lengths, byFacetTag);
+    }
+
+    /**
+     * Number of compiled topics.
+     */
+    public int size() {
+        return topics.length;
+    }
+
+    /**
+     * Finds every topic mentioned in the text.
+     *
+     * @param text Post text
+     * @return Matched topics (normalized), in compile order
+     */
+    public List<String> match(String text) {
+        return match(text, List.of());
+    }
+
+    /**
+     * Finds every topic mentioned in the text or in the post's tag facets.
+     *
+     * @param text      Post text
+     * @param facetTags Tags from the post's {@code app.bsky.richtext.facet#tag} facets, without {@code #}
+     * @return Matched topics (normalized), in compile order
+     */
+    public List<String> match(String text, Collection<String> facetTags) {
+        if (topics.length == 0) {
+            return List.of();
+        }
+        boolean[] found = new boolean[topics.length];
+        int count = 0;
+
+        if (text != null && !text.isEmpty()) {
+            char[] normalized = normalizeChars(text);
+            int length = normalized.length;
+            int node = 0;
+            for (int i = 0; i < length; i++) {
+                char c = normalized[i];
+                int next;
+                while ((next = step(childKeys, childNodes, node, c)) < 0 && node != 0) {
+                    node = fail[node];
+                }
+                node = Math.max(next, 0);
+                for (int t : outputs[node]) {
+                    if (found[t]) continue;
+                    int start = i - lengths[t] + 1;
+                    if (isBoundary(normalized, start - 1) && isBoundary(normalized, i + 1)) {
+                        found[t] = true;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        if (facetTags != null) {
+            for (String tag : facetTags) {
+                if (tag == null) continue;
+                int[] indices = byFacetTag.get(normalize(tag.startsWith("#") ? tag.substring(1) : tag));
+                if (indices == null) continue;
+                for (int t : indices) {
+                    if (!found[t]) {
+                        found[t] = true;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        if (count == 0) {
+            return List.of();
+        }
+        List<String> matched = new ArrayList<>(count);
+        for (int t = 0; t < topics.length; t++) {
+            if (found[t]) matched.add(topics[t]);
+        }
+        return matched;
+    }
+
+    /**
+     * Lower-cases and collapses whitespace, the same way topics are stored elsewhere.
+     */
+    public static String normalize(String value) {
+        return new String(normalizeChars(value.trim()));
+    }
+
+    private static char[] normalizeChars(String text) {
+        char[] out = new char[text.length()];
+        int length = 0;
+        boolean lastWasSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    out[length++] = ' ';
+                    lastWasSpace = true;
+                }
+            } else {
+                out[length++] = Character.toLowerCase(c);
+                lastWasSpace = false;
+            }
+        }
+        return length == out.length ? out : Arrays.copyOf(out, length);
+    }
+
+    /**
+     * A position is a boundary if it is outside the text or not part of a word.
+     */
+    private static boolean isBoundary(char[] text, int index) {
+        if (index < 0 || index >= text.length) {
+            return true;
+        }
+        char c = text[index];
+        return !Character.isLetterOrDigit(c) && c != '_';
+    }
+
+    private static int step(char[][] childKeys, int[][] childNodes, int node, char c) {
+        int i = Arrays.binarySearch(childKeys[node], c);
+        return i >= 0 ? childNodes[node][i] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (b.length == 0) return a;
+        if (a.length == 0) return b;
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
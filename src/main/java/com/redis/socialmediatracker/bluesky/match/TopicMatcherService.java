@@ -0,0 +1,92 @@
+package com.redis.socialmediatracker.bluesky.match;
+
+import com.redis.socialmediatracker.bluesky.ingest.TrackedTopic;
+import com.redis.socialmediatracker.bluesky.ingest.TrackedTopicRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared {@link KeywordMatcher} over all enabled tracked topics.
+ * <p>
+ * The matcher is recompiled from the {@link TrackedTopicRegistry} at most once per
+ * refresh interval, so callers on hot paths (Jetstream, backfills, crawl writes)
+ * only pay for a single pass over each post's text.
+ */
+@Service
+public class TopicMatcherService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicMatcherService.class);
+
+    private final TrackedTopicRegistry topicRegistry;
+    private final Duration refreshInterval;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Counter matchedPosts;
+
+    private volatile KeywordMatcher matcher = KeywordMatcher.empty();
+    private volatile Instant loadedAt = Instant.MIN;
+
+    public TopicMatcherService(
+            TrackedTopicRegistry topicRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.match.refresh:PT1M}") Duration refreshInterval) {
+        this.topicRegistry = topicRegistry;
+        this.refreshInterval = refreshInterval;
+        this.matchedPosts = Counter.builder("bluesky.match.matched")
+                .description("Posts that matched at least one tracked topic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds every tracked topic the post mentions.
+     *
+     * @param text      Post text
+     * @param facetTags Tags from the post's tag facets, or an empty collection
+     * @return Matched topic ids (normalized)
+     */
+    public List<String> matchTopics(String text, Collection<String> facetTags) {
+        List<String> matched = current().match(text, facetTags);
+        if (!matched.isEmpty()) {
+            matchedPosts.increment();
+        }
+        return matched;
+    }
+
+    /**
+     * The current matcher, recompiled first if the refresh interval has passed.
+     */
+    public KeywordMatcher current() {
+        if (loadedAt.plus(refreshInterval).isBefore(Instant.now()) && refreshLock.tryLock()) {
+            try {
+                reload();
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return matcher;
+    }
+
+    private void reload() {
+        try {
+            List<String> topics = topicRegistry.findAll().stream()
+                    .filter(TrackedTopic::isEnabled)
+                    .map(TrackedTopic::getTag)
+                    .toList();
+            matcher = KeywordMatcher.compile(topics);
+            logger.debug("Compiled keyword matcher for {} tracked topics", matcher.size());
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to reload tracked topics, keeping {} compiled topics: {}",
+                    matcher.size(), e.getMessage());
+        }
+        loadedAt = Instant.now();
+    }
+}
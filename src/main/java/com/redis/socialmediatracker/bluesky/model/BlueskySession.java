@@ -0,0 +1,60 @@
+package com.redis.socialmediatracker.bluesky.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Represents an authenticated AT Protocol session.
+ * Immutable once created; a refreshed session is a new instance.
+ */
+public class BlueskySession {
+
+    private final String did;
+    private final String accessJwt;
+    private final String refreshJwt;
+    private final Instant accessExpiresAt;
+
+    public BlueskySession(String did, String accessJwt, String refreshJwt, Instant accessExpiresAt) {
+        this.did = did;
+        this.accessJwt = accessJwt;
+        this.refreshJwt = refreshJwt;
+        this.accessExpiresAt = accessExpiresAt;
+    }
+
+    public String getDid() {
+        return did;
+    }
+
+    public String getAccessJwt() {
+        return accessJwt;
+    }
+
+    public String getRefreshJwt() {
+        return refreshJwt;
+    }
+
+    public Instant getAccessExpiresAt() {
+        return accessExpiresAt;
+    }
+
+    /**
+     * Whether the access token is still usable for at least the given safety margin.
+     */
+    public boolean isAccessValid(Instant now, Duration margin) {
+        return accessJwt != null && !accessJwt.isBlank()
+                && accessExpiresAt != null
+                && now.plus(margin).isBefore(accessExpiresAt);
+    }
+
+    public boolean hasRefreshToken() {
+        return refreshJwt != null && !refreshJwt.isBlank();
+    }
+
+    @Override
+    public String toString() {
+        return "BlueskySession{" +
+                "did='" + did + '\'' +
+                ", accessExpiresAt=" + accessExpiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.redis.socialmediatracker.bluesky.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Posts of one crawl of a time window, with the part of the window they are known to cover.
+ * <p>
+ * Crawls fetch the newest posts first, so a crawl cut short by its budget still holds
+ * every post from {@code coveredSince} up to the end of the window; what is older than
+ * {@code coveredSince} may be missing. A complete crawl covers the whole window.
+ *
+ * @param posts        Fetched posts, newest first
+ * @param coveredSince Start of the covered part of the window; the end of the window if nothing was covered
+ */
+public record CrawledPosts(List<Post> posts, Instant coveredSince) {
+
+    /**
+     * Whether the crawl covered everything from {@code since} on.
+     */
+    public boolean covers(Instant since) {
+        return !coveredSince.isAfter(since);
+    }
+
+    /**
+     * Start of the part of a window a newest-first crawl covered: the oldest fetched post,
+     * or the end of the window if no post was fetched.
+     */
+    public static Instant coveredSince(List<Post> posts, Instant until) {
+        long oldest = until.toEpochMilli();
+        for (Post post : posts) {
+            if (post.hasCreatedAt() && post.getCreatedAtMillis() < oldest) {
+                oldest = post.getCreatedAtMillis();
+            }
+        }
+        return Instant.ofEpochMilli(oldest);
+    }
+}
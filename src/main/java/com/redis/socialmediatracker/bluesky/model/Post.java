@@ -1,36 +1,63 @@
 package com.redis.socialmediatracker.bluesky.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Represents a Bluesky post.
  * Immutable once created, with explicit parsing from raw map data.
+ * <p>
+ * Crawls hold hundreds of thousands of posts at once, so the layout is kept compact:
+ * the creation time is stored as epoch milliseconds rather than an {@link OffsetDateTime}
+ * graph, author handles are interned so each author is held once, and the web URL is
+ * built on first use and then reused.
  */
 public class Post {
 
+    /**
+     * Stored in place of the creation time when the post has none
+     */
+    public static final long NO_CREATED_AT = Long.MIN_VALUE;
+
     private final String uri;
     private final String cid;
     private final String author;
     private final String text;
-    private final OffsetDateTime createdAt;
+    private final long createdAt;
     private final int replyCount;
     private final int repostCount;
     private final int likeCount;
 
+    // Built lazily; racing threads compute the same value
+    private String url;
+
     public Post(String uri, String cid, String author, String text,
                 OffsetDateTime createdAt, int replyCount, int repostCount, int likeCount) {
+        this(uri, cid, author, text,
+                createdAt != null ? createdAt.toInstant().toEpochMilli() : NO_CREATED_AT,
+                replyCount, repostCount, likeCount);
+    }
+
+    /**
+     * @param createdAt Creation time in epoch milliseconds, or {@link #NO_CREATED_AT}
+     */
+    public Post(String uri, String cid, String author, String text,
+                long createdAt, int replyCount, int repostCount, int likeCount) {
         this.uri = uri;
         this.cid = cid;
-        this.author = author;
+        this.author = author != null ? author.intern() : null;
         this.text = text;
         this.createdAt = createdAt;
-        this.replyCount = replyCount;
-        this.repostCount = repostCount;
-        this.likeCount = likeCount;
+        this.replyCount = Math.max(replyCount, 0);
+        this.repostCount = Math.max(repostCount, 0);
+        this.likeCount = Math.max(likeCount, 0);
     }
 
     @SuppressWarnings("unchecked")
@@ -71,10 +98,28 @@ public class Post {
         return text;
     }
 
+    /**
+     * Creation time in UTC, or null if unknown. Allocates on every call;
+     * prefer {@link #getCreatedAtMillis()} for comparisons.
+     */
     public OffsetDateTime getCreatedAt() {
+        return createdAt != NO_CREATED_AT
+                ? OffsetDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneOffset.UTC)
+                : null;
+    }
+
+    /**
+     * Creation time in epoch milliseconds, or {@link #NO_CREATED_AT} if unknown.
+     */
+    @JsonIgnore
+    public long getCreatedAtMillis() {
         return createdAt;
     }
 
+    public boolean hasCreatedAt() {
+        return createdAt != NO_CREATED_AT;
+    }
+
     public int getReplyCount() {
         return replyCount;
     }
@@ -87,34 +132,51 @@ public class Post {
         return likeCount;
     }
 
+    /**
+     * The author's DID, taken from an AT URI such as {@code at://did:plc:abcd1234/app.bsky.feed.post/3k4t...}.
+     *
+     * @return The DID, or null if the URI has no DID authority
+     */
+    public static String didOf(String uri) {
+        if (uri == null || !uri.startsWith("at://did:")) {
+            return null;
+        }
+        int didEnd = uri.indexOf('/', "at://".length());
+        return didEnd < 0 ? uri.substring("at://".length()) : uri.substring("at://".length(), didEnd);
+    }
+
     /**
      * Builds a human-readable Bluesky web URL for this post.
      * Example: https://bsky.app/profile/johndoe.bsky.social/post/3k4tuwz45j72x
      * If author handle is missing, falls back to DID from the URI.
      */
     public String getUrl() {
-        if (uri == null) {
-            return null;
+        String cached = url;
+        if (cached == null && uri != null) {
+            cached = buildUrl();
+            url = cached;
         }
+        return cached;
+    }
 
+    private String buildUrl() {
         // Example URI: at://did:plc:abcd1234/app.bsky.feed.post/3k4tuwz45j72x
-        try {
-            String[] parts = uri.split("/");
-            if (parts.length < 5) return null;
-
-            String did = parts[2]; // did:plc:abcd1234
-            String postId = parts[parts.length - 1];
+        int schemeEnd = uri.indexOf('/', uri.indexOf('/') + 1);
+        int didEnd = schemeEnd < 0 ? -1 : uri.indexOf('/', schemeEnd + 1);
+        int postIdStart = uri.lastIndexOf('/') + 1;
+        if (didEnd < 0 || uri.indexOf('/', didEnd + 1) < 0 || postIdStart >= uri.length()) {
+            return null;
+        }
+        String did = uri.substring(schemeEnd + 1, didEnd); // did:plc:abcd1234
+        String postId = uri.substring(postIdStart);
 
-            // Prefer the human-readable handle if available
-            String profileId = (author != null && !author.isBlank()) ? author : did;
+        // Prefer the human-readable handle if available
+        String profileId = (author != null && !author.isBlank()) ? author : did;
 
-            // Encode the profile ID to handle colons in DIDs
-            String encodedProfile = URLEncoder.encode(profileId, StandardCharsets.UTF_8);
+        // Encode the profile ID to handle colons in DIDs
+        String encodedProfile = URLEncoder.encode(profileId, StandardCharsets.UTF_8);
 
-            return "https://bsky.app/profile/" + encodedProfile + "/post/" + postId;
-        } catch (Exception e) {
-            return null;
-        }
+        return "https://bsky.app/profile/" + encodedProfile + "/post/" + postId;
     }
 
     @Override
@@ -124,11 +186,11 @@ public class Post {
                 ", cid='" + cid + '\'' +
                 ", author='" + author + '\'' +
                 ", text='" + text + '\'' +
-                ", createdAt=" + createdAt +
-                ", replyCount=" + replyCount +
-                ", repostCount=" + repostCount +
-                ", likeCount=" + likeCount +
+                ", createdAt=" + getCreatedAt() +
+                ", replyCount=" + getReplyCount() +
+                ", repostCount=" + getRepostCount() +
+                ", likeCount=" + getLikeCount() +
                 ", url='" + getUrl() + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.redis.socialmediatracker.bluesky.model;
+
+import java.util.List;
+
+/**
+ * One page of app.bsky.feed.searchPosts results.
+ * A null cursor means there are no further pages.
+ */
+public class SearchPage {
+
+    private final List<Post> posts;
+    private final String cursor;
+
+    public SearchPage(List<Post> posts, String cursor) {
+        this.posts = posts;
+        this.cursor = cursor;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean hasMore() {
+        return cursor != null && !cursor.isBlank();
+    }
+}
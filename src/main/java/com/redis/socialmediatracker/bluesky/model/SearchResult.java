@@ -0,0 +1,79 @@
+package com.redis.socialmediatracker.bluesky.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts returned by a budgeted search, plus a marker telling downstream
+ * consumers whether the dataset was capped before the search was exhausted.
+ */
+public class SearchResult {
+
+    public enum TruncationReason {
+        MAX_POSTS,
+        MAX_PAGES,
+        DEADLINE,
+        FETCH_FAILED
+    }
+
+    private final List<Post> posts;
+    private final TruncationReason truncationReason;
+    private final int pagesFetched;
+    private final Map<String, Integer> postsPerTag;
+
+    public SearchResult(List<Post> posts, TruncationReason truncationReason, int pagesFetched) {
+        this(posts, truncationReason, pagesFetched, Map.of());
+    }
+
+    public SearchResult(List<Post> posts, TruncationReason truncationReason, int pagesFetched,
+                        Map<String, Integer> postsPerTag) {
+        this.posts = posts;
+        this.truncationReason = truncationReason;
+        this.pagesFetched = pagesFetched;
+        this.postsPerTag = postsPerTag;
+    }
+
+    /**
+     * Copy of this result with the number of returned posts that mention each searched tag.
+     */
+    public SearchResult withPostsPerTag(Map<String, Integer> postsPerTag) {
+        return new SearchResult(posts, truncationReason, pagesFetched, postsPerTag);
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    /**
+     * True if more matching posts exist than were returned.
+     */
+    public boolean isTruncated() {
+        return truncationReason != null;
+    }
+
+    public TruncationReason getTruncationReason() {
+        return truncationReason;
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    /**
+     * Number of returned posts whose text mentions each searched tag. A post can count for several tags;
+     * a tag with few or no posts here had little data.
+     */
+    public Map<String, Integer> getPostsPerTag() {
+        return postsPerTag;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "posts=" + posts.size() +
+                ", truncated=" + isTruncated() +
+                ", truncationReason=" + truncationReason +
+                ", pagesFetched=" + pagesFetched +
+                '}';
+    }
+}
@@ -0,0 +1,170 @@
+package com.redis.socialmediatracker.bluesky.relevance;
+
+import com.redis.socialmediatracker.bluesky.history.IncrementalCrawlService;
+import com.redis.socialmediatracker.bluesky.ingest.TrackedTopic;
+import com.redis.socialmediatracker.bluesky.ingest.TrackedTopicRegistry;
+import com.redis.socialmediatracker.bluesky.match.KeywordMatcher;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drops off-topic posts in Java before they reach the agent, using the
+ * {@link RelevanceRule} configured on each tracked topic, so irrelevant posts
+ * are not paid for in input tokens.
+ * <p>
+ * A post is held to the rules of the searched tags its text mentions, or of every
+ * searched tag if it mentions none (it was found through a facet or handle), and
+ * kept if one of them accepts it. A tag without a rule accepts the posts that
+ * mention it, without lifting the rules of the other tags. Rules are reloaded from the
+ * {@link TrackedTopicRegistry} at most once per refresh interval, or right away
+ * after {@link #reload()}. Dropped posts are counted per topic and reason as
+ * {@code bluesky.relevance.dropped}.
+ */
+@Service
+public class RelevanceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelevanceFilter.class);
+
+    private final TrackedTopicRegistry topicRegistry;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Counter kept;
+
+    private volatile Map<String, RelevanceRule> rules = Map.of();
+    private volatile Instant loadedAt = Instant.MIN;
+
+    public RelevanceFilter(
+            TrackedTopicRegistry topicRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.relevance.enabled:true}") boolean enabled,
+            @Value("${bluesky.relevance.refresh:PT1M}") Duration refreshInterval) {
+        this.topicRegistry = topicRegistry;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+        this.kept = Counter.builder("bluesky.relevance.kept")
+                .description("Posts that passed the relevance filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Keeps the posts that are relevant to at least one of the searched tags.
+     *
+     * @param tags  Tags or keywords the posts were searched for
+     * @param posts Posts to filter
+     * @return The relevant posts, in their original order
+     */
+    public List<Post> filter(Collection<String> tags, List<Post> posts) {
+        if (!enabled || posts.isEmpty()) {
+            return posts;
+        }
+        Map<String, RelevanceRule> current = currentRules();
+        // Rule of each searched tag, null for tags without one
+        Map<String, RelevanceRule> ruleByTag = new LinkedHashMap<>();
+        for (String tag : tags) {
+            String normalized = IncrementalCrawlService.normalize(tag);
+            RelevanceRule rule = current.get(normalized);
+            ruleByTag.put(normalized, rule != null && rule.isEffective() ? rule : null);
+        }
+        if (ruleByTag.values().stream().allMatch(Objects::isNull)) {
+            return posts;
+        }
+        KeywordMatcher tagMatcher = ruleByTag.size() > 1 ? KeywordMatcher.compile(ruleByTag.keySet()) : null;
+
+        List<Post> relevant = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            Collection<String> matched = tagMatcher != null ? tagMatcher.match(post.getText()) : List.of();
+            if (matched.isEmpty()) {
+                matched = ruleByTag.keySet();
+            }
+            boolean keep = false;
+            RelevanceRule.Verdict verdict = null;
+            RelevanceRule rejectedBy = null;
+            for (String tag : matched) {
+                RelevanceRule rule = ruleByTag.get(tag);
+                if (rule == null) {
+                    keep = true;
+                    break;
+                }
+                verdict = rule.evaluate(post.getText(), List.of());
+                if (verdict == RelevanceRule.Verdict.RELEVANT) {
+                    keep = true;
+                    break;
+                }
+                rejectedBy = rule;
+            }
+            if (keep) {
+                relevant.add(post);
+            } else {
+                dropped(rejectedBy.getTopic(), verdict).increment();
+            }
+        }
+        kept.increment(relevant.size());
+        if (relevant.size() < posts.size()) {
+            logger.info("🧹 Relevance filter dropped {} of {} posts for {}", posts.size() - relevant.size(),
+                    posts.size(), tags);
+        }
+        return relevant;
+    }
+
+    /**
+     * Reloads the rules now, e.g. after a topic's rule was changed.
+     */
+    public void reload() {
+        refreshLock.lock();
+        try {
+            load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Map<String, RelevanceRule> currentRules() {
+        if (loadedAt.plus(refreshInterval).isBefore(Instant.now()) && refreshLock.tryLock()) {
+            try {
+                load();
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return rules;
+    }
+
+    private void load() {
+        try {
+            Map<String, RelevanceRule> compiled = new HashMap<>();
+            for (TrackedTopic topic : topicRegistry.findAll()) {
+                RelevanceRule rule = RelevanceRule.compile(topic.getId(), topic.getContextKeywords(),
+                        topic.getNegativeKeywords(), topic.isRequireContext());
+                if (rule.isEffective()) {
+                    compiled.put(topic.getId(), rule);
+                }
+            }
+            rules = compiled;
+            logger.debug("Compiled relevance rules for {} topics", compiled.size());
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to reload relevance rules, keeping {} rules: {}", rules.size(), e.getMessage());
+        }
+        loadedAt = Instant.now();
+    }
+
+    private Counter dropped(String topic, RelevanceRule.Verdict verdict) {
+        return Counter.builder("bluesky.relevance.dropped")
+                .description("Posts dropped by the relevance filter")
+                .tag("topic", topic)
+                .tag("reason", verdict.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.redis.socialmediatracker.bluesky.relevance;
+
+import com.redis.socialmediatracker.bluesky.match.KeywordMatcher;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compiled relevance rule of one tracked topic.
+ * <p>
+ * Context keywords name the intended sense of an ambiguous topic ("database",
+ * "cache", "valkey" for "redis"); negative keywords name unrelated senses. A post
+ * that mentions a context keyword is relevant, even if it also mentions a negative
+ * one. Otherwise a negative keyword makes it irrelevant, and when the rule requires
+ * context, so does the absence of any context keyword. Keywords match on word
+ * boundaries, case-insensitively, like tracked topics do.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class RelevanceRule {
+
+    public enum Verdict {
+        RELEVANT,
+        NEGATIVE_KEYWORD,
+        NO_CONTEXT
+    }
+
+    private final String topic;
+    private final KeywordMatcher context;
+    private final KeywordMatcher negative;
+    private final boolean requireContext;
+
+    private RelevanceRule(String topic, KeywordMatcher context, KeywordMatcher negative, boolean requireContext) {
+        this.topic = topic;
+        this.context = context;
+        this.negative = negative;
+        this.requireContext = requireContext;
+    }
+
+    public static RelevanceRule compile(String topic, Collection<String> contextKeywords,
+                                        Collection<String> negativeKeywords, boolean requireContext) {
+        return new RelevanceRule(topic,
+                KeywordMatcher.compile(contextKeywords != null ? contextKeywords : List.of()),
+                KeywordMatcher.compile(negativeKeywords != null ? negativeKeywords : List.of()),
+                requireContext);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * True if the rule can drop posts at all.
+     */
+    public boolean isEffective() {
+        return negative.size() > 0 || (requireContext && context.size() > 0);
+    }
+
+    /**
+     * Decides whether a post is about this topic in the intended sense.
+     *
+     * @param text      Post text
+     * @param facetTags Tags from the post's tag facets, or an empty collection
+     */
+    public Verdict evaluate(String text, Collection<String> facetTags) {
+        if (!context.match(text, facetTags).isEmpty()) {
+            return Verdict.RELEVANT;
+        }
+        if (!negative.match(text, facetTags).isEmpty()) {
+            return Verdict.NEGATIVE_KEYWORD;
+        }
+        if (requireContext && context.size() > 0) {
+            return Verdict.NO_CONTEXT;
+        }
+        return Verdict.RELEVANT;
+    }
+}
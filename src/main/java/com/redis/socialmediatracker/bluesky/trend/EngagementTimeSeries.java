@@ -0,0 +1,221 @@
+package com.redis.socialmediatracker.bluesky.trend;
+
+import com.redis.socialmediatracker.bluesky.history.TrackedPost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.timeseries.AggregationType;
+import redis.clients.jedis.timeseries.DuplicatePolicy;
+import redis.clients.jedis.timeseries.TSCreateParams;
+import redis.clients.jedis.timeseries.TSElement;
+import redis.clients.jedis.timeseries.TSRangeParams;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Engagement samples over time in Redis TimeSeries, one series per stored post
+ * and one per tracked topic. A topic series is a running total of the engagement
+ * its stored posts gained between refreshes, so posts ageing out of the refreshed
+ * window or newly stored posts do not show up as engagement lost or won.
+ * <p>
+ * Every series has a raw form with short retention and a downsampled form
+ * ({@code <key>:downsampled}) kept for longer, maintained by Redis through a
+ * compaction rule that keeps the last value of each bucket. Queries read the raw
+ * series when the window fits its retention and the downsampled one otherwise,
+ * and let Redis bucket the samples before velocity is computed from them.
+ * <p>
+ * Both keys of a series expire once no sample was added for as long as the downsampled
+ * samples are kept, so the series of posts that are no longer stored or refreshed
+ * go away with their samples.
+ */
+@Service
+public class EngagementTimeSeries {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementTimeSeries.class);
+
+    private static final String POST_PREFIX = "engagement:post:";
+    private static final String TOPIC_PREFIX = "engagement:topic:";
+    private static final String DOWNSAMPLED_SUFFIX = ":downsampled";
+    private static final int MAX_KNOWN_SERIES = 100_000;
+
+    private final JedisPooled jedis;
+    private final boolean enabled;
+    private final Duration postRetention;
+    private final Duration topicRetention;
+    private final Duration downsampleBucket;
+    private final Duration downsampleRetention;
+
+    // Series known to exist, with when their expiry was last renewed, so they are not created again
+    private final Map<String, Long> knownSeries = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MAX_KNOWN_SERIES;
+                }
+            });
+
+    private final Counter samples;
+    private final Counter failures;
+
+    public EngagementTimeSeries(
+            JedisPooled jedis,
+            MeterRegistry meterRegistry,
+            @Value("${bluesky.trend.enabled:true}") boolean enabled,
+            @Value("${bluesky.trend.post-retention:P3D}") Duration postRetention,
+            @Value("${bluesky.trend.topic-retention:P7D}") Duration topicRetention,
+            @Value("${bluesky.trend.downsample.bucket:PT1H}") Duration downsampleBucket,
+            @Value("${bluesky.trend.downsample.retention:P30D}") Duration downsampleRetention) {
+        this.jedis = jedis;
+        this.enabled = enabled;
+        this.postRetention = postRetention;
+        this.topicRetention = topicRetention;
+        this.downsampleBucket = downsampleBucket;
+        this.downsampleRetention = downsampleRetention;
+        this.samples = Counter.builder("bluesky.trend.samples")
+                .description("Engagement samples written to Redis TimeSeries")
+                .register(meterRegistry);
+        this.failures = Counter.builder("bluesky.trend.failures")
+                .description("Engagement samples that could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the current engagement of each post. Failures are logged, never thrown,
+     * so sampling cannot break the write that triggered it.
+     */
+    public void recordPosts(Collection<TrackedPost> posts, Instant at) {
+        if (!enabled) {
+            return;
+        }
+        for (TrackedPost post : posts) {
+            add(POST_PREFIX + post.getUri(), postRetention, Map.of("kind", "post"),
+                    at.toEpochMilli(), post.getEngagement());
+        }
+    }
+
+    /**
+     * Adds the engagement a topic's stored posts gained since the last refresh to its running total.
+     */
+    public void recordTopicGain(String normalizedTag, long gained, Instant at) {
+        if (!enabled) {
+            return;
+        }
+        String key = TOPIC_PREFIX + normalizedTag;
+        try {
+            ensureSeries(key, topicRetention, Map.of("kind", "topic", "topic", normalizedTag));
+            jedis.tsIncrBy(key, gained, at.toEpochMilli());
+            renew(key, topicRetention);
+            samples.increment();
+        } catch (Exception e) {
+            failures.increment();
+            logger.warn("⚠️ Failed to record engagement sample for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Momentum of a post's engagement over the last {@code window}, sampled every {@code bucket}.
+     */
+    public Momentum postMomentum(String uri, Duration window, Duration bucket) {
+        return momentum(POST_PREFIX + uri, uri, postRetention, window, bucket);
+    }
+
+    /**
+     * Momentum of a topic's engagement over the last {@code window}, sampled every {@code bucket}.
+     */
+    public Momentum topicMomentum(String normalizedTag, Duration window, Duration bucket) {
+        return momentum(TOPIC_PREFIX + normalizedTag, normalizedTag, topicRetention, window, bucket);
+    }
+
+    private Momentum momentum(String key, String id, Duration retention, Duration window, Duration bucket) {
+        if (!enabled) {
+            return Momentum.compute(id, new long[0], new double[0]);
+        }
+        boolean downsampled = window.compareTo(retention) > 0;
+        String readKey = downsampled ? key + DOWNSAMPLED_SUFFIX : key;
+        long bucketMillis = Math.max(1, (downsampled && bucket.compareTo(downsampleBucket) < 0
+                ? downsampleBucket : bucket).toMillis());
+        long to = Instant.now().toEpochMilli();
+        long from = to - window.toMillis();
+
+        List<TSElement> elements;
+        try {
+            elements = jedis.tsRange(readKey, TSRangeParams.rangeParams(from, to)
+                    .aggregation(AggregationType.LAST, bucketMillis));
+        } catch (JedisDataException e) {
+            // No samples recorded yet
+            logger.debug("No engagement series for {}: {}", id, e.getMessage());
+            elements = List.of();
+        }
+
+        long[] timestamps = new long[elements.size()];
+        double[] values = new double[elements.size()];
+        for (int i = 0; i < elements.size(); i++) {
+            timestamps[i] = elements.get(i).getTimestamp();
+            values[i] = elements.get(i).getValue();
+        }
+        return Momentum.compute(id, timestamps, values);
+    }
+
+    private void add(String key, Duration retention, Map<String, String> labels, long timestamp, double value) {
+        try {
+            ensureSeries(key, retention, labels);
+            jedis.tsAdd(key, timestamp, value);
+            renew(key, retention);
+            samples.increment();
+        } catch (Exception e) {
+            failures.increment();
+            logger.warn("⚠️ Failed to record engagement sample for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Pushes back the expiry of both keys of a series after a sample was added.
+     */
+    private void renew(String key, Duration retention) {
+        long seconds = expiry(retention).toSeconds();
+        jedis.expire(key, seconds);
+        jedis.expire(key + DOWNSAMPLED_SUFFIX, seconds);
+        knownSeries.put(key, System.currentTimeMillis());
+    }
+
+    private Duration expiry(Duration retention) {
+        return retention.compareTo(downsampleRetention) > 0 ? retention : downsampleRetention;
+    }
+
+    /**
+     * Creates the raw and downsampled series and the compaction rule between them,
+     * unless they already exist. A series renewed less than half its expiry ago is
+     * known to exist without asking Redis; an older one may have expired meanwhile.
+     */
+    private void ensureSeries(String key, Duration retention, Map<String, String> labels) {
+        Long renewed = knownSeries.get(key);
+        if (renewed != null && renewed + expiry(retention).toMillis() / 2 > System.currentTimeMillis()) {
+            return;
+        }
+        if (!jedis.exists(key)) {
+            try {
+                jedis.tsCreate(key, TSCreateParams.createParams()
+                        .retention(retention.toMillis())
+                        .duplicatePolicy(DuplicatePolicy.LAST)
+                        .labels(labels));
+                Map<String, String> downsampledLabels = new HashMap<>(labels);
+                downsampledLabels.put("resolution", downsampleBucket.toString());
+                jedis.tsCreate(key + DOWNSAMPLED_SUFFIX, TSCreateParams.createParams()
+                        .retention(downsampleRetention.toMillis())
+                        .duplicatePolicy(DuplicatePolicy.LAST)
+                        .labels(downsampledLabels));
+                jedis.tsCreateRule(key, key + DOWNSAMPLED_SUFFIX, AggregationType.LAST, downsampleBucket.toMillis());
+            } catch (JedisDataException e) {
+                // Another writer created it first
+                logger.debug("Engagement series {} already exists: {}", key, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.redis.socialmediatracker.bluesky.trend;
+
+/**
+ * How fast the engagement of a post or topic is growing, derived from its
+ * engagement samples.
+ * <p>
+ * Samples are cumulative engagement (likes + reposts + replies) at the end of
+ * each time bucket. Velocity is the gain per hour between the last two buckets,
+ * acceleration the change in velocity per hour over the last three.
+ */
+public class Momentum {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000d;
+
+    private final String id;
+    private final int samples;
+    private final double engagement;
+    private final double velocity;
+    private final double previousVelocity;
+    private final double acceleration;
+
+    public Momentum(String id, int samples, double engagement, double velocity, double previousVelocity,
+                    double acceleration) {
+        this.id = id;
+        this.samples = samples;
+        this.engagement = engagement;
+        this.velocity = velocity;
+        this.previousVelocity = previousVelocity;
+        this.acceleration = acceleration;
+    }
+
+    /**
+     * Computes momentum from bucketed samples.
+     *
+     * @param id         Post URI or topic
+     * @param timestamps Bucket timestamps (epoch milliseconds), ascending
+     * @param values     Cumulative engagement at each timestamp
+     * @return The momentum; velocity and acceleration are zero when there are too few samples
+     */
+    public static Momentum compute(String id, long[] timestamps, double[] values) {
+        int n = Math.min(timestamps.length, values.length);
+        if (n == 0) {
+            return new Momentum(id, 0, 0, 0, 0, 0);
+        }
+        double velocity = n >= 2 ? rate(timestamps, values, n - 2, n - 1) : 0;
+        double previousVelocity = n >= 3 ? rate(timestamps, values, n - 3, n - 2) : 0;
+        double acceleration = 0;
+        if (n >= 3) {
+            // Velocities apply to the middle of their intervals
+            double hours = (timestamps[n - 1] - timestamps[n - 3]) / 2d / MILLIS_PER_HOUR;
+            acceleration = hours > 0 ? (velocity - previousVelocity) / hours : 0;
+        }
+        return new Momentum(id, n, values[n - 1], velocity, previousVelocity, acceleration);
+    }
+
+    private static double rate(long[] timestamps, double[] values, int from, int to) {
+        double hours = (timestamps[to] - timestamps[from]) / MILLIS_PER_HOUR;
+        return hours > 0 ? (values[to] - values[from]) / hours : 0;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Number of buckets the momentum was computed from.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Latest engagement total.
+     */
+    public double getEngagement() {
+        return engagement;
+    }
+
+    /**
+     * Engagement gained per hour in the latest bucket.
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Engagement gained per hour in the bucket before.
+     */
+    public double getPreviousVelocity() {
+        return previousVelocity;
+    }
+
+    /**
+     * Change in velocity per hour; positive when engagement is speeding up.
+     */
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    /**
+     * True when engagement is growing and growing faster than before.
+     */
+    public boolean isGainingMomentum() {
+        return velocity > 0 && acceleration > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Momentum{" +
+                "id='" + id + '\'' +
+                ", samples=" + samples +
+                ", engagement=" + engagement +
+                ", velocity=" + velocity +
+                ", previousVelocity=" + previousVelocity +
+                ", acceleration=" + acceleration +
+                '}';
+    }
+}
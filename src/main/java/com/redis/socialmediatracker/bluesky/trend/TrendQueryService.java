@@ -0,0 +1,86 @@
+package com.redis.socialmediatracker.bluesky.trend;
+
+import com.redis.socialmediatracker.bluesky.history.IncrementalCrawlService;
+import com.redis.socialmediatracker.bluesky.history.StoredPostQueryService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Answers "what is gaining momentum" from the engagement time series, so trends
+ * are measured rather than guessed from a single snapshot of counts.
+ */
+@Service
+public class TrendQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendQueryService.class);
+
+    private static final Comparator<TrendingPost> BY_MOMENTUM = Comparator
+            .comparing((TrendingPost trending) -> trending.getMomentum().isGainingMomentum())
+            .thenComparingDouble(trending -> trending.getMomentum().getVelocity())
+            .reversed();
+
+    private final EngagementTimeSeries timeSeries;
+    private final StoredPostQueryService storedPostQueryService;
+    private final Duration bucket;
+    private final int maxCandidates;
+
+    public TrendQueryService(
+            EngagementTimeSeries timeSeries,
+            StoredPostQueryService storedPostQueryService,
+            @Value("${bluesky.trend.bucket:PT1H}") Duration bucket,
+            @Value("${bluesky.trend.max-candidates:200}") int maxCandidates) {
+        this.timeSeries = timeSeries;
+        this.storedPostQueryService = storedPostQueryService;
+        this.bucket = bucket;
+        this.maxCandidates = Math.max(1, maxCandidates);
+    }
+
+    /**
+     * Momentum of a topic's total engagement since the given time.
+     */
+    public Momentum topicMomentum(String tag, OffsetDateTime since) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        Objects.requireNonNull(since, "Since date cannot be null");
+        return timeSeries.topicMomentum(IncrementalCrawlService.normalize(tag), windowSince(since), bucket);
+    }
+
+    /**
+     * Finds the stored posts about a tag whose engagement is growing fastest.
+     * Candidates are the most engaging stored posts since the given time; posts
+     * gaining momentum come first, then by velocity.
+     *
+     * @param tag   Tracked tag
+     * @param since Only consider posts created since this time
+     * @param limit Maximum number of posts to return
+     * @return Posts with their momentum, fastest growing first
+     */
+    public List<TrendingPost> findTrendingPosts(String tag, OffsetDateTime since, int limit) {
+        Duration window = windowSince(since);
+        List<Post> candidates = storedPostQueryService.findTopPostsByTag(tag, since, maxCandidates).getPosts();
+
+        List<TrendingPost> trending = candidates.stream()
+                .map(post -> new TrendingPost(post, timeSeries.postMomentum(post.getUri(), window, bucket)))
+                .filter(candidate -> candidate.getMomentum().getSamples() >= 2)
+                .sorted(BY_MOMENTUM)
+                .limit(limit)
+                .toList();
+
+        logger.info("📈 Found {} trending posts for '{}' among {} stored posts", trending.size(), tag, candidates.size());
+        return trending;
+    }
+
+    private Duration windowSince(OffsetDateTime since) {
+        Duration window = Duration.between(since.toInstant(), Instant.now());
+        return window.compareTo(bucket) < 0 ? bucket : window;
+    }
+}
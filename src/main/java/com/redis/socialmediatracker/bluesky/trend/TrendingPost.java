@@ -0,0 +1,25 @@
+package com.redis.socialmediatracker.bluesky.trend;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+
+/**
+ * A stored post together with the momentum of its engagement.
+ */
+public class TrendingPost {
+
+    private final Post post;
+    private final Momentum momentum;
+
+    public TrendingPost(Post post, Momentum momentum) {
+        this.post = post;
+        this.momentum = momentum;
+    }
+
+    public Post getPost() {
+        return post;
+    }
+
+    public Momentum getMomentum() {
+        return momentum;
+    }
+}
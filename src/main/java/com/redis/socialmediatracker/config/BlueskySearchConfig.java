@@ -0,0 +1,35 @@
+package com.redis.socialmediatracker.config;
+
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class BlueskySearchConfig {
+
+    /**
+     * Executor for blocking Bluesky API calls. Each task gets its own virtual thread;
+     * callers bound the actual concurrency themselves.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService blueskySearchExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Default limits for a single search tool call, so a popular tag cannot
+     * pull an unbounded number of posts into memory and into the LLM context.
+     */
+    @Bean
+    public SearchBudget defaultSearchBudget(
+            @Value("${bluesky.search.budget.max-posts:1000}") int maxPosts,
+            @Value("${bluesky.search.budget.max-pages:30}") int maxPages,
+            @Value("${bluesky.search.budget.max-duration:PT60S}") Duration maxDuration) {
+        return new SearchBudget(maxPosts, maxPages, maxDuration);
+    }
+}
@@ -0,0 +1,29 @@
+package com.redis.socialmediatracker.config;
+
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPooled;
+
+@Configuration
+public class RedisTimeSeriesConfig {
+
+    /**
+     * Jedis client for the commands the Redis OM repositories do not expose: Redis
+     * TimeSeries and partial JSON updates. Connects to the same server as {@code spring.data.redis}.
+     */
+    @Bean(destroyMethod = "close")
+    public JedisPooled timeSeriesClient(RedisProperties properties) {
+        DefaultJedisClientConfig.Builder config = DefaultJedisClientConfig.builder()
+                .database(properties.getDatabase());
+        if (properties.getUsername() != null && !properties.getUsername().isBlank()) {
+            config.user(properties.getUsername());
+        }
+        if (properties.getPassword() != null && !properties.getPassword().isBlank()) {
+            config.password(properties.getPassword());
+        }
+        return new JedisPooled(new HostAndPort(properties.getHost(), properties.getPort()), config.build());
+    }
+}
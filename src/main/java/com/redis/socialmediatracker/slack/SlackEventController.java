@@ -1,6 +1,7 @@
 package com.redis.socialmediatracker.slack;
 
 import com.redis.socialmediatracker.agent.AgentOrchestrationService;
+import com.redis.socialmediatracker.agent.pipeline.PipelineExecutor;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,16 +28,19 @@ public class SlackEventController {
     private final SlackService slackService;
     private final SlackSignatureVerifier signatureVerifier;
     private final EventDeduplicationService eventDeduplicationService;
+    private final PipelineExecutor pipelineExecutor;
 
     public SlackEventController(
             AgentOrchestrationService agentOrchestrationService,
             SlackService slackService,
             SlackSignatureVerifier signatureVerifier,
-            EventDeduplicationService eventDeduplicationService) {
+            EventDeduplicationService eventDeduplicationService,
+            PipelineExecutor pipelineExecutor) {
         this.agentOrchestrationService = agentOrchestrationService;
         this.slackService = slackService;
         this.signatureVerifier = signatureVerifier;
         this.eventDeduplicationService = eventDeduplicationService;
+        this.pipelineExecutor = pipelineExecutor;
     }
 
     /**
@@ -140,7 +144,7 @@ public class SlackEventController {
             return;
         }
 
-        agentOrchestrationService.processRequest(teamId, channel, ts, cleanedText);
+        submitPipeline(teamId, channel, ts, cleanedText);
     }
 
     /**
@@ -179,7 +183,7 @@ public class SlackEventController {
             }
 
             // Process the request asynchronously
-            agentOrchestrationService.processRequest(teamId, channel, ts, text);
+            submitPipeline(teamId, channel, ts, text);
             return;
         }
 
@@ -192,7 +196,31 @@ public class SlackEventController {
             }
 
             // Process the thread reply (continue conversation)
-            agentOrchestrationService.processRequest(teamId, channel, threadTs, text);
+            submitPipeline(teamId, channel, threadTs, text);
+        }
+    }
+
+    /**
+     * Queue the agent pipeline for a message, so the event is acknowledged without
+     * waiting for it. Tells the user to retry if too many requests are already queued,
+     * or if the app shuts down before the request was picked up.
+     */
+    private void submitPipeline(String teamId, String channel, String threadTs, String text) {
+        boolean queued = pipelineExecutor.submit(channel + "/" + threadTs,
+                () -> agentOrchestrationService.processRequest(teamId, channel, threadTs, text),
+                () -> slackService.sendMessage(
+                        teamId,
+                        channel,
+                        "🔁 I'm restarting and didn't get to your request. Please send it again in a minute.",
+                        threadTs
+                ));
+        if (!queued) {
+            slackService.sendMessage(
+                    teamId,
+                    channel,
+                    "⏳ I'm busy with other requests right now. Please try again in a few minutes.",
+                    threadTs
+            );
         }
     }
 }
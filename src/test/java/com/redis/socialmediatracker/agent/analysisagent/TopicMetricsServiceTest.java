@@ -0,0 +1,134 @@
+package com.redis.socialmediatracker.agent.analysisagent;
+
+import com.redis.socialmediatracker.agent.collectoragent.CrawlerResult;
+import com.redis.socialmediatracker.agent.collectoragent.FetchedDataResponse;
+import com.redis.socialmediatracker.agent.collectoragent.FetchedPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for computing topic metrics from the posts the analysis agent grouped.
+ */
+class TopicMetricsServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TopicMetricsService service = new TopicMetricsService(meterRegistry, 3, 1.5, 200);
+
+    private final CrawlerResult crawl = CrawlerResult.completed(new FetchedDataResponse(Map.of("tag", "redis"), List.of(
+            post("a", "Redis vector search is fast. Vector search rocks", 10, "happy"),
+            post("b", "Trying vector search with Redis 8", 5, "neutral"),
+            post("c", "The license change again |\nugh", 1, "angry"),
+            post("d", "License drama, switching to valkey", 0, "frustrated")), null, null));
+
+    @Test
+    void testMetricsAreComputedFromTheClusteredPosts() {
+        AnalysisResult result = service.merge(clusters(
+                new TopicClusters.Cluster("Vector search", "Posts about vector search", List.of("p1", "p2")),
+                new TopicClusters.Cluster("Licensing", "Posts about the license", List.of("p3", "p4"))), crawl);
+
+        AnalysisResult.TopicResult vectors = result.getTopics().get(0);
+        assertEquals("Vector search", vectors.getTopic());
+        assertEquals("Posts about vector search", vectors.getDescription());
+        assertEquals(2, vectors.getMetrics().getPostCount());
+        assertEquals(15, vectors.getMetrics().getTotalEngagement());
+        assertEquals(7.5, vectors.getMetrics().getAverageEngagement());
+        assertEquals(Map.of("happy", 1, "angry", 0, "sad", 0, "frustrated", 0, "neutral", 1),
+                vectors.getMetrics().getSentimentBreakdown());
+        assertEquals(List.of("redis", "vector", "search"), vectors.getMetrics().getTopKeywords());
+        assertEquals("at://did:plc:abc/app.bsky.feed.post/a", vectors.getSources().get(0).getPostId());
+
+        AnalysisResult.Metrics licensing = result.getTopics().get(1).getMetrics();
+        assertEquals(1, licensing.getTotalEngagement());
+        assertEquals(0.5, licensing.getAverageEngagement());
+        assertEquals("license", licensing.getTopKeywords().get(0));
+        assertEquals(AnalysisResult.FinishReason.COMPLETED, result.getFinishReason());
+        assertEquals("last 7 days", result.getTimeframe());
+    }
+
+    @Test
+    void testUnknownAndRepeatedIdsAreDropped() {
+        AnalysisResult result = service.merge(clusters(new TopicClusters.Cluster("Redis", "All of it",
+                List.of("p1", "p1", "p9", "at://did:plc:abc/app.bsky.feed.post/b"))), crawl);
+
+        AnalysisResult.Metrics metrics = result.getTopics().get(0).getMetrics();
+        assertEquals(2, metrics.getPostCount());
+        assertEquals(15, metrics.getTotalEngagement());
+        assertEquals(1.0, meterRegistry.get("agent.analysis.sources.unknown").counter().count());
+    }
+
+    @Test
+    void testTopicsWellAboveTheMeanAreTrending() {
+        AnalysisResult result = service.merge(clusters(
+                new TopicClusters.Cluster("Vector search", null, List.of("p1", "p2")),
+                new TopicClusters.Cluster("License", null, List.of("p3")),
+                new TopicClusters.Cluster("Valkey", null, List.of("p4"))), crawl);
+
+        assertTrue(result.getTopics().get(0).isTrending());
+        assertFalse(result.getTopics().get(1).isTrending());
+        assertFalse(result.getTopics().get(2).isTrending());
+    }
+
+    @Test
+    void testTopicsWithoutKnownPostsAreDropped() {
+        AnalysisResult result = service.merge(clusters(
+                new TopicClusters.Cluster("Vector search", null, List.of("p1")),
+                new TopicClusters.Cluster("Redis 8", null, List.of("p2")),
+                new TopicClusters.Cluster("Made up", null, List.of("p9", "p10"))), crawl);
+
+        assertEquals(List.of("Vector search", "Redis 8"),
+                result.getTopics().stream().map(AnalysisResult.TopicResult::getTopic).toList());
+        // With the empty topic in the mean, both would count as trending
+        assertFalse(result.getTopics().get(0).isTrending());
+        assertFalse(result.getTopics().get(1).isTrending());
+    }
+
+    @Test
+    void testParallelAggregationMatchesSequential() {
+        List<FetchedPost> posts = new ArrayList<>();
+        List<String> even = new ArrayList<>();
+        List<String> odd = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            posts.add(post("r" + i, "post number " + i + " about caching " + (i % 7 == 0 ? "latency" : "memory"),
+                    i % 13, i % 2 == 0 ? "happy" : "sad"));
+            (i % 2 == 0 ? even : odd).add("p" + (i + 1));
+        }
+        CrawlerResult large = CrawlerResult.completed(new FetchedDataResponse(Map.of(), posts, null, null));
+        TopicClusters clusters = clusters(new TopicClusters.Cluster("Even", null, even),
+                new TopicClusters.Cluster("Odd", null, odd));
+
+        AnalysisResult sequential = new TopicMetricsService(meterRegistry, 3, 1.5, 10_000).merge(clusters, large);
+        AnalysisResult parallel = new TopicMetricsService(meterRegistry, 3, 1.5, 1).merge(clusters, large);
+
+        assertEquals(sequential.getTopics().toString(), parallel.getTopics().toString());
+        assertEquals(250, (int) parallel.getTopics().get(0).getMetrics().getSentimentBreakdown().get("happy"));
+    }
+
+    @Test
+    void testAgentSeesShortIdsAndOneLinePerPost() {
+        String description = service.describePosts(crawl);
+
+        assertTrue(description.startsWith("searchParameters: {tag=redis}\nposts (id|text):\n"));
+        assertTrue(description.contains("\np3|The license change again / ugh\n"));
+        assertFalse(description.contains("at://"));
+    }
+
+    @Test
+    void testNoClustersMeansNoResult() {
+        assertNull(service.merge(null, crawl));
+    }
+
+    private static TopicClusters clusters(TopicClusters.Cluster... clusters) {
+        return new TopicClusters(AnalysisResult.FinishReason.COMPLETED, "last 7 days", List.of(clusters));
+    }
+
+    private static FetchedPost post(String rkey, String text, int engagement, String sentiment) {
+        return new FetchedPost("Bluesky", "at://did:plc:abc/app.bsky.feed.post/" + rkey,
+                "https://bsky.app/profile/alice/post/" + rkey, text, engagement, sentiment, Map.of());
+    }
+}
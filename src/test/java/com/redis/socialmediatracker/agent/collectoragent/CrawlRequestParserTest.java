@@ -0,0 +1,74 @@
+package com.redis.socialmediatracker.agent.collectoragent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlRequestParserTest {
+
+    // A Wednesday
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2025, 6, 11, 15, 30, 0, 0, ZoneOffset.UTC);
+
+    private final CrawlRequestParser parser = new CrawlRequestParser();
+
+    @Test
+    void testReadsTopicAndRelativeTimeframe() {
+        CrawlRequest request = parser.parse("What are people saying about Redis this week?", NOW);
+
+        assertFalse(request.isAmbiguous());
+        assertEquals(List.of("redis"), request.tags());
+        assertEquals(OffsetDateTime.parse("2025-06-09T00:00Z"), request.since());
+    }
+
+    @Test
+    void testReadsSeveralTopics() {
+        CrawlRequest request = parser.parse("<@U123> give me a report on redis, valkey and redis stack over the past 3 days", NOW);
+
+        assertEquals(List.of("redis", "valkey", "redis stack"), request.tags());
+        assertEquals(OffsetDateTime.parse("2025-06-08T15:30Z"), request.since());
+    }
+
+    @Test
+    void testReadsHashtagsAndQuotedPhrases() {
+        assertEquals(List.of("#redis", "#valkey"), parser.parse("#redis and #valkey, last 24h", NOW).tags());
+        assertEquals(List.of("vector sets"), parser.parse("Posts mentioning \"Vector Sets\" since yesterday", NOW).tags());
+        assertEquals(OffsetDateTime.parse("2025-06-10T00:00Z"),
+                parser.parse("Posts mentioning \"Vector Sets\" since yesterday", NOW).since());
+    }
+
+    @Test
+    void testReadsNamedAndAbsoluteTimeframes() {
+        assertEquals(OffsetDateTime.parse("2025-06-11T00:00Z"), parser.parse("Any news on redis today?", NOW).since());
+        assertEquals(OffsetDateTime.parse("2025-06-04T15:30Z"), parser.parse("posts about redis last week", NOW).since());
+        assertEquals(OffsetDateTime.parse("2025-06-01T00:00Z"), parser.parse("posts about redis this month", NOW).since());
+        assertEquals(OffsetDateTime.parse("2025-05-20T00:00Z"), parser.parse("posts about redis since 2025-05-20", NOW).since());
+    }
+
+    @Test
+    void testReadsTheOneTopicAfterWeakAnchors() {
+        assertEquals(List.of("redis"), parser.parse("a summary of posts on redis this week", NOW).tags());
+        assertEquals(CrawlRequestParser.UNCLEAR_TOPIC,
+                parser.parse("posts on redis for my manager this week", NOW).ambiguity());
+        assertEquals(CrawlRequestParser.UNCLEAR_TOPIC,
+                parser.parse("sentiment on redis for java today", NOW).ambiguity());
+    }
+
+    @Test
+    void testLeavesAmbiguousRequestsToTheAgent() {
+        assertEquals(CrawlRequestParser.NO_TIMEFRAME, parser.parse("What do people think about redis?", NOW).ambiguity());
+        assertEquals(CrawlRequestParser.NO_TOPIC, parser.parse("What happened this week?", NOW).ambiguity());
+        assertEquals(CrawlRequestParser.CONFLICTING_TIMEFRAMES,
+                parser.parse("posts about redis today and last month", NOW).ambiguity());
+        assertEquals(CrawlRequestParser.UNSUPPORTED_REQUEST,
+                parser.parse("Compare redis and valkey this week", NOW).ambiguity());
+        assertEquals(CrawlRequestParser.UNCLEAR_TOPIC,
+                parser.parse("what are people saying about it this week", NOW).ambiguity());
+        assertEquals(CrawlRequestParser.UNCLEAR_TOPIC,
+                parser.parse("tell me about redis and what they think of it, past week", NOW).ambiguity());
+    }
+}
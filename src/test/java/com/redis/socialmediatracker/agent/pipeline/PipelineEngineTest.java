@@ -0,0 +1,219 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import com.redis.socialmediatracker.agent.memory.ConversationState;
+import com.redis.socialmediatracker.agent.memory.ConversationStateManager;
+import com.redis.socialmediatracker.slack.SlackService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for running stages: retries, timeouts, resuming from saved artifacts and side effects.
+ */
+class PipelineEngineTest {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Artifact<String> first = artifact("first");
+    private final Artifact<String> second = artifact("second");
+    private final Map<String, Boolean> flags = new ConcurrentHashMap<>();
+    private final Artifact<Boolean> delivered = new Artifact<>("delivered",
+            s -> flags.get("delivered"), (s, value) -> flags.put("delivered", value), Boolean::booleanValue);
+
+    private final ConversationStateManager conversationStateManager = mock(ConversationStateManager.class);
+    private final ConversationState state = new ConversationState("C1/1.0", "T1", "C1", "1.0");
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final AtomicInteger secondRuns = new AtomicInteger();
+
+    private final PipelineStage downstream = stage("second", Set.of(first), Set.of(second),
+            new StagePolicy(Duration.ofSeconds(1), 1, Duration.ZERO), (context, attempt) -> {
+                secondRuns.incrementAndGet();
+                context.output(second, "done");
+                return StageOutcome.COMPLETED;
+            });
+
+    @Test
+    void testFailedAttemptIsRetried() throws Exception {
+        PipelineStage upstream = stage("first", Set.of(), Set.of(first),
+                new StagePolicy(Duration.ofSeconds(1), 2, Duration.ZERO), (context, attempt) -> {
+                    context.output(first, "attempt " + attempt);
+                    if (attempt == 1) {
+                        throw new IllegalStateException("model unavailable");
+                    }
+                    return StageOutcome.COMPLETED;
+                });
+
+        PipelineResult result = engine(upstream, downstream).run(state, "hi");
+
+        assertEquals(StageOutcome.COMPLETED, result.outcome());
+        assertEquals("attempt 2", values.get("first"));
+        assertEquals("done", values.get("second"));
+    }
+
+    @Test
+    void testTimedOutStageFailsAndSkipsItsDependents() throws Exception {
+        PipelineStage upstream = stage("first", Set.of(), Set.of(first),
+                new StagePolicy(Duration.ofMillis(50), 1, Duration.ZERO), (context, attempt) -> {
+                    context.output(first, "late");
+                    Thread.sleep(5_000);
+                    return StageOutcome.COMPLETED;
+                });
+
+        PipelineResult result = engine(upstream, downstream).run(state, "hi");
+
+        assertEquals(StageOutcome.FAILED, result.outcome());
+        assertEquals("first", result.stage());
+        assertInstanceOf(StageException.class, result.error());
+        assertNull(values.get("first"));
+        assertEquals(0, secondRuns.get());
+        verify(conversationStateManager, never()).updateConversation(any());
+    }
+
+    @Test
+    void testStagesWithCompletedOutputsAreSkipped() throws Exception {
+        values.put("first", "saved before restart");
+        AtomicInteger firstRuns = new AtomicInteger();
+        PipelineStage upstream = stage("first", Set.of(), Set.of(first),
+                new StagePolicy(Duration.ofSeconds(1), 1, Duration.ZERO), (context, attempt) -> {
+                    firstRuns.incrementAndGet();
+                    return StageOutcome.COMPLETED;
+                });
+
+        PipelineResult result = engine(upstream, downstream).run(state, null);
+
+        assertEquals(StageOutcome.COMPLETED, result.outcome());
+        assertEquals(0, firstRuns.get());
+        assertEquals(1, secondRuns.get());
+        assertEquals("saved before restart", values.get("first"));
+    }
+
+    @Test
+    void testWaitingStagePausesThePipeline() throws Exception {
+        PipelineStage upstream = stage("first", Set.of(), Set.of(first),
+                new StagePolicy(Duration.ofSeconds(1), 1, Duration.ZERO), (context, attempt) -> {
+                    context.reply("Which topic?");
+                    return StageOutcome.WAITING;
+                });
+        SlackService slackService = mock(SlackService.class);
+
+        PipelineResult result = new PipelineEngine(List.of(upstream, downstream), conversationStateManager,
+                slackService, new SimpleMeterRegistry()).run(state, "hi");
+
+        assertEquals(new PipelineResult(StageOutcome.WAITING, "first", null), result);
+        assertEquals(0, secondRuns.get());
+        verify(slackService).sendMessage("T1", "C1", "Which topic?", "1.0");
+    }
+
+    @Test
+    void testSideEffectsRunOnceAfterOutputsAreSaved() throws Exception {
+        doAnswer(call -> events.add("saved")).when(conversationStateManager).updateConversation(state);
+        PipelineStage upstream = stage("first", Set.of(), Set.of(first, delivered),
+                new StagePolicy(Duration.ofSeconds(1), 2, Duration.ZERO), (context, attempt) -> {
+                    context.output(first, "report");
+                    context.afterCheckpoint(delivered, () -> events.add("sent " + attempt));
+                    if (attempt == 1) {
+                        throw new IllegalStateException("model unavailable");
+                    }
+                    return StageOutcome.COMPLETED;
+                });
+        PipelineEngine engine = engine(upstream);
+
+        assertEquals(StageOutcome.COMPLETED, engine.run(state, "hi").outcome());
+        assertEquals(List.of("saved", "sent 2", "saved"), events);
+        assertTrue(flags.get("delivered"));
+
+        assertEquals(StageOutcome.COMPLETED, engine.run(state, null).outcome());
+        assertEquals(List.of("saved", "sent 2", "saved"), events);
+    }
+
+    @Test
+    void testUndeliveredSideEffectsAreDeliveredOnResume() throws Exception {
+        AtomicInteger reports = new AtomicInteger();
+        PipelineStage upstream = stage("first", Set.of(), Set.of(first, delivered),
+                new StagePolicy(Duration.ofSeconds(1), 1, Duration.ZERO), (context, attempt) -> {
+                    String saved = context.input(first);
+                    String report = saved != null ? saved : "report " + reports.incrementAndGet();
+                    if (saved == null) {
+                        context.output(first, report);
+                    }
+                    context.afterCheckpoint(delivered, () -> {
+                        if (attempt == 1) {
+                            // The process stops after the report was saved but before it was sent
+                            throw new IllegalStateException("process stopped");
+                        }
+                        events.add("sent " + report);
+                    });
+                    return StageOutcome.COMPLETED;
+                });
+        PipelineEngine engine = engine(upstream);
+
+        assertEquals(StageOutcome.COMPLETED, engine.run(state, "hi").outcome());
+        assertTrue(events.isEmpty());
+        assertNull(flags.get("delivered"));
+
+        assertEquals(StageOutcome.COMPLETED, engine.run(state, null).outcome());
+        assertEquals(List.of("sent report 1"), events);
+        assertEquals(1, reports.get());
+        assertTrue(flags.get("delivered"));
+    }
+
+    private PipelineEngine engine(PipelineStage... stages) {
+        return new PipelineEngine(List.of(stages), conversationStateManager, mock(SlackService.class),
+                new SimpleMeterRegistry());
+    }
+
+    private Artifact<String> artifact(String name) {
+        return new Artifact<>(name, s -> values.get(name), (s, value) -> values.put(name, value));
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        StageOutcome run(StageContext context, int attempt) throws Exception;
+    }
+
+    private static PipelineStage stage(String name, Set<Artifact<?>> inputs, Set<Artifact<?>> outputs,
+                                       StagePolicy policy, Attempt attempt) {
+        AtomicInteger attempts = new AtomicInteger();
+        return new PipelineStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Set<Artifact<?>> inputs() {
+                return inputs;
+            }
+
+            @Override
+            public Set<Artifact<?>> outputs() {
+                return outputs;
+            }
+
+            @Override
+            public StagePolicy policy() {
+                return policy;
+            }
+
+            @Override
+            public StageOutcome run(StageContext context) throws Exception {
+                return attempt.run(context, attempts.incrementAndGet());
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
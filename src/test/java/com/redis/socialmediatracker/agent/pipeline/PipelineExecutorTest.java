@@ -0,0 +1,100 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for queueing pipelines: the worker limit, rejecting when full and dropping on shutdown.
+ */
+class PipelineExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger mostRunning = new AtomicInteger();
+    private final List<String> finished = new CopyOnWriteArrayList<>();
+
+    private PipelineExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testRunsAtMostConcurrencyPipelinesAndRejectsWhenQueueIsFull() throws Exception {
+        executor = new PipelineExecutor(new SimpleMeterRegistry(), 2, 2, Duration.ofSeconds(5));
+
+        assertTrue(executor.submit("a", blocking("a")));
+        assertTrue(executor.submit("b", blocking("b")));
+        awaitActive(2);
+        assertTrue(executor.submit("c", blocking("c")));
+        assertTrue(executor.submit("d", blocking("d")));
+        assertFalse(executor.submit("e", blocking("e")));
+        assertEquals(2, executor.getActiveCount());
+        assertEquals(2, executor.getQueueDepth());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (finished.size() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("a", "b", "c", "d"), finished.stream().sorted().toList());
+        assertEquals(2, mostRunning.get());
+    }
+
+    @Test
+    void testShutdownNotifiesQueuedPipelines() throws Exception {
+        executor = new PipelineExecutor(new SimpleMeterRegistry(), 1, 2, Duration.ofMillis(100));
+        List<String> dropped = new CopyOnWriteArrayList<>();
+
+        assertTrue(executor.submit("a", blocking("a"), () -> dropped.add("a")));
+        awaitActive(1);
+        assertTrue(executor.submit("b", blocking("b"), () -> dropped.add("b")));
+        assertTrue(executor.submit("c", blocking("c")));
+
+        executor.shutdown();
+
+        assertEquals(List.of("b"), dropped);
+        assertTrue(finished.isEmpty());
+        assertFalse(executor.submit("d", blocking("d")));
+    }
+
+    /**
+     * A pipeline that runs until the test releases it or it is interrupted.
+     */
+    private Runnable blocking(String name) {
+        return () -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if (release.await(5, TimeUnit.SECONDS)) {
+                    finished.add(name);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    private void awaitActive(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, executor.getActiveCount());
+    }
+}
@@ -0,0 +1,102 @@
+package com.redis.socialmediatracker.agent.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ordering pipeline stages by the artifacts they exchange.
+ */
+class StageGraphTest {
+
+    @Test
+    void testStagesRunAfterTheStagesTheyDependOn() {
+        PipelineStage crawl = stage("crawl", Set.of(), Set.of(Artifact.CRAWL));
+        PipelineStage analysis = stage("analysis", Set.of(Artifact.CRAWL), Set.of(Artifact.ANALYSIS));
+        PipelineStage insight = stage("insight", Set.of(Artifact.CRAWL, Artifact.ANALYSIS), Set.of(Artifact.INSIGHT));
+        PipelineStage report = stage("report", Set.of(Artifact.INSIGHT), Set.of(Artifact.REPORT));
+
+        StageGraph graph = new StageGraph(List.of(report, insight, crawl, analysis));
+
+        assertEquals(List.of(crawl, analysis, insight, report), graph.order());
+        assertEquals(Set.of(crawl, analysis), Set.copyOf(graph.dependencies(insight)));
+        assertTrue(graph.dependencies(crawl).isEmpty());
+    }
+
+    @Test
+    void testIndependentStagesShareTheirDependency() {
+        PipelineStage crawl = stage("crawl", Set.of(), Set.of(Artifact.CRAWL));
+        PipelineStage analysis = stage("analysis", Set.of(Artifact.CRAWL), Set.of(Artifact.ANALYSIS));
+        PipelineStage insight = stage("insight", Set.of(Artifact.CRAWL), Set.of(Artifact.INSIGHT));
+
+        StageGraph graph = new StageGraph(List.of(analysis, insight, crawl));
+
+        assertEquals(List.of(crawl, analysis, insight), graph.order());
+        assertEquals(List.of(crawl), graph.dependencies(analysis));
+        assertEquals(List.of(crawl), graph.dependencies(insight));
+    }
+
+    @Test
+    void testInputWithoutProducerIsRejected() {
+        PipelineStage analysis = stage("analysis", Set.of(Artifact.CRAWL), Set.of(Artifact.ANALYSIS));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> new StageGraph(List.of(analysis)));
+        assertTrue(e.getMessage().contains("crawl"));
+    }
+
+    @Test
+    void testTwoProducersOfAnArtifactAreRejected() {
+        PipelineStage crawl = stage("crawl", Set.of(), Set.of(Artifact.CRAWL));
+        PipelineStage other = stage("other", Set.of(), Set.of(Artifact.CRAWL));
+
+        assertThrows(IllegalStateException.class, () -> new StageGraph(List.of(crawl, other)));
+    }
+
+    @Test
+    void testCyclesAreRejected() {
+        PipelineStage analysis = stage("analysis", Set.of(Artifact.INSIGHT), Set.of(Artifact.ANALYSIS));
+        PipelineStage insight = stage("insight", Set.of(Artifact.ANALYSIS), Set.of(Artifact.INSIGHT));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new StageGraph(List.of(analysis, insight)));
+        assertTrue(e.getMessage().contains("cycle"));
+    }
+
+    private static PipelineStage stage(String name, Set<Artifact<?>> inputs, Set<Artifact<?>> outputs) {
+        return new PipelineStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Set<Artifact<?>> inputs() {
+                return inputs;
+            }
+
+            @Override
+            public Set<Artifact<?>> outputs() {
+                return outputs;
+            }
+
+            @Override
+            public StagePolicy policy() {
+                return new StagePolicy(Duration.ofSeconds(1), 1, Duration.ZERO);
+            }
+
+            @Override
+            public StageOutcome run(StageContext context) {
+                return StageOutcome.COMPLETED;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.redis.socialmediatracker.agent.sentiment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SentimentScorerTest {
+
+    private final SentimentScorer scorer = new SentimentScorer();
+
+    @Test
+    void testScoresWordsAndEmoji() {
+        assertEquals(Sentiment.HAPPY, scorer.score("I love the new Redis query engine 🚀").sentiment());
+        assertEquals(Sentiment.ANGRY, scorer.score("This license change is a scam 😡").sentiment());
+        assertEquals(Sentiment.SAD, scorer.score("Sad to see this project deprecated 😢").sentiment());
+        assertEquals(Sentiment.FRUSTRATED, scorer.score("Cluster crashed again, so annoying 🤦‍♂️").sentiment());
+    }
+
+    @Test
+    void testNegationFlipsSentiment() {
+        assertEquals(Sentiment.FRUSTRATED, scorer.score("The TLS support isn't good").sentiment());
+        assertEquals(Sentiment.FRUSTRATED, scorer.score("not very good at all").sentiment());
+        assertEquals(Sentiment.HAPPY, scorer.score("Honestly not bad").sentiment());
+        assertEquals(Sentiment.HAPPY, scorer.score("Not sure. Great release though").sentiment());
+    }
+
+    @Test
+    void testEmoticonsCount() {
+        assertEquals(Sentiment.HAPPY, scorer.score("finally upgraded :)").sentiment());
+        assertEquals(Sentiment.SAD, scorer.score("no more free tier :(").sentiment());
+    }
+
+    @Test
+    void testConfidenceGrowsWithEvidenceAndMargin() {
+        double weak = scorer.score("good").confidence();
+        double strong = scorer.score("amazing, love it 🎉").confidence();
+        double mixed = scorer.score("great features but so buggy").confidence();
+
+        assertTrue(strong > weak);
+        assertTrue(weak > mixed);
+        assertTrue(strong >= 0.6);
+    }
+
+    @Test
+    void testTextWithoutSentimentIsNeutral() {
+        SentimentScore shortText = scorer.score("Redis 8.2");
+        SentimentScore longText = scorer.score("Redis 8.2 ships vector sets, new hash field expiration commands and a rewritten query planner");
+
+        // Without lexicon evidence the agent decides, however long the text
+        assertEquals(Sentiment.NEUTRAL, shortText.sentiment());
+        assertEquals(Sentiment.NEUTRAL, longText.sentiment());
+        assertEquals(0.0, shortText.confidence(), 0.0);
+        assertEquals(0.0, longText.confidence(), 0.0);
+        assertEquals(0.0, scorer.score(null).confidence(), 0.0);
+    }
+
+    @Test
+    void testAmbiguousWordsCarryNoSentiment() {
+        assertEquals(0.0, scorer.score("RIP RESP2, the module API is deprecated").confidence(), 0.0);
+        assertEquals(0.0, scorer.score("Working on the sunset of our old cluster, it works").confidence(), 0.0);
+    }
+}
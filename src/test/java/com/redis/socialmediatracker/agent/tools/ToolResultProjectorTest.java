@@ -0,0 +1,135 @@
+package com.redis.socialmediatracker.agent.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.agent.sentiment.SentimentClassifier;
+import com.redis.socialmediatracker.bluesky.dedup.PostCluster;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.trend.Momentum;
+import com.redis.socialmediatracker.bluesky.trend.TrendingPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for projecting posts into compact tool results.
+ */
+class ToolResultProjectorTest {
+
+    private final PostReferenceSetRepository repository = mock(PostReferenceSetRepository.class);
+    private final PostReferences references = new PostReferences(repository, Duration.ofHours(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ToolResultProjector projector = new ToolResultProjector(references,
+            new ObjectMapper().findAndRegisterModules(), meterRegistry, new SentimentClassifier(meterRegistry, 0.6, 200));
+
+    @Test
+    void testRowsHoldOnlyTheProjectedColumns() {
+        Post post = post("a", "alice.bsky.social", "Redis 8 is out |\nvery fast", 10);
+
+        PostTable table = projector.project("conversation", List.of(post), null);
+
+        assertEquals(PostTable.COLUMNS, table.getColumns());
+        assertEquals(List.of("p1|alice.bsky.social|2025-06-01T12:34Z|10|2|1|happy|1|Redis 8 is out / very fast"), table.getRows());
+        assertEquals(1, table.getTotalPosts());
+        assertSame(post, references.resolve("conversation", "p1").orElseThrow());
+    }
+
+    @Test
+    void testSentimentIsLeftToTheAgentWhenUnclear() {
+        PostTable table = projector.project("conversation", List.of(post("a", "a.bsky.social", "redis", 1)), null);
+
+        assertEquals("p1|a.bsky.social|2025-06-01T12:34Z|1|2|1|?|1|redis", table.getRows().get(0));
+    }
+
+    @Test
+    void testClustersShowAndRememberTheirCopies() {
+        Post post = post("a", "a.bsky.social", "redis", 1);
+
+        PostTable table = projector.projectClusters("conversation", List.of(new PostCluster(post, 3)), null);
+
+        assertTrue(table.getRows().get(0).endsWith("|3|redis"));
+        assertEquals(3, references.copies("conversation", "p1"));
+        assertEquals(1, references.copies("conversation", "p2"));
+    }
+
+    @Test
+    void testTopNKeepsTheMostEngagingPosts() {
+        List<Post> posts = List.of(post("a", "a.bsky.social", "low", 1), post("b", "b.bsky.social", "high", 50),
+                post("c", "c.bsky.social", "mid", 20));
+
+        PostTable table = projector.project("conversation", posts, 2);
+
+        assertEquals(3, table.getTotalPosts());
+        assertEquals(2, table.getRows().size());
+        assertTrue(table.getRows().get(0).endsWith("|high"));
+        assertTrue(table.getRows().get(1).endsWith("|mid"));
+    }
+
+    @Test
+    void testIdsAreStablePerConversation() {
+        Post post = post("a", "alice.bsky.social", "hello", 1);
+
+        String first = projector.project("one", List.of(post), null).getRows().get(0);
+        String again = projector.project("one", List.of(post("b", "b.bsky.social", "other", 1), post), null)
+                .getRows().get(1);
+        String elsewhere = projector.project("two", List.of(post), null).getRows().get(0);
+
+        assertTrue(first.startsWith("p1|"));
+        assertTrue(again.startsWith("p1|"));
+        assertTrue(elsewhere.startsWith("p1|"));
+        assertTrue(references.resolve("one", "p2").isPresent());
+        assertTrue(references.resolve("two", "p2").isEmpty());
+    }
+
+    @Test
+    void testIdsResolveAfterRestart() {
+        Map<String, PostReferenceSet> stored = new HashMap<>();
+        when(repository.save(any(PostReferenceSet.class))).thenAnswer(call -> {
+            PostReferenceSet set = call.getArgument(0);
+            stored.put(set.getConversationId(), set);
+            return set;
+        });
+        when(repository.findById(anyString()))
+                .thenAnswer(call -> Optional.ofNullable(stored.get(call.<String>getArgument(0))));
+        projector.projectClusters("conversation", List.of(new PostCluster(post("a", "a.bsky.social", "first", 1), 1),
+                new PostCluster(post("b", "b.bsky.social", "second", 7), 4)), null);
+
+        PostReferences restarted = new PostReferences(repository, Duration.ofHours(1));
+        Post post = restarted.resolve("conversation", "p2").orElseThrow();
+        assertEquals("at://did:plc:abc/app.bsky.feed.post/b", post.getUri());
+        assertEquals("second", post.getText());
+        assertEquals(7, post.getLikeCount());
+        assertEquals(4, restarted.copies("conversation", "p2"));
+        assertTrue(restarted.resolve("other", "p1").isEmpty());
+        assertEquals("p3", restarted.register("conversation", post("c", "c.bsky.social", "third", 1)));
+    }
+
+    @Test
+    void testTrendingPostsCarryTheirMomentum() {
+        List<TrendingPost> trending = List.of(
+                new TrendingPost(post("a", "a.bsky.social", "fast", 1), new Momentum("a", 3, 40, 12.34, 2, 10.5)),
+                new TrendingPost(post("b", "b.bsky.social", "slow", 90), new Momentum("b", 3, 90, 1, 2, -1)));
+
+        PostTable table = projector.projectTrending("conversation", trending);
+
+        assertTrue(table.getRows().get(0).endsWith("|fast"));
+        assertEquals(PostTable.MOMENTUM_COLUMNS, table.getMomentumColumns());
+        assertEquals(List.of("12.3|10.5|true", "1.0|-1.0|false"), table.getMomentum());
+    }
+
+    private static Post post(String rkey, String author, String text, int likes) {
+        return new Post("at://did:plc:abc/app.bsky.feed.post/" + rkey, "bafy" + rkey, author, text,
+                OffsetDateTime.parse("2025-06-01T12:34:56Z"), 1, 2, likes);
+    }
+}
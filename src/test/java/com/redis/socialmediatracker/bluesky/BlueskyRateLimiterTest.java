@@ -0,0 +1,49 @@
+package com.redis.socialmediatracker.bluesky;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared Bluesky token bucket.
+ */
+class BlueskyRateLimiterTest {
+
+    @Test
+    void testTakesTokensWhileQuotaRemains() throws Exception {
+        BlueskyRateLimiter limiter = new BlueskyRateLimiter(new SimpleMeterRegistry(), 2, Duration.ofHours(1));
+
+        assertTrue(limiter.acquire(Instant.now()));
+        assertTrue(limiter.acquire(Instant.now()));
+        assertFalse(limiter.acquire(Instant.now().plusMillis(50)));
+    }
+
+    @Test
+    void testServerQuotaCapsLocalTokens() throws Exception {
+        BlueskyRateLimiter limiter = new BlueskyRateLimiter(new SimpleMeterRegistry(), 3000, Duration.ofMinutes(5));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("RateLimit-Limit", "3000");
+        headers.add("RateLimit-Remaining", "0");
+        headers.add("RateLimit-Reset", String.valueOf(Instant.now().plusSeconds(60).getEpochSecond()));
+        headers.add("RateLimit-Policy", "3000;w=300");
+        limiter.update(headers);
+
+        assertEquals(0, limiter.getRemaining());
+        assertFalse(limiter.acquire(Instant.now().plusMillis(50)));
+    }
+
+    @Test
+    void testPauseBlocksUntilItEnds() throws Exception {
+        BlueskyRateLimiter limiter = new BlueskyRateLimiter(new SimpleMeterRegistry(), 3000, Duration.ofMillis(100));
+        limiter.pauseUntil(Instant.now().plusMillis(100));
+
+        assertFalse(limiter.acquire(Instant.now().plusMillis(10)));
+        assertTrue(limiter.acquire(Instant.now().plusSeconds(5)));
+    }
+}
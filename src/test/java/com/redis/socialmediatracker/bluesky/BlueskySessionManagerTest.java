@@ -0,0 +1,48 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.BlueskySession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for backing off after a failed Bluesky login.
+ */
+class BlueskySessionManagerTest {
+
+    private final AuthenticationService authenticationService = mock(AuthenticationService.class);
+
+    @Test
+    void testFailedLoginIsNotRetriedOnEveryCall() {
+        BlueskySessionManager sessionManager = sessionManager(Duration.ofMinutes(1));
+
+        assertEquals("", sessionManager.getAccessToken());
+        assertEquals("", sessionManager.getAccessToken());
+        assertEquals("", sessionManager.getAccessToken());
+
+        verify(authenticationService, times(1)).createSession();
+    }
+
+    @Test
+    void testLoginIsRetriedOnceTheBackoffPassed() throws Exception {
+        BlueskySessionManager sessionManager = sessionManager(Duration.ofMillis(50));
+        when(authenticationService.createSession()).thenReturn(null, new BlueskySession(
+                "did:plc:abc", "access", "refresh", Instant.now().plus(Duration.ofHours(1))));
+
+        assertEquals("", sessionManager.getAccessToken());
+        Thread.sleep(100);
+
+        assertEquals("access", sessionManager.getAccessToken());
+        verify(authenticationService, times(2)).createSession();
+    }
+
+    private BlueskySessionManager sessionManager(Duration loginBackoff) {
+        return new BlueskySessionManager(authenticationService, new SimpleMeterRegistry(), Duration.ofSeconds(60),
+                loginBackoff, Duration.ofMinutes(5));
+    }
+}
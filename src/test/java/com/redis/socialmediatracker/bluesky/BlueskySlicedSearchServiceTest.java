@@ -0,0 +1,141 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.CrawledPosts;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import com.redis.socialmediatracker.bluesky.model.SearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for splitting slices whose first page is full, merging them newest first and keeping
+ * what a split slice fetched when one of its halves fails.
+ */
+class BlueskySlicedSearchServiceTest {
+
+    private static final OffsetDateTime SINCE = OffsetDateTime.of(2025, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime UNTIL = SINCE.plusHours(8);
+    private static final int LIMIT = 10;
+
+    private final BlueskyService blueskyService = mock(BlueskyService.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Post> archive = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testFullFirstPageIsSplitUntilTheWholeWindowIsCrawled() {
+        archive(48);
+        stubSearch(null);
+
+        CrawledPosts crawled = service(1).crawl("redis", SINCE, UNTIL, LIMIT, tracker());
+
+        assertEquals(newestFirst(archive), crawled.posts());
+        assertTrue(crawled.covers(SINCE.toInstant()));
+        // One cursor loop over 48 posts would take 5 pages; splitting issues more, narrower requests
+        verify(blueskyService, atLeast(3)).fetchPage(eq("redis"), any(), any(), isNull(), eq(LIMIT), any());
+        verify(blueskyService, never()).fetchPage(eq("redis"), eq(SINCE), eq(UNTIL), notNull(), anyInt(), any());
+    }
+
+    @Test
+    void testSlicesAreMergedNewestFirstWithoutDuplicates() {
+        archive(48);
+        stubSearch(null);
+
+        CrawledPosts crawled = service(4).crawl("redis", SINCE, UNTIL, LIMIT, tracker());
+
+        List<Post> posts = crawled.posts();
+        assertEquals(48, posts.size());
+        assertEquals(48, posts.stream().map(Post::getCid).distinct().count());
+        for (int i = 1; i < posts.size(); i++) {
+            assertTrue(posts.get(i - 1).getCreatedAtMillis() > posts.get(i).getCreatedAtMillis());
+        }
+    }
+
+    @Test
+    void testFailedHalfKeepsTheOtherHalfAndMarksTheGap() {
+        archive(48);
+        // The first page holds the 10 newest posts, so the rest is split at the middle of [SINCE, oldest)
+        OffsetDateTime oldest = archive.get(38).getCreatedAt();
+        OffsetDateTime mid = SINCE.plus(Duration.between(SINCE, oldest).dividedBy(2));
+        stubSearch(mid);
+        SearchBudget.Tracker tracker = tracker();
+
+        CrawledPosts crawled = service(1).crawl("redis", SINCE, UNTIL, LIMIT, tracker);
+
+        List<Post> posts = crawled.posts();
+        assertTrue(posts.containsAll(newestFirst(archive.subList(38, 48))));
+        assertTrue(posts.stream().allMatch(post -> !post.getCreatedAt().isBefore(mid)));
+        assertFalse(crawled.covers(SINCE.toInstant()));
+        assertFalse(crawled.coveredSince().isBefore(mid.toInstant()));
+        for (Post post : archive) {
+            if (!post.getCreatedAt().toInstant().isBefore(crawled.coveredSince())) {
+                assertTrue(posts.contains(post), "covered post missing: " + post.getCid());
+            }
+        }
+        assertEquals(SearchResult.TruncationReason.FETCH_FAILED, tracker.getTruncationReason());
+    }
+
+    private BlueskySlicedSearchService service(int initialSlices) {
+        return new BlueskySlicedSearchService(blueskyService, executor, 4, Duration.ofHours(1), initialSlices,
+                Duration.ofMinutes(30));
+    }
+
+    private SearchBudget.Tracker tracker() {
+        return new SearchBudget(10_000, 1_000, Duration.ofMinutes(1)).start();
+    }
+
+    /**
+     * Posts every 10 minutes across the window, oldest first.
+     */
+    private void archive(int count) {
+        for (int i = 0; i < count; i++) {
+            archive.add(new Post("at://did:plc:abc/app.bsky.feed.post/" + i, "cid" + i, "alice.bsky.social",
+                    "post " + i, SINCE.plusMinutes(5 + 10L * i), 0, 0, 0));
+        }
+    }
+
+    /**
+     * Serves the archive like searchPosts does: newest first within [since, until), paged by an
+     * offset cursor. Requests for the slice [SINCE, failingEnd) throw.
+     */
+    private void stubSearch(OffsetDateTime failingEnd) {
+        when(blueskyService.fetchPage(anyString(), any(), any(), any(), anyInt(), any())).thenAnswer(call -> {
+            OffsetDateTime since = call.getArgument(1);
+            OffsetDateTime until = call.getArgument(2);
+            String cursor = call.getArgument(3);
+            int limit = call.getArgument(4);
+            if (failingEnd != null && since.isEqual(SINCE) && until.isEqual(failingEnd)) {
+                throw new IllegalStateException("search unavailable");
+            }
+            List<Post> matching = newestFirst(archive).stream()
+                    .filter(post -> !post.getCreatedAt().isBefore(since) && post.getCreatedAt().isBefore(until))
+                    .toList();
+            int offset = cursor != null ? Integer.parseInt(cursor) : 0;
+            int next = Math.min(offset + limit, matching.size());
+            return new SearchPage(matching.subList(offset, next),
+                    next < matching.size() ? String.valueOf(next) : null);
+        });
+    }
+
+    private static List<Post> newestFirst(List<Post> posts) {
+        List<Post> sorted = new ArrayList<>(posts);
+        sorted.sort((a, b) -> Long.compare(b.getCreatedAtMillis(), a.getCreatedAtMillis()));
+        return sorted;
+    }
+}
@@ -0,0 +1,93 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for paging search results lazily: pages are requested only as the stream is consumed.
+ */
+class PagedPostSpliteratorTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime SINCE = NOW.minusDays(1);
+
+    private final BlueskyService blueskyService = mock(BlueskyService.class);
+    private final SearchBudget.Tracker tracker = new SearchBudget(100, 10, Duration.ofMinutes(1)).start();
+
+    @Test
+    void testPagesAreFetchedOnlyAsTheStreamIsConsumed() {
+        stubPages();
+        Iterator<Post> posts = stream().iterator();
+
+        verifyNoInteractions(blueskyService);
+
+        assertEquals("p0", posts.next().getCid());
+        assertEquals("p1", posts.next().getCid());
+        verify(blueskyService, times(1)).fetchPage(any(), any(), any(), any(), anyInt(), any());
+
+        assertEquals("p2", posts.next().getCid());
+        verify(blueskyService, times(2)).fetchPage(any(), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testShortCircuitingConsumerStopsPaging() {
+        stubPages();
+
+        List<Post> firstThree = stream().limit(3).toList();
+
+        assertEquals(List.of("p0", "p1", "p2"), firstThree.stream().map(Post::getCid).toList());
+        verify(blueskyService).fetchPage(eq("redis"), eq(SINCE), isNull(), isNull(), eq(2), any());
+        verify(blueskyService).fetchPage(eq("redis"), eq(SINCE), isNull(), eq("2"), eq(2), any());
+        verify(blueskyService, never()).fetchPage(any(), any(), any(), eq("4"), anyInt(), any());
+    }
+
+    @Test
+    void testPagingStopsAtPostsOlderThanSince() {
+        when(blueskyService.fetchPage(eq("redis"), any(), any(), isNull(), anyInt(), any())).thenReturn(
+                new SearchPage(List.of(post(0), post("old", SINCE.minusMinutes(1))), "2"));
+
+        List<Post> posts = stream().toList();
+
+        assertEquals(List.of("p0"), posts.stream().map(Post::getCid).toList());
+        verify(blueskyService, times(1)).fetchPage(any(), any(), any(), any(), anyInt(), any());
+    }
+
+    private Stream<Post> stream() {
+        return StreamSupport.stream(new PagedPostSpliterator(blueskyService, "redis", SINCE, null, 2, tracker),
+                false);
+    }
+
+    /**
+     * Three pages of two posts each, newest first.
+     */
+    private void stubPages() {
+        when(blueskyService.fetchPage(eq("redis"), any(), any(), isNull(), anyInt(), any()))
+                .thenReturn(new SearchPage(List.of(post(0), post(1)), "2"));
+        when(blueskyService.fetchPage(eq("redis"), any(), any(), eq("2"), anyInt(), any()))
+                .thenReturn(new SearchPage(List.of(post(2), post(3)), "4"));
+        when(blueskyService.fetchPage(eq("redis"), any(), any(), eq("4"), anyInt(), any()))
+                .thenReturn(new SearchPage(List.of(post(4), post(5)), null));
+    }
+
+    private static Post post(int index) {
+        return post("p" + index, NOW.minusMinutes(index));
+    }
+
+    private static Post post(String cid, OffsetDateTime createdAt) {
+        return new Post("at://did:plc:abc/app.bsky.feed.post/" + cid, cid, "alice.bsky.social", "text",
+                createdAt, 0, 0, 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.redis.socialmediatracker.bluesky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.model.SearchPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming searchPosts decoder.
+ * The decoder must produce the same posts as the Map-based {@link Post#fromMap} path.
+ */
+class SearchPageDecoderTest {
+
+    private static final String PAGE = """
+            {
+              "cursor": "25",
+              "hitsTotal": 1234,
+              "posts": [
+                {
+                  "uri": "at://did:plc:abcd1234/app.bsky.feed.post/3k4tuwz45j72x",
+                  "cid": "bafyreib2rxk3ry",
+                  "author": {"did": "did:plc:abcd1234", "handle": "johndoe.bsky.social", "labels": [{"val": "x"}]},
+                  "record": {
+                    "$type": "app.bsky.feed.post",
+                    "text": "Redis 8 is out \\ud83c\\udf89",
+                    "createdAt": "2025-10-01T12:34:56.789Z",
+                    "facets": [{"index": {"byteStart": 0, "byteEnd": 5}, "features": []}],
+                    "embed": {"$type": "app.bsky.embed.images", "images": [{"alt": "", "image": {"size": 1}}]}
+                  },
+                  "embed": {"$type": "app.bsky.embed.images#view", "images": []},
+                  "replyCount": 3,
+                  "repostCount": 5,
+                  "likeCount": 42,
+                  "quoteCount": 1,
+                  "viewer": {"threadMuted": false},
+                  "labels": []
+                },
+                {
+                  "uri": "at://did:plc:efgh5678/app.bsky.feed.post/3k4tuwz45j73y",
+                  "cid": "bafyreib2rxk3rz",
+                  "author": {"did": "did:plc:efgh5678"},
+                  "record": {"text": "no handle, no counters", "createdAt": "2025-10-01T10:00:00+02:00"}
+                }
+              ]
+            }
+            """;
+
+    private ObjectMapper objectMapper;
+    private SearchPageDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        decoder = new SearchPageDecoder(objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMatchesMapBasedDecoding() throws Exception {
+        byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+
+        SearchPage page = decoder.decode(body);
+        Map<String, Object> raw = objectMapper.readValue(body, Map.class);
+        List<Map<String, Object>> rawPosts = (List<Map<String, Object>>) raw.get("posts");
+
+        assertEquals("25", page.getCursor());
+        assertEquals(rawPosts.size(), page.getPosts().size());
+        for (int i = 0; i < rawPosts.size(); i++) {
+            assertEquals(Post.fromMap(rawPosts.get(i)).toString(), page.getPosts().get(i).toString());
+        }
+    }
+
+    @Test
+    void testReadsPostFields() throws Exception {
+        Post post = decoder.decode(PAGE.getBytes(StandardCharsets.UTF_8)).getPosts().get(0);
+
+        assertEquals("johndoe.bsky.social", post.getAuthor());
+        assertEquals("Redis 8 is out 🎉", post.getText());
+        assertEquals(42, post.getLikeCount());
+        assertEquals(5, post.getRepostCount());
+        assertEquals(3, post.getReplyCount());
+    }
+
+    @Test
+    void testLastPageHasNoCursor() throws Exception {
+        SearchPage page = decoder.decode("{\"posts\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(page.getPosts().isEmpty());
+        assertFalse(page.hasMore());
+    }
+}
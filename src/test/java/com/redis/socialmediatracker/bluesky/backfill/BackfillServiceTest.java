@@ -0,0 +1,145 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import com.redis.socialmediatracker.bluesky.history.TrackedPostWriter;
+import com.redis.socialmediatracker.bluesky.match.KeywordMatcher;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+import static com.redis.socialmediatracker.bluesky.backfill.CarFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for importing CAR files: resuming from checkpoints and confining imports to the import root.
+ */
+class BackfillServiceTest {
+
+    private static final String DID = "did:plc:abc123";
+
+    @TempDir
+    Path root;
+
+    private final Map<String, BackfillCheckpoint> checkpoints = new HashMap<>();
+    private final List<String> written = new ArrayList<>();
+    private int writesBeforeFailure = Integer.MAX_VALUE;
+
+    @Test
+    void testInterruptedImportResumesFromCheckpoint() throws Exception {
+        Path file = Files.write(root.resolve("repo.car"), car("3kaaa", "3kaab", "3kaac"));
+        BackfillService service = service();
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("redis"));
+
+        writesBeforeFailure = 1;
+        assertThrows(IOException.class, () -> service.importFile(file, matcher));
+        BackfillCheckpoint checkpoint = checkpoints.get(file.toAbsolutePath().toString());
+        assertNotNull(checkpoint);
+        assertFalse(checkpoint.isCompleted());
+        assertEquals(1, checkpoint.getPostsImported());
+        long resumeAt = checkpoint.getOffset();
+
+        written.clear();
+        writesBeforeFailure = Integer.MAX_VALUE;
+        BackfillReport report = service.importFile(file, matcher);
+        assertEquals(resumeAt, report.getResumedFromOffset());
+        assertEquals(3, report.getPostsImported());
+        assertEquals(List.of(uri("3kaab"), uri("3kaac")), written);
+        assertTrue(checkpoints.get(file.toAbsolutePath().toString()).isCompleted());
+
+        written.clear();
+        assertNull(service.importFile(file, matcher).getDid());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void testSourcesMustStayInsideTheImportRoot() throws Exception {
+        Path exports = Files.createDirectory(root.resolve("exports"));
+        Path file = Files.write(exports.resolve("repo.car"), car("3kaaa"));
+        Files.write(root.resolve("secret.car"), car("3kaaa"));
+        BackfillService service = service(exports.toString());
+
+        assertEquals(file.toRealPath(), service.resolveSource("repo.car"));
+        assertEquals(exports.toRealPath(), service.resolveSource("."));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveSource("../secret.car"));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveSource(root.resolve("secret.car").toString()));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveSource("missing.car"));
+        assertThrows(IllegalStateException.class, () -> service("").resolveSource("repo.car"));
+    }
+
+    private BackfillService service() {
+        return service(root.toString());
+    }
+
+    private BackfillService service(String importRoot) {
+        BackfillCheckpointRepository repository = mock(BackfillCheckpointRepository.class);
+        when(repository.findById(anyString()))
+                .thenAnswer(call -> Optional.ofNullable(checkpoints.get(call.<String>getArgument(0))));
+        when(repository.save(any(BackfillCheckpoint.class))).thenAnswer(call -> {
+            BackfillCheckpoint checkpoint = call.getArgument(0);
+            checkpoints.put(checkpoint.getPath(), checkpoint);
+            return checkpoint;
+        });
+
+        TrackedPostWriter writer = new TrackedPostWriter(null, null) {
+            @Override
+            public boolean save(List<Post> posts, Function<Post, ? extends Collection<String>> tagsOf) {
+                if (writesBeforeFailure-- <= 0) {
+                    return false;
+                }
+                posts.forEach(post -> written.add(post.getUri()));
+                return true;
+            }
+        };
+        return new BackfillService(writer, null, repository, null, new SimpleMeterRegistry(), 1, 1, importRoot);
+    }
+
+    private static String uri(String rkey) {
+        return "at://" + DID + "/app.bsky.feed.post/" + rkey;
+    }
+
+    /**
+     * A repository with one post mentioning Redis per record key.
+     */
+    private static byte[] car(String... rkeys) {
+        byte[] commitCid = cid(1);
+        byte[] nodeCid = cid(2);
+
+        Map<String, Object> commit = new LinkedHashMap<>();
+        commit.put("did", DID);
+        commit.put("rev", "3kaad");
+        commit.put("data", new Cid(nodeCid));
+        commit.put("version", 3);
+
+        List<Object> entries = new ArrayList<>();
+        for (int i = 0; i < rkeys.length; i++) {
+            entries.add(Map.of("p", 0, "k", bytes("app.bsky.feed.post/" + rkeys[i]), "v", new Cid(cid(10 + i))));
+        }
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("e", entries);
+        node.put("l", null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        section(out, new byte[0], encode(Map.of("roots", List.of(new Cid(commitCid)), "version", 1)));
+        section(out, commitCid, encode(commit));
+        section(out, nodeCid, encode(node));
+        for (int i = 0; i < rkeys.length; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("$type", "app.bsky.feed.post");
+            record.put("text", "Trying Redis 8, post " + i);
+            record.put("createdAt", "2025-01-02T03:04:05.000Z");
+            section(out, cid(10 + i), encode(record));
+        }
+        return out.toByteArray();
+    }
+}
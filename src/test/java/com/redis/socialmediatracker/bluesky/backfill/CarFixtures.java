@@ -0,0 +1,98 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-encodes small CAR files and DAG-CBOR blocks for tests.
+ */
+final class CarFixtures {
+
+    private CarFixtures() {
+    }
+
+    /**
+     * CIDv1, dag-cbor codec, sha2-256 multihash with a fake digest.
+     */
+    static byte[] cid(int seed) {
+        byte[] cid = new byte[36];
+        cid[0] = 0x01;
+        cid[1] = 0x71;
+        cid[2] = 0x12;
+        cid[3] = 0x20;
+        Arrays.fill(cid, 4, 36, (byte) seed);
+        return cid;
+    }
+
+    static void section(ByteArrayOutputStream out, byte[] cid, byte[] data) {
+        varint(out, cid.length + data.length);
+        out.writeBytes(cid);
+        out.writeBytes(data);
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] encode(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(out, value);
+        return out.toByteArray();
+    }
+
+    private static void varint(ByteArrayOutputStream out, long value) {
+        while (value >= 0x80) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void encode(ByteArrayOutputStream out, Object value) {
+        if (value == null) {
+            out.write(0xF6);
+        } else if (value instanceof Integer i) {
+            head(out, 0, i);
+        } else if (value instanceof byte[] b) {
+            head(out, 2, b.length);
+            out.writeBytes(b);
+        } else if (value instanceof String s) {
+            byte[] b = bytes(s);
+            head(out, 3, b.length);
+            out.writeBytes(b);
+        } else if (value instanceof List<?> list) {
+            head(out, 4, list.size());
+            list.forEach(item -> encode(out, item));
+        } else if (value instanceof Map<?, ?> map) {
+            head(out, 5, map.size());
+            map.forEach((k, v) -> {
+                encode(out, k);
+                encode(out, v);
+            });
+        } else if (value instanceof Cid cid) {
+            head(out, 6, 42);
+            byte[] raw = cid.getBytes();
+            head(out, 2, raw.length + 1);
+            out.write(0x00);
+            out.writeBytes(raw);
+        } else {
+            throw new IllegalArgumentException("Unsupported value " + value);
+        }
+    }
+
+    private static void head(ByteArrayOutputStream out, int major, long argument) {
+        if (argument < 24) {
+            out.write(major << 5 | (int) argument);
+        } else if (argument < 256) {
+            out.write(major << 5 | 24);
+            out.write((int) argument);
+        } else {
+            out.write(major << 5 | 25);
+            out.write((int) (argument >> 8));
+            out.write((int) argument);
+        }
+    }
+}
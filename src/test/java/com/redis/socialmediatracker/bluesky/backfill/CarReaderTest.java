@@ -0,0 +1,109 @@
+package com.redis.socialmediatracker.bluesky.backfill;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import static com.redis.socialmediatracker.bluesky.backfill.CarFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reading repository exports, against a small hand-encoded CAR file.
+ */
+class CarReaderTest {
+
+    private static final String DID = "did:plc:abc123";
+
+    private final byte[] commitCid = cid(1);
+    private final byte[] nodeCid = cid(2);
+    private final byte[] postCid = cid(3);
+    private final byte[] likeCid = cid(4);
+
+    @Test
+    void testReadsBlocksAndRepositoryRecords() throws Exception {
+        List<CarReader.Block> blocks = readAll(car());
+        assertEquals(4, blocks.size());
+
+        assertEquals(DID, RepoRecords.commitDid(DagCborDecoder.decode(blocks.get(0).data())));
+
+        Map<String, Cid> entries = new LinkedHashMap<>();
+        RepoRecords.forEachMstEntry(DagCborDecoder.decode(blocks.get(1).data()), entries::put);
+        assertEquals(List.of("app.bsky.feed.like/3kaaa", "app.bsky.feed.post/3kaab"), List.copyOf(entries.keySet()));
+        assertEquals(new Cid(postCid), entries.get("app.bsky.feed.post/3kaab"));
+
+        Map<String, Object> record = RepoRecords.asPostRecord(DagCborDecoder.decode(blocks.get(2).data()));
+        assertNotNull(record);
+        assertEquals(List.of("redis"), RepoRecords.facetTags(record));
+        Post post = RepoRecords.toPost(DID, "3kaab", blocks.get(2).cid(), record);
+        assertEquals("at://did:plc:abc123/app.bsky.feed.post/3kaab", post.getUri());
+        assertEquals("Trying Redis 8 today", post.getText());
+        assertNotNull(post.getCreatedAt());
+        assertTrue(post.getCid().startsWith("b"));
+
+        assertNull(RepoRecords.asPostRecord(DagCborDecoder.decode(blocks.get(3).data())));
+    }
+
+    @Test
+    void testResumesFromBlockOffset() throws Exception {
+        byte[] car = car();
+        List<CarReader.Block> all = readAll(car);
+
+        try (CarReader reader = new CarReader(new ByteArrayInputStream(car))) {
+            reader.readHeader();
+            reader.skipTo(all.get(1).endOffset());
+            CarReader.Block next = reader.next();
+            assertEquals(all.get(2).cid(), next.cid());
+            assertEquals(all.get(2).endOffset(), next.endOffset());
+        }
+    }
+
+    private List<CarReader.Block> readAll(byte[] car) throws Exception {
+        List<CarReader.Block> blocks = new ArrayList<>();
+        try (CarReader reader = new CarReader(new ByteArrayInputStream(car))) {
+            reader.readHeader();
+            CarReader.Block block;
+            while ((block = reader.next()) != null) {
+                blocks.add(block);
+            }
+        }
+        return blocks;
+    }
+
+    private byte[] car() {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("roots", List.of(new Cid(commitCid)));
+        header.put("version", 1);
+
+        Map<String, Object> commit = new LinkedHashMap<>();
+        commit.put("did", DID);
+        commit.put("rev", "3kaac");
+        commit.put("data", new Cid(nodeCid));
+        commit.put("version", 3);
+
+        Map<String, Object> like = Map.of("p", 0, "k", bytes("app.bsky.feed.like/3kaaa"), "v", new Cid(likeCid));
+        Map<String, Object> post = Map.of("p", 14, "k", bytes("post/3kaab"), "v", new Cid(postCid));
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("e", List.of(like, post));
+        node.put("l", null);
+
+        Map<String, Object> feature = Map.of("$type", "app.bsky.richtext.facet#tag", "tag", "redis");
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("$type", "app.bsky.feed.post");
+        record.put("text", "Trying Redis 8 today");
+        record.put("createdAt", "2025-01-02T03:04:05.000Z");
+        record.put("facets", List.of(Map.of("features", List.of(feature))));
+
+        Map<String, Object> likeRecord = Map.of("$type", "app.bsky.feed.like", "createdAt", "2025-01-02T03:04:05.000Z");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        section(out, new byte[0], encode(header));
+        section(out, commitCid, encode(commit));
+        section(out, nodeCid, encode(node));
+        section(out, postCid, encode(record));
+        section(out, likeCid, encode(likeRecord));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,123 @@
+package com.redis.socialmediatracker.bluesky.cache;
+
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.history.IncrementalCrawlService;
+import com.redis.socialmediatracker.bluesky.model.CrawledPosts;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for serving searches from the cache: hits, misses, extending an entry back and
+ * refreshing the tail of a stale one.
+ */
+class BlueskySearchCacheTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    // A bucket well in the past, queried 40 minutes after it starts
+    private final long bucketStart = (Instant.now().toEpochMilli() - 2 * HOUR) / HOUR * HOUR;
+    private final Instant since = Instant.ofEpochMilli(bucketStart).plus(Duration.ofMinutes(40));
+    private final String key = "redis:" + bucketStart;
+
+    private final IncrementalCrawlService crawlService = mock(IncrementalCrawlService.class);
+    private final SearchCacheEntryRepository repository = mock(SearchCacheEntryRepository.class);
+    private final SearchBudget.Tracker tracker = new SearchBudget(100, 10, Duration.ofMinutes(1)).start();
+    private final BlueskySearchCache cache = new BlueskySearchCache(crawlService, repository,
+            new SimpleMeterRegistry(), true, Duration.ofHours(1), Duration.ofMinutes(1), Duration.ofMinutes(2));
+
+    @Test
+    void testMissCrawlsFromSinceAndCachesTheCoveredRange() {
+        when(repository.findById(key)).thenReturn(Optional.empty());
+        List<Post> crawled = List.of(post("new", since.plus(Duration.ofMinutes(5))));
+        when(crawlService.crawl("Redis", at(since), 25, tracker)).thenReturn(new CrawledPosts(crawled, since));
+
+        List<Post> posts = cache.searchPosts("Redis", at(since), 25, tracker);
+
+        assertEquals(List.of("new"), cids(posts));
+        verify(crawlService, never()).crawl(eq("Redis"), eq(at(Instant.ofEpochMilli(bucketStart))), eq(25), any());
+        ArgumentCaptor<SearchCacheEntry> stored = ArgumentCaptor.forClass(SearchCacheEntry.class);
+        verify(repository).save(stored.capture());
+        assertEquals(key, stored.getValue().getId());
+        assertEquals(bucketStart, stored.getValue().getBucketStart());
+        assertEquals(since.toEpochMilli(), stored.getValue().getCoveredSince());
+    }
+
+    @Test
+    void testFreshCoveredEntryIsServedWithoutCrawling() {
+        SearchCacheEntry entry = entry(Instant.now(), since,
+                post("new", since.plus(Duration.ofMinutes(10))), post("old", since.plus(Duration.ofMinutes(1))));
+        when(repository.findById(key)).thenReturn(Optional.of(entry));
+
+        List<Post> posts = cache.searchPosts("redis", at(since.plus(Duration.ofMinutes(5))), 25, tracker);
+
+        assertEquals(List.of("new"), cids(posts));
+        verifyNoInteractions(crawlService);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testEarlierSinceExtendsTheEntryBackOnly() {
+        SearchCacheEntry entry = entry(Instant.now(), since, post("cached", since.plus(Duration.ofMinutes(1))));
+        when(repository.findById(key)).thenReturn(Optional.of(entry));
+        Instant earlier = since.minus(Duration.ofMinutes(30));
+        when(crawlService.crawlRange("redis", at(earlier), at(since), 25, tracker)).thenReturn(
+                new CrawledPosts(List.of(post("older", earlier.plus(Duration.ofMinutes(1)))), earlier));
+
+        List<Post> posts = cache.searchPosts("redis", at(earlier), 25, tracker);
+
+        assertEquals(List.of("cached", "older"), cids(posts));
+        verify(crawlService, never()).crawl(any(), any(), anyInt(), any());
+        verify(repository).save(entry);
+        assertEquals(earlier.toEpochMilli(), entry.getCoveredSince());
+        assertEquals(2, entry.getPosts().size());
+    }
+
+    @Test
+    void testStaleEntryFetchesOnlyTheTail() {
+        Instant fetchedUntil = Instant.now().minus(Duration.ofMinutes(5));
+        SearchCacheEntry entry = entry(fetchedUntil, since, post("cached", since.plus(Duration.ofMinutes(1))));
+        when(repository.findById(key)).thenReturn(Optional.of(entry));
+        OffsetDateTime tailSince = at(fetchedUntil.minus(Duration.ofMinutes(2)));
+        when(crawlService.crawl("redis", tailSince, 25, tracker)).thenReturn(
+                new CrawledPosts(List.of(post("tail", fetchedUntil.plusSeconds(30))), tailSince.toInstant()));
+
+        List<Post> posts = cache.searchPosts("redis", at(since), 25, tracker);
+
+        assertEquals(List.of("tail", "cached"), cids(posts));
+        verify(crawlService, never()).crawlRange(any(), any(), any(), anyInt(), any());
+        verify(repository).save(entry);
+        assertTrue(entry.getFetchedUntil() > fetchedUntil.toEpochMilli());
+        assertEquals(since.toEpochMilli(), entry.getCoveredSince());
+    }
+
+    private SearchCacheEntry entry(Instant fetchedUntil, Instant coveredSince, Post... posts) {
+        return new SearchCacheEntry(key, "redis", bucketStart, fetchedUntil.toEpochMilli(),
+                coveredSince.toEpochMilli(), List.of(posts).stream().map(CachedPost::from).toList());
+    }
+
+    private static Post post(String cid, Instant createdAt) {
+        return new Post("at://did:plc:abc/app.bsky.feed.post/" + cid, cid, "alice.bsky.social", "text",
+                createdAt.toEpochMilli(), 0, 0, 0);
+    }
+
+    private static OffsetDateTime at(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static List<String> cids(List<Post> posts) {
+        return posts.stream().map(Post::getCid).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.redis.socialmediatracker.bluesky.dedup;
+
+import com.redis.socialmediatracker.bluesky.model.Post;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateDetectorTest {
+
+    private static final String ANNOUNCEMENT = "Redis 8.2 is out with vector sets, faster hash field expiration, "
+            + "a rewritten query planner and lower memory use for JSON documents. Release notes below";
+
+    private final NearDuplicateDetector detector = new NearDuplicateDetector(0.8);
+
+    @Test
+    void testCrossPostsCollapseIntoTheMostEngagingPost() {
+        Post original = post("a", ANNOUNCEMENT + " https://redis.io/blog/8-2", 5);
+        Post crossPost = post("b", "@redis.io " + ANNOUNCEMENT.toUpperCase() + " https://bit.ly/x1", 40);
+        Post botRepost = post("c", ANNOUNCEMENT + "!!", 0);
+        Post other = post("d", "Migrating our session store from memcached to valkey this weekend, wish us luck", 3);
+
+        List<PostCluster> clusters = detector.collapse(List.of(original, other, crossPost, botRepost));
+
+        assertEquals(2, clusters.size());
+        assertSame(crossPost, clusters.get(0).representative());
+        assertEquals(3, clusters.get(0).size());
+        assertSame(other, clusters.get(1).representative());
+        assertEquals(1, clusters.get(1).size());
+    }
+
+    @Test
+    void testOneChangedWordIsANearDuplicate() {
+        Post original = post("a", ANNOUNCEMENT, 1);
+        Post edited = post("b", ANNOUNCEMENT.replace("rewritten", "new"), 2);
+
+        assertTrue(MinHash.similarity(MinHash.signature(MinHash.words(original.getText())),
+                MinHash.signature(MinHash.words(edited.getText()))) >= 0.8);
+        assertEquals(1, detector.collapse(List.of(original, edited)).size());
+    }
+
+    @Test
+    void testDistinctPostsAreKeptInOrder() {
+        List<Post> posts = new ArrayList<>();
+        posts.add(post("a", "Redis streams make our event pipeline so much simpler", 1));
+        posts.add(post("b", "Benchmarking valkey against dragonfly on a 64 core box", 1));
+        posts.add(post("c", "Our p99 latency dropped after moving sessions into the cache", 1));
+        posts.add(post("d", "", 1));
+        posts.add(post("e", "https://example.com", 1));
+
+        List<PostCluster> clusters = detector.collapse(posts);
+
+        assertEquals(5, clusters.size());
+        for (int i = 0; i < posts.size(); i++) {
+            assertSame(posts.get(i), clusters.get(i).representative());
+            assertEquals(1, clusters.get(i).size());
+        }
+    }
+
+    @Test
+    void testExactDuplicatesCollapseAtFullSimilarity() {
+        NearDuplicateDetector exact = new NearDuplicateDetector(1);
+
+        List<PostCluster> clusters = exact.collapse(List.of(post("a", "Same text", 1), post("b", "same text.", 2),
+                post("c", "Different text", 3)));
+
+        assertEquals(2, clusters.size());
+        assertEquals(2, clusters.get(0).size());
+    }
+
+    private static Post post(String rkey, String text, int likes) {
+        return new Post("at://did:plc:abc/app.bsky.feed.post/" + rkey, "bafy" + rkey, "alice.bsky.social", text,
+                Post.NO_CREATED_AT, 0, 0, likes);
+    }
+}
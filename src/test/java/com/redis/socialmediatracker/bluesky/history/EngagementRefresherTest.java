@@ -0,0 +1,149 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.BlueskyService;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import com.redis.socialmediatracker.bluesky.trend.EngagementTimeSeries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.json.Path2;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for refreshing stored engagement counts in batches, field by field.
+ */
+class EngagementRefresherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final BlueskyService blueskyService = mock(BlueskyService.class);
+    private final TrackedPostRepository repository = mock(TrackedPostRepository.class);
+    private final JedisPooled jedis = mock(JedisPooled.class);
+    private final Pipeline pipeline = mock(Pipeline.class);
+
+    // JSON.SET commands sent, as key -> path -> value
+    private final Map<String, Map<String, Object>> sets = new ConcurrentHashMap<>();
+    private final Set<String> missingKeys = ConcurrentHashMap.newKeySet();
+
+    private final EngagementTimeSeries timeSeries = mock(EngagementTimeSeries.class);
+    private final EngagementRefresher refresher = new EngagementRefresher(blueskyService, repository, jedis,
+            timeSeries, executor, new SimpleMeterRegistry(), 2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRefreshesDistinctUrisInBatches() {
+        stubBluesky();
+        stubPipeline();
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            uris.add(uri(i));
+        }
+        uris.add(uri(0));
+
+        assertEquals(60, refresher.refresh(uris, null));
+
+        ArgumentCaptor<List<String>> batches = ArgumentCaptor.forClass(List.class);
+        verify(blueskyService, times(3)).getPosts(batches.capture(), isNull());
+        assertEquals(List.of(25, 25, 10), batches.getAllValues().stream()
+                .map(List::size)
+                .sorted(Comparator.reverseOrder())
+                .toList());
+        assertEquals(60, sets.size());
+    }
+
+    @Test
+    void testOnlyCountFieldsAreWritten() {
+        stubBluesky();
+        stubPipeline();
+        missingKeys.add(TrackedPost.key(uri(2)));
+
+        assertEquals(2, refresher.refresh(List.of(uri(0), uri(1), uri(2)), null));
+
+        Map<String, Object> fields = sets.get(TrackedPost.key(uri(1)));
+        assertEquals(Map.of("$.replyCount", 1, "$.repostCount", 2, "$.likeCount", 10,
+                "$.engagement", 13, "$.handle", "alice.bsky.social"), fields);
+        assertFalse(sets.get(TrackedPost.key(uri(0))).containsKey("$.handle"));
+        verify(repository, never()).saveAll(any());
+        verify(repository, never()).save(any());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void testTopicRecordsEngagementGainedByItsPosts() {
+        stubBluesky();
+        stubPipeline();
+        when(repository.findByTagsAndCreatedAtGreaterThanEqual(eq(Set.of("redis")), anyLong()))
+                .thenReturn(List.of(stored(1, 3), stored(2, 30), stored(3, 20)));
+        missingKeys.add(TrackedPost.key(uri(3)));
+
+        assertEquals(2, refresher.refreshTag("Redis", OffsetDateTime.now().minusDays(2), null));
+
+        // Post 1 went from 3 to 13, post 2 from 30 to 23; post 3 is no longer stored
+        verify(timeSeries).recordTopicGain(eq("redis"), eq(3L), any());
+    }
+
+    private static TrackedPost stored(int i, int engagement) {
+        TrackedPost tracked = new TrackedPost();
+        tracked.setUri(uri(i));
+        tracked.setEngagement(engagement);
+        return tracked;
+    }
+
+    private static String uri(int i) {
+        return "at://did:plc:abcd1234/app.bsky.feed.post/" + i;
+    }
+
+    /**
+     * Returns every requested post with {@code 10 * i} likes; post 0 is reported by DID only.
+     */
+    private void stubBluesky() {
+        when(blueskyService.getPosts(anyList(), any())).thenAnswer(call -> {
+            List<Post> posts = new ArrayList<>();
+            for (String uri : call.<List<String>>getArgument(0)) {
+                int i = Integer.parseInt(uri.substring(uri.lastIndexOf('/') + 1));
+                String author = i == 0 ? "did:plc:abcd1234" : "alice.bsky.social";
+                posts.add(new Post(uri, "cid", author, "hi", (OffsetDateTime) null, 1, 2, 10 * i));
+            }
+            return posts;
+        });
+    }
+
+    private void stubPipeline() {
+        when(jedis.pipelined()).thenReturn(pipeline);
+        when(pipeline.jsonSet(anyString(), any(Path2.class), any(Object.class)))
+                .thenAnswer(call -> set(call.getArgument(0), call.getArgument(1), call.getArgument(2)));
+        when(pipeline.jsonSetWithEscape(anyString(), any(Path2.class), any(Object.class)))
+                .thenAnswer(call -> set(call.getArgument(0), call.getArgument(1), call.getArgument(2)));
+    }
+
+    private Response<String> set(String key, Path2 path, Object value) {
+        Response<String> response = new Response<>(BuilderFactory.STRING);
+        if (missingKeys.contains(key)) {
+            response.set(new JedisDataException("ERR new objects must be created at the root"));
+        } else {
+            sets.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(path.toString(), value);
+            response.set("OK".getBytes(StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,181 @@
+package com.redis.socialmediatracker.bluesky.history;
+
+import com.redis.socialmediatracker.bluesky.BlueskySlicedSearchService;
+import com.redis.socialmediatracker.bluesky.SearchBudget;
+import com.redis.socialmediatracker.bluesky.model.CrawledPosts;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for crawling against a checkpoint: the first crawl, deltas, backfills and reads
+ * served from the stored history.
+ */
+class IncrementalCrawlServiceTest {
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private final Instant since = now.minus(Duration.ofHours(1));
+
+    private final BlueskySlicedSearchService slicedSearchService = mock(BlueskySlicedSearchService.class);
+    private final CrawlCheckpointRepository checkpointRepository = mock(CrawlCheckpointRepository.class);
+    private final TrackedPostRepository postRepository = mock(TrackedPostRepository.class);
+    private final TrackedPostWriter postWriter = mock(TrackedPostWriter.class);
+    private final SearchBudget.Tracker tracker = new SearchBudget(100, 10, Duration.ofMinutes(1)).start();
+    private final IncrementalCrawlService service = new IncrementalCrawlService(slicedSearchService,
+            checkpointRepository, postRepository, postWriter, new SimpleMeterRegistry(), true,
+            Duration.ofMinutes(5), Duration.ofMinutes(5));
+
+    @Test
+    void testFirstCrawlWithoutCheckpointCrawlsTheWindowAndCreatesIt() {
+        when(checkpointRepository.findById("redis")).thenReturn(Optional.empty());
+        List<Post> crawled = List.of(post("new", since.plus(Duration.ofMinutes(50))),
+                post("old", since.plus(Duration.ofMinutes(10))));
+        when(slicedSearchService.crawl("Redis", at(since), null, 25, tracker))
+                .thenReturn(new CrawledPosts(crawled, since));
+
+        CrawledPosts posts = service.crawl("Redis", at(since), 25, tracker);
+
+        assertEquals(crawled, posts.posts());
+        verify(postWriter).save(crawled, Set.of("redis"));
+        CrawlCheckpoint checkpoint = savedCheckpoint();
+        assertEquals(since.toEpochMilli(), checkpoint.getCoveredSince());
+        assertEquals(since.plus(Duration.ofMinutes(50)).toEpochMilli(), checkpoint.getNewestCreatedAt());
+        assertEquals("new", checkpoint.getNewestCid());
+    }
+
+    @Test
+    void testDeltaStartsOverlapBeforeTheCheckpointAndMergesTheHistory() {
+        Instant newest = since.plus(Duration.ofMinutes(40));
+        CrawlCheckpoint checkpoint = checkpoint(since.minus(Duration.ofHours(1)), newest,
+                now.minus(Duration.ofMinutes(10)));
+        when(checkpointRepository.findById("redis")).thenReturn(Optional.of(checkpoint));
+        OffsetDateTime deltaSince = at(newest.minus(Duration.ofMinutes(5)));
+        when(slicedSearchService.crawl("redis", deltaSince, null, 25, tracker)).thenReturn(
+                new CrawledPosts(List.of(post("new", since.plus(Duration.ofMinutes(55)))), deltaSince.toInstant()));
+        stored(post("stored", newest));
+
+        CrawledPosts posts = service.crawl("redis", at(since), 25, tracker);
+
+        assertEquals(List.of("new", "stored"), cids(posts.posts()));
+        assertTrue(posts.covers(since));
+        assertEquals(since.plus(Duration.ofMinutes(55)).toEpochMilli(), savedCheckpoint().getNewestCreatedAt());
+    }
+
+    @Test
+    void testCutShortDeltaDoesNotAdvanceTheCheckpoint() {
+        Instant newest = since.plus(Duration.ofMinutes(10));
+        CrawlCheckpoint checkpoint = checkpoint(since.minus(Duration.ofHours(1)), newest,
+                now.minus(Duration.ofMinutes(10)));
+        when(checkpointRepository.findById("redis")).thenReturn(Optional.of(checkpoint));
+        // The delta only reached back to its oldest post, leaving a gap after the checkpoint
+        Instant oldestFetched = since.plus(Duration.ofMinutes(45));
+        when(slicedSearchService.crawl("redis", at(newest.minus(Duration.ofMinutes(5))), null, 25, tracker))
+                .thenReturn(new CrawledPosts(List.of(post("new", oldestFetched)), oldestFetched));
+        stored(post("stored", newest));
+
+        CrawledPosts posts = service.crawl("redis", at(since), 25, tracker);
+
+        assertEquals(List.of("new", "stored"), cids(posts.posts()));
+        assertEquals(oldestFetched, posts.coveredSince());
+        assertEquals(newest.toEpochMilli(), checkpoint.getNewestCreatedAt());
+        verify(checkpointRepository, never()).save(any());
+        verify(slicedSearchService, times(1)).crawl(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testBackfillExtendsTheStoredHistoryBack() {
+        Instant storedSince = since.plus(Duration.ofMinutes(30));
+        Instant newest = since.plus(Duration.ofMinutes(40));
+        CrawlCheckpoint checkpoint = checkpoint(storedSince, newest, now.minus(Duration.ofMinutes(10)));
+        when(checkpointRepository.findById("redis")).thenReturn(Optional.of(checkpoint));
+        OffsetDateTime deltaSince = at(newest.minus(Duration.ofMinutes(5)));
+        when(slicedSearchService.crawl("redis", deltaSince, null, 25, tracker)).thenReturn(
+                new CrawledPosts(List.of(post("new", since.plus(Duration.ofMinutes(50)))), deltaSince.toInstant()));
+        when(slicedSearchService.crawl("redis", at(since), at(storedSince), 25, tracker)).thenReturn(
+                new CrawledPosts(List.of(post("older", since.plus(Duration.ofMinutes(5)))), since));
+
+        List<Post> posts = service.refresh("redis", at(since), 25, tracker);
+
+        assertEquals(List.of("new", "older"), cids(posts));
+        assertEquals(since.toEpochMilli(), savedCheckpoint().getCoveredSince());
+        assertEquals(since.plus(Duration.ofMinutes(50)).toEpochMilli(), checkpoint.getNewestCreatedAt());
+        assertTrue(service.hasCompleteHistory("redis", at(since)));
+    }
+
+    @Test
+    void testRefreshReturnsOnlyTheDeltaEvenIfTheCheckpointIsFresh() {
+        Instant newest = since.plus(Duration.ofMinutes(40));
+        CrawlCheckpoint checkpoint = checkpoint(since.minus(Duration.ofHours(1)), newest, now);
+        when(checkpointRepository.findById("redis")).thenReturn(Optional.of(checkpoint));
+        OffsetDateTime deltaSince = at(newest.minus(Duration.ofMinutes(5)));
+        when(slicedSearchService.crawl("redis", deltaSince, null, 25, tracker)).thenReturn(
+                new CrawledPosts(List.of(post("new", since.plus(Duration.ofMinutes(55)))), deltaSince.toInstant()));
+
+        List<Post> posts = service.refresh("redis", at(since), 25, tracker);
+
+        assertEquals(List.of("new"), cids(posts));
+        verifyNoInteractions(postRepository);
+        assertFalse(tracker.isExhausted());
+    }
+
+    @Test
+    void testCrawlRangeIsServedFromTheStoredHistory() {
+        CrawlCheckpoint checkpoint = checkpoint(since.minus(Duration.ofHours(1)), now, now);
+        when(checkpointRepository.findById("redis")).thenReturn(Optional.of(checkpoint));
+        stored(post("stored", since.plus(Duration.ofMinutes(10))));
+
+        Instant until = since.plus(Duration.ofMinutes(30));
+        CrawledPosts posts = service.crawlRange("redis", at(since), at(until), 25, tracker);
+
+        assertEquals(List.of("stored"), cids(posts.posts()));
+        assertTrue(posts.covers(since));
+        verifyNoInteractions(slicedSearchService, postWriter);
+        verify(postRepository).findByTagsAndCreatedAtBetween(eq(Set.of("redis")), eq(since.toEpochMilli()),
+                eq(until.toEpochMilli() - 1), any());
+        assertFalse(tracker.isExhausted());
+    }
+
+    private CrawlCheckpoint checkpoint(Instant coveredSince, Instant newest, Instant updatedAt) {
+        return new CrawlCheckpoint("redis", coveredSince.toEpochMilli(), newest.toEpochMilli(), "cid",
+                updatedAt.toEpochMilli());
+    }
+
+    private void stored(Post... posts) {
+        when(postRepository.findByTagsAndCreatedAtBetween(eq(Set.of("redis")), anyLong(), anyLong(), any()))
+                .thenReturn(new PageImpl<>(List.of(posts).stream().map(TrackedPost::from).toList()));
+    }
+
+    private CrawlCheckpoint savedCheckpoint() {
+        ArgumentCaptor<CrawlCheckpoint> saved = ArgumentCaptor.forClass(CrawlCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private static Post post(String cid, Instant createdAt) {
+        return new Post("at://did:plc:abc/app.bsky.feed.post/" + cid, cid, "alice.bsky.social", "text",
+                createdAt.toEpochMilli(), 0, 0, 0);
+    }
+
+    private static OffsetDateTime at(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static List<String> cids(List<Post> posts) {
+        return posts.stream().map(Post::getCid).toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the Jetstream client against a local stand-in that replays recorded frames
+ * and drops the first connection part-way through.
+ */
+class JetstreamClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<String> frames;
+    private ReplayWebSocketServer server;
+    private JetstreamClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/jetstream/frames.jsonl")) {
+            frames = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+        }
+        server = new ReplayWebSocketServer(frames, 3);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (client != null) {
+            client.stop();
+        }
+        server.close();
+    }
+
+    @Test
+    void testReconnectsAndReplaysFromLastCursor() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch allFrames = new CountDownLatch(frames.size());
+
+        client = new JetstreamClient(HttpClient.newHttpClient(),
+                URI.create("ws://localhost:" + server.getPort() + "/subscribe?wantedCollections=app.bsky.feed.post"),
+                -1,
+                frame -> {
+                    received.add(frame);
+                    allFrames.countDown();
+                    return timeUs(frame);
+                },
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofNanos(2000), 2);
+        client.start();
+
+        assertTrue(allFrames.await(10, TimeUnit.SECONDS), "All recorded frames should be delivered");
+        assertEquals(frames, received);
+
+        List<String> targets = server.getRequestTargets();
+        assertEquals(2, targets.size());
+        assertEquals("/subscribe?wantedCollections=app.bsky.feed.post", targets.get(0));
+        // Replays from the third frame's time_us, rewound by 2 microseconds
+        assertEquals("/subscribe?wantedCollections=app.bsky.feed.post&cursor=1760000000000001", targets.get(1));
+        assertEquals(timeUs(frames.get(frames.size() - 1)), awaitLastTimeUs(timeUs(frames.get(frames.size() - 1))));
+    }
+
+    @Test
+    void testStartsFromInitialCursor() throws Exception {
+        CountDownLatch firstFrame = new CountDownLatch(1);
+
+        client = new JetstreamClient(HttpClient.newHttpClient(),
+                URI.create("ws://localhost:" + server.getPort() + "/subscribe"),
+                1760000000000000L,
+                frame -> {
+                    firstFrame.countDown();
+                    return timeUs(frame);
+                },
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ZERO, 2);
+        client.start();
+
+        assertTrue(firstFrame.await(10, TimeUnit.SECONDS));
+        assertEquals("/subscribe?cursor=1760000000000000", server.getRequestTargets().get(0));
+    }
+
+    @Test
+    void testFailedFrameReconnectsFromLastProcessedEvent() throws Exception {
+        List<String> processed = new CopyOnWriteArrayList<>();
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        CountDownLatch lastFrame = new CountDownLatch(1);
+
+        client = new JetstreamClient(HttpClient.newHttpClient(),
+                URI.create("ws://localhost:" + server.getPort() + "/subscribe"),
+                -1,
+                frame -> {
+                    if (frame.equals(frames.get(1)) && failedOnce.compareAndSet(false, true)) {
+                        throw new IllegalStateException("Redis is down");
+                    }
+                    processed.add(frame);
+                    if (frame.equals(frames.get(frames.size() - 1))) {
+                        lastFrame.countDown();
+                    }
+                    return timeUs(frame);
+                },
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofNanos(2000), 2);
+        client.start();
+
+        assertTrue(lastFrame.await(10, TimeUnit.SECONDS));
+        // Frames queued behind the failed one are dropped; the reconnect replays from the first frame
+        List<String> targets = server.getRequestTargets();
+        assertEquals(2, targets.size());
+        assertEquals("/subscribe?cursor=1759999999999999", targets.get(1));
+        assertEquals(frames.get(0), processed.get(0));
+        assertFalse(processed.contains(frames.get(2)));
+        assertEquals(timeUs(frames.get(frames.size() - 1)), awaitLastTimeUs(timeUs(frames.get(frames.size() - 1))));
+    }
+
+    /**
+     * The client's cursor once it reached {@code expected}; it moves only after the listener returns.
+     */
+    private long awaitLastTimeUs(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.getLastTimeUs() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return client.getLastTimeUs();
+    }
+
+    private long timeUs(String frame) {
+        try {
+            return objectMapper.readTree(frame).path("time_us").asLong(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
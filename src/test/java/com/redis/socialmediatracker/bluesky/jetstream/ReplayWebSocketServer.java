@@ -0,0 +1,128 @@
+package com.redis.socialmediatracker.bluesky.jetstream;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Minimal local stand-in for a Jetstream endpoint.
+ * <p>
+ * Accepts WebSocket connections one after another and replays recorded frames.
+ * The first connection is closed after {@code dropAfter} frames to simulate a
+ * dropped connection; later connections get the remaining frames and stay open.
+ * The request target of each connection is recorded so tests can check the cursor.
+ */
+class ReplayWebSocketServer implements Closeable {
+
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final ServerSocket serverSocket;
+    private final List<String> frames;
+    private final int dropAfter;
+    private final List<String> requestTargets = new CopyOnWriteArrayList<>();
+    private final List<Socket> openSockets = new CopyOnWriteArrayList<>();
+    private final Thread acceptThread;
+
+    ReplayWebSocketServer(List<String> frames, int dropAfter) throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        this.frames = frames;
+        this.dropAfter = dropAfter;
+        this.acceptThread = Thread.ofVirtual().start(this::acceptLoop);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<String> getRequestTargets() {
+        return requestTargets;
+    }
+
+    private void acceptLoop() {
+        int connection = 0;
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                boolean first = connection++ == 0;
+                serve(socket, first ? frames.subList(0, dropAfter) : frames.subList(dropAfter, frames.size()), first);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket, List<String> toSend, boolean closeAfterwards) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        String requestLine = reader.readLine();
+        requestTargets.add(requestLine.split(" ")[1]);
+
+        String key = null;
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+
+        OutputStream out = socket.getOutputStream();
+        out.write(("HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + accept(key) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        for (String frame : toSend) {
+            writeFrame(out, 0x81, frame.getBytes(StandardCharsets.UTF_8));
+        }
+        out.flush();
+
+        if (closeAfterwards) {
+            // Close frame with status 1001 (going away)
+            writeFrame(out, 0x88, new byte[]{0x03, (byte) 0xE9});
+            out.flush();
+            socket.close();
+        }
+    }
+
+    private static void writeFrame(OutputStream out, int opcode, byte[] payload) throws IOException {
+        out.write(opcode);
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length < 65536) {
+            out.write(126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) ((long) payload.length >>> shift));
+            }
+        }
+        out.write(payload);
+    }
+
+    private static String accept(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+        acceptThread.interrupt();
+    }
+}
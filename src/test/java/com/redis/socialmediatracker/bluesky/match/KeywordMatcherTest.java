@@ -0,0 +1,65 @@
+package com.redis.socialmediatracker.bluesky.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Aho-Corasick topic matcher.
+ */
+class KeywordMatcherTest {
+
+    @Test
+    void testMatchesAllTopicsInOnePass() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("redis", "valkey", "vector search", "kafka"));
+
+        List<String> matched = matcher.match("Valkey or Redis for Vector   Search? Benchmarks inside");
+
+        assertEquals(List.of("redis", "valkey", "vector search"), matched);
+    }
+
+    @Test
+    void testRequiresWordBoundaries() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("redis"));
+
+        assertTrue(matcher.match("We redistribute load across shards").isEmpty());
+        assertTrue(matcher.match("predis is a PHP client").isEmpty());
+        assertEquals(List.of("redis"), matcher.match("Redis, finally!"));
+        assertEquals(List.of("redis"), matcher.match("loving #redis today"));
+    }
+
+    @Test
+    void testOverlappingTopics() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("redis stack", "redis", "stack"));
+
+        assertEquals(List.of("redis stack", "redis", "stack"), matcher.match("Trying redis stack locally"));
+        assertEquals(List.of("redis"), matcher.match("redis stacks up well"));
+    }
+
+    @Test
+    void testHashtagTopicsOnlyMatchHashtags() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("#redis"));
+
+        assertTrue(matcher.match("Redis is fast").isEmpty());
+        assertEquals(List.of("#redis"), matcher.match("Shipping it #Redis"));
+        assertTrue(matcher.match("#redisconf was great").isEmpty());
+    }
+
+    @Test
+    void testMatchesTagFacets() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("#redis", "valkey", "kafka"));
+
+        List<String> matched = matcher.match("Benchmarks inside", List.of("Redis", "valkey"));
+
+        assertEquals(List.of("#redis", "valkey"), matched);
+    }
+
+    @Test
+    void testEmptyMatcherAndText() {
+        assertTrue(KeywordMatcher.empty().match("redis").isEmpty());
+        assertTrue(KeywordMatcher.compile(List.of("redis")).match("").isEmpty());
+        assertTrue(KeywordMatcher.compile(List.of("redis")).match(null).isEmpty());
+    }
+}
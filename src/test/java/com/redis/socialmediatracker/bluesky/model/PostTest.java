@@ -0,0 +1,70 @@
+package com.redis.socialmediatracker.bluesky.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the compact post layout.
+ */
+class PostTest {
+
+    private static final String URI = "at://did:plc:abcd1234/app.bsky.feed.post/3k4tuwz45j72x";
+
+    @Test
+    void testCountersRoundTripWithoutCap() {
+        Post post = new Post(URI, "cid", "alice.bsky.social", "hi", (OffsetDateTime) null, 3, 70000, 2_000_000);
+        assertEquals(3, post.getReplyCount());
+        assertEquals(70000, post.getRepostCount());
+        assertEquals(2_000_000, post.getLikeCount());
+
+        Post viral = new Post(URI, "cid", "alice.bsky.social", "hi", (OffsetDateTime) null, -1, 3_000_000, Integer.MAX_VALUE);
+        assertEquals(0, viral.getReplyCount());
+        assertEquals(3_000_000, viral.getRepostCount());
+        assertEquals(Integer.MAX_VALUE, viral.getLikeCount());
+    }
+
+    @Test
+    void testCreatedAtKeepsTheInstant() {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-02T05:04:05.123+02:00");
+        Post post = new Post(URI, "cid", "alice.bsky.social", "hi", createdAt, 0, 0, 0);
+
+        assertTrue(post.hasCreatedAt());
+        assertEquals(createdAt.toInstant().toEpochMilli(), post.getCreatedAtMillis());
+        assertTrue(createdAt.isEqual(post.getCreatedAt()));
+
+        Post undated = new Post(URI, "cid", "alice.bsky.social", "hi", (OffsetDateTime) null, 0, 0, 0);
+        assertFalse(undated.hasCreatedAt());
+        assertNull(undated.getCreatedAt());
+    }
+
+    @Test
+    void testUrlPrefersHandleAndIsBuiltOnce() {
+        Post post = new Post(URI, "cid", "alice.bsky.social", "hi", (OffsetDateTime) null, 0, 0, 0);
+        assertEquals("https://bsky.app/profile/alice.bsky.social/post/3k4tuwz45j72x", post.getUrl());
+        assertSame(post.getUrl(), post.getUrl());
+
+        Post anonymous = new Post(URI, "cid", null, "hi", (OffsetDateTime) null, 0, 0, 0);
+        assertEquals("https://bsky.app/profile/did%3Aplc%3Aabcd1234/post/3k4tuwz45j72x", anonymous.getUrl());
+
+        assertNull(new Post("at://did:plc:abcd1234", "cid", null, "hi", (OffsetDateTime) null, 0, 0, 0).getUrl());
+        assertNull(new Post(null, "cid", null, "hi", (OffsetDateTime) null, 0, 0, 0).getUrl());
+    }
+
+    @Test
+    void testDidOfUri() {
+        assertEquals("did:plc:abcd1234", Post.didOf(URI));
+        assertEquals("did:plc:abcd1234", Post.didOf("at://did:plc:abcd1234"));
+        assertNull(Post.didOf("at://alice.bsky.social/app.bsky.feed.post/3k4tuwz45j72x"));
+        assertNull(Post.didOf(null));
+    }
+
+    @Test
+    void testAuthorHandlesAreShared() {
+        Post first = new Post(URI, "cid", new String("alice.bsky.social"), "a", (OffsetDateTime) null, 0, 0, 0);
+        Post second = new Post(URI, "cid", new String("alice.bsky.social"), "b", (OffsetDateTime) null, 0, 0, 0);
+        assertSame(first.getAuthor(), second.getAuthor());
+    }
+}
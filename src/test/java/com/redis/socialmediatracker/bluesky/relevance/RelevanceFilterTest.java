@@ -0,0 +1,55 @@
+package com.redis.socialmediatracker.bluesky.relevance;
+
+import com.redis.socialmediatracker.bluesky.ingest.TrackedTopic;
+import com.redis.socialmediatracker.bluesky.ingest.TrackedTopicRegistry;
+import com.redis.socialmediatracker.bluesky.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelevanceFilterTest {
+
+    private static final Post DATABASE = post("a", "Redis is my favourite database");
+    private static final Post FOOTBALL = post("b", "Redis scored twice, great football tonight");
+    private static final Post JAVA = post("c", "Java 25 is out");
+    private static final Post SHARED = post("d", "Java client for Redis, by a football fan");
+
+    private final TrackedTopicRegistry registry = mock(TrackedTopicRegistry.class);
+    private final RelevanceFilter filter = new RelevanceFilter(registry, new SimpleMeterRegistry(), true,
+            Duration.ofMinutes(1));
+
+    @Test
+    void testTagWithoutRuleKeepsOnlyItsOwnPosts() {
+        when(registry.findAll()).thenReturn(List.of(redis()));
+
+        assertEquals(List.of(DATABASE, JAVA, SHARED),
+                filter.filter(List.of("redis", "java"), List.of(DATABASE, FOOTBALL, JAVA, SHARED)));
+    }
+
+    @Test
+    void testSingleTagAppliesItsRule() {
+        when(registry.findAll()).thenReturn(List.of(redis()));
+
+        assertEquals(List.of(DATABASE), filter.filter(List.of("Redis"), List.of(DATABASE, FOOTBALL)));
+        assertEquals(List.of(DATABASE, FOOTBALL), filter.filter(List.of("java"), List.of(DATABASE, FOOTBALL)));
+    }
+
+    private static TrackedTopic redis() {
+        TrackedTopic topic = new TrackedTopic("redis", "redis", Duration.ofMinutes(5), Duration.ofDays(1));
+        topic.setContextKeywords(List.of("database", "cache"));
+        topic.setNegativeKeywords(List.of("football"));
+        return topic;
+    }
+
+    private static Post post(String rkey, String text) {
+        return new Post("at://did:plc:abc/app.bsky.feed.post/" + rkey, "bafy" + rkey, "a.bsky.social", text,
+                (OffsetDateTime) null, 0, 0, 0);
+    }
+}
@@ -0,0 +1,49 @@
+package com.redis.socialmediatracker.bluesky.relevance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelevanceRuleTest {
+
+    private static final RelevanceRule REDIS = RelevanceRule.compile("redis",
+            List.of("database", "cache", "valkey"), List.of("football", "red sox"), false);
+
+    @Test
+    void testKeepsPostsWithContextEvenWithNegativeKeywords() {
+        assertEquals(RelevanceRule.Verdict.RELEVANT,
+                REDIS.evaluate("Watching football while Redis rebuilds the cache", List.of()));
+    }
+
+    @Test
+    void testDropsPostsWithNegativeKeywordsOnly() {
+        assertEquals(RelevanceRule.Verdict.NEGATIVE_KEYWORD,
+                REDIS.evaluate("Redis scored twice, great football tonight", List.of()));
+        assertEquals(RelevanceRule.Verdict.NEGATIVE_KEYWORD,
+                REDIS.evaluate("Go Red Sox!", List.of()));
+    }
+
+    @Test
+    void testKeepsPostsWithoutKeywordsUnlessContextIsRequired() {
+        assertEquals(RelevanceRule.Verdict.RELEVANT, REDIS.evaluate("Trying out redis today", List.of()));
+
+        RelevanceRule strict = RelevanceRule.compile("redis", List.of("database"), List.of(), true);
+        assertEquals(RelevanceRule.Verdict.NO_CONTEXT, strict.evaluate("Trying out redis today", List.of()));
+        assertEquals(RelevanceRule.Verdict.RELEVANT, strict.evaluate("Redis as a primary Database?", List.of()));
+    }
+
+    @Test
+    void testMatchesWholeWordsAndFacetTags() {
+        assertEquals(RelevanceRule.Verdict.RELEVANT, REDIS.evaluate("Redis, the footballer", List.of()));
+        assertEquals(RelevanceRule.Verdict.RELEVANT, REDIS.evaluate("football", List.of("valkey")));
+    }
+
+    @Test
+    void testEmptyRuleIsNotEffective() {
+        assertFalse(RelevanceRule.compile("redis", List.of(), null, false).isEffective());
+        assertFalse(RelevanceRule.compile("redis", List.of("database"), List.of(), false).isEffective());
+        assertTrue(REDIS.isEffective());
+    }
+}
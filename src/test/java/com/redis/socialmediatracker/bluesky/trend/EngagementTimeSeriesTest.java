@@ -0,0 +1,55 @@
+package com.redis.socialmediatracker.bluesky.trend;
+
+import com.redis.socialmediatracker.bluesky.history.TrackedPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.timeseries.AggregationType;
+import redis.clients.jedis.timeseries.TSCreateParams;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for creating engagement series once and letting idle ones expire.
+ */
+class EngagementTimeSeriesTest {
+
+    private static final String KEY = "engagement:post:at://did:plc:abc/app.bsky.feed.post/1";
+    private static final long THIRTY_DAYS = Duration.ofDays(30).toSeconds();
+
+    private final JedisPooled jedis = mock(JedisPooled.class);
+    private final EngagementTimeSeries timeSeries = new EngagementTimeSeries(jedis, new SimpleMeterRegistry(), true,
+            Duration.ofDays(3), Duration.ofDays(7), Duration.ofHours(1), Duration.ofDays(30));
+
+    @Test
+    void testEverySampleRenewsTheExpiryOfBothKeys() {
+        TrackedPost post = new TrackedPost();
+        post.setUri("at://did:plc:abc/app.bsky.feed.post/1");
+        post.setEngagement(5);
+
+        timeSeries.recordPosts(List.of(post), Instant.now());
+        post.setEngagement(8);
+        timeSeries.recordPosts(List.of(post), Instant.now());
+
+        verify(jedis, times(1)).exists(KEY);
+        verify(jedis, times(2)).tsCreate(anyString(), any(TSCreateParams.class));
+        verify(jedis).tsCreateRule(KEY, KEY + ":downsampled", AggregationType.LAST, Duration.ofHours(1).toMillis());
+        verify(jedis, times(2)).tsAdd(eq(KEY), anyLong(), anyDouble());
+        verify(jedis, times(2)).expire(KEY, THIRTY_DAYS);
+        verify(jedis, times(2)).expire(KEY + ":downsampled", THIRTY_DAYS);
+    }
+
+    @Test
+    void testTopicSeriesExpireToo() {
+        timeSeries.recordTopicGain("redis", 3, Instant.now());
+
+        verify(jedis).tsIncrBy(eq("engagement:topic:redis"), eq(3.0), anyLong());
+        verify(jedis).expire("engagement:topic:redis", THIRTY_DAYS);
+        verify(jedis).expire("engagement:topic:redis:downsampled", THIRTY_DAYS);
+    }
+}
@@ -0,0 +1,49 @@
+package com.redis.socialmediatracker.bluesky.trend;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for velocity and acceleration derived from engagement samples.
+ */
+class MomentumTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void testAcceleratingEngagement() {
+        Momentum momentum = Momentum.compute("post",
+                new long[]{0, HOUR, 2 * HOUR}, new double[]{10, 20, 50});
+
+        assertEquals(3, momentum.getSamples());
+        assertEquals(50, momentum.getEngagement());
+        assertEquals(30, momentum.getVelocity(), 1e-9);
+        assertEquals(10, momentum.getPreviousVelocity(), 1e-9);
+        assertEquals(20, momentum.getAcceleration(), 1e-9);
+        assertTrue(momentum.isGainingMomentum());
+    }
+
+    @Test
+    void testSlowingEngagementIsNotGainingMomentum() {
+        Momentum momentum = Momentum.compute("post",
+                new long[]{0, 2 * HOUR, 4 * HOUR}, new double[]{0, 100, 120});
+
+        assertEquals(10, momentum.getVelocity(), 1e-9);
+        assertEquals(50, momentum.getPreviousVelocity(), 1e-9);
+        assertTrue(momentum.getAcceleration() < 0);
+        assertFalse(momentum.isGainingMomentum());
+    }
+
+    @Test
+    void testTooFewSamples() {
+        Momentum none = Momentum.compute("topic", new long[0], new double[0]);
+        assertEquals(0, none.getSamples());
+        assertEquals(0, none.getVelocity());
+
+        Momentum two = Momentum.compute("topic", new long[]{0, HOUR}, new double[]{5, 8});
+        assertEquals(3, two.getVelocity(), 1e-9);
+        assertEquals(0, two.getAcceleration());
+        assertFalse(two.isGainingMomentum());
+    }
+}